@@ -20,6 +20,8 @@ CREATE TABLE Performer (
     Description TEXT,
     CV_Data MEDIUMBLOB,
     CV_MimeType VARCHAR(255) DEFAULT 'application/pdf',
+    CV_Hash CHAR(64),
+    CV_Size BIGINT,
     ProfilePhoto VARCHAR(255),
     UserID INT,
     FOREIGN KEY (UserID) REFERENCES User(UserID) ON DELETE CASCADE
@@ -77,4 +79,22 @@ CREATE TABLE Application (
     CastingID INT NOT NULL,
     FOREIGN KEY (PerformerID) REFERENCES Performer(PerformerID) ON DELETE CASCADE,
     FOREIGN KEY (CastingID) REFERENCES Casting(CastingID) ON DELETE CASCADE
-);
\ No newline at end of file
+);
+
+-- Indici per la paginazione a cursore (ORDER BY data DESC, id DESC)
+CREATE INDEX idx_casting_publish ON Casting (PublishDate, CastingID);
+CREATE INDEX idx_casting_cd_publish ON Casting (CdID, PublishDate, CastingID);
+CREATE INDEX idx_production_pm_creation ON Production (PmID, CreationDate, ProductionID);
+CREATE INDEX idx_application_performer_sending ON Application (PerformerID, SendingDate, ApplicationID);
+CREATE INDEX idx_application_casting_sending ON Application (CastingID, SendingDate, ApplicationID);
+CREATE INDEX idx_application_casting_status ON Application (CastingID, Status, SendingDate, ApplicationID);
+
+-- Casting attivi (DeadLine >= CURRENT_DATE) ordinati per data di pubblicazione
+CREATE INDEX idx_casting_deadline_publish ON Casting (DeadLine, PublishDate);
+
+-- Una sola candidatura per performer e casting, un solo profilo Performer per utente
+CREATE UNIQUE INDEX uq_application_performer_casting ON Application (PerformerID, CastingID);
+CREATE UNIQUE INDEX uq_performer_user ON Performer (UserID);
+
+-- Le modifiche successive allo schema sono migrazioni versionate (model/migration/sql),
+-- applicate all'avvio dell'applicazione o con model.migration.SchemaMigration
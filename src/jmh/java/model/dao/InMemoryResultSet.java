@@ -0,0 +1,104 @@
+package model.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Forward-only {@link ResultSet} over rows held in memory, used to benchmark the row mappers without a database.
+ * <p>
+ * Label lookups follow MySQL Connector/J: {@code findColumn} resolves a label through a per-result-set
+ * cache, falling back to a case-insensitive map of the column labels. Only the methods used by the
+ * mappers are implemented; every other method throws {@link SQLFeatureNotSupportedException}.
+ * </p>
+ */
+final class InMemoryResultSet implements InvocationHandler {
+
+    private final Object[][] rows;
+    private final Map<String, Integer> labels = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final Map<String, Integer> labelCache = new HashMap<>();
+    private int row = -1;
+    private boolean wasNull;
+    private boolean closed;
+
+    private InMemoryResultSet(String[] columns, Object[][] rows) {
+        this.rows = rows;
+        for (int i = 0; i < columns.length; i++) {
+            labels.put(columns[i], i + 1);
+        }
+    }
+
+    /**
+     * @param columns the column labels, in positional order.
+     * @param rows    the row values, one array per row in the same order as {@code columns}.
+     * @return a result set positioned before the first row.
+     */
+    static ResultSet of(String[] columns, Object[][] rows) {
+        return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                new InMemoryResultSet(columns, rows));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "next":
+                return ++row < rows.length;
+            case "close":
+                closed = true;
+                return null;
+            case "isClosed":
+                return closed;
+            case "wasNull":
+                return wasNull;
+            case "findColumn":
+                return findColumn((String) args[0]);
+            case "getInt": {
+                Object value = value(args[0]);
+                return (value != null) ? value : 0;
+            }
+            case "getString":
+            case "getTimestamp":
+                if (args.length == 1) {
+                    return value(args[0]);
+                }
+                break;
+            default:
+                break;
+        }
+        throw new SQLFeatureNotSupportedException("Not supported by InMemoryResultSet: " + method.getName());
+    }
+
+    private int findColumn(String columnLabel) throws SQLException {
+        Integer index = labelCache.get(columnLabel);
+        if (index == null) {
+            index = labels.get(columnLabel);
+            if (index == null) {
+                throw new SQLException("Column '" + columnLabel + "' not found");
+            }
+            labelCache.put(columnLabel, index);
+        }
+        return index;
+    }
+
+    /**
+     * @param column the 1-based index or the label of the column.
+     */
+    private Object value(Object column) throws SQLException {
+        int columnIndex = (column instanceof String) ? findColumn((String) column) : (Integer) column;
+        Object[] current = rows[row];
+        if (columnIndex < 1 || columnIndex > current.length) {
+            throw new SQLException("Column index out of range: " + columnIndex);
+        }
+        Object value = current[columnIndex - 1];
+        wasNull = (value == null);
+        return value;
+    }
+}
@@ -0,0 +1,137 @@
+package model.dao;
+
+import model.dto.CastingDTO;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scan of 100k Casting rows with the two row mappers: the former one, which reads columns by label and
+ * decodes the category with {@code switch}/{@code valueOf} (kept here as the baseline), and the current
+ * {@link CastingDAO#extractCastingFromResultSet}, which reads by position and decodes with the shared
+ * {@link EnumCodec} of {@link DbEnums}.
+ * <p>
+ * {@code unknownPercent} is the share of rows whose category is not a valid enum value: the former
+ * mapper pays an {@link IllegalArgumentException} for each of them.
+ * </p>
+ * <p>
+ * Run with {@code mvn -Pjmh test-compile exec:exec}.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class RowMappingBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    @Param({"0", "5"})
+    public int unknownPercent;
+
+    private Object[][] rows;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        CastingDTO.Category[] categories = CastingDTO.Category.values();
+        LocalDateTime now = LocalDateTime.now();
+
+        rows = new Object[ROWS][];
+        for (int i = 0; i < ROWS; i++) {
+            String category = (random.nextInt(100) < unknownPercent)
+                    ? "Sconosciuta"
+                    : DbEnums.CASTING_CATEGORY.toDb(categories[random.nextInt(categories.length)]);
+            // Laid out by the labels of CastingDAO.COLUMNS, so the positions follow the production mapper
+            Map<String, Object> values = new HashMap<>();
+            values.put("CastingID", i + 1);
+            values.put("Location", "Città " + (i % 50));
+            values.put("Category", category);
+            values.put("Description", "Descrizione del casting " + i);
+            values.put("PublishDate", Timestamp.valueOf(now.minusDays(i % 60)));
+            values.put("DeadLine", Timestamp.valueOf(now.plusDays(i % 30)));
+            values.put("Title", "Casting " + i);
+            values.put("CdID", 1 + i % 200);
+            values.put("ProductionID", 1 + i % 1000);
+
+            rows[i] = new Object[CastingDAO.COLUMNS.length];
+            for (int c = 0; c < rows[i].length; c++) {
+                rows[i][c] = values.get(CastingDAO.COLUMNS[c]);
+            }
+        }
+    }
+
+    @Benchmark
+    public void byLabel(Blackhole blackhole) throws SQLException {
+        try (ResultSet rs = InMemoryResultSet.of(CastingDAO.COLUMNS, rows)) {
+            while (rs.next()) {
+                blackhole.consume(mapByLabel(rs));
+            }
+        }
+    }
+
+    @Benchmark
+    public void byPosition(Blackhole blackhole) throws SQLException {
+        try (ResultSet rs = InMemoryResultSet.of(CastingDAO.COLUMNS, rows)) {
+            while (rs.next()) {
+                blackhole.consume(CastingDAO.extractCastingFromResultSet(rs));
+            }
+        }
+    }
+
+    // --- Helper Methods ---
+
+    /**
+     * The mapper CastingDAO used before the positional one.
+     */
+    private static CastingDTO mapByLabel(ResultSet rs) throws SQLException {
+        CastingDTO c = new CastingDTO();
+        c.setCastingID(rs.getInt("CastingID"));
+        c.setLocation(rs.getString("Location"));
+
+        String catStr = rs.getString("Category");
+        if (catStr != null) {
+            c.setCategory(mapDbToCategory(catStr));
+        }
+
+        c.setDescription(rs.getString("Description"));
+
+        Timestamp ts = rs.getTimestamp("PublishDate");
+        if (ts != null) {
+            c.setPublishDate(ts.toLocalDateTime());
+        }
+
+        Timestamp ts2 = rs.getTimestamp("DeadLine");
+        if (ts2 != null) {
+            c.setDeadline(ts2.toLocalDateTime());
+        }
+
+        c.setTitle(rs.getString("Title"));
+        c.setCdID(rs.getInt("CdID"));
+        c.setProductionID(rs.getInt("ProductionID"));
+        return c;
+    }
+
+    private static CastingDTO.Category mapDbToCategory(String dbValue) {
+        switch (dbValue) {
+            case "Attore/Attrice": return CastingDTO.Category.Attore_Attrice;
+            case "Doppiatore/trice": return CastingDTO.Category.Doppiatore_trice;
+            default:
+                try {
+                    return CastingDTO.Category.valueOf(dbValue);
+                } catch (IllegalArgumentException e) {
+                    return null;
+                }
+        }
+    }
+}
@@ -30,9 +30,15 @@
                         <li class="nav-item">
                             <a href="${pageContext.request.contextPath}/cd/view-castings">I Miei Casting</a>
                         </li>
+                        <li class="nav-item">
+                            <a href="${pageContext.request.contextPath}/cd/talent">Talenti</a>
+                        </li>
                     </c:when>
 
                     <c:when test="${sessionScope.user.role == 'Performer'}">
+                        <li class="nav-item">
+                            <a href="${pageContext.request.contextPath}/performer/feed">Per Te</a>
+                        </li>
                         <li class="nav-item">
                             <a href="${pageContext.request.contextPath}/performer/applications">Le Mie Candidature</a>
                         </li>
@@ -57,8 +63,11 @@
         </nav>
 
         <div class="header-actions">
-            <div class="search-bar">
-                <input type="search" id="search-input" placeholder="Cerca..." aria-label="Cerca">
+            <form class="search-bar" action="${pageContext.request.contextPath}/search" method="get" role="search"
+                  data-suggest-url="${pageContext.request.contextPath}/search?format=json"
+                  data-details-url="${pageContext.request.contextPath}/casting-details">
+                <input type="search" id="search-input" name="q" value="<c:out value="${param.q}"/>"
+                       placeholder="Cerca..." aria-label="Cerca" autocomplete="off">
                 <span class="search-spinner" id="search-spinner">
                     <i class="fas fa-spinner fa-spin"></i>
                 </span>
@@ -66,7 +75,7 @@
                     <i class="fas fa-search"></i>
                 </button>
                 <div class="search-suggestions-container" id="search-suggestions"></div>
-            </div>
+            </form>
 
             <div class="header-icons">
                 <c:choose>
@@ -110,4 +119,5 @@
 </header>
 
 <div class="nav-overlay" id="nav-overlay"></div>
+<script src="${pageContext.request.contextPath}/scripts/search-suggestions.js" defer></script>
 <jsp:include page="/WEB-INF/components/notification.jsp"/>
\ No newline at end of file
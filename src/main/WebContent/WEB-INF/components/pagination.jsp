@@ -0,0 +1,27 @@
+<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8"%>
+<%@taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
+<%--
+    Navigazione per la paginazione a cursore.
+    Attributi di request: pageBaseUrl (URL della lista, senza contesto), nextCursor (null sull'ultima pagina),
+    firstPageLabel (opzionale: etichetta del ritorno alla prima pagina secondo l'ordinamento, "Più recenti" se assente).
+--%>
+<%--@elvariable id="pageBaseUrl" type="java.lang.String"--%>
+<%--@elvariable id="nextCursor" type="java.lang.String"--%>
+<%--@elvariable id="firstPageLabel" type="java.lang.String"--%>
+<c:if test="${not empty param.after or not empty nextCursor}">
+    <nav class="pagination" aria-label="Paginazione">
+        <c:if test="${not empty param.after}">
+            <a href="<c:url value='${pageBaseUrl}'/>" class="btn btn-secondary btn-sm">
+                <i class="fas fa-angle-double-left"></i> ${not empty firstPageLabel ? firstPageLabel : 'Più recenti'}
+            </a>
+        </c:if>
+        <c:if test="${not empty nextCursor}">
+            <c:url var="nextUrl" value="${pageBaseUrl}">
+                <c:param name="after" value="${nextCursor}"/>
+            </c:url>
+            <a href="${nextUrl}" class="btn btn-primary btn-sm">
+                Successivi <i class="fas fa-angle-right"></i>
+            </a>
+        </c:if>
+    </nav>
+</c:if>
@@ -27,49 +27,17 @@
         </a>
     </div>
 
-    <div class="casting-header-section">
-        <span class="casting-category-badge">${casting.category}</span>
-        <h1 class="casting-big-title">${casting.title}</h1>
-        <div class="casting-production-subtitle">
-            Produzione: <strong>${productionTitle}</strong>
-        </div>
-    </div>
+    <%-- Intestazione, descrizione e riepilogo pre-renderizzati (vedi CastingFragments) --%>
+    ${detailHeader}
 
     <div class="casting-detail-grid">
 
-        <div class="detail-content">
-            <h3 class="detail-section-title">Descrizione e Requisiti</h3>
-            <div class="detail-description-text">
-                ${casting.description}
-            </div>
-        </div>
+        ${detailDescription}
 
         <aside class="info-sidebar-card">
             <h4 class="info-sidebar-title"><i class="fas fa-info-circle"></i> Riepilogo</h4>
 
-            <div class="info-item">
-                <i class="fas fa-map-marker-alt info-icon"></i>
-                <div>
-                    <span class="info-label">Luogo</span>
-                    <span class="info-value">${casting.location}</span>
-                </div>
-            </div>
-
-            <div class="info-item">
-                <i class="far fa-calendar-check info-icon"></i>
-                <div>
-                    <span class="info-label">Pubblicato il</span>
-                    <span class="info-value">${casting.publishDate.toLocalDate()}</span>
-                </div>
-            </div>
-
-            <div class="info-item">
-                <i class="far fa-clock info-icon" style="color: var(--color-status-error);"></i>
-                <div>
-                    <span class="info-label">Scadenza Candidature</span>
-                    <span class="info-value text-danger">${casting.deadline.toLocalDate()}</span>
-                </div>
-            </div>
+            ${detailSummary}
 
             <hr class="sidebar-divider">
 
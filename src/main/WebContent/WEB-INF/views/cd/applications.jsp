@@ -0,0 +1,207 @@
+<%@ page contentType="text/html;charset=UTF-8" language="java" %>
+<%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
+
+<c:set var="pageTitle" value="Candidature - ${casting.title}" scope="request"/>
+
+<!DOCTYPE html>
+<html lang="it">
+<head>
+    <meta charset="UTF-8">
+    <meta name="viewport" content="width=device-width, initial-scale=1.0">
+    <title>${pageTitle}</title>
+
+    <link rel="stylesheet" href="${pageContext.request.contextPath}/styles/style.css">
+    <link rel="stylesheet" href="${pageContext.request.contextPath}/styles/casting.css">
+    <link rel="stylesheet" href="${pageContext.request.contextPath}/styles/production.css">
+    <link rel="stylesheet" href="https://cdnjs.cloudflare.com/ajax/libs/font-awesome/6.0.0/css/all.min.css">
+</head>
+<body>
+
+<jsp:include page="/WEB-INF/components/header.jsp" />
+
+<main class="container mt-3 mb-3">
+
+    <div class="page-header">
+        <h2 class="page-title"><i class="fas fa-users"></i> Candidature: <c:out value="${casting.title}"/></h2>
+        <a href="${pageContext.request.contextPath}/cd/view-castings" class="btn btn-secondary btn-sm">
+            <i class="fas fa-arrow-left"></i> I miei Casting
+        </a>
+    </div>
+
+    <%-- TAB PER STATO (i conteggi rispettano gli altri filtri) --%>
+    <div class="status-tabs mb-2">
+        <c:url var="allUrl" value="/cd/applications">
+            <c:param name="id" value="${casting.castingID}"/>
+            <c:param name="gender" value="${filter.gender}"/>
+            <c:param name="category" value="${filter.category}"/>
+            <c:param name="from" value="${filter.sentFrom}"/>
+            <c:param name="to" value="${filter.sentTo}"/>
+            <c:param name="sort" value="${filter.sort}"/>
+        </c:url>
+        <a href="${allUrl}" class="status-tab ${empty filter.status ? 'active' : ''}">Tutte</a>
+
+        <c:forEach var="s" items="${statuses}">
+            <c:url var="statusUrl" value="/cd/applications">
+                <c:param name="id" value="${casting.castingID}"/>
+                <c:param name="status" value="${s}"/>
+                <c:param name="gender" value="${filter.gender}"/>
+                <c:param name="category" value="${filter.category}"/>
+                <c:param name="from" value="${filter.sentFrom}"/>
+                <c:param name="to" value="${filter.sentTo}"/>
+                <c:param name="sort" value="${filter.sort}"/>
+            </c:url>
+            <a href="${statusUrl}" class="status-tab ${filter.status eq s ? 'active' : ''}">
+                ${s.name().replace('_', ' ')} <span class="badge-type">${statusCounts[s.name()]}</span>
+            </a>
+        </c:forEach>
+    </div>
+
+    <%-- FILTRI --%>
+    <form action="${pageContext.request.contextPath}/cd/applications" method="get" class="team-form mb-2">
+        <input type="hidden" name="id" value="${casting.castingID}">
+        <input type="hidden" name="status" value="${filter.status}">
+
+        <div class="team-select-group">
+            <label for="gender" class="form-label">Genere</label>
+            <select name="gender" id="gender" class="form-select">
+                <option value="">Tutti</option>
+                <c:forEach var="g" items="${genders}">
+                    <option value="${g}" ${filter.gender eq g ? 'selected' : ''}>${g}</option>
+                </c:forEach>
+            </select>
+        </div>
+
+        <div class="team-select-group">
+            <label for="category" class="form-label">Categoria</label>
+            <select name="category" id="category" class="form-select">
+                <option value="">Tutte</option>
+                <c:forEach var="cat" items="${categories}">
+                    <option value="${cat}" ${filter.category eq cat ? 'selected' : ''}>${cat.name().replace('_', '/')}</option>
+                </c:forEach>
+            </select>
+        </div>
+
+        <div class="team-select-group">
+            <label for="from" class="form-label">Inviata dal</label>
+            <input type="date" id="from" name="from" class="form-input" value="${filter.sentFrom}">
+        </div>
+
+        <div class="team-select-group">
+            <label for="to" class="form-label">al</label>
+            <input type="date" id="to" name="to" class="form-input" value="${filter.sentTo}">
+        </div>
+
+        <div class="team-select-group">
+            <label for="sort" class="form-label">Ordina</label>
+            <select name="sort" id="sort" class="form-select">
+                <option value="NEWEST" ${filter.sort eq 'NEWEST' ? 'selected' : ''}>Più recenti</option>
+                <option value="OLDEST" ${filter.sort eq 'OLDEST' ? 'selected' : ''}>Meno recenti</option>
+            </select>
+        </div>
+
+        <button type="submit" class="btn btn-primary">
+            <i class="fas fa-filter"></i> Filtra
+        </button>
+    </form>
+
+    <%-- AZIONI MULTIPLE SULLE CANDIDATURE SELEZIONATE --%>
+    <form action="${pageContext.request.contextPath}/cd/applications/status" method="post" id="bulkForm">
+    <input type="hidden" name="back" value="${pageBaseUrl}">
+
+    <div class="team-form mb-2">
+        <div class="team-select-group">
+            <label for="bulkStatus" class="form-label">Sposta le selezionate in</label>
+            <select name="status" id="bulkStatus" class="form-select" required>
+                <option value="Shortlist">Shortlist</option>
+                <option value="Selezionata">Selezionata</option>
+                <option value="Rifiutata">Rifiutata</option>
+            </select>
+        </div>
+
+        <div class="team-select-group">
+            <label for="bulkFeedback" class="form-label">Feedback (opzionale)</label>
+            <input type="text" id="bulkFeedback" name="feedback" class="form-input" maxlength="1000">
+        </div>
+
+        <button type="submit" class="btn btn-primary"
+                onclick="return confirm('Confermi il cambio di stato delle candidature selezionate?');">
+            <i class="fas fa-check-double"></i> Applica
+        </button>
+    </div>
+
+    <div class="productions-card">
+        <div class="table-responsive">
+            <table class="production-table">
+                <thead>
+                <tr>
+                    <th><input type="checkbox" title="Seleziona tutte"
+                               onclick="document.querySelectorAll('input[name=ids]').forEach(cb => cb.checked = this.checked);"></th>
+                    <th>ID</th>
+                    <th>Performer</th>
+                    <th>Contatti</th>
+                    <th>Categoria</th>
+                    <th>Data Invio</th>
+                    <th>Stato</th>
+                    <th class="text-center">CV</th>
+                </tr>
+                </thead>
+                <tbody>
+                <c:choose>
+                    <c:when test="${not empty applicants}">
+                        <c:forEach var="a" items="${applicants}">
+                            <tr>
+                                <td><input type="checkbox" name="ids" value="${a.applicationID}"></td>
+                                <td class="col-id">#${a.applicationID}</td>
+
+                                <td>
+                                    <strong class="col-title"><c:out value="${a.firstName} ${a.lastName}"/></strong>
+                                    <div class="text-secondary">${a.gender}</div>
+                                </td>
+
+                                <td>
+                                    <div><i class="fas fa-envelope"></i> <c:out value="${a.email}"/></div>
+                                    <div><i class="fas fa-phone"></i> <c:out value="${a.phoneNumber}"/></div>
+                                </td>
+
+                                <td><span class="badge-type">${a.category.name().replace('_', '/')}</span></td>
+
+                                <td>${a.sendingDate.toLocalDate()}</td>
+
+                                <td>${a.status.name().replace('_', ' ')}</td>
+
+                                <td class="actions-cell">
+                                    <div class="action-buttons">
+                                        <a href="${pageContext.request.contextPath}/download-cv?id=${a.performerID}"
+                                           target="_blank" class="btn-circle btn-info" title="Visualizza CV">
+                                            <i class="fas fa-file-pdf"></i>
+                                        </a>
+                                    </div>
+                                </td>
+                            </tr>
+                        </c:forEach>
+                    </c:when>
+                    <c:otherwise>
+                        <tr>
+                            <td colspan="8" class="empty-state">
+                                <p class="empty-state-text">Nessuna candidatura corrisponde ai filtri selezionati.</p>
+                            </td>
+                        </tr>
+                    </c:otherwise>
+                </c:choose>
+                </tbody>
+            </table>
+        </div>
+    </div>
+    </form>
+
+    <%-- La prima pagina mostra le candidature nell'ordinamento scelto --%>
+    <c:set var="firstPageLabel" value="${filter.sort eq 'OLDEST' ? 'Meno recenti' : 'Più recenti'}" scope="request"/>
+    <jsp:include page="/WEB-INF/components/pagination.jsp" />
+
+</main>
+
+<jsp:include page="/WEB-INF/components/footer.jsp" />
+<script src="${pageContext.request.contextPath}/scripts/mobile-menu.js"></script>
+
+</body>
+</html>
@@ -0,0 +1,115 @@
+<%@ page contentType="text/html;charset=UTF-8" language="java" %>
+<%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
+
+<!DOCTYPE html>
+<html lang="it">
+<head>
+    <meta charset="UTF-8">
+    <meta name="viewport" content="width=device-width, initial-scale=1.0">
+    <title>Talenti | Audire </title>
+
+    <link rel="stylesheet" href="${pageContext.request.contextPath}/styles/style.css">
+    <link rel="stylesheet" href="${pageContext.request.contextPath}/styles/home.css">
+    <link rel="stylesheet" href="https://cdnjs.cloudflare.com/ajax/libs/font-awesome/6.0.0/css/all.min.css">
+</head>
+<body>
+
+<jsp:include page="/WEB-INF/components/header.jsp" />
+
+<main class="container mt-3">
+
+    <div class="section-title">
+        <h2><i class="fas fa-user-friends"></i> Cerca talenti</h2>
+    </div>
+
+    <%-- FILTRI: i numeri indicano quanti performer mostrerebbe ogni scelta --%>
+    <form action="${pageContext.request.contextPath}/cd/talent" method="get" class="home-filters">
+        <div class="home-filter-group">
+            <label for="q" class="form-label">Nome o descrizione</label>
+            <input type="search" id="q" name="q" class="form-input" maxlength="200"
+                   value="<c:out value='${filter.query}'/>" placeholder="Es. ballerina classica">
+        </div>
+
+        <div class="home-filter-group">
+            <label for="gender" class="form-label">Genere</label>
+            <select name="gender" id="gender" class="form-select">
+                <option value="">Tutti</option>
+                <c:forEach var="g" items="${genders}">
+                    <option value="${g}" ${filter.gender eq g ? 'selected' : ''}>
+                        ${g} (${facets.genders[g.name()]})
+                    </option>
+                </c:forEach>
+            </select>
+        </div>
+
+        <div class="home-filter-group">
+            <label for="category" class="form-label">Categoria</label>
+            <select name="category" id="category" class="form-select">
+                <option value="">Tutte</option>
+                <c:forEach var="cat" items="${categories}">
+                    <option value="${cat}" ${filter.category eq cat ? 'selected' : ''}>
+                        ${cat.name().replace('_', '/')} (${facets.categories[cat.name()]})
+                    </option>
+                </c:forEach>
+            </select>
+        </div>
+
+        <button type="submit" class="btn btn-primary">
+            <i class="fas fa-search"></i> Cerca
+        </button>
+        <c:if test="${not filter['empty']}">
+            <a href="${pageContext.request.contextPath}/cd/talent" class="btn btn-secondary">Azzera</a>
+        </c:if>
+
+        <span class="home-filter-total">${facets.total} performer</span>
+    </form>
+
+    <div class="casting-grid">
+        <c:choose>
+            <c:when test="${not empty talents}">
+                <c:forEach var="t" items="${talents}">
+                    <div class="casting-card-public">
+                        <div class="card-header talent-card-header">
+                            <c:choose>
+                                <c:when test="${not empty t.performer.profilePhoto}">
+                                    <img src="${pageContext.request.contextPath}/uploads/<c:out value='${t.performer.profilePhoto}'/>"
+                                         alt="Foto Profilo" class="talent-avatar" loading="lazy">
+                                </c:when>
+                                <c:otherwise>
+                                    <div class="talent-avatar talent-avatar-placeholder"><i class="fas fa-user"></i></div>
+                                </c:otherwise>
+                            </c:choose>
+                            <div>
+                                <span class="card-category">${t.performer.category.name().replace('_', '/')}</span>
+                                <h3 class="card-title"><c:out value="${t.firstName} ${t.lastName}"/></h3>
+                            </div>
+                        </div>
+                        <div class="card-body">
+                            <p class="card-desc"><c:out value="${t.performer.description}"/></p>
+                            <div class="card-meta">
+                                <span><i class="fas fa-venus-mars"></i> ${t.performer.gender}</span>
+                            </div>
+                        </div>
+                    </div>
+                </c:forEach>
+            </c:when>
+
+            <c:otherwise>
+                <div class="col-12 text-center p-5" style="grid-column: 1 / -1;">
+                    <i class="fas fa-search fa-3x text-secondary mb-3"></i>
+                    <h3>Nessun performer corrisponde alla ricerca.</h3>
+                    <p>Prova con parole diverse o rimuovi qualche filtro.</p>
+                </div>
+            </c:otherwise>
+        </c:choose>
+    </div>
+
+    <jsp:include page="/WEB-INF/components/pagination.jsp" />
+
+</main>
+
+<jsp:include page="/WEB-INF/components/footer.jsp" />
+<script src="${pageContext.request.contextPath}/scripts/mobile-menu.js"></script>
+
+</body>
+</html>
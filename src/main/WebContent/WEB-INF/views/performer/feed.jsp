@@ -0,0 +1,52 @@
+<%@ page contentType="text/html;charset=UTF-8" language="java" %>
+<%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
+
+<!DOCTYPE html>
+<html lang="it">
+<head>
+    <meta charset="UTF-8">
+    <meta name="viewport" content="width=device-width, initial-scale=1.0">
+    <title>Per Te | Audire </title>
+
+    <link rel="stylesheet" href="${pageContext.request.contextPath}/styles/style.css">
+    <link rel="stylesheet" href="${pageContext.request.contextPath}/styles/home.css">
+    <link rel="stylesheet" href="https://cdnjs.cloudflare.com/ajax/libs/font-awesome/6.0.0/css/all.min.css">
+</head>
+<body>
+
+<jsp:include page="/WEB-INF/components/header.jsp" />
+
+<main class="container mt-3">
+
+    <div class="section-title">
+        <h2><i class="fas fa-magic"></i> Casting per te</h2>
+    </div>
+
+    <div class="casting-grid">
+        <c:choose>
+            <%-- SE CI SONO CASTING --%>
+            <c:when test="${not empty castingCards}">
+                <%-- Ordinati per affinità con la tua categoria, scadenza e data di pubblicazione --%>
+                <c:forEach var="card" items="${castingCards}">
+                    ${card}
+                </c:forEach>
+            </c:when>
+
+            <%-- NESSUN CASTING --%>
+            <c:otherwise>
+                <div class="col-12 text-center p-5" style="grid-column: 1 / -1;">
+                    <i class="fas fa-search fa-3x text-secondary mb-3"></i>
+                    <h3>Nessun nuovo casting per te al momento.</h3>
+                    <p>Ti sei già candidato a tutti i casting aperti: torna a trovarci presto!</p>
+                </div>
+            </c:otherwise>
+        </c:choose>
+    </div>
+
+</main>
+
+<jsp:include page="/WEB-INF/components/footer.jsp" />
+<script src="${pageContext.request.contextPath}/scripts/mobile-menu.js"></script>
+
+</body>
+</html>
@@ -21,6 +21,15 @@
         <a href="${pageContext.request.contextPath}/" class="btn btn-secondary btn-sm">Cerca altro</a>
     </div>
 
+    <c:if test="${totalApplications gt 0}">
+        <p class="text-secondary mb-3">
+            Totale: <strong>${totalApplications}</strong>
+            <c:forEach var="entry" items="${statusCounts}">
+                &middot; ${entry.key.replace('_', ' ')}: <strong>${entry.value}</strong>
+            </c:forEach>
+        </p>
+    </c:if>
+
     <div class="productions-card">
         <div class="table-responsive">
             <table class="production-table">
@@ -28,6 +37,8 @@
                 <tr>
                     <th>ID</th>
                     <th>Casting</th>
+                    <th>Produzione</th>
+                    <th>Scadenza</th>
                     <th>Data Invio</th>
                     <th>Stato</th>
                     <th>Feedback</th>
@@ -39,9 +50,14 @@
                         <td class="col-id">#${app.applicationID}</td>
 
                         <td>
-                            <strong class="col-title">${castingTitles[app.castingID]}</strong>
+                            <strong class="col-title"><c:out value="${app.castingTitle}"/></strong>
+                            <div class="text-secondary"><i class="fas fa-map-marker-alt"></i> <c:out value="${app.castingLocation}"/></div>
                         </td>
 
+                        <td><c:out value="${app.productionTitle}"/></td>
+
+                        <td>${app.castingDeadline.toLocalDate()}</td>
+
                         <td>
                             <i class="far fa-calendar-alt"></i> ${app.sendingDate.toLocalDate()}
                         </td>
@@ -58,12 +74,14 @@
                     </tr>
                 </c:forEach>
                 <c:if test="${empty applications}">
-                    <tr><td colspan="5" class="empty-state text-center">Nessuna candidatura inviata.</td></tr>
+                    <tr><td colspan="7" class="empty-state text-center">Nessuna candidatura inviata.</td></tr>
                 </c:if>
                 </tbody>
             </table>
         </div>
     </div>
+
+    <jsp:include page="/WEB-INF/components/pagination.jsp" />
 </main>
 <jsp:include page="/WEB-INF/components/footer.jsp" />
 </body>
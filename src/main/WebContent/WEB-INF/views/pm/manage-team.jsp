@@ -31,36 +31,29 @@
 
     <div class="card team-card">
         <h4><i class="fas fa-user-plus"></i> Aggiungi Casting Director</h4>
-        <p>Seleziona un professionista disponibile dalla lista (Nome e Email).</p>
+        <p>Cerca un professionista per nome, cognome o email.</p>
 
-        <form action="${pageContext.request.contextPath}/pm/team" method="post" class="team-form">
+        <form action="${pageContext.request.contextPath}/pm/team" method="post" class="team-form" id="teamForm"
+              data-search-url="${pageContext.request.contextPath}/pm/team/search?productionId=${production.productionID}">
             <input type="hidden" name="action" value="add">
             <input type="hidden" name="productionId" value="${production.productionID}">
+            <input type="hidden" name="userId" id="userId">
 
             <div class="team-select-group">
-                <label for="userId" class="team-select-label">Seleziona Utente:</label>
-
-                <select name="userId" id="userId" required class="team-select">
-                    <option value="">-- Seleziona un Casting Director --</option>
-
-                    <c:forEach var="cd" items="${availableCDs}">
-                        <option value="${cd.userID}">
-                                ${cd.firstName} ${cd.lastName} &nbsp; • &nbsp; ${cd.email}
-                        </option>
-                    </c:forEach>
-                </select>
+                <label for="cdSearch" class="team-select-label">Cerca Casting Director:</label>
+
+                <div class="typeahead">
+                    <input type="text" id="cdSearch" class="team-select" autocomplete="off"
+                           placeholder="Es. Mario Rossi o mario@email.it" role="combobox"
+                           aria-autocomplete="list" aria-controls="cdResults" aria-expanded="false">
+                    <ul id="cdResults" class="typeahead-results" role="listbox" hidden></ul>
+                </div>
             </div>
 
-            <button type="submit" class="btn btn-primary" ${empty availableCDs ? 'disabled' : ''}>
+            <button type="submit" class="btn btn-primary" id="assignButton" disabled>
                 Assegna al Team
             </button>
         </form>
-
-        <c:if test="${empty availableCDs}">
-            <p class="text-danger mt-1" style="font-size: 0.9rem;">
-                <i class="fas fa-exclamation-circle"></i> Non ci sono altri Casting Director disponibili nel sistema.
-            </p>
-        </c:if>
     </div>
 
     <div class="productions-card">
@@ -126,6 +119,7 @@
 
 <jsp:include page="/WEB-INF/components/footer.jsp" />
 <script src="${pageContext.request.contextPath}/scripts/mobile-menu.js"></script>
+<script src="${pageContext.request.contextPath}/scripts/team-typeahead.js"></script>
 
 </body>
 </html>
\ No newline at end of file
@@ -101,6 +101,8 @@
         </div>
     </div>
 
+    <jsp:include page="/WEB-INF/components/pagination.jsp" />
+
 </main>
 
 <jsp:include page="/WEB-INF/components/footer.jsp" />
@@ -0,0 +1,67 @@
+<%@ page contentType="text/html;charset=UTF-8" language="java" %>
+<%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
+
+<!DOCTYPE html>
+<html lang="it">
+<head>
+    <meta charset="UTF-8">
+    <meta name="viewport" content="width=device-width, initial-scale=1.0">
+    <title>Ricerca | Audire </title>
+
+    <link rel="stylesheet" href="${pageContext.request.contextPath}/styles/style.css">
+    <link rel="stylesheet" href="${pageContext.request.contextPath}/styles/home.css">
+    <link rel="stylesheet" href="https://cdnjs.cloudflare.com/ajax/libs/font-awesome/6.0.0/css/all.min.css">
+</head>
+<body>
+
+<jsp:include page="/WEB-INF/components/header.jsp" />
+
+<main class="container mt-3">
+
+    <div class="section-title">
+        <c:choose>
+            <c:when test="${not empty query}">
+                <h2><i class="fas fa-search"></i> Risultati per "<c:out value="${query}"/>"</h2>
+            </c:when>
+            <c:otherwise>
+                <h2><i class="fas fa-search"></i> Cerca tra i casting</h2>
+            </c:otherwise>
+        </c:choose>
+    </div>
+
+    <div class="casting-grid">
+        <c:choose>
+            <%-- SE CI SONO RISULTATI --%>
+            <c:when test="${not empty castingCards}">
+                <%-- Card pre-renderizzate per il ruolo dell'utente (vedi CastingFragments) --%>
+                <c:forEach var="card" items="${castingCards}">
+                    ${card}
+                </c:forEach>
+            </c:when>
+
+            <%-- NESSUN RISULTATO --%>
+            <c:otherwise>
+                <div class="col-12 text-center p-5" style="grid-column: 1 / -1;">
+                    <i class="fas fa-search fa-3x text-secondary mb-3"></i>
+                    <c:choose>
+                        <c:when test="${not empty query}">
+                            <h3>Nessun casting attivo corrisponde alla ricerca.</h3>
+                            <p>Prova con parole diverse o più generiche.</p>
+                        </c:when>
+                        <c:otherwise>
+                            <h3>Scrivi cosa stai cercando.</h3>
+                            <p>Ad esempio un ruolo, una città o il titolo di una produzione.</p>
+                        </c:otherwise>
+                    </c:choose>
+                </div>
+            </c:otherwise>
+        </c:choose>
+    </div>
+
+</main>
+
+<jsp:include page="/WEB-INF/components/footer.jsp" />
+<script src="${pageContext.request.contextPath}/scripts/mobile-menu.js"></script>
+
+</body>
+</html>
@@ -1,6 +1,7 @@
 <%@ page contentType="text/html;charset=UTF-8" language="java" %>
 <%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
 <%@ taglib prefix="fmt" uri="http://java.sun.com/jsp/jstl/fmt" %>
+<%@ taglib prefix="fn" uri="http://java.sun.com/jsp/jstl/functions" %>
 
 <!DOCTYPE html>
 <html lang="it">
@@ -28,66 +29,75 @@
         <h2><i class="fas fa-star"></i> Casting In Evidenza</h2>
     </div>
 
+    <%-- FILTRI: i numeri indicano quanti casting mostrerebbe ogni scelta --%>
+    <c:if test="${not empty facets}">
+        <form action="${pageContext.request.contextPath}/" method="get" class="home-filters">
+            <div class="home-filter-group">
+                <label for="category" class="form-label">Categoria</label>
+                <select name="category" id="category" class="form-select">
+                    <option value="">Tutte</option>
+                    <c:forEach var="cat" items="${castingCategories}">
+                        <option value="${cat}" ${filter.category eq cat ? 'selected' : ''}>
+                            ${cat.name().replace('_', '/')} (${facets.categories[cat.name()]})
+                        </option>
+                    </c:forEach>
+                </select>
+            </div>
+
+            <div class="home-filter-group">
+                <label for="type" class="form-label">Produzione</label>
+                <select name="type" id="type" class="form-select">
+                    <option value="">Tutte</option>
+                    <c:forEach var="t" items="${productionTypes}">
+                        <option value="${t}" ${filter.productionType eq t ? 'selected' : ''}>
+                            ${t.name().replace('_', ' ')} (${facets.productionTypes[t.name()]})
+                        </option>
+                    </c:forEach>
+                </select>
+            </div>
+
+            <div class="home-filter-group">
+                <label for="location" class="form-label">Luogo</label>
+                <select name="location" id="location" class="form-select">
+                    <option value="">Ovunque</option>
+                    <c:forEach var="loc" items="${facets.locations}">
+                        <option value="<c:out value='${loc.key}'/>" ${fn:toLowerCase(filter.location) eq fn:toLowerCase(loc.key) ? 'selected' : ''}>
+                            <c:out value="${loc.key}"/> (${loc.value})
+                        </option>
+                    </c:forEach>
+                </select>
+            </div>
+
+            <div class="home-filter-group">
+                <label for="deadline" class="form-label">Scadenza</label>
+                <select name="deadline" id="deadline" class="form-select">
+                    <option value="">Qualsiasi</option>
+                    <c:forEach var="days" items="${deadlineWindows}">
+                        <option value="${days}" ${filter.deadlineDays eq days ? 'selected' : ''}>
+                            Entro ${days} giorni (${facets.deadlines[days.toString()]})
+                        </option>
+                    </c:forEach>
+                </select>
+            </div>
+
+            <button type="submit" class="btn btn-primary">
+                <i class="fas fa-filter"></i> Filtra
+            </button>
+            <c:if test="${not filter['empty']}">
+                <a href="${pageContext.request.contextPath}/" class="btn btn-secondary">Azzera</a>
+            </c:if>
+
+            <span class="home-filter-total">${facets.total} casting</span>
+        </form>
+    </c:if>
+
     <div class="casting-grid">
         <c:choose>
             <%-- SE CI SONO CASTING --%>
             <c:when test="${not empty activeCastings}">
-                <c:forEach var="c" items="${activeCastings}">
-
-                    <article class="casting-card-public">
-                        <div class="card-header">
-                            <span class="card-category">${c.category}</span>
-                            <h3 class="card-title">
-                                <a href="${pageContext.request.contextPath}/casting-details?id=${c.castingID}" style="text-decoration: none; color: inherit;">
-                                        ${c.title}
-                                </a>
-                            </h3>
-                        </div>
-
-                        <div class="card-body">
-                            <div class="production-info">
-                                <i class="fas fa-video"></i> ${productionTitles[c.castingID]}
-                            </div>
-
-                            <p class="card-desc">
-                                    ${c.description}
-                            </p>
-
-                            <div class="card-meta">
-                                <span><i class="fas fa-map-marker-alt"></i> ${c.location}</span>
-                                <span class="text-danger">
-                                    <i class="far fa-clock"></i> Scade: ${c.deadline.toLocalDate()}
-                                </span>
-                            </div>
-                        </div>
-
-                        <div class="card-footer">
-                            <c:choose>
-                                <%-- 1. UTENTE PERFORMER: Bottone Candidati --%>
-                                <c:when test="${sessionScope.user.role == 'Performer'}">
-                                    <a href="${pageContext.request.contextPath}/performer/review-application?id=${c.castingID}"
-                                       class="btn btn-apply">
-                                        Candidati Ora
-                                    </a>
-                                </c:when>
-
-                                <%-- 2. UTENTE OSPITE (Non loggato): Invito al login --%>
-                                <c:when test="${empty sessionScope.user}">
-                                    <a href="${pageContext.request.contextPath}/login" class="btn btn-secondary btn-block">
-                                        Accedi per Candidarti
-                                    </a>
-                                </c:when>
-
-                                <%-- 3. ALTRI RUOLI (PM, CD): Bottone Dettagli (o niente) --%>
-                                <c:otherwise>
-                                    <span class="text-secondary" style="font-size: 0.9rem;">
-                                        <i class="fas fa-info-circle"></i> Solo per Performer
-                                    </span>
-                                </c:otherwise>
-                            </c:choose>
-                        </div>
-                    </article>
-
+                <%-- Card pre-renderizzate per il ruolo dell'utente (vedi CastingFragments) --%>
+                <c:forEach var="card" items="${castingCards}">
+                    ${card}
                 </c:forEach>
             </c:when>
 
@@ -102,6 +112,8 @@
         </c:choose>
     </div>
 
+    <jsp:include page="/WEB-INF/components/pagination.jsp" />
+
 </main>
 
 <jsp:include page="/WEB-INF/components/footer.jsp" />
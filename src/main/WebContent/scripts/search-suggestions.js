@@ -0,0 +1,94 @@
+document.addEventListener('DOMContentLoaded', function() {
+    const form = document.querySelector('form.search-bar');
+    if (!form) return;
+
+    const input = document.getElementById('search-input');
+    const spinner = document.getElementById('search-spinner');
+    const container = document.getElementById('search-suggestions');
+    const suggestUrl = form.dataset.suggestUrl;
+    const detailsUrl = form.dataset.detailsUrl;
+
+    const DEBOUNCE_MS = 150;
+    const MIN_LENGTH = 2;
+    let timer = null;
+    let lastQuery = '';
+    let controller = null;
+
+    function hide() {
+        container.classList.remove('visible');
+        container.innerHTML = '';
+    }
+
+    function render(list) {
+        container.innerHTML = '';
+        if (list.length === 0) {
+            hide();
+            return;
+        }
+
+        list.forEach(function(item) {
+            const link = document.createElement('a');
+            link.className = 'search-suggestion';
+            link.href = detailsUrl + '?id=' + encodeURIComponent(item.id);
+
+            const title = document.createElement('strong');
+            title.textContent = item.title;
+            const production = document.createElement('span');
+            production.textContent = item.production;
+
+            link.appendChild(title);
+            link.appendChild(production);
+            container.appendChild(link);
+        });
+        container.classList.add('visible');
+    }
+
+    function suggest(query) {
+        // Annulla la richiesta precedente: conta solo l'ultima digitazione
+        if (controller) controller.abort();
+        controller = new AbortController();
+        spinner.classList.add('visible');
+
+        fetch(suggestUrl + '&q=' + encodeURIComponent(query), { signal: controller.signal })
+            .then(function(resp) {
+                if (!resp.ok) throw new Error(resp.status);
+                return resp.json();
+            })
+            .then(function(list) {
+                if (query === lastQuery) render(list);
+                spinner.classList.remove('visible');
+            })
+            .catch(function(err) {
+                if (err.name !== 'AbortError') {
+                    hide();
+                    spinner.classList.remove('visible');
+                }
+            });
+    }
+
+    input.addEventListener('input', function() {
+        // Senza trim: lo spazio finale indica che l'ultima parola è completa
+        const query = input.value;
+        lastQuery = query;
+        clearTimeout(timer);
+
+        if (query.trim().length < MIN_LENGTH) {
+            hide();
+            return;
+        }
+        timer = setTimeout(function() { suggest(query); }, DEBOUNCE_MS);
+    });
+
+    input.addEventListener('keydown', function(e) {
+        if (e.key === 'Escape') hide();
+    });
+
+    input.addEventListener('blur', function() {
+        // Lascia il tempo al click su un suggerimento
+        setTimeout(hide, 200);
+    });
+
+    form.addEventListener('submit', function(e) {
+        if (input.value.trim().length === 0) e.preventDefault();
+    });
+});
@@ -0,0 +1,137 @@
+document.addEventListener('DOMContentLoaded', function() {
+    const form = document.getElementById('teamForm');
+    if (!form) return;
+
+    const input = document.getElementById('cdSearch');
+    const results = document.getElementById('cdResults');
+    const userId = document.getElementById('userId');
+    const assignButton = document.getElementById('assignButton');
+    const searchUrl = form.dataset.searchUrl;
+
+    const DEBOUNCE_MS = 150;
+    let timer = null;
+    let lastQuery = '';
+    let controller = null;
+    let items = [];
+    let active = -1;
+
+    function close() {
+        results.hidden = true;
+        input.setAttribute('aria-expanded', 'false');
+        active = -1;
+    }
+
+    function select(item) {
+        input.value = item.name + ' • ' + item.email;
+        userId.value = item.userId;
+        assignButton.disabled = false;
+        close();
+    }
+
+    function highlight(index) {
+        const rows = results.querySelectorAll('li[data-index]');
+        rows.forEach(function(row) { row.classList.remove('active'); });
+        if (index >= 0 && index < rows.length) {
+            rows[index].classList.add('active');
+            rows[index].scrollIntoView({ block: 'nearest' });
+        }
+        active = index;
+    }
+
+    function render(list) {
+        items = list;
+        results.innerHTML = '';
+
+        if (list.length === 0) {
+            const empty = document.createElement('li');
+            empty.className = 'typeahead-empty';
+            empty.textContent = 'Nessun Casting Director disponibile trovato.';
+            results.appendChild(empty);
+        }
+
+        list.forEach(function(item, index) {
+            const row = document.createElement('li');
+            row.setAttribute('role', 'option');
+            row.dataset.index = index;
+
+            const name = document.createElement('strong');
+            name.textContent = item.name;
+            const email = document.createElement('span');
+            email.className = 'typeahead-email';
+            email.textContent = item.email;
+
+            row.appendChild(name);
+            row.appendChild(email);
+            // mousedown: scatta prima del blur dell'input
+            row.addEventListener('mousedown', function(e) {
+                e.preventDefault();
+                select(item);
+            });
+            results.appendChild(row);
+        });
+
+        results.hidden = false;
+        input.setAttribute('aria-expanded', 'true');
+        active = -1;
+    }
+
+    function search(query) {
+        // Annulla la richiesta precedente: conta solo l'ultima digitazione
+        if (controller) controller.abort();
+        controller = new AbortController();
+
+        fetch(searchUrl + '&q=' + encodeURIComponent(query), { signal: controller.signal })
+            .then(function(resp) {
+                if (!resp.ok) throw new Error(resp.status);
+                return resp.json();
+            })
+            .then(function(list) {
+                if (query === lastQuery) render(list);
+            })
+            .catch(function(err) {
+                if (err.name !== 'AbortError') close();
+            });
+    }
+
+    input.addEventListener('input', function() {
+        // Il testo è cambiato: la selezione precedente non vale più
+        userId.value = '';
+        assignButton.disabled = true;
+
+        const query = input.value.trim();
+        lastQuery = query;
+        clearTimeout(timer);
+
+        if (query.length === 0) {
+            close();
+            return;
+        }
+        timer = setTimeout(function() { search(query); }, DEBOUNCE_MS);
+    });
+
+    input.addEventListener('keydown', function(e) {
+        if (results.hidden || items.length === 0) return;
+
+        if (e.key === 'ArrowDown') {
+            e.preventDefault();
+            highlight(Math.min(active + 1, items.length - 1));
+        } else if (e.key === 'ArrowUp') {
+            e.preventDefault();
+            highlight(Math.max(active - 1, 0));
+        } else if (e.key === 'Enter' && active >= 0) {
+            e.preventDefault();
+            select(items[active]);
+        } else if (e.key === 'Escape') {
+            close();
+        }
+    });
+
+    input.addEventListener('blur', close);
+
+    form.addEventListener('submit', function(e) {
+        if (!userId.value) {
+            e.preventDefault();
+            input.focus();
+        }
+    });
+});
@@ -0,0 +1,268 @@
+package controller;
+
+import model.dto.CastingDTO;
+import model.dto.UserDTO;
+import utils.Cache;
+import utils.CacheMXBean;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Pre-rendered HTML of the casting cards (Home Page) and of the casting details, cached per casting
+ * and per variant, so that the hottest pages do not evaluate the same JSP/EL markup for every visitor.
+ * <p>
+ * The footer of a card depends on the visitor (guest, performer, other roles): each role has its own
+ * variant. The details fragments do not depend on the visitor; the action area of that page stays in the JSP.
+ * </p>
+ * <p>
+ * Every fragment keeps the casting and the production title it was rendered from, and is used only
+ * while they are still equal to the current ones: a casting updated or a production renamed is
+ * rendered again on its next request, with no explicit invalidation to miss. Stale fragments are then
+ * evicted by the cache, which is bounded by the total size of the HTML.
+ * </p>
+ * <p>
+ * Text coming from the database is HTML-escaped.
+ * </p>
+ */
+public class CastingFragments {
+
+    /**
+     * The versions of the markup of a casting.
+     */
+    public enum Variant {
+        CARD_GUEST,
+        CARD_PERFORMER,
+        CARD_OTHER,
+        /** Category, title and production of the details page. */
+        DETAIL_HEADER,
+        /** Description of the details page. */
+        DETAIL_DESCRIPTION,
+        /** Place and dates in the sidebar of the details page. */
+        DETAIL_SUMMARY;
+
+        /**
+         * @param role the role of the visitor, or null for a guest.
+         * @return the card variant shown to the visitor.
+         */
+        public static Variant cardFor(UserDTO.Role role) {
+            if (role == null) return CARD_GUEST;
+            return (role == UserDTO.Role.Performer) ? CARD_PERFORMER : CARD_OTHER;
+        }
+    }
+
+    private static final class Fragment {
+        final CastingDTO casting;
+        final String productionTitle;
+        final String html;
+
+        Fragment(CastingDTO casting, String productionTitle, String html) {
+            this.casting = casting;
+            this.productionTitle = productionTitle;
+            this.html = html;
+        }
+
+        boolean isCurrent(CastingDTO current, String currentTitle) {
+            return casting.equals(current) && Objects.equals(productionTitle, currentTitle);
+        }
+    }
+
+    private static final int MAX_ENTRIES = 50_000;
+    private static final long TTL_SECONDS = 3600;
+    private static final long ENTRY_OVERHEAD_BYTES = 96;
+
+    private final String contextPath;
+    private final Cache<Long, Fragment> cache;
+
+    /**
+     * @param contextPath the context path of the application, used in the links.
+     * @param maxBytes    the maximum total size of the cached HTML, in bytes.
+     */
+    public CastingFragments(String contextPath, long maxBytes) {
+        this.contextPath = Objects.requireNonNull(contextPath, "contextPath cannot be null");
+        this.cache = new Cache<>("CastingFragments", MAX_ENTRIES, maxBytes,
+                fragment -> 2L * fragment.html.length() + ENTRY_OVERHEAD_BYTES, TTL_SECONDS);
+    }
+
+    /**
+     * Returns the HTML of a casting, rendering it on a miss or if the casting or the title changed.
+     *
+     * @param casting         the casting to render.
+     * @param productionTitle the title of its production.
+     * @param variant         the markup to return.
+     * @return the HTML fragment.
+     */
+    public String render(CastingDTO casting, String productionTitle, Variant variant) {
+        Long key = ((long) casting.getCastingID() << 3) | variant.ordinal();
+
+        Fragment fragment = cache.getIfPresent(key);
+        if (fragment != null && fragment.isCurrent(casting, productionTitle)) {
+            return fragment.html;
+        }
+        if (fragment != null) {
+            cache.invalidate(key);
+        }
+
+        // Una copia: il DTO originale può essere modificato dal chiamante
+        CastingDTO copy = copyOf(casting);
+        fragment = cache.get(key, k -> new Fragment(copy, productionTitle, markup(copy, productionTitle, variant)));
+        return fragment.html;
+    }
+
+    /**
+     * Drops every fragment, e.g. after a change of the markup.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * @return the statistics of the fragment cache.
+     */
+    public CacheMXBean getCacheStats() {
+        return cache;
+    }
+
+    // --- Helper Methods ---
+
+    private String markup(CastingDTO c, String productionTitle, Variant variant) {
+        switch (variant) {
+            case DETAIL_HEADER:
+                return detailHeader(c, productionTitle);
+            case DETAIL_DESCRIPTION:
+                return detailDescription(c);
+            case DETAIL_SUMMARY:
+                return detailSummary(c);
+            default:
+                return card(c, productionTitle, variant);
+        }
+    }
+
+    private String card(CastingDTO c, String productionTitle, Variant variant) {
+        StringBuilder sb = new StringBuilder(1024);
+        sb.append("<article class=\"casting-card-public\">\n")
+                .append("    <div class=\"card-header\">\n")
+                .append("        <span class=\"card-category\">").append(escape(c.getCategory())).append("</span>\n")
+                .append("        <h3 class=\"card-title\">\n")
+                .append("            <a href=\"").append(contextPath).append("/casting-details?id=").append(c.getCastingID())
+                .append("\" style=\"text-decoration: none; color: inherit;\">\n")
+                .append("                ").append(escape(c.getTitle())).append('\n')
+                .append("            </a>\n")
+                .append("        </h3>\n")
+                .append("    </div>\n\n")
+                .append("    <div class=\"card-body\">\n")
+                .append("        <div class=\"production-info\">\n")
+                .append("            <i class=\"fas fa-video\"></i> ").append(escape(productionTitle)).append('\n')
+                .append("        </div>\n\n")
+                .append("        <p class=\"card-desc\">\n")
+                .append("            ").append(escape(c.getDescription())).append('\n')
+                .append("        </p>\n\n")
+                .append("        <div class=\"card-meta\">\n")
+                .append("            <span><i class=\"fas fa-map-marker-alt\"></i> ").append(escape(c.getLocation())).append("</span>\n")
+                .append("            <span class=\"text-danger\">\n")
+                .append("                <i class=\"far fa-clock\"></i> Scade: ").append(date(c.getDeadline())).append('\n')
+                .append("            </span>\n")
+                .append("        </div>\n")
+                .append("    </div>\n\n")
+                .append("    <div class=\"card-footer\">\n");
+
+        switch (variant) {
+            case CARD_PERFORMER:
+                sb.append("        <a href=\"").append(contextPath).append("/performer/review-application?id=").append(c.getCastingID())
+                        .append("\"\n           class=\"btn btn-apply\">\n")
+                        .append("            Candidati Ora\n")
+                        .append("        </a>\n");
+                break;
+            case CARD_GUEST:
+                sb.append("        <a href=\"").append(contextPath).append("/login\" class=\"btn btn-secondary btn-block\">\n")
+                        .append("            Accedi per Candidarti\n")
+                        .append("        </a>\n");
+                break;
+            default:
+                sb.append("        <span class=\"text-secondary\" style=\"font-size: 0.9rem;\">\n")
+                        .append("            <i class=\"fas fa-info-circle\"></i> Solo per Performer\n")
+                        .append("        </span>\n");
+        }
+
+        return sb.append("    </div>\n")
+                .append("</article>\n")
+                .toString();
+    }
+
+    private String detailHeader(CastingDTO c, String productionTitle) {
+        return "<div class=\"casting-header-section\">\n" +
+                "    <span class=\"casting-category-badge\">" + escape(c.getCategory()) + "</span>\n" +
+                "    <h1 class=\"casting-big-title\">" + escape(c.getTitle()) + "</h1>\n" +
+                "    <div class=\"casting-production-subtitle\">\n" +
+                "        Produzione: <strong>" + escape(productionTitle) + "</strong>\n" +
+                "    </div>\n" +
+                "</div>\n";
+    }
+
+    private String detailDescription(CastingDTO c) {
+        return "<div class=\"detail-content\">\n" +
+                "    <h3 class=\"detail-section-title\">Descrizione e Requisiti</h3>\n" +
+                "    <div class=\"detail-description-text\">\n" +
+                "        " + escape(c.getDescription()) + "\n" +
+                "    </div>\n" +
+                "</div>\n";
+    }
+
+    private String detailSummary(CastingDTO c) {
+        return "<div class=\"info-item\">\n" +
+                "    <i class=\"fas fa-map-marker-alt info-icon\"></i>\n" +
+                "    <div>\n" +
+                "        <span class=\"info-label\">Luogo</span>\n" +
+                "        <span class=\"info-value\">" + escape(c.getLocation()) + "</span>\n" +
+                "    </div>\n" +
+                "</div>\n\n" +
+                "<div class=\"info-item\">\n" +
+                "    <i class=\"far fa-calendar-check info-icon\"></i>\n" +
+                "    <div>\n" +
+                "        <span class=\"info-label\">Pubblicato il</span>\n" +
+                "        <span class=\"info-value\">" + date(c.getPublishDate()) + "</span>\n" +
+                "    </div>\n" +
+                "</div>\n\n" +
+                "<div class=\"info-item\">\n" +
+                "    <i class=\"far fa-clock info-icon\" style=\"color: var(--color-status-error);\"></i>\n" +
+                "    <div>\n" +
+                "        <span class=\"info-label\">Scadenza Candidature</span>\n" +
+                "        <span class=\"info-value text-danger\">" + date(c.getDeadline()) + "</span>\n" +
+                "    </div>\n" +
+                "</div>\n";
+    }
+
+    private static String date(LocalDateTime dateTime) {
+        return (dateTime != null) ? dateTime.toLocalDate().toString() : "";
+    }
+
+    private static String escape(Object value) {
+        if (value == null) return "";
+        String s = value.toString();
+        StringBuilder sb = null;
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            String replacement;
+            switch (ch) {
+                case '<': replacement = "&lt;"; break;
+                case '>': replacement = "&gt;"; break;
+                case '&': replacement = "&amp;"; break;
+                case '"': replacement = "&#034;"; break;
+                case '\'': replacement = "&#039;"; break;
+                default: replacement = null;
+            }
+            if (replacement == null) {
+                if (sb != null) sb.append(ch);
+            } else {
+                if (sb == null) sb = new StringBuilder(s.length() + 16).append(s, 0, i);
+                sb.append(replacement);
+            }
+        }
+        return (sb != null) ? sb.toString() : s;
+    }
+
+    private static CastingDTO copyOf(CastingDTO c) {
+        return new CastingDTO(c.getCastingID(), c.getLocation(), c.getCategory(), c.getDescription(),
+                c.getPublishDate(), c.getDeadline(), c.getTitle(), c.getCdID(), c.getProductionID());
+    }
+}
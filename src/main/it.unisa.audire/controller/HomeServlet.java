@@ -4,45 +4,174 @@ import jakarta.servlet.RequestDispatcher;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.*;
+import model.dao.ActiveCastingSnapshot;
 import model.dao.CastingDAO;
+import model.dao.ContentVersions;
 import model.dao.ProductionDAO;
 import model.dto.CastingDTO;
+import model.dto.CastingFilterDTO;
+import model.dto.PageDTO;
+import model.dto.PrincipalDTO;
+import model.dto.ProductionDTO;
+import utils.HttpValidators;
+import utils.NotificationUtil;
 
 import javax.sql.DataSource;
 import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @WebServlet("")
 public class HomeServlet extends HttpServlet {
 
+    private static final int PAGE_SIZE = 24;
+
     @Override
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        String after = req.getParameter("after");
+        CastingFilterDTO filter = readFilter(req);
+
+        // Percorso principale: snapshot in memoria, nessuna query al database
+        ActiveCastingSnapshot snapshot = (ActiveCastingSnapshot) getServletContext().getAttribute("activeCastings");
+
+        // Richiesta condizionale: se la copia del client è aggiornata risponde 304 senza costruire la pagina.
+        // La versione va letta prima della pagina, così non può risultare più recente del contenuto inviato.
+        ContentVersions.Stamp stamp = (snapshot != null) ? snapshot.getStamp() : null;
+        HttpSession session = req.getSession(false);
+        if (stamp != null && !NotificationUtil.hasNotification(session)) {
+            PrincipalDTO user = (session != null) ? (PrincipalDTO) session.getAttribute("user") : null;
+
+            // Le finestre di scadenza e i loro conteggi dipendono dalla data: a mezzanotte la pagina cambia
+            LocalDate today = LocalDate.now(ZoneId.systemDefault());
+            long midnight = today.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+            String etag = HttpValidators.etag(stamp.getTag(), today.toEpochDay(), (user != null) ? user.getViewTag() : "0");
+            if (HttpValidators.checkNotModified(req, resp, etag, Math.max(stamp.getLastModified(), midnight))) {
+                return;
+            }
+        }
+
+        // Filtri e conteggi dagli indici bitmap dello snapshot, senza SQL dinamico
+        PageDTO<CastingDTO> cached = (snapshot != null) ? snapshot.getPage(filter, after, PAGE_SIZE) : null;
+        if (cached != null) {
+            req.setAttribute("facets", snapshot.getFacets(filter));
+            req.setAttribute("filter", filter);
+            render(req, resp, cached, snapshot.getProductionTitles(), buildBaseUrl(filter));
+            return;
+        }
+
+        // Senza snapshot i filtri non sono disponibili: la pagina mostra tutti i casting attivi
+
         DataSource ds = (DataSource) getServletContext().getAttribute("ds");
         CastingDAO castingDAO = new CastingDAO(ds);
         ProductionDAO prodDAO = new ProductionDAO(ds);
 
         try {
-            List<CastingDTO> activeCastings = castingDAO.getAllActive();
-
-            Map<Integer, String> productionTitles = new HashMap<>();
+            PageDTO<CastingDTO> page = castingDAO.getActivePage(after, PAGE_SIZE);
+            List<CastingDTO> activeCastings = page.getItems();
 
+            // Una sola query per tutti i titoli delle produzioni coinvolte
+            Set<Integer> productionIDs = new HashSet<>();
             for (CastingDTO c : activeCastings) {
-                String title = prodDAO.getTitleByID(c.getProductionID());
-                productionTitles.put(c.getCastingID(), title);
+                productionIDs.add(c.getProductionID());
             }
+            Map<Integer, String> titlesByProduction = prodDAO.getTitlesByIDs(productionIDs);
 
-            req.setAttribute("activeCastings", activeCastings);
-            req.setAttribute("productionTitles", productionTitles);
+            // ID Casting -> Valore: Titolo Produzione
+            Map<Integer, String> productionTitles = new HashMap<>();
+            for (CastingDTO c : activeCastings) {
+                productionTitles.put(c.getCastingID(), titlesByProduction.getOrDefault(c.getProductionID(), "Unknown"));
+            }
 
-            RequestDispatcher dispatcher = req.getRequestDispatcher("/index.jsp");
-            dispatcher.forward(req, resp);
+            render(req, resp, page, productionTitles, "/");
 
         } catch (SQLException e) {
             e.printStackTrace();
             resp.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Errore Database");
         }
     }
-}
\ No newline at end of file
+
+    private void render(HttpServletRequest req, HttpServletResponse resp, PageDTO<CastingDTO> page,
+                        Map<Integer, String> productionTitles, String baseUrl) throws ServletException, IOException {
+        // Card già renderizzate: la JSP le scrive senza valutare di nuovo il markup
+        CastingFragments fragments = (CastingFragments) getServletContext().getAttribute("castingFragments");
+        HttpSession session = req.getSession(false);
+        PrincipalDTO user = (session != null) ? (PrincipalDTO) session.getAttribute("user") : null;
+        CastingFragments.Variant variant = CastingFragments.Variant.cardFor((user != null) ? user.getRole() : null);
+
+        List<String> cards = new ArrayList<>(page.getItems().size());
+        for (CastingDTO c : page.getItems()) {
+            cards.add(fragments.render(c, productionTitles.get(c.getCastingID()), variant));
+        }
+
+        req.setAttribute("castingCards", cards);
+        req.setAttribute("activeCastings", page.getItems());
+        req.setAttribute("productionTitles", productionTitles);
+        req.setAttribute("nextCursor", page.getNextCursor());
+        req.setAttribute("pageBaseUrl", baseUrl);
+        req.setAttribute("castingCategories", CastingDTO.Category.values());
+        req.setAttribute("productionTypes", ProductionDTO.Type.values());
+        req.setAttribute("deadlineWindows", ActiveCastingSnapshot.DEADLINE_WINDOWS);
+
+        RequestDispatcher dispatcher = req.getRequestDispatcher("/index.jsp");
+        dispatcher.forward(req, resp);
+    }
+
+    /**
+     * Legge i filtri dalla richiesta; i valori non validi vengono ignorati.
+     */
+    private CastingFilterDTO readFilter(HttpServletRequest req) {
+        CastingFilterDTO filter = new CastingFilterDTO();
+        filter.setCategory(parseEnum(CastingDTO.Category.class, req.getParameter("category")));
+        filter.setProductionType(parseEnum(ProductionDTO.Type.class, req.getParameter("type")));
+        filter.setLocation(req.getParameter("location"));
+
+        String deadline = req.getParameter("deadline");
+        if (deadline != null && !deadline.isEmpty()) {
+            try {
+                int days = Integer.parseInt(deadline);
+                if (ActiveCastingSnapshot.DEADLINE_WINDOWS.contains(days)) filter.setDeadlineDays(days);
+            } catch (NumberFormatException e) {
+                // Ignorato come gli altri valori non validi
+            }
+        }
+        return filter;
+    }
+
+    /**
+     * URL della Home Page con i filtri correnti, usato dalla paginazione per richiedere la pagina successiva.
+     */
+    private String buildBaseUrl(CastingFilterDTO filter) {
+        StringBuilder url = new StringBuilder("/");
+        appendParam(url, "category", filter.getCategory());
+        appendParam(url, "type", filter.getProductionType());
+        appendParam(url, "location", filter.getLocation());
+        appendParam(url, "deadline", filter.getDeadlineDays());
+        return url.toString();
+    }
+
+    private void appendParam(StringBuilder url, String name, Object value) {
+        if (value != null) {
+            url.append(url.length() == 1 ? '?' : '&').append(name).append('=')
+                    .append(URLEncoder.encode(value.toString(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        if (value == null || value.isEmpty()) return null;
+        try {
+            return Enum.valueOf(type, value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -17,7 +17,7 @@ public class PrepareApplication extends HttpServlet {
 
     @Override
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
-        UserDTO user = (UserDTO) req.getSession().getAttribute("user");
+        PrincipalDTO user = (PrincipalDTO) req.getSession().getAttribute("user");
 
         if (user == null || user.getRole() != UserDTO.Role.Performer) {
             resp.sendRedirect(req.getContextPath() + "/login");
@@ -39,7 +39,10 @@ public class PrepareApplication extends HttpServlet {
         try {
             int castingID = Integer.parseInt(castingIdStr);
 
-            PerformerDTO perfDTO = perfDAO.getByUserID(user.getUserID());
+            // Il profilo serve alla pagina di riepilogo; il CV non viene caricato
+            PerformerDTO perfDTO = (user.getPerformerID() != 0)
+                    ? perfDAO.getByID(user.getPerformerID(), PerformerDAO.Projection.PROFILE)
+                    : null;
 
             if (perfDTO == null) {
                 NotificationUtil.sendNotification(req, "Completa il tuo profilo prima di candidarti.", "warning");
@@ -0,0 +1,87 @@
+package controller;
+
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.*;
+import model.dao.CastingSearchIndex;
+import model.dto.CastingDTO;
+import model.dto.PrincipalDTO;
+import utils.JsonUtil;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ricerca testuale sui casting attivi (titolo, produzione, luogo e descrizione).
+ * <p>
+ * Le query sono servite dall'indice in memoria {@link CastingSearchIndex}, senza accessi al database.
+ * Con {@code format=json} restituisce i primi suggerimenti per la barra di ricerca dell'header:
+ * {@code [{"id":1,"title":"...","production":"..."}]}; altrimenti mostra la pagina dei risultati.
+ * </p>
+ */
+@WebServlet("/search")
+public class SearchServlet extends HttpServlet {
+
+    private static final int PAGE_RESULTS = 48;
+    private static final int SUGGESTIONS = 8;
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        String query = req.getParameter("q");
+        if (query != null && query.length() > MAX_QUERY_LENGTH) {
+            query = query.substring(0, MAX_QUERY_LENGTH);
+        }
+        boolean json = "json".equals(req.getParameter("format"));
+
+        CastingSearchIndex index = (CastingSearchIndex) getServletContext().getAttribute("castingSearch");
+        if (index == null || !index.isReady()) {
+            resp.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Ricerca non disponibile");
+            return;
+        }
+
+        List<CastingSearchIndex.Result> results = index.search(query, json ? SUGGESTIONS : PAGE_RESULTS);
+
+        if (json) {
+            writeSuggestions(resp, results);
+            return;
+        }
+
+        // Stesse card della Home Page, già renderizzate per il ruolo dell'utente
+        CastingFragments fragments = (CastingFragments) getServletContext().getAttribute("castingFragments");
+        HttpSession session = req.getSession(false);
+        PrincipalDTO user = (session != null) ? (PrincipalDTO) session.getAttribute("user") : null;
+        CastingFragments.Variant variant = CastingFragments.Variant.cardFor((user != null) ? user.getRole() : null);
+
+        List<String> cards = new ArrayList<>(results.size());
+        for (CastingSearchIndex.Result result : results) {
+            cards.add(fragments.render(result.getCasting(), result.getProductionTitle(), variant));
+        }
+
+        req.setAttribute("query", (query != null) ? query.trim() : "");
+        req.setAttribute("castingCards", cards);
+
+        RequestDispatcher dispatcher = req.getRequestDispatcher("/WEB-INF/views/search.jsp");
+        dispatcher.forward(req, resp);
+    }
+
+    private void writeSuggestions(HttpServletResponse resp, List<CastingSearchIndex.Result> results) throws IOException {
+        resp.setContentType("application/json");
+        resp.setCharacterEncoding("UTF-8");
+        resp.setHeader("Cache-Control", "no-store");
+
+        PrintWriter out = resp.getWriter();
+        out.print('[');
+        for (int i = 0; i < results.size(); i++) {
+            CastingDTO c = results.get(i).getCasting();
+            if (i > 0) out.print(',');
+            out.print("{\"id\":" + c.getCastingID() +
+                    ",\"title\":" + JsonUtil.quote(c.getTitle()) +
+                    ",\"production\":" + JsonUtil.quote(results.get(i).getProductionTitle()) + "}");
+        }
+        out.print(']');
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.*;
 import model.dao.UserDAO;
+import model.dto.PrincipalDTO;
 import model.dto.UserDTO;
 import utils.NotificationUtil;
 
@@ -57,9 +58,15 @@ public class Login extends HttpServlet {
         DataSource ds = (DataSource) getServletContext().getAttribute("ds");
         UserDAO userDAO = new UserDAO(ds);
         UserDTO user = null;
+        PrincipalDTO principal = null;
 
         try {
             user = userDAO.getByEmail(email);
+
+            // L'ID del profilo (CdID, PmID, PerformerID) viene letto una sola volta e resta in sessione
+            if (user != null && userDAO.verifyPassword(password, user.getPasswordHash())) {
+                principal = new PrincipalDTO(user, userDAO.getProfileID(user.getUserID(), user.getRole()));
+            }
         } catch (SQLException e) {
             e.printStackTrace();
             errors.add("Errore inaspettato del server.");
@@ -68,15 +75,7 @@ public class Login extends HttpServlet {
             return;
         }
 
-        boolean loginSuccess = false;
-
-        if (user != null) {
-            if (userDAO.verifyPassword(password, user.getPasswordHash())) {
-                loginSuccess = true;
-            }
-        }
-
-        if (!loginSuccess) {
+        if (principal == null) {
             errors.add("Credenziali non valide.");
             req.setAttribute("errors", errors);
             dispatcher.forward(req, resp);
@@ -85,9 +84,9 @@ public class Login extends HttpServlet {
 
         HttpSession session = req.getSession();
 
-        session.setAttribute("user", user);
+        session.setAttribute("user", principal);
 
-        NotificationUtil.sendNotification(req, "Bentornat*, " + user.getFirstName() + "!", "success");
+        NotificationUtil.sendNotification(req, "Bentornat*, " + principal.getFirstName() + "!", "success");
 
         String redirectUrl = (String) session.getAttribute("redirectAfterLogin");
 
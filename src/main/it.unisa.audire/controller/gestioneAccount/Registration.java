@@ -5,18 +5,25 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.MultipartConfig;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.*;
+import model.ConnectionContext;
 import model.dao.CastingDirectorDAO;
+import model.dao.CastingDirectorIndex;
+import model.dao.InsertResult;
 import model.dao.PerformerDAO;
 import model.dao.ProductionManagerDAO;
+import model.dao.TalentDirectory;
 import model.dao.UserDAO;
 import model.dto.CastingDirectorDTO;
 import model.dto.PerformerDTO;
+import model.dto.PrincipalDTO;
 import model.dto.ProductionManagerDTO;
 import model.dto.UserDTO;
+import model.storage.CvStore;
 import utils.NotificationUtil;
 import javax.sql.DataSource;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Paths;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
@@ -115,13 +122,6 @@ public class Registration extends HttpServlet {
         UserDAO userDAO = new UserDAO(ds);
 
         try {
-            if (userDAO.getByEmail(email) != null) {
-                errors.add("Esiste già un account con questa email.");
-                req.setAttribute("errors", errors);
-                dispatcher.forward(req, resp);
-                return;
-            }
-
             UserDTO newUser = new UserDTO();
             newUser.setFirstName(firstName);
             newUser.setLastName(lastName);
@@ -136,37 +136,70 @@ public class Registration extends HttpServlet {
             newUser.setPasswordHash(hashedPassword);
 
 
-            userDAO.save(newUser);
+            // User e profilo del ruolo vengono salvati insieme: in caso di errore nessun utente resta a metà
+            ConnectionContext.beginTransaction();
+
+            // Un solo INSERT: il vincolo unico su Email sostituisce la verifica preventiva
+            InsertResult inserted = userDAO.insertIfAbsent(newUser);
+            if (inserted != InsertResult.CREATED) {
+                // Senza l'utente non si può creare il profilo: si annulla subito
+                ConnectionContext.rollback();
+                errors.add((inserted == InsertResult.ALREADY_EXISTS)
+                        ? "Esiste già un account con questa email."
+                        : "Errore del server durante la registrazione. Riprova più tardi.");
+                req.setAttribute("errors", errors);
+                dispatcher.forward(req, resp);
+                return;
+            }
             int newUserId = newUser.getUserID();
 
 
+            int profileId = 0;
             if (roleEnum == UserDTO.Role.Performer) {
-                savePerformerProfile(req, ds, newUserId);
+                profileId = savePerformerProfile(req, ds, newUserId);
+
+                // Il nuovo profilo entra nella directory dei talenti dopo il commit
+                TalentDirectory talents = (TalentDirectory) getServletContext().getAttribute("talentDirectory");
+                if (talents != null) {
+                    talents.index(profileId);
+                }
             }
             else if (roleEnum == UserDTO.Role.CastingDirector) {
                 CastingDirectorDAO cdDAO = new CastingDirectorDAO(ds);
                 CastingDirectorDTO cd = new CastingDirectorDTO();
                 cd.setUserID(newUserId);
                 cdDAO.save(cd);
+                profileId = cd.getCdID();
+
+                // Il nuovo CD deve comparire nella ricerca per i team (ricostruita dopo il commit)
+                CastingDirectorIndex cdIndex = (CastingDirectorIndex) getServletContext().getAttribute("cdIndex");
+                if (cdIndex != null) {
+                    cdIndex.requestRebuild();
+                }
             }
             else if (roleEnum == UserDTO.Role.ProductionManager) {
                 ProductionManagerDAO pmDAO = new ProductionManagerDAO(ds);
                 ProductionManagerDTO pm = new ProductionManagerDTO();
                 pm.setUserID(newUserId);
                 pmDAO.save(pm);
+                profileId = pm.getPmID();
             }
 
+            ConnectionContext.commit();
+
             HttpSession session = req.getSession();
-            session.setAttribute("user", newUser);
+            session.setAttribute("user", new PrincipalDTO(newUser, profileId));
             NotificationUtil.sendNotification(req, "Registrazione completata! Benvenut* " + firstName, "success");
             resp.sendRedirect(req.getContextPath() + "/login");
 
         } catch (SQLException e) {
+            ConnectionContext.rollback();
             e.printStackTrace();
             errors.add("Errore del server durante la registrazione. Riprova più tardi.");
             req.setAttribute("errors", errors);
             dispatcher.forward(req, resp);
         } catch (Exception e) {
+            ConnectionContext.rollback();
             e.printStackTrace();
             errors.add("Errore imprevisto: " + e.getMessage());
             req.setAttribute("errors", errors);
@@ -174,9 +207,9 @@ public class Registration extends HttpServlet {
         }
     }
 
-    // Metodo helper per salvare il profilo Performer
-    private void savePerformerProfile(HttpServletRequest req, DataSource ds, int userId) throws Exception {
-        PerformerDAO performerDAO = new PerformerDAO(ds);
+    // Metodo helper per salvare il profilo Performer, restituisce il PerformerID generato
+    private int savePerformerProfile(HttpServletRequest req, DataSource ds, int userId) throws Exception {
+        PerformerDAO performerDAO = new PerformerDAO(ds, (CvStore) getServletContext().getAttribute("cvStore"));
         PerformerDTO performer = new PerformerDTO();
 
         performer.setUserID(userId);
@@ -196,11 +229,17 @@ public class Registration extends HttpServlet {
 
         Part cvPart = req.getPart("cvFile");
         if (cvPart != null && cvPart.getSize() > 0) {
-            performer.setCvData(cvPart.getInputStream().readAllBytes());
+            performer.setCvSize(cvPart.getSize());
             performer.setCvMimeType(cvPart.getContentType());
-        }
 
-        performerDAO.save(performer);
+            // Il CV viene inviato al DB in streaming, senza caricarlo interamente in memoria
+            try (InputStream cvStream = cvPart.getInputStream()) {
+                performerDAO.save(performer, cvStream);
+            }
+        } else {
+            performerDAO.save(performer);
+        }
+        return performer.getPerformerID();
     }
 
 
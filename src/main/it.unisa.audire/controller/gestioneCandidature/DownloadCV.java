@@ -0,0 +1,155 @@
+package controller.gestioneCandidature;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.*;
+import model.dao.ApplicationDAO;
+import model.dao.PerformerDAO;
+import model.dto.PerformerDTO;
+import model.dto.PrincipalDTO;
+import model.dto.UserDTO;
+import model.storage.CvStore;
+import utils.ByteRange;
+import utils.HttpValidators;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+
+@WebServlet("/download-cv")
+public class DownloadCV extends HttpServlet {
+
+    private static final String DEFAULT_MIME_TYPE = "application/pdf";
+
+    // Tomcat sendfile support (NIO/NIO2/APR connectors): the container copies the file with zero-copy I/O
+    private static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        HttpSession session = req.getSession(false);
+        PrincipalDTO user = (session != null) ? (PrincipalDTO) session.getAttribute("user") : null;
+
+        if (user == null) {
+            resp.sendRedirect(req.getContextPath() + "/login");
+            return;
+        }
+
+        String idStr = req.getParameter("id");
+        if (idStr == null || idStr.isEmpty()) {
+            resp.sendError(HttpServletResponse.SC_BAD_REQUEST, "ID Performer mancante");
+            return;
+        }
+
+        DataSource ds = (DataSource) getServletContext().getAttribute("ds");
+        PerformerDAO perfDAO = new PerformerDAO(ds, (CvStore) getServletContext().getAttribute("cvStore"));
+
+        try {
+            int performerID = Integer.parseInt(idStr);
+
+            if (!canDownload(user, performerID, ds)) {
+                resp.sendError(HttpServletResponse.SC_FORBIDDEN, "Non hai i permessi per visualizzare questo CV");
+                return;
+            }
+
+            PerformerDTO cv = perfDAO.getCvInfo(performerID);
+            if (cv == null || !cv.hasCv()) {
+                resp.sendError(HttpServletResponse.SC_NOT_FOUND, "CV non trovato");
+                return;
+            }
+
+            // Un CV spostato nello store non ha più il BLOB: senza il file non si può servire, e lo si
+            // dice prima di inviare intestazioni che promettono l'intero contenuto
+            if (!perfDAO.isCvReadable(cv)) {
+                System.out.println("CV del performer " + performerID + " non leggibile: file assente dallo store o store disattivato");
+                resp.sendError(HttpServletResponse.SC_NOT_FOUND, "CV non disponibile");
+                return;
+            }
+
+            long size = cv.getCvSize();
+            // L'hash è registrato al salvataggio del CV; senza (migrazione V002 non applicata) niente ETag
+            String etag = (cv.getCvHash() != null) ? "\"" + cv.getCvHash() + "\"" : null;
+
+            if (etag != null) resp.setHeader("ETag", etag);
+            resp.setHeader("Accept-Ranges", "bytes");
+            resp.setHeader("Cache-Control", "private, no-cache");
+
+            if (etag != null && HttpValidators.etagMatches(req.getHeader("If-None-Match"), etag)) {
+                resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+
+            ByteRange range = ByteRange.parse(req.getHeader("Range"), size);
+
+            // If-Range: la richiesta parziale vale solo se il file non è cambiato
+            String ifRange = req.getHeader("If-Range");
+            if (range != null && ifRange != null && (etag == null || !ifRange.equals(etag))) {
+                range = null;
+            }
+
+            if (range == ByteRange.UNSATISFIABLE) {
+                resp.setHeader("Content-Range", range.toContentRange(size));
+                resp.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+
+            String mimeType = (cv.getCvMimeType() != null) ? cv.getCvMimeType() : DEFAULT_MIME_TYPE;
+            resp.setContentType(mimeType);
+            resp.setHeader("Content-Disposition", "inline; filename=\"CV_" + performerID + ".pdf\"");
+
+            long offset = 0;
+            long length = size;
+            if (range != null) {
+                offset = range.getStart();
+                length = range.getLength();
+                resp.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                resp.setHeader("Content-Range", range.toContentRange(size));
+            }
+            resp.setContentLengthLong(length);
+
+            if ("HEAD".equals(req.getMethod())) {
+                return;
+            }
+
+            Path file = perfDAO.locateCv(cv);
+            if (file != null && Boolean.TRUE.equals(req.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+                req.setAttribute(SENDFILE_FILENAME_ATTR, file.toString());
+                req.setAttribute(SENDFILE_START_ATTR, offset);
+                req.setAttribute(SENDFILE_END_ATTR, offset + length);
+                return;
+            }
+
+            ServletOutputStream out = resp.getOutputStream();
+            perfDAO.copyCv(cv, offset, length, out);
+            out.flush();
+
+        } catch (NumberFormatException e) {
+            resp.sendError(HttpServletResponse.SC_BAD_REQUEST, "ID Performer non valido");
+        } catch (SQLException e) {
+            e.printStackTrace();
+            if (!resp.isCommitted()) {
+                resp.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Errore Database");
+            }
+        }
+    }
+
+    /**
+     * A Performer can download only their own CV; a Casting Director can download the CV
+     * of performers who applied to one of their castings.
+     */
+    private boolean canDownload(PrincipalDTO user, int performerID, DataSource ds) throws SQLException {
+        if (user.getRole() == UserDTO.Role.Performer) {
+            return user.getPerformerID() == performerID;
+        }
+
+        if (user.getRole() == UserDTO.Role.CastingDirector) {
+            return user.getCdID() != 0 && new ApplicationDAO(ds).hasAppliedToCd(performerID, user.getCdID());
+        }
+
+        return false;
+    }
+}
@@ -1,10 +1,13 @@
 package controller.gestioneCandidature;
 
+import controller.CastingFragments;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.*;
         import model.dao.*;
         import model.dto.*;
+import utils.HttpValidators;
+import utils.NotificationUtil;
 
         import javax.sql.DataSource;
 import java.io.IOException;
@@ -19,14 +22,36 @@ public class GetCastingDetails extends HttpServlet {
             return;
         }
 
+        int castingID;
+        try {
+            castingID = Integer.parseInt(idStr);
+        } catch (NumberFormatException e) {
+            resp.sendRedirect(req.getContextPath() + "/");
+            return;
+        }
+
+        HttpSession session = req.getSession(false);
+        PrincipalDTO user = (session != null) ? (PrincipalDTO) session.getAttribute("user") : null;
+        boolean isPerformer = user != null && user.getRole() == UserDTO.Role.Performer;
+
+        // Versione del contenuto calcolata in memoria: prima di qualsiasi query.
+        // Per un performer la pagina dipende anche dalle sue candidature ("già candidato").
+        ContentVersions.Stamp stamp = ContentVersions.casting(castingID);
+        if (isPerformer) {
+            stamp = stamp.max(ContentVersions.performer(user.getPerformerID()));
+        }
+        String etag = HttpValidators.etag(stamp.getTag(), (user != null) ? user.getViewTag() : "0");
+        if (!NotificationUtil.hasNotification(session)
+                && HttpValidators.checkNotModified(req, resp, etag, stamp.getLastModified())) {
+            return;
+        }
+
         DataSource ds = (DataSource) getServletContext().getAttribute("ds");
         CastingDAO castingDAO = new CastingDAO(ds);
         ProductionDAO prodDAO = new ProductionDAO(ds);
         ApplicationDAO appDAO = new ApplicationDAO(ds);
-        PerformerDAO perfDAO = new PerformerDAO(ds);
 
         try {
-            int castingID = Integer.parseInt(idStr);
             CastingDTO casting = castingDAO.getByID(castingID);
 
             if (casting == null) {
@@ -38,15 +63,20 @@ public class GetCastingDetails extends HttpServlet {
             String productionTitle = prodDAO.getTitleByID(casting.getProductionID());
 
             boolean alreadyApplied = false;
-            UserDTO user = (UserDTO) req.getSession().getAttribute("user");
 
-            if (user != null && user.getRole() == UserDTO.Role.Performer) {
-                PerformerDTO perf = perfDAO.getByUserID(user.getUserID());
-                if (perf != null) {
-                    alreadyApplied = appDAO.hasApplied(perf.getPerformerID(), castingID);
+            if (isPerformer) {
+                int performerID = user.getPerformerID();
+                if (performerID != 0) {
+                    alreadyApplied = appDAO.hasApplied(performerID, castingID);
                 }
             }
 
+            // Markup del casting pre-renderizzato, uguale per tutti i visitatori
+            CastingFragments fragments = (CastingFragments) getServletContext().getAttribute("castingFragments");
+            req.setAttribute("detailHeader", fragments.render(casting, productionTitle, CastingFragments.Variant.DETAIL_HEADER));
+            req.setAttribute("detailDescription", fragments.render(casting, productionTitle, CastingFragments.Variant.DETAIL_DESCRIPTION));
+            req.setAttribute("detailSummary", fragments.render(casting, productionTitle, CastingFragments.Variant.DETAIL_SUMMARY));
+
             req.setAttribute("casting", casting);
             req.setAttribute("productionTitle", productionTitle);
             req.setAttribute("alreadyApplied", alreadyApplied);
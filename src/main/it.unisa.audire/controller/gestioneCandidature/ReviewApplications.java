@@ -0,0 +1,149 @@
+package controller.gestioneCandidature;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.*;
+import model.dao.ApplicationDAO;
+import model.dao.CastingDAO;
+import model.dto.*;
+import utils.NotificationUtil;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+/**
+ * Workbench del Casting Director per la revisione delle candidature a un casting.
+ * <p>
+ * Le candidature sono filtrate (stato, genere, categoria, data di invio), ordinate e paginate
+ * lato server; i conteggi per stato rispettano gli altri filtri attivi.
+ * </p>
+ */
+@WebServlet("/cd/applications")
+public class ReviewApplications extends HttpServlet {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        HttpSession session = req.getSession(false);
+        PrincipalDTO user = (session != null) ? (PrincipalDTO) session.getAttribute("user") : null;
+
+        if (user == null || user.getRole() != UserDTO.Role.CastingDirector) {
+            resp.sendRedirect(req.getContextPath() + "/login");
+            return;
+        }
+
+        String idStr = req.getParameter("id");
+        if (idStr == null || idStr.isEmpty()) {
+            NotificationUtil.sendNotification(req, "ID Casting non valido.", "error");
+            resp.sendRedirect(req.getContextPath() + "/cd/view-castings");
+            return;
+        }
+
+        DataSource ds = (DataSource) getServletContext().getAttribute("ds");
+        CastingDAO castingDAO = new CastingDAO(ds);
+        ApplicationDAO appDAO = new ApplicationDAO(ds);
+
+        try {
+            int castingID = Integer.parseInt(idStr);
+
+            CastingDTO casting = castingDAO.getByID(castingID);
+            if (casting == null) {
+                NotificationUtil.sendNotification(req, "Casting non trovato.", "error");
+                resp.sendRedirect(req.getContextPath() + "/cd/view-castings");
+                return;
+            }
+
+            int cdID = user.getCdID();
+            if (cdID == 0 || casting.getCdID() != cdID) {
+                NotificationUtil.sendNotification(req, "Non hai i permessi per visualizzare queste candidature.", "error");
+                resp.sendRedirect(req.getContextPath() + "/cd/view-castings");
+                return;
+            }
+
+            ApplicantFilterDTO filter = readFilter(req);
+
+            PageDTO<ApplicantDTO> page = appDAO.getApplicantsPage(castingID, filter, req.getParameter("after"), PAGE_SIZE);
+            Map<String, Integer> statusCounts = appDAO.getStatusCountsByCastingID(castingID, filter);
+
+            req.setAttribute("casting", casting);
+            req.setAttribute("filter", filter);
+            req.setAttribute("applicants", page.getItems());
+            req.setAttribute("statusCounts", statusCounts);
+            req.setAttribute("nextCursor", page.getNextCursor());
+            req.setAttribute("pageBaseUrl", buildBaseUrl(castingID, filter));
+            req.setAttribute("genders", PerformerDTO.Gender.values());
+            req.setAttribute("categories", PerformerDTO.Category.values());
+            req.setAttribute("statuses", ApplicationDTO.Status.values());
+
+            req.getRequestDispatcher("/WEB-INF/views/cd/applications.jsp").forward(req, resp);
+
+        } catch (NumberFormatException e) {
+            NotificationUtil.sendNotification(req, "Formato ID non valido.", "error");
+            resp.sendRedirect(req.getContextPath() + "/cd/view-castings");
+        } catch (SQLException e) {
+            e.printStackTrace();
+            NotificationUtil.sendNotification(req, "Errore nel recupero delle candidature.", "error");
+            resp.sendRedirect(req.getContextPath() + "/cd/view-castings");
+        }
+    }
+
+    /**
+     * Legge i filtri dalla richiesta; i valori non validi vengono ignorati.
+     */
+    private ApplicantFilterDTO readFilter(HttpServletRequest req) {
+        ApplicantFilterDTO filter = new ApplicantFilterDTO();
+        filter.setStatus(parseEnum(ApplicationDTO.Status.class, req.getParameter("status")));
+        filter.setGender(parseEnum(PerformerDTO.Gender.class, req.getParameter("gender")));
+        filter.setCategory(parseEnum(PerformerDTO.Category.class, req.getParameter("category")));
+        filter.setSentFrom(parseDate(req.getParameter("from")));
+        filter.setSentTo(parseDate(req.getParameter("to")));
+        filter.setSort(parseEnum(ApplicantFilterDTO.Sort.class, req.getParameter("sort")));
+        return filter;
+    }
+
+    /**
+     * URL della lista con i filtri correnti, usato dalla paginazione per richiedere la pagina successiva.
+     */
+    private String buildBaseUrl(int castingID, ApplicantFilterDTO filter) {
+        StringBuilder url = new StringBuilder("/cd/applications?id=").append(castingID);
+        appendParam(url, "status", filter.getStatus());
+        appendParam(url, "gender", filter.getGender());
+        appendParam(url, "category", filter.getCategory());
+        appendParam(url, "from", filter.getSentFrom());
+        appendParam(url, "to", filter.getSentTo());
+        appendParam(url, "sort", filter.getSort());
+        return url.toString();
+    }
+
+    private void appendParam(StringBuilder url, String name, Object value) {
+        if (value != null) {
+            url.append('&').append(name).append('=')
+                    .append(URLEncoder.encode(value.toString(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        if (value == null || value.isEmpty()) return null;
+        try {
+            return Enum.valueOf(type, value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private LocalDate parseDate(String value) {
+        if (value == null || value.isEmpty()) return null;
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -4,9 +4,10 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.*;
 import model.dao.ApplicationDAO;
-import model.dao.PerformerDAO;
+import model.dao.CastingFeed;
+import model.dao.InsertResult;
 import model.dto.ApplicationDTO;
-import model.dto.PerformerDTO;
+import model.dto.PrincipalDTO;
 import model.dto.UserDTO;
 import utils.NotificationUtil;
 
@@ -29,7 +30,7 @@ public class SendApplication extends HttpServlet {
     }
 
     private void processRequest(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
-        UserDTO user = (UserDTO) req.getSession().getAttribute("user");
+        PrincipalDTO user = (PrincipalDTO) req.getSession().getAttribute("user");
 
         if (user == null || user.getRole() != UserDTO.Role.Performer) {
             resp.sendRedirect(req.getContextPath() + "/login");
@@ -43,33 +44,43 @@ public class SendApplication extends HttpServlet {
         }
 
         DataSource ds = (DataSource) getServletContext().getAttribute("ds");
-        PerformerDAO perfDAO = new PerformerDAO(ds);
         ApplicationDAO appDAO = new ApplicationDAO(ds);
 
         try {
             int castingID = Integer.parseInt(castingIdStr);
 
-            PerformerDTO perfDTO = perfDAO.getByUserID(user.getUserID());
+            int performerID = user.getPerformerID();
 
-            if (perfDTO == null) {
+            if (performerID == 0) {
                 NotificationUtil.sendNotification(req, "Errore profilo: Dati mancanti.", "error");
                 resp.sendRedirect(req.getContextPath() + "/");
                 return;
             }
 
-            if (appDAO.hasApplied(perfDTO.getPerformerID(), castingID)) {
-                NotificationUtil.sendNotification(req, "Hai già inviato la candidatura per questo casting.", "warning");
-            } else {
-                ApplicationDTO app = new ApplicationDTO();
-                app.setPerformerID(perfDTO.getPerformerID());
-                app.setCastingID(castingID);
-                app.setSendingDate(LocalDateTime.now());
-                app.setStatus(ApplicationDTO.Status.In_attesa);
-                app.setFeedback(""); // Feedback vuoto inizialmente
+            ApplicationDTO app = new ApplicationDTO();
+            app.setPerformerID(performerID);
+            app.setCastingID(castingID);
+            app.setSendingDate(LocalDateTime.now());
+            app.setStatus(ApplicationDTO.Status.In_attesa);
+            app.setFeedback(""); // Feedback vuoto inizialmente
 
-                appDAO.save(app);
+            // Un solo INSERT: il vincolo unico (PerformerID, CastingID) blocca i doppi invii concorrenti
+            InsertResult result = appDAO.insertIfAbsent(app);
+
+            if (result == InsertResult.CREATED || result == InsertResult.ALREADY_EXISTS) {
+                // Il casting esce dai consigliati del Performer
+                CastingFeed castingFeed = (CastingFeed) getServletContext().getAttribute("castingFeed");
+                if (castingFeed != null) castingFeed.applied(performerID, castingID);
+            }
 
+            if (result == InsertResult.CREATED) {
                 NotificationUtil.sendNotification(req, "Candidatura inviata con successo! In bocca al lupo.", "success");
+            } else if (result == InsertResult.ALREADY_EXISTS) {
+                NotificationUtil.sendNotification(req, "Hai già inviato la candidatura per questo casting.", "warning");
+            } else {
+                NotificationUtil.sendNotification(req, "Il casting non è più disponibile.", "error");
+                resp.sendRedirect(req.getContextPath() + "/");
+                return;
             }
 
             resp.sendRedirect(req.getContextPath() + "/performer/applications");
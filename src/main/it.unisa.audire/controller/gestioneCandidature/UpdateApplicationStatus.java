@@ -0,0 +1,101 @@
+package controller.gestioneCandidature;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.*;
+import model.dao.ApplicationDAO;
+import model.dto.ApplicationDTO;
+import model.dto.PrincipalDTO;
+import model.dto.UserDTO;
+import utils.NotificationUtil;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Cambio di stato di più candidature selezionate nel workbench del Casting Director.
+ * <p>
+ * L'aggiornamento avviene con poche UPDATE set-based; le candidature il cui stato attuale non
+ * consente la transizione, o che non appartengono ai casting del CD, vengono ignorate.
+ * </p>
+ */
+@WebServlet("/cd/applications/status")
+public class UpdateApplicationStatus extends HttpServlet {
+
+    @Override
+    protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        HttpSession session = req.getSession(false);
+        PrincipalDTO user = (session != null) ? (PrincipalDTO) session.getAttribute("user") : null;
+
+        if (user == null || user.getRole() != UserDTO.Role.CastingDirector) {
+            resp.sendRedirect(req.getContextPath() + "/login");
+            return;
+        }
+
+        String back = req.getParameter("back");
+        String redirect = (back != null && back.startsWith("/cd/applications?")) ? back : "/cd/view-castings";
+
+        String[] idParams = req.getParameterValues("ids");
+        if (idParams == null || idParams.length == 0) {
+            NotificationUtil.sendNotification(req, "Seleziona almeno una candidatura.", "warning");
+            resp.sendRedirect(req.getContextPath() + redirect);
+            return;
+        }
+
+        ApplicationDTO.Status status;
+        try {
+            status = ApplicationDTO.Status.valueOf(req.getParameter("status"));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            NotificationUtil.sendNotification(req, "Stato non valido.", "error");
+            resp.sendRedirect(req.getContextPath() + redirect);
+            return;
+        }
+
+        DataSource ds = (DataSource) getServletContext().getAttribute("ds");
+        ApplicationDAO appDAO = new ApplicationDAO(ds);
+
+        try {
+            // Gli ID ripetuti o non positivi non corrispondono a candidature distinte: non contano tra le ignorate
+            Set<Integer> ids = new LinkedHashSet<>();
+            for (String idParam : idParams) {
+                int id = Integer.parseInt(idParam.trim());
+                if (id > 0) {
+                    ids.add(id);
+                }
+            }
+            if (ids.isEmpty()) {
+                NotificationUtil.sendNotification(req, "Seleziona almeno una candidatura.", "warning");
+                resp.sendRedirect(req.getContextPath() + redirect);
+                return;
+            }
+
+            int cdID = user.getCdID();
+            if (cdID == 0) {
+                NotificationUtil.sendNotification(req, "Errore profilo utente.", "error");
+                resp.sendRedirect(req.getContextPath() + "/");
+                return;
+            }
+
+            int updated = appDAO.updateStatusForCd(ids, status, req.getParameter("feedback"), cdID);
+            int skipped = ids.size() - updated;
+
+            String message = updated + (updated == 1 ? " candidatura aggiornata" : " candidature aggiornate")
+                    + " a \"" + status.name().replace('_', ' ') + "\".";
+            if (skipped > 0) {
+                message += " " + skipped + " ignorate (transizione non consentita).";
+            }
+            NotificationUtil.sendNotification(req, message, (updated > 0) ? "success" : "warning");
+
+        } catch (NumberFormatException e) {
+            NotificationUtil.sendNotification(req, "Formato ID non valido.", "error");
+        } catch (SQLException e) {
+            e.printStackTrace();
+            NotificationUtil.sendNotification(req, "Errore durante l'aggiornamento delle candidature.", "error");
+        }
+
+        resp.sendRedirect(req.getContextPath() + redirect);
+    }
+}
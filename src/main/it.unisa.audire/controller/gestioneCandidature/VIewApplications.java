@@ -9,42 +9,34 @@ import model.dto.*;
 import javax.sql.DataSource;
 import java.io.IOException;
 import java.sql.SQLException;
-import java.util.*;
 
 @WebServlet("/performer/applications")
 public class VIewApplications extends HttpServlet {
+
+    private static final int PAGE_SIZE = 20;
+
     @Override
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
-        UserDTO user = (UserDTO) req.getSession().getAttribute("user");
+        PrincipalDTO user = (PrincipalDTO) req.getSession().getAttribute("user");
         if (user == null || user.getRole() != UserDTO.Role.Performer) {
             resp.sendRedirect(req.getContextPath() + "/login");
             return;
         }
 
         DataSource ds = (DataSource) getServletContext().getAttribute("ds");
-        PerformerDAO perfDAO = new PerformerDAO(ds);
         ApplicationDAO appDAO = new ApplicationDAO(ds);
-        CastingDAO castingDAO = new CastingDAO(ds);
 
         try {
-            PerformerDTO perfDTO = perfDAO.getByUserID(user.getUserID());
-
-            Collection<ApplicationDTO> applications = appDAO.getByPerformerID(perfDTO.getPerformerID());
-
-            // Mappa per i Titoli (CastingID -> Titolo)
-            Map<Integer, String> castingTitles = new HashMap<>();
+            int performerID = user.getPerformerID();
 
-            for (ApplicationDTO app : applications) {
-                CastingDTO c = castingDAO.getByID(app.getCastingID());
-                if (c != null) {
-                    castingTitles.put(app.getCastingID(), c.getTitle());
-                } else {
-                    castingTitles.put(app.getCastingID(), "Casting rimosso");
-                }
-            }
+            // Pagina di candidature con titoli, più i conteggi per stato su tutte le candidature
+            ApplicationOverviewDTO overview = appDAO.getOverviewByPerformerID(performerID, req.getParameter("after"), PAGE_SIZE);
 
-            req.setAttribute("applications", applications);
-            req.setAttribute("castingTitles", castingTitles);
+            req.setAttribute("applications", overview.getApplications());
+            req.setAttribute("statusCounts", overview.getStatusCounts());
+            req.setAttribute("totalApplications", overview.getTotal());
+            req.setAttribute("nextCursor", overview.getNextCursor());
+            req.setAttribute("pageBaseUrl", "/performer/applications");
 
             req.getRequestDispatcher("/WEB-INF/views/performer/my-applications.jsp").forward(req, resp);
 
@@ -0,0 +1,69 @@
+package controller.gestioneCandidature;
+
+import controller.CastingFragments;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.*;
+import model.dao.CastingFeed;
+import model.dto.PrincipalDTO;
+import model.dto.UserDTO;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Casting consigliati al Performer: i casting attivi ordinati per affinità con la sua categoria,
+ * urgenza della scadenza e data di pubblicazione, esclusi quelli a cui si è già candidato.
+ * <p>
+ * La classifica è tenuta in memoria da {@link CastingFeed} e aggiornata a ogni pubblicazione,
+ * scadenza o candidatura, senza ricalcolarla a ogni richiesta.
+ * </p>
+ */
+@WebServlet("/performer/feed")
+public class ViewFeed extends HttpServlet {
+
+    private static final int FEED_RESULTS = 24;
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        HttpSession session = req.getSession(false);
+        PrincipalDTO user = (session != null) ? (PrincipalDTO) session.getAttribute("user") : null;
+
+        if (user == null || user.getRole() != UserDTO.Role.Performer) {
+            resp.sendRedirect(req.getContextPath() + "/login");
+            return;
+        }
+
+        CastingFeed feed = (CastingFeed) getServletContext().getAttribute("castingFeed");
+        if (feed == null || !feed.isReady()) {
+            resp.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Casting consigliati non disponibili");
+            return;
+        }
+
+        try {
+            List<CastingFeed.Item> items = feed.getFeed(user.getPerformerID(), FEED_RESULTS);
+            if (items == null) {
+                resp.sendRedirect(req.getContextPath() + "/");
+                return;
+            }
+
+            // Stesse card della Home Page, già renderizzate per il Performer
+            CastingFragments fragments = (CastingFragments) getServletContext().getAttribute("castingFragments");
+            CastingFragments.Variant variant = CastingFragments.Variant.cardFor(user.getRole());
+
+            List<String> cards = new ArrayList<>(items.size());
+            for (CastingFeed.Item item : items) {
+                cards.add(fragments.render(item.getCasting(), item.getProductionTitle(), variant));
+            }
+            req.setAttribute("castingCards", cards);
+
+            req.getRequestDispatcher("/WEB-INF/views/performer/feed.jsp").forward(req, resp);
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+            resp.sendRedirect(req.getContextPath() + "/");
+        }
+    }
+}
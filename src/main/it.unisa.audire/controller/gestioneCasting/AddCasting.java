@@ -20,7 +20,7 @@ public class AddCasting extends HttpServlet {
 
     @Override
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
-        UserDTO user = (UserDTO) req.getSession().getAttribute("user");
+        PrincipalDTO user = (PrincipalDTO) req.getSession().getAttribute("user");
 
         if (user == null || user.getRole() != UserDTO.Role.CastingDirector) {
             resp.sendRedirect(req.getContextPath() + "/login");
@@ -28,18 +28,17 @@ public class AddCasting extends HttpServlet {
         }
 
         DataSource ds = (DataSource) getServletContext().getAttribute("ds");
-        CastingDirectorDAO cdDAO = new CastingDirectorDAO(ds);
         ProductionDAO prodDAO = new ProductionDAO(ds);
 
         try {
-            CastingDirectorDTO cdDTO = cdDAO.getByUserID(user.getUserID());
-            if (cdDTO == null) {
+            int cdID = user.getCdID();
+            if (cdID == 0) {
                 NotificationUtil.sendNotification(req, "Profilo non trovato.", "error");
                 resp.sendRedirect(req.getContextPath() + "/");
                 return;
             }
 
-            List<ProductionDTO> myProductions = prodDAO.getProductionsByCdID(cdDTO.getCdID());
+            List<ProductionDTO> myProductions = prodDAO.getProductionsByCdID(cdID);
 
             req.setAttribute("myProductions", myProductions);
 
@@ -53,7 +52,7 @@ public class AddCasting extends HttpServlet {
 
     @Override
     protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
-        UserDTO user = (UserDTO) req.getSession().getAttribute("user");
+        PrincipalDTO user = (PrincipalDTO) req.getSession().getAttribute("user");
 
         String title = req.getParameter("title");
         String location = req.getParameter("location");
@@ -64,16 +63,15 @@ public class AddCasting extends HttpServlet {
 
         DataSource ds = (DataSource) getServletContext().getAttribute("ds");
         CastingDAO castingDAO = new CastingDAO(ds);
-        CastingDirectorDAO cdDAO = new CastingDirectorDAO(ds);
 
         try {
-            CastingDirectorDTO cdDTO = cdDAO.getByUserID(user.getUserID());
+            int cdID = user.getCdID();
 
             CastingDTO casting = new CastingDTO();
             casting.setTitle(title);
             casting.setLocation(location);
             casting.setDescription(description);
-            casting.setCdID(cdDTO.getCdID());
+            casting.setCdID(cdID);
             casting.setProductionID(Integer.parseInt(productionIdStr));
             casting.setPublishDate(LocalDateTime.now()); // Published now
 
@@ -95,6 +93,8 @@ public class AddCasting extends HttpServlet {
             }
 
             castingDAO.save(casting);
+            CastingChangeListener castingChanges = (CastingChangeListener) getServletContext().getAttribute("castingChanges");
+            if (castingChanges != null) castingChanges.castingSaved(casting.getCastingID());
 
             NotificationUtil.sendNotification(req, "Casting pubblicato con successo!", "success");
             resp.sendRedirect(req.getContextPath() + "/cd/view-castings");
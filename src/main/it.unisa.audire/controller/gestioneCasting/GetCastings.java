@@ -5,10 +5,10 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.*;
 import model.dao.CastingDAO;
-import model.dao.CastingDirectorDAO;
 import model.dao.ProductionDAO;
 import model.dto.CastingDTO;
-import model.dto.CastingDirectorDTO;
+import model.dto.PageDTO;
+import model.dto.PrincipalDTO;
 import model.dto.UserDTO;
 import utils.NotificationUtil;
 
@@ -17,44 +17,55 @@ import java.io.IOException;
 import java.sql.SQLException;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 @WebServlet("/cd/view-castings")
 public class GetCastings extends HttpServlet {
 
+    private static final int PAGE_SIZE = 20;
+
     @Override
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
-        UserDTO user = (UserDTO) req.getSession().getAttribute("user");
+        PrincipalDTO user = (PrincipalDTO) req.getSession().getAttribute("user");
         if (user == null || user.getRole() != UserDTO.Role.CastingDirector) {
             resp.sendRedirect(req.getContextPath() + "/login");
             return;
         }
 
         DataSource ds = (DataSource) getServletContext().getAttribute("ds");
-        CastingDirectorDAO cdDAO = new CastingDirectorDAO(ds);
         CastingDAO castingDAO = new CastingDAO(ds);
         ProductionDAO prodDAO = new ProductionDAO(ds);
 
         try {
-            CastingDirectorDTO cdDTO = cdDAO.getByUserID(user.getUserID());
-            if (cdDTO == null) {
+            int cdID = user.getCdID();
+            if (cdID == 0) {
                 NotificationUtil.sendNotification(req, "Errore profilo utente.", "error");
                 resp.sendRedirect(req.getContextPath() + "/");
                 return;
             }
 
-            Collection<CastingDTO> castings = castingDAO.getByCdID(cdDTO.getCdID());
+            PageDTO<CastingDTO> page = castingDAO.getPageByCdID(cdID, req.getParameter("after"), PAGE_SIZE);
+            Collection<CastingDTO> castings = page.getItems();
+
+            // Una sola query per tutti i titoli delle produzioni coinvolte
+            Set<Integer> productionIDs = new HashSet<>();
+            for (CastingDTO c : castings) {
+                productionIDs.add(c.getProductionID());
+            }
+            Map<Integer, String> titlesByProduction = prodDAO.getTitlesByIDs(productionIDs);
 
             // ID Casting -> Valore: Titolo Produzione
             Map<Integer, String> productionTitles = new HashMap<>();
-
             for (CastingDTO c : castings) {
-                String title = prodDAO.getTitleByID(c.getProductionID());
-                productionTitles.put(c.getCastingID(), title);
+                productionTitles.put(c.getCastingID(), titlesByProduction.getOrDefault(c.getProductionID(), "Unknown"));
             }
 
             req.setAttribute("castings", castings);
             req.setAttribute("productionTitles", productionTitles);
+            req.setAttribute("nextCursor", page.getNextCursor());
+            req.setAttribute("pageBaseUrl", "/cd/view-castings");
 
             RequestDispatcher dispatcher = req.getRequestDispatcher("/WEB-INF/views/cd/view-castings.jsp");
             dispatcher.forward(req, resp);
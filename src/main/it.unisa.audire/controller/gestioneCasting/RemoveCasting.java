@@ -3,10 +3,10 @@ package controller.gestioneCasting;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.*;
+import model.dao.CastingChangeListener;
 import model.dao.CastingDAO;
-import model.dao.CastingDirectorDAO;
 import model.dto.CastingDTO;
-import model.dto.CastingDirectorDTO;
+import model.dto.PrincipalDTO;
 import model.dto.UserDTO;
 import utils.NotificationUtil;
 
@@ -20,7 +20,7 @@ public class RemoveCasting extends HttpServlet {
     @Override
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
         HttpSession session = req.getSession(false);
-        UserDTO user = (session != null) ? (UserDTO) session.getAttribute("user") : null;
+        PrincipalDTO user = (session != null) ? (PrincipalDTO) session.getAttribute("user") : null;
 
         if (user == null || user.getRole() != UserDTO.Role.CastingDirector) {
             resp.sendRedirect(req.getContextPath() + "/login");
@@ -36,13 +36,12 @@ public class RemoveCasting extends HttpServlet {
 
         DataSource ds = (DataSource) getServletContext().getAttribute("ds");
         CastingDAO castingDAO = new CastingDAO(ds);
-        CastingDirectorDAO cdDAO = new CastingDirectorDAO(ds);
 
         try {
             int castingID = Integer.parseInt(idStr);
 
             CastingDTO casting = castingDAO.getByID(castingID);
-            CastingDirectorDTO currentCd = cdDAO.getByUserID(user.getUserID());
+            int cdID = user.getCdID();
 
             if (casting == null) {
                 NotificationUtil.sendNotification(req, "Casting non trovato.", "error");
@@ -51,7 +50,7 @@ public class RemoveCasting extends HttpServlet {
             }
 
 
-            if (currentCd == null || casting.getCdID() != currentCd.getCdID()) {
+            if (cdID == 0 || casting.getCdID() != cdID) {
                 NotificationUtil.sendNotification(req, "Non hai i permessi per eliminare questo casting.", "error");
                 resp.sendRedirect(req.getContextPath() + "/cd/view-castings");
                 return;
@@ -60,6 +59,8 @@ public class RemoveCasting extends HttpServlet {
             boolean deleted = castingDAO.delete(castingID);
 
             if (deleted) {
+                CastingChangeListener castingChanges = (CastingChangeListener) getServletContext().getAttribute("castingChanges");
+                if (castingChanges != null) castingChanges.castingRemoved(castingID);
                 NotificationUtil.sendNotification(req, "Casting eliminato con successo.", "success");
             } else {
                 NotificationUtil.sendNotification(req, "Impossibile eliminare il casting.", "error");
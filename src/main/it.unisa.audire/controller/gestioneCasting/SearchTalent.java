@@ -0,0 +1,104 @@
+package controller.gestioneCasting;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.*;
+import model.dao.TalentDirectory;
+import model.dto.PerformerDTO;
+import model.dto.PrincipalDTO;
+import model.dto.TalentFilterDTO;
+import model.dto.UserDTO;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Directory dei talenti: il Casting Director cerca i performer per nome o descrizione e li filtra
+ * per genere e categoria, senza aspettare che si candidino.
+ * <p>
+ * Le pagine sono servite dall'indice in memoria {@link TalentDirectory}, senza accessi al database;
+ * i conteggi di ogni filtro rispettano la ricerca e l'altro filtro attivo.
+ * </p>
+ */
+@WebServlet("/cd/talent")
+public class SearchTalent extends HttpServlet {
+
+    private static final int PAGE_SIZE = 24;
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        HttpSession session = req.getSession(false);
+        PrincipalDTO user = (session != null) ? (PrincipalDTO) session.getAttribute("user") : null;
+
+        if (user == null || user.getRole() != UserDTO.Role.CastingDirector) {
+            resp.sendRedirect(req.getContextPath() + "/login");
+            return;
+        }
+
+        TalentDirectory directory = (TalentDirectory) getServletContext().getAttribute("talentDirectory");
+        TalentFilterDTO filter = readFilter(req);
+        TalentDirectory.Results results = (directory != null)
+                ? directory.find(filter, req.getParameter("after"), PAGE_SIZE)
+                : null;
+
+        if (results == null) {
+            resp.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Directory dei talenti non disponibile");
+            return;
+        }
+
+        req.setAttribute("filter", filter);
+        req.setAttribute("talents", results.getPage().getItems());
+        req.setAttribute("facets", results.getFacets());
+        req.setAttribute("nextCursor", results.getPage().getNextCursor());
+        req.setAttribute("pageBaseUrl", buildBaseUrl(filter));
+        req.setAttribute("genders", PerformerDTO.Gender.values());
+        req.setAttribute("categories", PerformerDTO.Category.values());
+
+        req.getRequestDispatcher("/WEB-INF/views/cd/talent.jsp").forward(req, resp);
+    }
+
+    /**
+     * Legge i filtri dalla richiesta; i valori non validi vengono ignorati.
+     */
+    private TalentFilterDTO readFilter(HttpServletRequest req) {
+        String query = req.getParameter("q");
+        if (query != null && query.length() > MAX_QUERY_LENGTH) {
+            query = query.substring(0, MAX_QUERY_LENGTH);
+        }
+
+        TalentFilterDTO filter = new TalentFilterDTO();
+        filter.setQuery(query);
+        filter.setGender(parseEnum(PerformerDTO.Gender.class, req.getParameter("gender")));
+        filter.setCategory(parseEnum(PerformerDTO.Category.class, req.getParameter("category")));
+        return filter;
+    }
+
+    /**
+     * URL della directory con i filtri correnti, usato dalla paginazione per richiedere la pagina successiva.
+     */
+    private String buildBaseUrl(TalentFilterDTO filter) {
+        StringBuilder url = new StringBuilder("/cd/talent");
+        appendParam(url, "q", filter.getQuery());
+        appendParam(url, "gender", filter.getGender());
+        appendParam(url, "category", filter.getCategory());
+        return url.toString();
+    }
+
+    private void appendParam(StringBuilder url, String name, Object value) {
+        if (value != null) {
+            url.append(url.indexOf("?") < 0 ? '?' : '&').append(name).append('=')
+                    .append(URLEncoder.encode(value.toString(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        if (value == null || value.isEmpty()) return null;
+        try {
+            return Enum.valueOf(type, value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -4,12 +4,12 @@ import jakarta.servlet.RequestDispatcher;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.*;
+import model.dao.CastingChangeListener;
 import model.dao.CastingDAO;
-import model.dao.CastingDirectorDAO;
 import model.dao.ProductionDAO;
 import model.dto.CastingDTO;
-import model.dto.CastingDirectorDTO;
 import model.dto.ProductionDTO;
+import model.dto.PrincipalDTO;
 import model.dto.UserDTO;
 import utils.NotificationUtil;
 
@@ -27,7 +27,7 @@ public class UpdateCasting extends HttpServlet {
 
     @Override
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
-        UserDTO user = (UserDTO) req.getSession().getAttribute("user");
+        PrincipalDTO user = (PrincipalDTO) req.getSession().getAttribute("user");
         if (user == null || user.getRole() != UserDTO.Role.CastingDirector) {
             resp.sendRedirect(req.getContextPath() + "/login");
             return;
@@ -41,13 +41,12 @@ public class UpdateCasting extends HttpServlet {
 
         DataSource ds = (DataSource) getServletContext().getAttribute("ds");
         CastingDAO castingDAO = new CastingDAO(ds);
-        CastingDirectorDAO cdDAO = new CastingDirectorDAO(ds);
         ProductionDAO prodDAO = new ProductionDAO(ds);
 
         try {
             int castingID = Integer.parseInt(idStr);
 
-            CastingDirectorDTO currentCd = cdDAO.getByUserID(user.getUserID());
+            int cdID = user.getCdID();
             CastingDTO casting = castingDAO.getByID(castingID);
 
             if (casting == null) {
@@ -56,13 +55,13 @@ public class UpdateCasting extends HttpServlet {
                 return;
             }
 
-            if (currentCd == null || casting.getCdID() != currentCd.getCdID()) {
+            if (cdID == 0 || casting.getCdID() != cdID) {
                 NotificationUtil.sendNotification(req, "Non hai i permessi per modificare questo casting.", "error");
                 resp.sendRedirect(req.getContextPath() + "/cd/view-castings");
                 return;
             }
 
-            List<ProductionDTO> myProductions = prodDAO.getProductionsByCdID(currentCd.getCdID());
+            List<ProductionDTO> myProductions = prodDAO.getProductionsByCdID(cdID);
 
             req.setAttribute("casting", casting);
             req.setAttribute("myProductions", myProductions);
@@ -78,7 +77,7 @@ public class UpdateCasting extends HttpServlet {
 
     @Override
     protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
-        UserDTO user = (UserDTO) req.getSession().getAttribute("user");
+        PrincipalDTO user = (PrincipalDTO) req.getSession().getAttribute("user");
         if (user == null || user.getRole() != UserDTO.Role.CastingDirector) {
             resp.sendRedirect(req.getContextPath() + "/login");
             return;
@@ -104,15 +103,14 @@ public class UpdateCasting extends HttpServlet {
 
         DataSource ds = (DataSource) getServletContext().getAttribute("ds");
         CastingDAO castingDAO = new CastingDAO(ds);
-        CastingDirectorDAO cdDAO = new CastingDirectorDAO(ds);
 
         try {
             int castingID = Integer.parseInt(idStr);
-            CastingDirectorDTO currentCd = cdDAO.getByUserID(user.getUserID());
+            int cdID = user.getCdID();
 
             CastingDTO casting = castingDAO.getByID(castingID);
 
-            if (casting == null || currentCd == null || casting.getCdID() != currentCd.getCdID()) {
+            if (casting == null || cdID == 0 || casting.getCdID() != cdID) {
                 resp.sendError(HttpServletResponse.SC_FORBIDDEN);
                 return;
             }
@@ -147,6 +145,8 @@ public class UpdateCasting extends HttpServlet {
             }
 
             castingDAO.save(casting);
+            CastingChangeListener castingChanges = (CastingChangeListener) getServletContext().getAttribute("castingChanges");
+            if (castingChanges != null) castingChanges.castingSaved(casting.getCastingID());
 
             NotificationUtil.sendNotification(req, "Casting aggiornato con successo!", "success");
             resp.sendRedirect(req.getContextPath() + "/cd/view-castings");
@@ -5,9 +5,8 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.*;
 import model.dao.ProductionDAO;
-import model.dao.ProductionManagerDAO;
 import model.dto.ProductionDTO;
-import model.dto.ProductionManagerDTO;
+import model.dto.PrincipalDTO;
 import model.dto.UserDTO;
 import utils.NotificationUtil;
 import javax.sql.DataSource;
@@ -23,7 +22,7 @@ public class AddProduction extends HttpServlet {
     @Override
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
         HttpSession session = req.getSession(false);
-        UserDTO user = (session != null) ? (UserDTO) session.getAttribute("user") : null;
+        PrincipalDTO user = (session != null) ? (PrincipalDTO) session.getAttribute("user") : null;
 
         if (user == null || user.getRole() != UserDTO.Role.ProductionManager) {
             resp.sendRedirect(req.getContextPath() + "/login");
@@ -37,7 +36,7 @@ public class AddProduction extends HttpServlet {
     @Override
     protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
         HttpSession session = req.getSession(false);
-        UserDTO user = (session != null) ? (UserDTO) session.getAttribute("user") : null;
+        PrincipalDTO user = (session != null) ? (PrincipalDTO) session.getAttribute("user") : null;
 
         if (user == null || user.getRole() != UserDTO.Role.ProductionManager) {
             resp.sendRedirect(req.getContextPath() + "/login");
@@ -65,19 +64,17 @@ public class AddProduction extends HttpServlet {
         DataSource ds = (DataSource) getServletContext().getAttribute("ds");
         ProductionDAO productionDAO = new ProductionDAO(ds);
 
-        ProductionManagerDAO pmDAO = new ProductionManagerDAO(ds);
-
         try {
-            ProductionManagerDTO pmDTO = pmDAO.getByUserID(user.getUserID());
+            int pmID = user.getPmID();
 
-            if (pmDTO == null) {
+            if (pmID == 0) {
                 throw new ServletException("Errore critico: Profilo PM non trovato.");
             }
 
             ProductionDTO production = new ProductionDTO();
             production.setTitle(title.trim());
             production.setCreationDate(LocalDateTime.now());
-            production.setPmID(pmDTO.getPmID());
+            production.setPmID(pmID);
 
             try {
                 production.setType(ProductionDTO.Type.valueOf(typeStr));
@@ -5,23 +5,24 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.*;
 import model.dao.ProductionDAO;
-import model.dao.ProductionManagerDAO;
+import model.dto.PageDTO;
 import model.dto.ProductionDTO;
-import model.dto.ProductionManagerDTO;
+import model.dto.PrincipalDTO;
 import model.dto.UserDTO;
 import javax.sql.DataSource;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.Collection;
 
 @WebServlet("/pm/productions")
 public class GetProductions extends HttpServlet {
 
+    private static final int PAGE_SIZE = 20;
+
     @Override
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
         HttpSession session = req.getSession(false);
-        UserDTO user = (session != null) ? (UserDTO) session.getAttribute("user") : null;
+        PrincipalDTO user = (session != null) ? (PrincipalDTO) session.getAttribute("user") : null;
 
         if (user == null || user.getRole() != UserDTO.Role.ProductionManager) {
             resp.sendRedirect(req.getContextPath() + "/login");
@@ -30,19 +31,20 @@ public class GetProductions extends HttpServlet {
 
         DataSource ds = (DataSource) getServletContext().getAttribute("ds");
         ProductionDAO prodDAO = new ProductionDAO(ds);
-        ProductionManagerDAO pmDAO = new ProductionManagerDAO(ds);
 
         try {
-            ProductionManagerDTO pmDTO = pmDAO.getByUserID(user.getUserID());
+            int pmID = user.getPmID();
 
-            if (pmDTO == null) {
+            if (pmID == 0) {
                 req.setAttribute("error", "Errore: Profilo PM non trovato.");
                 req.setAttribute("productions", new ArrayList<ProductionDTO>());
             } else {
-                Collection<ProductionDTO> productions = prodDAO.getByPmID(pmDTO.getPmID());
-                req.setAttribute("productions", productions);
+                PageDTO<ProductionDTO> page = prodDAO.getPageByPmID(pmID, req.getParameter("after"), PAGE_SIZE);
+                req.setAttribute("productions", page.getItems());
+                req.setAttribute("nextCursor", page.getNextCursor());
             }
 
+            req.setAttribute("pageBaseUrl", "/pm/productions");
             RequestDispatcher dispatcher = req.getRequestDispatcher("/WEB-INF/views/pm/view-productions.jsp");
             dispatcher.forward(req, resp);
 
@@ -3,10 +3,10 @@ package controller.gestioneProduzione;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.*;
+import model.dao.CastingChangeListener;
 import model.dao.ProductionDAO;
-import model.dao.ProductionManagerDAO;
 import model.dto.ProductionDTO;
-import model.dto.ProductionManagerDTO;
+import model.dto.PrincipalDTO;
 import model.dto.UserDTO;
 import utils.NotificationUtil;
 
@@ -20,7 +20,7 @@ public class RemoveProduction extends HttpServlet {
     @Override
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
         HttpSession session = req.getSession(false);
-        UserDTO user = (session != null) ? (UserDTO) session.getAttribute("user") : null;
+        PrincipalDTO user = (session != null) ? (PrincipalDTO) session.getAttribute("user") : null;
 
         if (user == null || user.getRole() != UserDTO.Role.ProductionManager) {
             resp.sendRedirect(req.getContextPath() + "/login");
@@ -36,13 +36,12 @@ public class RemoveProduction extends HttpServlet {
 
         DataSource ds = (DataSource) getServletContext().getAttribute("ds");
         ProductionDAO prodDAO = new ProductionDAO(ds);
-        ProductionManagerDAO pmDAO = new ProductionManagerDAO(ds);
 
         try {
             int prodID = Integer.parseInt(idStr);
 
             ProductionDTO production = prodDAO.getByID(prodID);
-            ProductionManagerDTO currentPm = pmDAO.getByUserID(user.getUserID());
+            int pmID = user.getPmID();
 
             if (production == null) {
                 NotificationUtil.sendNotification(req, "Produzione non trovata.", "error");
@@ -51,7 +50,7 @@ public class RemoveProduction extends HttpServlet {
             }
 
 
-            if (currentPm == null || production.getPmID() != currentPm.getPmID()) {
+            if (pmID == 0 || production.getPmID() != pmID) {
                 NotificationUtil.sendNotification(req, "Non hai i permessi per eliminare questa produzione.", "error");
                 resp.sendRedirect(req.getContextPath() + "/pm/productions");
                 return;
@@ -60,6 +59,8 @@ public class RemoveProduction extends HttpServlet {
             boolean deleted = prodDAO.delete(prodID);
 
             if (deleted) {
+                CastingChangeListener castingChanges = (CastingChangeListener) getServletContext().getAttribute("castingChanges");
+                if (castingChanges != null) castingChanges.productionChanged();
                 NotificationUtil.sendNotification(req, "Produzione eliminata con successo.", "success");
             } else {
                 NotificationUtil.sendNotification(req, "Impossibile eliminare la produzione.", "error");
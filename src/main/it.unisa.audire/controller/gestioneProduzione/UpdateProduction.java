@@ -4,10 +4,10 @@ import jakarta.servlet.RequestDispatcher;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.*;
+import model.dao.CastingChangeListener;
 import model.dao.ProductionDAO;
-import model.dao.ProductionManagerDAO;
 import model.dto.ProductionDTO;
-import model.dto.ProductionManagerDTO;
+import model.dto.PrincipalDTO;
 import model.dto.UserDTO;
 import utils.NotificationUtil;
 import javax.sql.DataSource;
@@ -22,7 +22,7 @@ public class UpdateProduction extends HttpServlet {
     @Override
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
 
-        UserDTO user = (UserDTO) req.getSession().getAttribute("user");
+        PrincipalDTO user = (PrincipalDTO) req.getSession().getAttribute("user");
         if (user == null || user.getRole() != UserDTO.Role.ProductionManager) {
             resp.sendRedirect(req.getContextPath() + "/login");
             return;
@@ -36,12 +36,11 @@ public class UpdateProduction extends HttpServlet {
 
         DataSource ds = (DataSource) getServletContext().getAttribute("ds");
         ProductionDAO prodDAO = new ProductionDAO(ds);
-        ProductionManagerDAO pmDAO = new ProductionManagerDAO(ds);
 
         try {
             int prodID = Integer.parseInt(idStr);
             ProductionDTO production = prodDAO.getByID(prodID);
-            ProductionManagerDTO currentPm = pmDAO.getByUserID(user.getUserID());
+            int pmID = user.getPmID();
 
             if (production == null) {
                 NotificationUtil.sendNotification(req, "Produzione non trovata.", "error");
@@ -49,7 +48,7 @@ public class UpdateProduction extends HttpServlet {
                 return;
             }
 
-            if (currentPm == null || production.getPmID() != currentPm.getPmID()) {
+            if (pmID == 0 || production.getPmID() != pmID) {
                 NotificationUtil.sendNotification(req, "Non hai i permessi per modificare questa produzione.", "error");
                 resp.sendRedirect(req.getContextPath() + "/pm/productions");
                 return;
@@ -67,7 +66,7 @@ public class UpdateProduction extends HttpServlet {
 
     @Override
     protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
-        UserDTO user = (UserDTO) req.getSession().getAttribute("user");
+        PrincipalDTO user = (PrincipalDTO) req.getSession().getAttribute("user");
         if (user == null || user.getRole() != UserDTO.Role.ProductionManager) {
             resp.sendRedirect(req.getContextPath() + "/login");
             return;
@@ -88,15 +87,14 @@ public class UpdateProduction extends HttpServlet {
 
         DataSource ds = (DataSource) getServletContext().getAttribute("ds");
         ProductionDAO prodDAO = new ProductionDAO(ds);
-        ProductionManagerDAO pmDAO = new ProductionManagerDAO(ds);
 
         try {
             int prodID = Integer.parseInt(idStr);
 
             ProductionDTO production = prodDAO.getByID(prodID);
-            ProductionManagerDTO currentPm = pmDAO.getByUserID(user.getUserID());
+            int pmID = user.getPmID();
 
-            if (production == null || currentPm == null || production.getPmID() != currentPm.getPmID()) {
+            if (production == null || pmID == 0 || production.getPmID() != pmID) {
                 resp.sendError(HttpServletResponse.SC_FORBIDDEN);
                 return;
             }
@@ -113,6 +111,8 @@ public class UpdateProduction extends HttpServlet {
             }
 
             prodDAO.save(production);
+            CastingChangeListener castingChanges = (CastingChangeListener) getServletContext().getAttribute("castingChanges");
+            if (castingChanges != null) castingChanges.productionChanged();
 
             NotificationUtil.sendNotification(req, "Produzione aggiornata con successo!", "success");
 
@@ -5,8 +5,9 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.*;
 import model.dao.CastingDirectorDAO;
+import model.dao.CastingDirectorIndex;
+import model.dao.InsertResult;
 import model.dao.ProductionDAO;
-import model.dao.ProductionManagerDAO;
 import model.dao.TeamDAO;
 import model.dto.*;
 import utils.NotificationUtil;
@@ -19,7 +20,7 @@ public class AssignCD extends HttpServlet {
 
     @Override
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
-        UserDTO user = (UserDTO) req.getSession().getAttribute("user");
+        PrincipalDTO user = (PrincipalDTO) req.getSession().getAttribute("user");
         if (user == null || user.getRole() != UserDTO.Role.ProductionManager) {
             resp.sendRedirect(req.getContextPath() + "/login");
             return;
@@ -34,14 +35,13 @@ public class AssignCD extends HttpServlet {
         DataSource ds = (DataSource) getServletContext().getAttribute("ds");
         ProductionDAO prodDAO = new ProductionDAO(ds);
         TeamDAO teamDAO = new TeamDAO(ds);
-        ProductionManagerDAO pmDAO = new ProductionManagerDAO(ds);
 
         try {
             int prodID = Integer.parseInt(prodIdStr);
             ProductionDTO production = prodDAO.getByID(prodID);
-            ProductionManagerDTO pmDTO = pmDAO.getByUserID(user.getUserID());
+            int pmID = user.getPmID();
 
-            if (production == null || pmDTO == null || production.getPmID() != pmDTO.getPmID()) {
+            if (production == null || pmID == 0 || production.getPmID() != pmID) {
                 NotificationUtil.sendNotification(req, "Accesso negato.", "error");
                 resp.sendRedirect(req.getContextPath() + "/pm/productions");
                 return;
@@ -50,12 +50,9 @@ public class AssignCD extends HttpServlet {
             //Membri attuali
             List<UserDTO> currentTeam = teamDAO.getTeamMembers(prodID);
 
-            //CD Disponibili
-            List<UserDTO> availableCDs = teamDAO.getAvailableCastingDirectors(prodID);
-
+            // I CD disponibili non vengono più caricati tutti: la pagina li cerca con il typeahead (/pm/team/search)
             req.setAttribute("production", production);
             req.setAttribute("currentTeam", currentTeam);
-            req.setAttribute("availableCDs", availableCDs);
 
             RequestDispatcher dispatcher = req.getRequestDispatcher("/WEB-INF/views/pm/manage-team.jsp");
             dispatcher.forward(req, resp);
@@ -76,6 +73,7 @@ public class AssignCD extends HttpServlet {
         DataSource ds = (DataSource) getServletContext().getAttribute("ds");
         TeamDAO teamDAO = new TeamDAO(ds);
         CastingDirectorDAO cdDAO = new CastingDirectorDAO(ds);
+        CastingDirectorIndex cdIndex = (CastingDirectorIndex) getServletContext().getAttribute("cdIndex");
 
         try {
             int prodID = Integer.parseInt(prodIdStr);
@@ -86,8 +84,20 @@ public class AssignCD extends HttpServlet {
             if (cdDTO != null) {
                 if ("add".equals(action)) {
                     TeamDTO team = new TeamDTO(prodID, cdDTO.getCdID());
-                    teamDAO.save(team);
-                    NotificationUtil.sendNotification(req, "Casting Director aggiunto con successo!", "success");
+                    InsertResult result = teamDAO.insertIfAbsent(team);
+
+                    // Il CD non viene più proposto per questo team
+                    if (result != InsertResult.FAILED && cdIndex != null) {
+                        cdIndex.memberAdded(prodID, cdDTO.getCdID());
+                    }
+
+                    if (result == InsertResult.CREATED) {
+                        NotificationUtil.sendNotification(req, "Casting Director aggiunto con successo!", "success");
+                    } else if (result == InsertResult.ALREADY_EXISTS) {
+                        NotificationUtil.sendNotification(req, "Il Casting Director fa già parte del team.", "warning");
+                    } else {
+                        NotificationUtil.sendNotification(req, "Errore: Produzione non trovata.", "error");
+                    }
                 }
             } else {
                 NotificationUtil.sendNotification(req, "Errore: Profilo Casting Director non trovato.", "error");
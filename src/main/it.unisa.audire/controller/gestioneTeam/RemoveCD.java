@@ -16,7 +16,7 @@ public class RemoveCD extends HttpServlet {
     @Override
     protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
         HttpSession session = req.getSession(false);
-        UserDTO user = (session != null) ? (UserDTO) session.getAttribute("user") : null;
+        PrincipalDTO user = (session != null) ? (PrincipalDTO) session.getAttribute("user") : null;
 
         if (user == null || user.getRole() != UserDTO.Role.ProductionManager) {
             resp.sendRedirect(req.getContextPath() + "/login");
@@ -35,7 +35,6 @@ public class RemoveCD extends HttpServlet {
         DataSource ds = (DataSource) getServletContext().getAttribute("ds");
         TeamDAO teamDAO = new TeamDAO(ds);
         ProductionDAO prodDAO = new ProductionDAO(ds);
-        ProductionManagerDAO pmDAO = new ProductionManagerDAO(ds);
         CastingDirectorDAO cdDAO = new CastingDirectorDAO(ds);
 
         try {
@@ -43,9 +42,9 @@ public class RemoveCD extends HttpServlet {
             int userId = Integer.parseInt(userIdStr);
 
             ProductionDTO production = prodDAO.getByID(prodID);
-            ProductionManagerDTO pmDTO = pmDAO.getByUserID(user.getUserID());
+            int pmID = user.getPmID();
 
-            if (production == null || pmDTO == null || production.getPmID() != pmDTO.getPmID()) {
+            if (production == null || pmID == 0 || production.getPmID() != pmID) {
                 NotificationUtil.sendNotification(req, "Non hai i permessi per modificare questo team.", "error");
                 resp.sendRedirect(req.getContextPath() + "/pm/productions");
                 return;
@@ -57,6 +56,11 @@ public class RemoveCD extends HttpServlet {
                 boolean removed = teamDAO.delete(prodID, cdDTO.getCdID());
 
                 if (removed) {
+                    // Il CD torna tra i candidati proposti per questo team
+                    CastingDirectorIndex cdIndex = (CastingDirectorIndex) getServletContext().getAttribute("cdIndex");
+                    if (cdIndex != null) {
+                        cdIndex.memberRemoved(prodID, cdDTO.getCdID());
+                    }
                     NotificationUtil.sendNotification(req, "Membro rimosso dal team con successo.", "success");
                 } else {
                     NotificationUtil.sendNotification(req, "Impossibile rimuovere: il membro non era nel team.", "warning");
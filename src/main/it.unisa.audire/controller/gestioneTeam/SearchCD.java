@@ -0,0 +1,89 @@
+package controller.gestioneTeam;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.*;
+import model.dao.CastingDirectorIndex;
+import model.dao.ProductionDAO;
+import model.dto.PrincipalDTO;
+import model.dto.ProductionDTO;
+import model.dto.UserDTO;
+import utils.JsonUtil;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Typeahead per l'assegnazione dei Casting Director a un team.
+ * <p>
+ * Restituisce in JSON i Casting Director il cui nome o email inizia con le parole cercate,
+ * esclusi i membri attuali del team: {@code [{"userId":1,"name":"Mario Rossi","email":"..."}]}.
+ * La ricerca usa l'indice in memoria {@link CastingDirectorIndex}, senza query al database.
+ * </p>
+ */
+@WebServlet("/pm/team/search")
+public class SearchCD extends HttpServlet {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        PrincipalDTO user = (PrincipalDTO) req.getSession().getAttribute("user");
+        if (user == null || user.getRole() != UserDTO.Role.ProductionManager) {
+            resp.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        int prodID;
+        int limit;
+        try {
+            prodID = Integer.parseInt(req.getParameter("productionId"));
+            String limitStr = req.getParameter("limit");
+            limit = (limitStr != null) ? Integer.parseInt(limitStr) : DEFAULT_LIMIT;
+        } catch (NumberFormatException e) {
+            resp.sendError(HttpServletResponse.SC_BAD_REQUEST, "Parametri non validi");
+            return;
+        }
+
+        CastingDirectorIndex index = (CastingDirectorIndex) getServletContext().getAttribute("cdIndex");
+        if (index == null || !index.isReady()) {
+            resp.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Ricerca non disponibile");
+            return;
+        }
+
+        DataSource ds = (DataSource) getServletContext().getAttribute("ds");
+
+        try {
+            // Solo il PM proprietario può cercare candidati per il team (produzione letta dalla cache)
+            ProductionDTO production = new ProductionDAO(ds).getByID(prodID);
+            if (production == null || user.getPmID() == 0 || production.getPmID() != user.getPmID()) {
+                resp.sendError(HttpServletResponse.SC_FORBIDDEN);
+                return;
+            }
+
+            List<UserDTO> matches = index.search(req.getParameter("q"), prodID, limit);
+
+            resp.setContentType("application/json");
+            resp.setCharacterEncoding("UTF-8");
+            resp.setHeader("Cache-Control", "no-store");
+
+            PrintWriter out = resp.getWriter();
+            out.print('[');
+            for (int i = 0; i < matches.size(); i++) {
+                UserDTO cd = matches.get(i);
+                if (i > 0) out.print(',');
+                out.print("{\"userId\":" + cd.getUserID() +
+                        ",\"name\":" + JsonUtil.quote(cd.getFirstName() + " " + cd.getLastName()) +
+                        ",\"email\":" + JsonUtil.quote(cd.getEmail()) + "}");
+            }
+            out.print(']');
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+            resp.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Errore Database");
+        }
+    }
+}
@@ -6,6 +6,7 @@ import jakarta.servlet.http.HttpFilter;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
+import model.dto.PrincipalDTO;
 import model.dto.UserDTO;
 
 import java.io.IOException;
@@ -23,7 +24,13 @@ public class AccessControlFilter extends HttpFilter {
         String path = request.getServletPath();
 
         HttpSession session = request.getSession(false);
-        UserDTO user = (session != null) ? (UserDTO) session.getAttribute("user") : null;
+
+        // Sessioni create prima dell'introduzione di PrincipalDTO (es. ripristinate dopo un riavvio): nuovo login
+        if (session != null && session.getAttribute("user") != null && !(session.getAttribute("user") instanceof PrincipalDTO)) {
+            session.removeAttribute("user");
+        }
+
+        PrincipalDTO user = (session != null) ? (PrincipalDTO) session.getAttribute("user") : null;
         boolean isLoggedIn = (user != null);
 
 
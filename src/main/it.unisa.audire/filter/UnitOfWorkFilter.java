@@ -0,0 +1,135 @@
+package filter;
+
+import jakarta.servlet.*;
+import jakarta.servlet.annotation.WebFilter;
+import jakarta.servlet.http.HttpFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import model.ConnectionContext;
+import model.RequestScopedDataSource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.sql.SQLException;
+
+/**
+ * Opens a {@link ConnectionContext} for each request, so that all the DAOs used to serve it share
+ * a single connection, and closes it at the end: an open transaction is committed if the request
+ * completed normally and rolled back if it threw an exception.
+ * <p>
+ * The connection is released as soon as the servlet starts producing the response (forward or include,
+ * redirect, error, output stream or writer), so it is not held while a JSP renders or a CV streams to
+ * the client, and a commit failure surfaces as an exception before the response is committed.
+ * </p>
+ */
+@WebFilter(filterName = "UnitOfWorkFilter", urlPatterns = "/*")
+public class UnitOfWorkFilter extends HttpFilter {
+
+    @Override
+    public void doFilter(ServletRequest req, ServletResponse res, FilterChain chain)
+            throws IOException, ServletException {
+
+        DataSource ds = (DataSource) req.getServletContext().getAttribute("ds");
+        if (!(ds instanceof RequestScopedDataSource) || !ConnectionContext.open(((RequestScopedDataSource) ds).getPool())) {
+            chain.doFilter(req, res);
+            return;
+        }
+
+        boolean success = false;
+        try {
+            chain.doFilter(new ReleasingRequest((HttpServletRequest) req), new ReleasingResponse((HttpServletResponse) res));
+            success = true;
+        } finally {
+            ConnectionContext.close(success);
+        }
+    }
+
+    // --- Helper Methods ---
+
+    private static void release() throws IOException {
+        try {
+            ConnectionContext.release();
+        } catch (SQLException e) {
+            throw new IOException("Commit della transazione fallito", e);
+        }
+    }
+
+    /**
+     * Releases the request connection before dispatching to another resource (typically a JSP).
+     */
+    private static final class ReleasingRequest extends HttpServletRequestWrapper {
+
+        ReleasingRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public RequestDispatcher getRequestDispatcher(String path) {
+            RequestDispatcher dispatcher = super.getRequestDispatcher(path);
+            return (dispatcher != null) ? new ReleasingDispatcher(dispatcher) : null;
+        }
+    }
+
+    private static final class ReleasingDispatcher implements RequestDispatcher {
+        private final RequestDispatcher target;
+
+        ReleasingDispatcher(RequestDispatcher target) {
+            this.target = target;
+        }
+
+        @Override
+        public void forward(ServletRequest request, ServletResponse response) throws ServletException, IOException {
+            release();
+            target.forward(request, response);
+        }
+
+        @Override
+        public void include(ServletRequest request, ServletResponse response) throws ServletException, IOException {
+            release();
+            target.include(request, response);
+        }
+    }
+
+    /**
+     * Releases the request connection before anything is written to the client.
+     */
+    private static final class ReleasingResponse extends HttpServletResponseWrapper {
+
+        ReleasingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            release();
+            super.sendRedirect(location);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            release();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            release();
+            super.sendError(sc);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            release();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            release();
+            return super.getWriter();
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package model;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request-scoped unit of work: all the DAOs used while serving a request share one connection.
+ * <p>
+ * The scope is opened and closed by {@link filter.UnitOfWorkFilter}. The connection is leased
+ * from the pool lazily, the first time a DAO asks the {@link RequestScopedDataSource} for one,
+ * and released when the request ends; requests that never touch the database never lease one.
+ * DAOs keep closing their connections with try-with-resources: inside the scope they receive a
+ * handle whose {@code close()} does nothing.
+ * </p>
+ * <p>
+ * A servlet can group several DAO calls in a transaction with {@link #beginTransaction()} and end it
+ * with {@link #commit()} or {@link #rollback()}. A transaction still open when the request ends is
+ * committed if the request completed normally, rolled back otherwise. While it is open, the
+ * {@code setAutoCommit}/{@code commit} calls made by DAOs join the outer transaction, and a DAO
+ * {@code rollback()} marks it as rollback-only.
+ * </p>
+ * <p>
+ * The filter calls {@link #release()} before the response starts (forward to a JSP, redirect, error
+ * page, output stream): the connection goes back to the pool instead of being held while the page
+ * renders or a file streams, and a failing commit can still become an error response. A DAO used
+ * after the release leases a new connection, returned when the request ends.
+ * </p>
+ * <p>
+ * <b>Note:</b> the connection is shared, so a streaming result set
+ * ({@link model.dao.GenericDAO#streamAll}) must be fully consumed or closed before other queries run
+ * in the same request.
+ * </p>
+ */
+public final class ConnectionContext {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private ConnectionContext() {
+    }
+
+    private static final class Scope {
+        final DataSource target;
+        Connection connection;
+        Connection handle;
+        boolean transaction;
+        boolean rollbackOnly;
+        List<Runnable> afterTransaction;
+
+        Scope(DataSource target) {
+            this.target = target;
+        }
+    }
+
+    /**
+     * Opens the scope for the current thread.
+     *
+     * @param target the pooled DataSource the connection is leased from.
+     * @return true if the scope was opened, false if one was already active (nested dispatch).
+     */
+    public static boolean open(DataSource target) {
+        if (CURRENT.get() != null) return false;
+        CURRENT.set(new Scope(target));
+        return true;
+    }
+
+    /**
+     * Closes the scope, ending any open transaction and returning the connection to the pool.
+     *
+     * @param success true if the request completed normally: an open transaction is committed, otherwise rolled back.
+     */
+    public static void close(boolean success) {
+        Scope scope = CURRENT.get();
+        CURRENT.remove();
+        if (scope == null || scope.connection == null) return;
+
+        try {
+            if (scope.transaction) {
+                if (success && !scope.rollbackOnly) {
+                    scope.connection.commit();
+                } else {
+                    scope.connection.rollback();
+                }
+                scope.connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            System.out.println("Errore durante la chiusura della transazione: " + e.getMessage());
+        } finally {
+            try {
+                scope.connection.close();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+            runAfterTransactionActions(scope);
+        }
+    }
+
+    /**
+     * Ends the unit of work early: commits an open transaction (or rolls it back if it was marked
+     * rollback-only) and returns the connection to the pool. The scope stays open, so a later DAO
+     * call leases a new connection.
+     *
+     * @throws SQLException if the commit fails; the transaction is rolled back and the connection released anyway.
+     */
+    public static void release() throws SQLException {
+        Scope scope = CURRENT.get();
+        if (scope == null || scope.connection == null) return;
+
+        Connection connection = scope.connection;
+        boolean transaction = scope.transaction;
+        boolean rollbackOnly = scope.rollbackOnly;
+        scope.connection = null;
+        scope.handle = null;
+        scope.transaction = false;
+        scope.rollbackOnly = false;
+
+        try {
+            if (transaction) {
+                try {
+                    if (rollbackOnly) {
+                        connection.rollback();
+                    } else {
+                        connection.commit();
+                    }
+                } catch (SQLException e) {
+                    try {
+                        connection.rollback();
+                    } catch (SQLException suppressed) {
+                        e.addSuppressed(suppressed);
+                    }
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(true);
+                }
+            }
+        } finally {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+            runAfterTransactionActions(scope);
+        }
+    }
+
+    /**
+     * @return true if the current thread is serving a request with an active scope.
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Starts a transaction on the request connection.
+     *
+     * @throws IllegalStateException if no scope is active or a transaction is already open.
+     * @throws SQLException if the connection cannot be leased.
+     */
+    public static void beginTransaction() throws SQLException {
+        Scope scope = requireScope();
+        if (scope.transaction) {
+            throw new IllegalStateException("A transaction is already open");
+        }
+        connection(scope).setAutoCommit(false);
+        scope.transaction = true;
+        scope.rollbackOnly = false;
+    }
+
+    /**
+     * Commits the open transaction, or rolls it back if it was marked rollback-only.
+     *
+     * @throws SQLException if the commit fails; the transaction is closed anyway.
+     */
+    public static void commit() throws SQLException {
+        Scope scope = requireScope();
+        if (!scope.transaction) return;
+
+        try {
+            if (scope.rollbackOnly) {
+                scope.connection.rollback();
+                throw new SQLException("Transaction rolled back: marked rollback-only");
+            }
+            scope.connection.commit();
+        } finally {
+            endTransaction(scope);
+        }
+    }
+
+    /**
+     * Rolls back the open transaction, if any. Errors are logged, not thrown, so this can be called from catch blocks.
+     */
+    public static void rollback() {
+        Scope scope = CURRENT.get();
+        if (scope == null || !scope.transaction) return;
+
+        try {
+            scope.connection.rollback();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        } finally {
+            try {
+                endTransaction(scope);
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Runs the action when the open request transaction ends, or immediately if there is none.
+     * <p>
+     * Used to invalidate caches: the action runs on commit and on rollback alike, after the changes
+     * (if any) are visible to the other connections.
+     * </p>
+     *
+     * @param action the action to run.
+     */
+    public static void runAfterTransaction(Runnable action) {
+        Scope scope = CURRENT.get();
+        if (scope == null || !scope.transaction) {
+            action.run();
+            return;
+        }
+        if (scope.afterTransaction == null) {
+            scope.afterTransaction = new ArrayList<>();
+        }
+        scope.afterTransaction.add(action);
+    }
+
+    /**
+     * Returns a handle on the request connection, or null if no scope for {@code target} is active.
+     */
+    static Connection lease(DataSource target) throws SQLException {
+        Scope scope = CURRENT.get();
+        if (scope == null || scope.target != target) return null;
+
+        if (scope.handle == null) {
+            Connection connection = connection(scope);
+            scope.handle = (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new SharedConnectionHandler(scope, connection));
+        }
+        return scope.handle;
+    }
+
+    private static Connection connection(Scope scope) throws SQLException {
+        if (scope.connection == null) {
+            scope.connection = scope.target.getConnection();
+        }
+        return scope.connection;
+    }
+
+    private static void endTransaction(Scope scope) throws SQLException {
+        scope.transaction = false;
+        scope.rollbackOnly = false;
+        try {
+            scope.connection.setAutoCommit(true);
+        } finally {
+            runAfterTransactionActions(scope);
+        }
+    }
+
+    private static void runAfterTransactionActions(Scope scope) {
+        List<Runnable> actions = scope.afterTransaction;
+        scope.afterTransaction = null;
+        if (actions == null) return;
+
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private static Scope requireScope() {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            throw new IllegalStateException("No request connection context is active");
+        }
+        return scope;
+    }
+
+    /**
+     * Handle given to the DAOs: {@code close()} is ignored and, while a request transaction is open,
+     * the DAOs' own transaction demarcation joins it.
+     */
+    private static final class SharedConnectionHandler implements InvocationHandler {
+        private final Scope scope;
+        private final Connection connection;
+
+        SharedConnectionHandler(Scope scope, Connection connection) {
+            this.scope = scope;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            int argCount = (args == null) ? 0 : args.length;
+
+            if (scope.connection != connection) {
+                // The connection was released with ConnectionContext.release(): this handle is stale
+                switch (name) {
+                    case "close":
+                        return null;
+                    case "isClosed":
+                        return true;
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        throw new SQLException("The request connection has already been released");
+                }
+            }
+
+            switch (name) {
+                case "close":
+                    return null;
+                case "isClosed":
+                    return connection.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Request-scoped " + connection;
+                default:
+                    break;
+            }
+
+            if (scope.transaction) {
+                if (name.equals("setAutoCommit") || name.equals("commit")) {
+                    return null;
+                }
+                if (name.equals("getAutoCommit")) {
+                    return false;
+                }
+                if (name.equals("rollback") && argCount == 0) {
+                    scope.rollbackOnly = true;
+                    return null;
+                }
+            }
+
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -4,16 +4,50 @@ import jakarta.servlet.ServletContext;
 import jakarta.servlet.ServletContextEvent;
 import jakarta.servlet.ServletContextListener;
 import jakarta.servlet.annotation.WebListener;
+import controller.CastingFragments;
+import model.dao.ActiveCastingSnapshot;
+import model.dao.CastingChangeListener;
+import model.dao.CastingDAO;
+import model.dao.CastingDirectorIndex;
+import model.dao.CastingFeed;
+import model.dao.CastingSearchIndex;
+import model.dao.ProductionDAO;
+import model.dao.TalentDirectory;
+import model.migration.MigrationRunner;
+import model.pool.ConnectionPool;
+import model.pool.PoolConfig;
+import model.storage.CvStore;
+import model.storage.FileSystemCvStore;
+import utils.CacheMXBean;
 
 import javax.naming.Context;
 import javax.naming.InitialContext;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 import javax.naming.NamingException;
 import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 
 @WebListener
 public class MainContext implements ServletContextListener {
 
+    private static final String POOL_MBEAN_NAME = "it.unisa.audire:type=ConnectionPool";
+    private static final String CACHE_MBEAN_PREFIX = "it.unisa.audire:type=Cache,name=";
+
+    private ConnectionPool pool;
+    private ActiveCastingSnapshot activeCastings;
+    private CastingDirectorIndex cdIndex;
+    private CastingSearchIndex castingSearch;
+    private TalentDirectory talentDirectory;
+    private CastingFeed castingFeed;
+    private CastingFragments castingFragments;
+
     public void contextInitialized(ServletContextEvent sce) {
         ServletContext context = sce.getServletContext();
 
@@ -28,12 +62,244 @@ public class MainContext implements ServletContextListener {
             System.out.println("Errore: Impossibile trovare il DataSource. " + e.getMessage());
         }
 
-        context.setAttribute("ds", ds);
+        if (ds == null) {
+            ds = createPool(context);
+        }
+
+        if (ds != null) {
+            migrateSchema(context, ds);
+        }
+
+        // Dentro una richiesta i DAO condividono una sola connessione (vedi ConnectionContext)
+        context.setAttribute("ds", (ds != null) ? new RequestScopedDataSource(ds) : null);
         System.out.println("DataSource creato e impostato nel contesto dell'applicazione.");
+
+        context.setAttribute("cvStore", createCvStore(context));
+
+        // Casting attivi per la Home Page, tenuti in memoria e aggiornati a ogni modifica
+        if (ds != null) {
+            activeCastings = new ActiveCastingSnapshot((DataSource) context.getAttribute("ds"));
+            activeCastings.start();
+            context.setAttribute("activeCastings", activeCastings);
+
+            // Indice dei Casting Director per la ricerca nella gestione dei team
+            cdIndex = new CastingDirectorIndex((DataSource) context.getAttribute("ds"));
+            cdIndex.start();
+            context.setAttribute("cdIndex", cdIndex);
+
+            // Indice testuale dei casting attivi per la pagina di ricerca
+            castingSearch = new CastingSearchIndex((DataSource) context.getAttribute("ds"));
+            castingSearch.start();
+            context.setAttribute("castingSearch", castingSearch);
+
+            // Directory dei profili dei performer per la ricerca dei talenti dei Casting Director
+            talentDirectory = new TalentDirectory((DataSource) context.getAttribute("ds"));
+            talentDirectory.start();
+            context.setAttribute("talentDirectory", talentDirectory);
+
+            // Casting consigliati a ogni Performer, aggiornati a ogni pubblicazione e scadenza
+            castingFeed = new CastingFeed((DataSource) context.getAttribute("ds"));
+            castingFeed.start();
+            context.setAttribute("castingFeed", castingFeed);
+
+            // Aggiorna le tre viste dei casting attivi dopo ogni modifica a un casting o a una produzione
+            context.setAttribute("castingChanges", new CastingChangeListener(activeCastings, castingSearch, castingFeed));
+        }
+
+        // HTML delle card dei casting, già renderizzato per ogni variante di ruolo
+        long fragmentBytes = intParam(context, "fragments.maxKilobytes", 8192) * 1024L;
+        castingFragments = new CastingFragments(context.getContextPath(), fragmentBytes);
+        context.setAttribute("castingFragments", castingFragments);
+
+        registerCacheStats();
+    }
+
+    /**
+     * Applies the pending schema migrations (see {@link MigrationRunner}), unless the
+     * {@code db.migrate} context parameter is {@code false}.
+     * A failure is logged and the application starts on the current schema.
+     */
+    private void migrateSchema(ServletContext context, DataSource ds) {
+        if ("false".equalsIgnoreCase(context.getInitParameter("db.migrate"))) {
+            return;
+        }
+        try {
+            for (MigrationRunner.Migration migration : new MigrationRunner(ds).migrate()) {
+                System.out.println("Migrazione dello schema applicata: " + migration);
+            }
+        } catch (SQLException | RuntimeException e) {
+            System.out.println("Errore: Migrazione dello schema non riuscita. " + e.getMessage());
+        }
+    }
+
+    private Map<String, CacheMXBean> caches() {
+        Map<String, CacheMXBean> caches = new LinkedHashMap<>();
+        caches.put("Production", ProductionDAO.getCacheStats());
+        caches.put("Casting", CastingDAO.getCacheStats());
+        if (castingFragments != null) {
+            caches.put("CastingFragments", castingFragments.getCacheStats());
+        }
+        return caches;
+    }
+
+    /**
+     * Publishes the statistics of the caches over JMX as {@value #CACHE_MBEAN_PREFIX}{@code <name>}.
+     */
+    private void registerCacheStats() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            for (Map.Entry<String, CacheMXBean> cache : caches().entrySet()) {
+                ObjectName name = new ObjectName(CACHE_MBEAN_PREFIX + cache.getKey());
+                if (!server.isRegistered(name)) {
+                    server.registerMBean(cache.getValue(), name);
+                }
+            }
+        } catch (Exception e) {
+            System.out.println("Statistiche delle cache non pubblicate su JMX: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Creates the built-in connection pool configured by the {@code db.*} context parameters,
+     * used when the container does not provide the {@code jdbc/Audire} resource.
+     * <p>
+     * The password is read from {@code db.password} or, if empty, from the {@code AUDIRE_DB_PASSWORD}
+     * environment variable. The pool statistics are published over JMX as {@value #POOL_MBEAN_NAME}
+     * and in the {@code connectionPool} context attribute.
+     * </p>
+     *
+     * @param context the servlet context holding the configuration.
+     * @return the pool, or {@code null} if {@code db.url} is not set or the pool cannot be created.
+     */
+    private DataSource createPool(ServletContext context) {
+        String url = context.getInitParameter("db.url");
+        if (url == null || url.trim().isEmpty()) {
+            return null;
+        }
+
+        PoolConfig config = new PoolConfig();
+        config.setUrl(url.trim());
+        config.setUser(context.getInitParameter("db.user"));
+
+        String password = context.getInitParameter("db.password");
+        if (password == null || password.isEmpty()) {
+            password = System.getenv("AUDIRE_DB_PASSWORD");
+        }
+        config.setPassword(password);
+
+        config.setMinSize(intParam(context, "db.pool.minSize", config.getMinSize()));
+        config.setMaxSize(intParam(context, "db.pool.maxSize", config.getMaxSize()));
+        config.setMaxWaitMillis(intParam(context, "db.pool.maxWaitMillis", (int) config.getMaxWaitMillis()));
+        config.setLeakThresholdMillis(intParam(context, "db.pool.leakThresholdMillis", (int) config.getLeakThresholdMillis()));
+
+        try {
+            pool = new ConnectionPool(config);
+            context.setAttribute("connectionPool", pool);
+            System.out.println("Pool di connessioni interno attivo: " + config);
+        } catch (SQLException | IllegalArgumentException e) {
+            System.out.println("Errore: Impossibile creare il pool di connessioni. " + e.getMessage());
+            return null;
+        }
+
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(POOL_MBEAN_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(pool, name);
+            }
+        } catch (Exception e) {
+            System.out.println("Statistiche del pool non pubblicate su JMX: " + e.getMessage());
+        }
+
+        return pool;
+    }
+
+    private int intParam(ServletContext context, String name, int defaultValue) {
+        String value = context.getInitParameter(name);
+        if (value == null || value.trim().isEmpty()) return defaultValue;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            System.out.println("Valore non valido per " + name + ", uso " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Creates the CV storage backend configured by the {@code cv.storage.mode} context parameter.
+     * <p>
+     * With {@code file} the CVs are kept in the directory given by {@code cv.storage.dir};
+     * any other value (or none) keeps them in the {@code Performer.CV_Data} BLOB column.
+     * </p>
+     *
+     * @param context the servlet context holding the configuration.
+     * @return the configured store, or {@code null} for the BLOB mode.
+     */
+    private CvStore createCvStore(ServletContext context) {
+        String mode = context.getInitParameter("cv.storage.mode");
+        if (!"file".equalsIgnoreCase(mode)) {
+            return null;
+        }
+
+        String dir = context.getInitParameter("cv.storage.dir");
+        if (dir == null || dir.trim().isEmpty()) {
+            System.out.println("Errore: cv.storage.dir non impostato, i CV restano nel database.");
+            return null;
+        }
+
+        try {
+            CvStore store = new FileSystemCvStore(Paths.get(dir.trim()));
+            System.out.println("Archivio CV su disco attivo in " + dir.trim());
+            return store;
+        } catch (IOException e) {
+            System.out.println("Errore: Impossibile inizializzare l'archivio CV. " + e.getMessage());
+            return null;
+        }
     }
 
     @Override
     public void contextDestroyed(ServletContextEvent sce) {
+        if (activeCastings != null) {
+            activeCastings.close();
+        }
+        if (cdIndex != null) {
+            cdIndex.close();
+        }
+        if (castingSearch != null) {
+            castingSearch.close();
+        }
+        if (talentDirectory != null) {
+            talentDirectory.close();
+        }
+        if (castingFeed != null) {
+            castingFeed.close();
+        }
+
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            for (String cache : caches().keySet()) {
+                ObjectName name = new ObjectName(CACHE_MBEAN_PREFIX + cache);
+                if (server.isRegistered(name)) {
+                    server.unregisterMBean(name);
+                }
+            }
+        } catch (Exception e) {
+            System.out.println("Errore nella rimozione delle statistiche delle cache: " + e.getMessage());
+        }
+
+        if (pool != null) {
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                ObjectName name = new ObjectName(POOL_MBEAN_NAME);
+                if (server.isRegistered(name)) {
+                    server.unregisterMBean(name);
+                }
+            } catch (Exception e) {
+                System.out.println("Errore nella rimozione delle statistiche del pool: " + e.getMessage());
+            }
+            pool.close();
+            System.out.println("Pool di connessioni chiuso: " + pool);
+        }
         ServletContextListener.super.contextDestroyed(sce);
     }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package model;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Objects;
+import java.util.logging.Logger;
+
+/**
+ * DataSource published to the application: inside a request it hands out the connection of the
+ * {@link ConnectionContext}, elsewhere (listeners, background jobs) it behaves like the pool it wraps.
+ */
+public class RequestScopedDataSource implements DataSource {
+
+    private final DataSource pool;
+
+    public RequestScopedDataSource(DataSource pool) {
+        this.pool = Objects.requireNonNull(pool, "DataSource cannot be null");
+    }
+
+    /**
+     * @return the underlying pooled DataSource.
+     */
+    public DataSource getPool() {
+        return pool;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection shared = ConnectionContext.lease(pool);
+        return (shared != null) ? shared : pool.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return pool.getConnection(username, password);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return pool.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        pool.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        pool.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return pool.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return pool.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) return iface.cast(this);
+        return pool.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || pool.isWrapperFor(iface);
+    }
+}
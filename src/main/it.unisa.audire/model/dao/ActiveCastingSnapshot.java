@@ -0,0 +1,328 @@
+package model.dao;
+
+import model.ConnectionContext;
+import model.dto.CastingDTO;
+import model.dto.CastingFacetsDTO;
+import model.dto.CastingFilterDTO;
+import model.dto.PageDTO;
+import model.dto.ProductionDTO;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory, immutable snapshot of the active castings (deadline not yet passed) and of their
+ * production titles, used to serve the Home Page without querying the database.
+ * <p>
+ * Readers only dereference a volatile field: every change builds a new {@link Snapshot} and swaps it
+ * in whole (copy-on-write), so a page never sees a half-updated list. The snapshot is rebuilt from the
+ * database by {@link #requestRebuild()} after the writes that affect it (castings created, updated or
+ * removed, productions renamed or removed) and, as a safety net for changes made elsewhere, every
+ * {@value #REFRESH_MINUTES} minutes.
+ * </p>
+ * <p>
+ * Castings leave the list exactly when they expire: a single timer is armed on the earliest expiry
+ * and, when it fires, drops the expired castings from the current snapshot without touching the
+ * database. A casting is active while {@code DeadLine >= CURRENT_DATE}, so it expires at the
+ * midnight that ends the day of its deadline.
+ * </p>
+ * <p>
+ * Every snapshot carries a {@link ContentVersions.Stamp}, which changes only when the list or a title
+ * actually differs from the previous snapshot, so that the Home Page can answer conditional requests.
+ * </p>
+ * <p>
+ * Every snapshot also carries the bitmap indexes of the Home Page filters ({@link CastingFacetIndex}),
+ * so that a filtered page and the counts of the filter values cost a few bitwise operations.
+ * </p>
+ * <p>
+ * The returned {@link CastingDTO} objects are shared by all the requests and must not be modified.
+ * </p>
+ */
+public class ActiveCastingSnapshot implements AutoCloseable {
+
+    private static final long REFRESH_MINUTES = 5;
+
+    /** The deadline windows offered by the Home Page filters, in days from today. */
+    public static final List<Integer> DEADLINE_WINDOWS = List.of(7, 30);
+
+    /**
+     * An immutable view of the active castings, ordered by publish date descending.
+     */
+    private static final class Snapshot {
+        final List<CastingDTO> castings;
+        final long[] publishMillis;
+        final long[] expiresAt;
+        final Map<Integer, String> productionTitles;
+        final Map<Integer, ProductionDTO.Type> productionTypes;
+        final long nextExpiry;
+        final ContentVersions.Stamp stamp;
+        final CastingFacetIndex facets;
+
+        Snapshot(List<CastingDTO> castings, Map<Integer, String> productionTitles,
+                 Map<Integer, ProductionDTO.Type> productionTypes, ContentVersions.Stamp stamp) {
+            this.stamp = stamp;
+            this.castings = Collections.unmodifiableList(castings);
+            this.productionTitles = Collections.unmodifiableMap(productionTitles);
+            this.productionTypes = Collections.unmodifiableMap(productionTypes);
+            this.publishMillis = new long[castings.size()];
+            this.expiresAt = new long[castings.size()];
+
+            long next = Long.MAX_VALUE;
+            for (int i = 0; i < castings.size(); i++) {
+                CastingDTO c = castings.get(i);
+                publishMillis[i] = (c.getPublishDate() != null) ? Timestamp.valueOf(c.getPublishDate()).getTime() : 0L;
+                expiresAt[i] = expiryOf(c.getDeadline());
+                next = Math.min(next, expiresAt[i]);
+            }
+            this.nextExpiry = next;
+            this.facets = new CastingFacetIndex(this.castings, productionTypes, expiresAt);
+        }
+
+        /**
+         * @return a copy without the castings expired at {@code now}, or this snapshot if none expired.
+         */
+        Snapshot withoutExpired(long now) {
+            if (nextExpiry > now) return this;
+
+            List<CastingDTO> kept = new ArrayList<>(castings.size());
+            Map<Integer, String> titles = new HashMap<>();
+            Map<Integer, ProductionDTO.Type> types = new HashMap<>();
+            for (int i = 0; i < castings.size(); i++) {
+                if (expiresAt[i] > now) {
+                    CastingDTO c = castings.get(i);
+                    kept.add(c);
+                    titles.put(c.getCastingID(), productionTitles.get(c.getCastingID()));
+                    types.put(c.getCastingID(), productionTypes.get(c.getCastingID()));
+                }
+            }
+            return new Snapshot(kept, titles, types, ContentVersions.next());
+        }
+
+        boolean sameContentAs(Snapshot other) {
+            return other != null && castings.equals(other.castings) && productionTitles.equals(other.productionTitles)
+                    && productionTypes.equals(other.productionTypes);
+        }
+    }
+
+    private final DataSource dataSource;
+    private final ScheduledExecutorService scheduler;
+    private final Object swapLock = new Object();
+
+    private volatile Snapshot current;
+    private ScheduledFuture<?> expiryTask; // guarded by swapLock
+
+    public ActiveCastingSnapshot(DataSource dataSource) {
+        this.dataSource = Objects.requireNonNull(dataSource, "DataSource cannot be null");
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "audire-active-castings");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Loads the first snapshot and starts the periodic refresh.
+     * If the first load fails the snapshot stays unavailable ({@link #isReady()} is false) until the next refresh.
+     */
+    public void start() {
+        rebuild();
+        scheduler.scheduleWithFixedDelay(this::rebuild, REFRESH_MINUTES, REFRESH_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * @return true once a snapshot has been loaded.
+     */
+    public boolean isReady() {
+        return current != null;
+    }
+
+    /**
+     * Rebuilds the snapshot after a write. Inside a request transaction the rebuild waits for
+     * its end, so that only committed data is loaded.
+     */
+    public void requestRebuild() {
+        ConnectionContext.runAfterTransaction(this::rebuild);
+    }
+
+    /**
+     * Reloads the active castings and their productions (title and type) from the database and swaps them in.
+     * On error the previous snapshot is kept.
+     */
+    public void rebuild() {
+        synchronized (swapLock) {
+            try {
+                List<CastingDTO> castings = new CastingDAO(dataSource).getAllActive();
+
+                Set<Integer> productionIDs = new HashSet<>();
+                for (CastingDTO c : castings) {
+                    productionIDs.add(c.getProductionID());
+                }
+                Map<Integer, ProductionDTO> productions = new ProductionDAO(dataSource).getByIDs(productionIDs);
+
+                Map<Integer, String> titles = new HashMap<>();
+                Map<Integer, ProductionDTO.Type> types = new HashMap<>();
+                for (CastingDTO c : castings) {
+                    ProductionDTO production = productions.get(c.getProductionID());
+                    titles.put(c.getCastingID(), (production != null) ? production.getTitle() : "Unknown");
+                    types.put(c.getCastingID(), (production != null) ? production.getType() : null);
+                }
+
+                Snapshot snapshot = new Snapshot(castings, titles, types, ContentVersions.next()).withoutExpired(System.currentTimeMillis());
+                Snapshot previous = current;
+                if (snapshot.sameContentAs(previous)) {
+                    // Keeps the version, so that the clients' copies stay valid
+                    snapshot = new Snapshot(snapshot.castings, snapshot.productionTitles, snapshot.productionTypes, previous.stamp);
+                }
+                swap(snapshot);
+            } catch (SQLException | RuntimeException e) {
+                System.out.println("Errore nell'aggiornamento dei casting attivi: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Returns a page of the active castings, with the same cursors as {@link CastingDAO#getActivePage}.
+     *
+     * @param after    the cursor returned with the previous page, or null for the first page.
+     * @param pageSize the maximum number of castings to return (capped at {@value Keyset#MAX_PAGE_SIZE}).
+     * @return the page, or null if the snapshot is not available yet.
+     */
+    public PageDTO<CastingDTO> getPage(String after, int pageSize) {
+        return getPage(null, after, pageSize);
+    }
+
+    /**
+     * Returns a page of the active castings matching a filter, with the same cursors as
+     * {@link CastingDAO#getActivePage}.
+     *
+     * @param filter   the criteria, or null for none.
+     * @param after    the cursor returned with the previous page, or null for the first page.
+     * @param pageSize the maximum number of castings to return (capped at {@value Keyset#MAX_PAGE_SIZE}).
+     * @return the page, or null if the snapshot is not available yet.
+     */
+    public PageDTO<CastingDTO> getPage(CastingFilterDTO filter, String after, int pageSize) {
+        Snapshot snapshot = current;
+        if (snapshot == null) return null;
+
+        int size = Keyset.pageSize(pageSize);
+        int from = firstAfter(snapshot, Keyset.decode(after));
+
+        List<CastingDTO> rows = new ArrayList<>(size + 1);
+        if (filter == null || filter.isEmpty()) {
+            int to = Math.min(from + size + 1, snapshot.castings.size());
+            rows.addAll(snapshot.castings.subList(from, to));
+        } else {
+            long[] matching = snapshot.facets.matching(filter, System.currentTimeMillis());
+            for (int i = Bitmaps.nextSetBit(matching, from); i >= 0 && rows.size() <= size;
+                 i = Bitmaps.nextSetBit(matching, i + 1)) {
+                rows.add(snapshot.castings.get(i));
+            }
+        }
+        return Keyset.toPage(rows, size, c -> Keyset.encode(c.getPublishDate(), c.getCastingID()));
+    }
+
+    /**
+     * Counts the active castings for every value of the Home Page filters.
+     *
+     * @param filter the selected criteria, or null for none.
+     * @return the counts, or null if the snapshot is not available yet.
+     */
+    public CastingFacetsDTO getFacets(CastingFilterDTO filter) {
+        Snapshot snapshot = current;
+        return (snapshot != null) ? snapshot.facets.counts(filter, System.currentTimeMillis()) : null;
+    }
+
+    /**
+     * @return the production title of every active casting, keyed by CastingID (empty if not ready).
+     */
+    public Map<Integer, String> getProductionTitles() {
+        Snapshot snapshot = current;
+        return (snapshot != null) ? snapshot.productionTitles : Collections.emptyMap();
+    }
+
+    /**
+     * @return all the active castings, ordered by publish date descending (empty if not ready).
+     */
+    public List<CastingDTO> getAll() {
+        Snapshot snapshot = current;
+        return (snapshot != null) ? snapshot.castings : Collections.emptyList();
+    }
+
+    /**
+     * @return the version of the current snapshot, or null if not ready.
+     */
+    public ContentVersions.Stamp getStamp() {
+        Snapshot snapshot = current;
+        return (snapshot != null) ? snapshot.stamp : null;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    // --- Helper Methods ---
+
+    /**
+     * Publishes the snapshot and arms the timer on its earliest expiry. Called with {@code swapLock} held.
+     */
+    private void swap(Snapshot snapshot) {
+        current = snapshot;
+
+        if (expiryTask != null) {
+            expiryTask.cancel(false);
+            expiryTask = null;
+        }
+        if (snapshot.nextExpiry != Long.MAX_VALUE && !scheduler.isShutdown()) {
+            long delay = Math.max(0, snapshot.nextExpiry - System.currentTimeMillis());
+            expiryTask = scheduler.schedule(this::dropExpired, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Binary search of the first position after the cursor, in the snapshot order
+     * (publish date descending, then CastingID descending).
+     */
+    private static int firstAfter(Snapshot snapshot, Keyset.Key key) {
+        if (key == null) return 0;
+
+        long keyMillis = key.date.getTime();
+        int low = 0, high = snapshot.castings.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            long millis = snapshot.publishMillis[mid];
+            boolean after = millis < keyMillis || (millis == keyMillis && snapshot.castings.get(mid).getCastingID() < key.id);
+            if (after) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private void dropExpired() {
+        synchronized (swapLock) {
+            Snapshot snapshot = current;
+            if (snapshot != null) {
+                swap(snapshot.withoutExpired(System.currentTimeMillis()));
+            }
+        }
+    }
+
+    /**
+     * A casting is active while {@code DeadLine >= CURRENT_DATE}: it expires at the start of the day after its deadline.
+     */
+    static long expiryOf(LocalDateTime deadline) {
+        if (deadline == null) return Long.MAX_VALUE;
+        return deadline.toLocalDate().plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -1,12 +1,19 @@
 package model.dao;
 
+import model.ConnectionContext;
+import model.dto.ApplicantDTO;
+import model.dto.ApplicantFilterDTO;
 import model.dto.ApplicationDTO;
+import model.dto.ApplicationOverviewDTO;
+import model.dto.ApplicationViewDTO;
+import model.dto.PageDTO;
 import model.dto.ProductionDTO;
 
 import javax.sql.DataSource;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object (DAO) for managing ApplicationDTO entities.
@@ -24,6 +31,15 @@ public class ApplicationDAO implements GenericDAO<ApplicationDTO, Integer> {
 
     private static final String DEFAULT_ORDER_COLUMN = "SendingDate DESC";
 
+    /** Columns read by {@link #extractAppFromResultSet}, in positional order. */
+    private static final String[] COLUMNS = {"ApplicationID", "SendingDate", "Status", "Feedback", "PerformerID", "CastingID"};
+    private static final String SELECT_COLUMNS = Columns.list(null, COLUMNS);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO Application (SendingDate, Status, Feedback, PerformerID, CastingID) VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL =
+            "UPDATE Application SET SendingDate=?, Status=?, Feedback=?, PerformerID=?, CastingID=? WHERE ApplicationID=?";
+
     private final DataSource dataSource;
 
     public ApplicationDAO(DataSource dataSource) {
@@ -42,17 +58,12 @@ public class ApplicationDAO implements GenericDAO<ApplicationDTO, Integer> {
      */
     @Override
     public void save(ApplicationDTO app) throws SQLException {
-        if (app == null || app.getStatus() == null || app.getSendingDate() == null) {
-            throw new IllegalArgumentException("ApplicationDTO cannot be null");
-        }
-        if (app.getPerformerID() <= 0 || app.getCastingID() <= 0) {
-            throw new IllegalArgumentException("Application must link to valid Performer and Casting IDs.");
-        }
+        validate(app);
 
         String sql;
         if (app.getApplicationID() == 0) {
             // INSERT
-            sql = "INSERT INTO Application (SendingDate, Status, Feedback, PerformerID, CastingID) VALUES (?, ?, ?, ?, ?)";
+            sql = INSERT_SQL;
             try (Connection connection = dataSource.getConnection();
                  PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
@@ -73,7 +84,7 @@ public class ApplicationDAO implements GenericDAO<ApplicationDTO, Integer> {
             }
         } else {
             // UPDATE
-            sql = "UPDATE Application SET SendingDate=?, Status=?, Feedback=?, PerformerID=?, CastingID=? WHERE ApplicationID=?";
+            sql = UPDATE_SQL;
             try (Connection connection = dataSource.getConnection();
                  PreparedStatement ps = connection.prepareStatement(sql)) {
 
@@ -83,6 +94,138 @@ public class ApplicationDAO implements GenericDAO<ApplicationDTO, Integer> {
                 ps.executeUpdate();
             }
         }
+        touchPerformer(app.getPerformerID());
+    }
+
+    /**
+     * Inserts a new application unless the performer has already applied to the casting.
+     * <p>
+     * A single INSERT relies on the unique key {@code (PerformerID, CastingID)}: unlike
+     * {@link #hasApplied} followed by {@link #save}, two concurrent submissions cannot both succeed.
+     * On {@link InsertResult#CREATED} the generated ID is set on the DTO.
+     * </p>
+     *
+     * @param app the new application ({@code ApplicationID == 0}).
+     * @return {@code CREATED}, {@code ALREADY_EXISTS} if the performer had already applied,
+     *         or {@code FAILED} if the casting or the performer does not exist.
+     * @throws SQLException if a database error occurs.
+     * @throws IllegalArgumentException if the application is invalid or already has an ID.
+     */
+    public InsertResult insertIfAbsent(ApplicationDTO app) throws SQLException {
+        validate(app);
+        if (app.getApplicationID() != 0) {
+            throw new IllegalArgumentException("Only new applications can be inserted");
+        }
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+
+            setStatementParameters(ps, app);
+            try {
+                ps.executeUpdate();
+            } catch (SQLException e) {
+                return InsertResult.of(e);
+            }
+
+            try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    app.setApplicationID(generatedKeys.getInt(1));
+                } else {
+                    throw new SQLException("Creating application failed, no ID obtained.");
+                }
+            }
+        }
+        touchPerformer(app.getPerformerID());
+        return InsertResult.CREATED;
+    }
+
+    /**
+     * Saves all the given applications in a single transaction, using batches of {@value Batch#DEFAULT_BATCH_SIZE} rows.
+     *
+     * @param applications the applications to save.
+     * @throws SQLException if a database error occurs; no application is saved in that case.
+     * @see #saveAll(Collection, int)
+     */
+    @Override
+    public void saveAll(Collection<ApplicationDTO> applications) throws SQLException {
+        saveAll(applications, Batch.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Saves all the given applications in a single transaction with batched statements.
+     * <p>
+     * New records ({@code ID == 0}) are inserted in batches of {@code batchSize} rows and receive
+     * their generated IDs; existing records are updated in batches as well. The whole operation
+     * is atomic: if a row fails, nothing is saved.
+     * </p>
+     *
+     * @param applications the applications to save.
+     * @param batchSize the number of rows sent to the database at once.
+     * @throws SQLException if a database error occurs.
+     */
+    public void saveAll(Collection<ApplicationDTO> applications, int batchSize) throws SQLException {
+        if (applications == null || applications.isEmpty()) return;
+
+        List<ApplicationDTO> inserts = new ArrayList<>();
+        List<ApplicationDTO> updates = new ArrayList<>();
+        for (ApplicationDTO app : applications) {
+            validate(app);
+            if (app.getApplicationID() == 0) {
+                inserts.add(app);
+            } else {
+                updates.add(app);
+            }
+        }
+
+        Batch.inTransaction(dataSource, connection -> {
+            Batch.insert(connection, INSERT_SQL, inserts, batchSize, this::setStatementParameters, ApplicationDTO::setApplicationID);
+            Batch.update(connection, UPDATE_SQL, updates, batchSize, (ps, app) -> {
+                setStatementParameters(ps, app);
+                ps.setInt(6, app.getApplicationID());
+            });
+        });
+        for (ApplicationDTO app : applications) {
+            touchPerformer(app.getPerformerID());
+        }
+    }
+
+    /**
+     * Moves many applications to a new status with set-based UPDATE statements, in a single transaction.
+     * <p>
+     * Only the applications whose current status can legally move to {@code status}
+     * (see {@link ApplicationDTO.Status#canTransitionTo}) are updated; the others are left unchanged.
+     * IDs are sent in chunks of {@value InClause#MAX_CHUNK_SIZE}, one statement per chunk.
+     * </p>
+     *
+     * @param applicationIDs the applications to update; nulls, non-positive values and duplicates are ignored.
+     * @param status         the new status.
+     * @param feedback       the feedback to set, or null to keep the current one.
+     * @return the number of applications actually updated.
+     * @throws SQLException if a database error occurs.
+     */
+    public int updateStatus(Collection<Integer> applicationIDs, ApplicationDTO.Status status, String feedback) throws SQLException {
+        return updateStatus(applicationIDs, status, feedback, 0);
+    }
+
+    /**
+     * Same as {@link #updateStatus(Collection, ApplicationDTO.Status, String)}, restricted to the
+     * applications received by the castings of the given Casting Director.
+     * <p>
+     * The ownership check is part of the UPDATE itself, so IDs of other directors' applications are skipped.
+     * </p>
+     *
+     * @param applicationIDs the applications to update.
+     * @param status         the new status.
+     * @param feedback       the feedback to set, or null to keep the current one.
+     * @param cdID           the Casting Director owning the castings.
+     * @return the number of applications actually updated.
+     * @throws SQLException if a database error occurs.
+     */
+    public int updateStatusForCd(Collection<Integer> applicationIDs, ApplicationDTO.Status status, String feedback, int cdID) throws SQLException {
+        if (cdID <= 0) {
+            throw new IllegalArgumentException("Invalid CdID");
+        }
+        return updateStatus(applicationIDs, status, feedback, cdID);
     }
 
     /**
@@ -102,7 +245,13 @@ public class ApplicationDAO implements GenericDAO<ApplicationDTO, Integer> {
         try (Connection connection = dataSource.getConnection();
              PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, applicationID);
-            return ps.executeUpdate() > 0;
+            boolean deleted = ps.executeUpdate() > 0;
+            if (deleted) {
+                // The performer is not known without another query
+                ContentVersions.touchCatalog();
+                ConnectionContext.runAfterTransaction(ContentVersions::touchCatalog);
+            }
+            return deleted;
         }
     }
 
@@ -117,7 +266,7 @@ public class ApplicationDAO implements GenericDAO<ApplicationDTO, Integer> {
     public ApplicationDTO getByID(Integer applicationID) throws SQLException {
         if (applicationID == null || applicationID <= 0) return null;
 
-        String sql = "SELECT * FROM Application WHERE ApplicationID = ?";
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM Application WHERE ApplicationID = ?";
         try (Connection connection = dataSource.getConnection();
              PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, applicationID);
@@ -140,7 +289,7 @@ public class ApplicationDAO implements GenericDAO<ApplicationDTO, Integer> {
     public Collection<ApplicationDTO> getByPerformerID(Integer performerID) throws SQLException {
         if (performerID == null || performerID <= 0) return new ArrayList<>();
 
-        String sql = "SELECT * FROM Application WHERE PerformerID = ? ORDER BY SendingDate DESC";
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM Application WHERE PerformerID = ? ORDER BY SendingDate DESC";
         Collection<ApplicationDTO> list = new ArrayList<>();
 
         try (Connection connection = dataSource.getConnection();
@@ -155,6 +304,135 @@ public class ApplicationDAO implements GenericDAO<ApplicationDTO, Integer> {
         return list;
     }
 
+    /**
+     * Retrieves the IDs of the castings a Performer has applied to, reading only the key columns.
+     *
+     * @param performerID the ID of the performer.
+     * @return the casting IDs (empty if none).
+     * @throws SQLException if database error occurs.
+     */
+    public Set<Integer> getCastingIDsByPerformerID(int performerID) throws SQLException {
+        Set<Integer> ids = new HashSet<>();
+        if (performerID <= 0) return ids;
+
+        String sql = "SELECT CastingID FROM Application WHERE PerformerID = ?";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, performerID);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Retrieves a page of the applications of a Performer, using keyset pagination.
+     *
+     * @param performerID the ID of the performer.
+     * @param after       the cursor returned with the previous page, or null for the first page.
+     * @param pageSize    the maximum number of applications to return (capped at {@value Keyset#MAX_PAGE_SIZE}).
+     * @return the page of applications, most recent first.
+     * @throws SQLException if database error occurs.
+     */
+    public PageDTO<ApplicationDTO> getPageByPerformerID(Integer performerID, String after, int pageSize) throws SQLException {
+        if (performerID == null || performerID <= 0) return new PageDTO<>(new ArrayList<>(), null);
+
+        int size = Keyset.pageSize(pageSize);
+        Keyset.Key key = Keyset.decode(after);
+
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM Application WHERE PerformerID = ?" +
+                (key != null ? " AND " + Keyset.after("SendingDate", "ApplicationID") : "") +
+                " ORDER BY SendingDate DESC, ApplicationID DESC LIMIT ?";
+
+        List<ApplicationDTO> rows = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            int index = 1;
+            ps.setInt(index++, performerID);
+            if (key != null) {
+                index = Keyset.bind(ps, index, key);
+            }
+            ps.setInt(index, size + 1);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(extractAppFromResultSet(rs));
+                }
+            }
+        }
+        return Keyset.toPage(rows, size, a -> Keyset.encode(a.getSendingDate(), a.getApplicationID()));
+    }
+
+    /**
+     * Retrieves a page of the applications of a Performer joined with their casting and production.
+     * <p>
+     * Each row already carries the casting title, deadline and location and the production title,
+     * so the "Le mie Candidature" page needs no further lookup. The page is read with keyset
+     * pagination; the number of applications per status (over all pages) is computed by a
+     * grouped query on the same connection.
+     * </p>
+     *
+     * @param performerID the ID of the performer.
+     * @param after       the cursor returned with the previous page, or null for the first page.
+     * @param pageSize    the maximum number of applications to return (capped at {@value Keyset#MAX_PAGE_SIZE}).
+     * @return the page of applications, most recent first, with the status counts.
+     * @throws SQLException if database error occurs.
+     */
+    public ApplicationOverviewDTO getOverviewByPerformerID(int performerID, String after, int pageSize) throws SQLException {
+        ApplicationOverviewDTO overview = new ApplicationOverviewDTO();
+        if (performerID <= 0) return overview;
+
+        int size = Keyset.pageSize(pageSize);
+        Keyset.Key key = Keyset.decode(after);
+
+        String sql = "SELECT a.ApplicationID, a.SendingDate, a.Status, a.Feedback, a.CastingID, " +
+                "c.Title AS CastingTitle, c.DeadLine, c.Location, p.Title AS ProductionTitle " +
+                "FROM Application a " +
+                "JOIN Casting c ON a.CastingID = c.CastingID " +
+                "JOIN Production p ON c.ProductionID = p.ProductionID " +
+                "WHERE a.PerformerID = ?" +
+                (key != null ? " AND " + Keyset.after("a.SendingDate", "a.ApplicationID") : "") +
+                " ORDER BY a.SendingDate DESC, a.ApplicationID DESC LIMIT ?";
+
+        String countSql = "SELECT Status, COUNT(*) AS Total FROM Application WHERE PerformerID = ? GROUP BY Status";
+
+        List<ApplicationViewDTO> rows = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                int index = 1;
+                ps.setInt(index++, performerID);
+                if (key != null) {
+                    index = Keyset.bind(ps, index, key);
+                }
+                ps.setInt(index, size + 1);
+
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        rows.add(extractViewFromResultSet(rs));
+                    }
+                }
+            }
+
+            try (PreparedStatement ps = connection.prepareStatement(countSql)) {
+                ps.setInt(1, performerID);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        ApplicationDTO.Status status = DbEnums.APPLICATION_STATUS.fromDb(rs.getString(1));
+                        if (status != null) {
+                            overview.setStatusCount(status, rs.getInt(2));
+                        }
+                    }
+                }
+            }
+        }
+
+        overview.setPage(Keyset.toPage(rows, size, v -> Keyset.encode(v.getSendingDate(), v.getApplicationID())));
+        return overview;
+    }
+
     /**
      * Retrieves all applications received for a specific Casting call.
      *
@@ -165,7 +443,7 @@ public class ApplicationDAO implements GenericDAO<ApplicationDTO, Integer> {
     public Collection<ApplicationDTO> getByCastingID(Integer castingID) throws SQLException {
         if (castingID == null || castingID <= 0) return new ArrayList<>();
 
-        String sql = "SELECT * FROM Application WHERE CastingID = ? ORDER BY SendingDate DESC";
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM Application WHERE CastingID = ? ORDER BY SendingDate DESC";
         Collection<ApplicationDTO> list = new ArrayList<>();
 
         try (Connection connection = dataSource.getConnection();
@@ -180,6 +458,119 @@ public class ApplicationDAO implements GenericDAO<ApplicationDTO, Integer> {
         return list;
     }
 
+    /**
+     * Retrieves a page of the applicants to a Casting, filtered and sorted on the server.
+     * <p>
+     * A single query joins Application, Performer and User and reads only the columns shown in the
+     * review workbench: the CV is never loaded. Pages are read with keyset pagination on
+     * {@code (SendingDate, ApplicationID)}, so their cost does not grow with the number of applicants.
+     * </p>
+     *
+     * @param castingID the ID of the casting.
+     * @param filter    the filter and sort criteria (null for no filter, newest first).
+     * @param after     the cursor returned with the previous page, or null for the first page.
+     * @param pageSize  the maximum number of applicants to return (capped at {@value Keyset#MAX_PAGE_SIZE}).
+     * @return the page of applicants.
+     * @throws SQLException if database error occurs.
+     */
+    public PageDTO<ApplicantDTO> getApplicantsPage(int castingID, ApplicantFilterDTO filter, String after, int pageSize) throws SQLException {
+        if (castingID <= 0) return new PageDTO<>(new ArrayList<>(), null);
+        if (filter == null) filter = new ApplicantFilterDTO();
+
+        int size = Keyset.pageSize(pageSize);
+        Keyset.Key key = Keyset.decode(after);
+        boolean descending = filter.getSort() != ApplicantFilterDTO.Sort.OLDEST;
+        String direction = descending ? "DESC" : "ASC";
+
+        StringBuilder sql = new StringBuilder(
+                "SELECT a.ApplicationID, a.SendingDate, a.Status, a.Feedback, a.PerformerID, " +
+                "p.Gender, p.Category, p.ProfilePhoto, u.FirstName, u.LastName, u.Email, u.PhoneNumber " +
+                "FROM Application a " +
+                "JOIN Performer p ON a.PerformerID = p.PerformerID " +
+                "JOIN User u ON p.UserID = u.UserID " +
+                "WHERE a.CastingID = ?");
+        List<Object> params = new ArrayList<>();
+        params.add(castingID);
+        appendApplicantFilter(sql, params, filter, true);
+
+        if (key != null) {
+            sql.append(" AND ").append(Keyset.after("a.SendingDate", "a.ApplicationID", descending));
+        }
+        sql.append(" ORDER BY a.SendingDate ").append(direction)
+                .append(", a.ApplicationID ").append(direction)
+                .append(" LIMIT ?");
+
+        List<ApplicantDTO> rows = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+            int index = 1;
+            for (Object param : params) {
+                ps.setObject(index++, param);
+            }
+            if (key != null) {
+                index = Keyset.bind(ps, index, key);
+            }
+            ps.setInt(index, size + 1);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(extractApplicantFromResultSet(rs));
+                }
+            }
+        }
+        return Keyset.toPage(rows, size, a -> Keyset.encode(a.getSendingDate(), a.getApplicationID()));
+    }
+
+    /**
+     * Counts the applicants to a Casting in each status.
+     * <p>
+     * The gender, category and date criteria of the filter are applied, while its status is ignored:
+     * the counts describe how the applicants matching the other criteria are split across statuses.
+     * </p>
+     *
+     * @param castingID the ID of the casting.
+     * @param filter    the filter criteria (may be null).
+     * @return the counts keyed by {@link ApplicationDTO.Status#name()}; every status is present.
+     * @throws SQLException if database error occurs.
+     */
+    public Map<String, Integer> getStatusCountsByCastingID(int castingID, ApplicantFilterDTO filter) throws SQLException {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (ApplicationDTO.Status status : ApplicationDTO.Status.values()) {
+            counts.put(status.name(), 0);
+        }
+        if (castingID <= 0) return counts;
+
+        boolean needsPerformer = filter != null && (filter.getGender() != null || filter.getCategory() != null);
+        StringBuilder sql = new StringBuilder("SELECT a.Status, COUNT(*) AS Total FROM Application a ");
+        if (needsPerformer) {
+            sql.append("JOIN Performer p ON a.PerformerID = p.PerformerID ");
+        }
+        sql.append("WHERE a.CastingID = ?");
+        List<Object> params = new ArrayList<>();
+        params.add(castingID);
+        if (filter != null) {
+            appendApplicantFilter(sql, params, filter, false);
+        }
+        sql.append(" GROUP BY a.Status");
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+            int index = 1;
+            for (Object param : params) {
+                ps.setObject(index++, param);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ApplicationDTO.Status status = DbEnums.APPLICATION_STATUS.fromDb(rs.getString(1));
+                    if (status != null) {
+                        counts.put(status.name(), rs.getInt(2));
+                    }
+                }
+            }
+        }
+        return counts;
+    }
+
     /**
      * Retrieves all applications in the system.
      *
@@ -190,7 +581,7 @@ public class ApplicationDAO implements GenericDAO<ApplicationDTO, Integer> {
     @Override
     public Collection<ApplicationDTO> getAll(String order) throws SQLException {
         String actualOrder = (order != null && ALLOWED_ORDER_COLUMNS.contains(order)) ? order : DEFAULT_ORDER_COLUMN;
-        String sql = "SELECT * FROM Application ORDER BY " + actualOrder;
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM Application ORDER BY " + actualOrder;
 
         Collection<ApplicationDTO> list = new ArrayList<>();
         try (Connection connection = dataSource.getConnection();
@@ -203,6 +594,23 @@ public class ApplicationDAO implements GenericDAO<ApplicationDTO, Integer> {
         return list;
     }
 
+    /**
+     * Streams all applications row by row, for exports and maintenance jobs on large tables.
+     * <p>
+     * Rows are fetched from the server one at a time; the stream must be closed to release the connection.
+     * </p>
+     *
+     * @param order the column to sort by.
+     * @return a stream of applications.
+     * @throws SQLException if a database error occurs.
+     */
+    @Override
+    public Stream<ApplicationDTO> streamAll(String order) throws SQLException {
+        String actualOrder = (order != null && ALLOWED_ORDER_COLUMNS.contains(order)) ? order : DEFAULT_ORDER_COLUMN;
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM Application ORDER BY " + actualOrder;
+        return ResultSetStream.of(dataSource, sql, this::extractAppFromResultSet);
+    }
+
     /**
      * Checks if a specific performer has already submitted an application for a given casting.
      * <p>
@@ -228,8 +636,126 @@ public class ApplicationDAO implements GenericDAO<ApplicationDTO, Integer> {
         }
     }
 
+    /**
+     * Checks whether a performer has applied to at least one casting managed by the given Casting Director.
+     * <p>
+     * Used to authorize a Casting Director to access the documents (e.g. the CV) of a candidate.
+     * </p>
+     *
+     * @param performerID the unique identifier of the Performer.
+     * @param cdID        the unique identifier of the Casting Director.
+     * @return {@code true} if such an application exists, {@code false} otherwise.
+     * @throws SQLException if a database access error occurs during the query execution.
+     */
+    public boolean hasAppliedToCd(int performerID, int cdID) throws SQLException {
+        String sql = "SELECT 1 FROM Application a " +
+                "JOIN Casting c ON a.CastingID = c.CastingID " +
+                "WHERE a.PerformerID = ? AND c.CdID = ? LIMIT 1";
+        try (Connection con = dataSource.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setInt(1, performerID);
+            ps.setInt(2, cdID);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /**
+     * Retrieves the applications matching the given IDs with a single query per chunk of {@value InClause#MAX_CHUNK_SIZE} keys.
+     *
+     * @param applicationIDs the IDs to search for; nulls, non-positive values and duplicates are ignored.
+     * @return a map from ID to ApplicationDTO, containing only the IDs that were found.
+     * @throws SQLException if a database error occurs.
+     */
+    @Override
+    public Map<Integer, ApplicationDTO> getByIDs(Collection<Integer> applicationIDs) throws SQLException {
+        Map<Integer, ApplicationDTO> result = new HashMap<>();
+        List<Integer> ids = InClause.validIds(applicationIDs);
+        if (ids.isEmpty()) return result;
+
+        try (Connection connection = dataSource.getConnection()) {
+            for (List<Integer> chunk : InClause.chunks(ids)) {
+                String sql = "SELECT " + SELECT_COLUMNS + " FROM Application WHERE ApplicationID IN (" + InClause.placeholders(chunk.size()) + ")";
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    InClause.bind(ps, 1, chunk);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            ApplicationDTO app = extractAppFromResultSet(rs);
+                            result.put(app.getApplicationID(), app);
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
     // --- Helper Methods ---
 
+    /**
+     * Changes the {@link ContentVersions version} of the performer's applications now and again when the
+     * request transaction (if any) ends, so that a page rendered from the old rows in the meantime is not validated.
+     */
+    private static void touchPerformer(int performerID) {
+        ContentVersions.touchPerformer(performerID);
+        ConnectionContext.runAfterTransaction(() -> ContentVersions.touchPerformer(performerID));
+    }
+
+    /**
+     * Runs the bulk status transition; {@code cdID <= 0} disables the ownership check.
+     */
+    private int updateStatus(Collection<Integer> applicationIDs, ApplicationDTO.Status status, String feedback, int cdID) throws SQLException {
+        if (status == null) {
+            throw new IllegalArgumentException("Status cannot be null");
+        }
+        List<Integer> ids = InClause.validIds(applicationIDs);
+        List<ApplicationDTO.Status> sources = new ArrayList<>(ApplicationDTO.Status.sourcesOf(status));
+        if (ids.isEmpty() || sources.isEmpty()) return 0;
+
+        String sourceList = InClause.placeholders(sources.size());
+        int[] updated = {0};
+
+        Batch.inTransaction(dataSource, connection -> {
+            for (List<Integer> chunk : InClause.chunks(ids)) {
+                String sql = "UPDATE Application a " +
+                        (cdID > 0 ? "JOIN Casting c ON a.CastingID = c.CastingID " : "") +
+                        "SET a.Status = ?, a.Feedback = COALESCE(?, a.Feedback) " +
+                        "WHERE a.ApplicationID IN (" + InClause.placeholders(chunk.size()) + ") " +
+                        "AND a.Status IN (" + sourceList + ")" +
+                        (cdID > 0 ? " AND c.CdID = ?" : "");
+
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    int index = 1;
+                    ps.setString(index++, DbEnums.APPLICATION_STATUS.toDb(status));
+                    if (feedback != null && !feedback.trim().isEmpty()) {
+                        ps.setString(index++, feedback.trim());
+                    } else {
+                        ps.setNull(index++, Types.VARCHAR);
+                    }
+                    index = InClause.bind(ps, index, chunk);
+                    for (ApplicationDTO.Status source : sources) {
+                        ps.setString(index++, DbEnums.APPLICATION_STATUS.toDb(source));
+                    }
+                    if (cdID > 0) {
+                        ps.setInt(index, cdID);
+                    }
+                    updated[0] += ps.executeUpdate();
+                }
+            }
+        });
+        return updated[0];
+    }
+
+    private void validate(ApplicationDTO app) {
+        if (app == null || app.getStatus() == null || app.getSendingDate() == null) {
+            throw new IllegalArgumentException("ApplicationDTO cannot be null");
+        }
+        if (app.getPerformerID() <= 0 || app.getCastingID() <= 0) {
+            throw new IllegalArgumentException("Application must link to valid Performer and Casting IDs.");
+        }
+    }
+
     private void setStatementParameters(PreparedStatement ps, ApplicationDTO app) throws SQLException {
         if (app.getSendingDate() != null) {
             ps.setTimestamp(1, Timestamp.valueOf(app.getSendingDate()));
@@ -238,7 +764,7 @@ public class ApplicationDAO implements GenericDAO<ApplicationDTO, Integer> {
         }
 
         if (app.getStatus() != null) {
-            ps.setString(2, mapStatusToDb(app.getStatus()));
+            ps.setString(2, DbEnums.APPLICATION_STATUS.toDb(app.getStatus()));
         } else {
             ps.setString(2, "In attesa"); // Default DB value
         }
@@ -250,40 +776,92 @@ public class ApplicationDAO implements GenericDAO<ApplicationDTO, Integer> {
 
     private ApplicationDTO extractAppFromResultSet(ResultSet rs) throws SQLException {
         ApplicationDTO app = new ApplicationDTO();
-        app.setApplicationID(rs.getInt("ApplicationID"));
+        app.setApplicationID(rs.getInt(1));
 
-        Timestamp ts = rs.getTimestamp("SendingDate");
+        Timestamp ts = rs.getTimestamp(2);
         if (ts != null) {
             app.setSendingDate(ts.toLocalDateTime());
         }
 
-        String statusStr = rs.getString("Status");
-        if (statusStr != null) {
-            app.setStatus(mapDbToStatus(statusStr));
+        app.setStatus(DbEnums.APPLICATION_STATUS.fromDb(rs.getString(3)));
+        app.setFeedback(rs.getString(4));
+        app.setPerformerID(rs.getInt(5));
+        app.setCastingID(rs.getInt(6));
+        return app;
+    }
+
+    // Columns follow the SELECT list of getOverviewByPerformerID
+    private ApplicationViewDTO extractViewFromResultSet(ResultSet rs) throws SQLException {
+        ApplicationViewDTO view = new ApplicationViewDTO();
+        view.setApplicationID(rs.getInt(1));
+
+        Timestamp ts = rs.getTimestamp(2);
+        if (ts != null) {
+            view.setSendingDate(ts.toLocalDateTime());
         }
 
-        app.setFeedback(rs.getString("Feedback"));
-        app.setPerformerID(rs.getInt("PerformerID"));
-        app.setCastingID(rs.getInt("CastingID"));
-        return app;
+        view.setStatus(DbEnums.APPLICATION_STATUS.fromDb(rs.getString(3)));
+        view.setFeedback(rs.getString(4));
+        view.setCastingID(rs.getInt(5));
+        view.setCastingTitle(rs.getString(6));
+
+        Timestamp deadline = rs.getTimestamp(7);
+        if (deadline != null) {
+            view.setCastingDeadline(deadline.toLocalDateTime());
+        }
+
+        view.setCastingLocation(rs.getString(8));
+        view.setProductionTitle(rs.getString(9));
+        return view;
     }
 
-    private String mapStatusToDb(ApplicationDTO.Status status) {
-        switch (status) {
-            case In_attesa: return "In attesa";
-            case Shortlist: return "Shortlist";
-            case Selezionata: return "Selezionata";
-            case Rifiutata: return "Rifiutata";
-            default: return "In attesa";
+    /**
+     * Appends the filter criteria to a query on Application {@code a} (joined with Performer {@code p}
+     * when filtering by gender or category) and collects the parameter values in order.
+     */
+    private void appendApplicantFilter(StringBuilder sql, List<Object> params, ApplicantFilterDTO filter, boolean includeStatus) {
+        if (includeStatus && filter.getStatus() != null) {
+            sql.append(" AND a.Status = ?");
+            params.add(DbEnums.APPLICATION_STATUS.toDb(filter.getStatus()));
+        }
+        if (filter.getGender() != null) {
+            sql.append(" AND p.Gender = ?");
+            params.add(DbEnums.GENDER.toDb(filter.getGender()));
+        }
+        if (filter.getCategory() != null) {
+            sql.append(" AND p.Category = ?");
+            params.add(DbEnums.PERFORMER_CATEGORY.toDb(filter.getCategory()));
+        }
+        if (filter.getSentFrom() != null) {
+            sql.append(" AND a.SendingDate >= ?");
+            params.add(Timestamp.valueOf(filter.getSentFrom().atStartOfDay()));
+        }
+        if (filter.getSentTo() != null) {
+            sql.append(" AND a.SendingDate < ?");
+            params.add(Timestamp.valueOf(filter.getSentTo().plusDays(1).atStartOfDay()));
         }
     }
 
-    private ApplicationDTO.Status mapDbToStatus(String dbValue) {
-        try {
-            String normalized = dbValue.replace(" ", "_");
-            return ApplicationDTO.Status.valueOf(normalized);
-        } catch (IllegalArgumentException e) {
-            return ApplicationDTO.Status.In_attesa;
+    // Columns follow the SELECT list of getApplicantsPage
+    private ApplicantDTO extractApplicantFromResultSet(ResultSet rs) throws SQLException {
+        ApplicantDTO applicant = new ApplicantDTO();
+        applicant.setApplicationID(rs.getInt(1));
+
+        Timestamp ts = rs.getTimestamp(2);
+        if (ts != null) {
+            applicant.setSendingDate(ts.toLocalDateTime());
         }
+
+        applicant.setStatus(DbEnums.APPLICATION_STATUS.fromDb(rs.getString(3)));
+        applicant.setFeedback(rs.getString(4));
+        applicant.setPerformerID(rs.getInt(5));
+        applicant.setGender(DbEnums.GENDER.fromDb(rs.getString(6)));
+        applicant.setCategory(DbEnums.PERFORMER_CATEGORY.fromDb(rs.getString(7)));
+        applicant.setProfilePhoto(rs.getString(8));
+        applicant.setFirstName(rs.getString(9));
+        applicant.setLastName(rs.getString(10));
+        applicant.setEmail(rs.getString(11));
+        applicant.setPhoneNumber(rs.getString(12));
+        return applicant;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,124 @@
+package model.dao;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.util.List;
+
+/**
+ * Helper for batched writes executed in a single transaction.
+ * <p>
+ * Rows are added to a JDBC batch and sent every {@code batchSize} rows. When the JDBC URL sets
+ * {@code rewriteBatchedStatements=true}, MySQL Connector/J rewrites each batch of INSERTs into one
+ * multi-row {@code INSERT ... VALUES (...), (...)} statement, so a batch costs a single round trip;
+ * without it the batch is still sent correctly, one statement per row.
+ * </p>
+ */
+final class Batch {
+
+    static final int DEFAULT_BATCH_SIZE = 500;
+
+    private Batch() {
+    }
+
+    /**
+     * Binds the values of an item to the parameters of a statement.
+     */
+    @FunctionalInterface
+    interface Binder<T> {
+        void bind(PreparedStatement ps, T item) throws SQLException;
+    }
+
+    /**
+     * Stores the generated key in the item.
+     */
+    @FunctionalInterface
+    interface KeySetter<T> {
+        void setKey(T item, int key);
+    }
+
+    /**
+     * Work executed on a connection inside a transaction.
+     */
+    @FunctionalInterface
+    interface Work {
+        void execute(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Runs the work in a single transaction: it is committed if the work completes, rolled back otherwise.
+     */
+    static void inTransaction(DataSource dataSource, Work work) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                work.execute(connection);
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Inserts the items in batches, storing the generated keys in order.
+     *
+     * @param keySetter where to store the generated key, or null if the table has no auto-generated key.
+     */
+    static <T> void insert(Connection connection, String sql, List<T> items, int batchSize,
+                           Binder<T> binder, KeySetter<T> keySetter) throws SQLException {
+        if (items.isEmpty()) return;
+
+        int size = (batchSize > 0) ? batchSize : DEFAULT_BATCH_SIZE;
+        int keysMode = (keySetter != null) ? Statement.RETURN_GENERATED_KEYS : Statement.NO_GENERATED_KEYS;
+
+        try (PreparedStatement ps = connection.prepareStatement(sql, keysMode)) {
+            for (int from = 0; from < items.size(); from += size) {
+                List<T> chunk = items.subList(from, Math.min(from + size, items.size()));
+                for (T item : chunk) {
+                    binder.bind(ps, item);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                if (keySetter != null) {
+                    try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
+                        for (T item : chunk) {
+                            if (!generatedKeys.next()) {
+                                throw new SQLException("Batch insert failed, not all IDs obtained.");
+                            }
+                            keySetter.setKey(item, generatedKeys.getInt(1));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Executes the statement for every item, in batches.
+     */
+    static <T> void update(Connection connection, String sql, List<T> items, int batchSize,
+                           Binder<T> binder) throws SQLException {
+        if (items.isEmpty()) return;
+
+        int size = (batchSize > 0) ? batchSize : DEFAULT_BATCH_SIZE;
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            int pending = 0;
+            for (T item : items) {
+                binder.bind(ps, item);
+                ps.addBatch();
+                if (++pending == size) {
+                    ps.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                ps.executeBatch();
+            }
+        }
+    }
+}
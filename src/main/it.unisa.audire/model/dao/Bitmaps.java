@@ -0,0 +1,86 @@
+package model.dao;
+
+/**
+ * Operations on bitmaps stored as {@code long[]}, one bit per element of a densely numbered set.
+ * <p>
+ * Used by the in-memory facet indexes: a combination of filters is a bitwise AND and a count is a
+ * population count, 64 elements at a time. A null bitmap stands for an empty set (a value that no
+ * element has), so that such values take no memory.
+ * </p>
+ */
+final class Bitmaps {
+
+    private Bitmaps() {
+    }
+
+    /**
+     * @return the number of words needed for the given number of bits.
+     */
+    static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    static void set(long[] bits, int i) {
+        bits[i >>> 6] |= 1L << i;
+    }
+
+    static boolean get(long[] bits, int i) {
+        return bits != null && (bits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    /**
+     * @return a bitmap of {@code size} bits, all set.
+     */
+    static long[] full(int size) {
+        long[] bits = new long[words(size)];
+        for (int i = 0; i < size; i++) set(bits, i);
+        return bits;
+    }
+
+    /**
+     * @return the intersection; a null bitmap is empty.
+     */
+    static long[] and(long[] a, long[] b) {
+        long[] result = new long[a.length];
+        if (b == null) return result;
+        for (int i = 0; i < a.length; i++) {
+            result[i] = a[i] & b[i];
+        }
+        return result;
+    }
+
+    /**
+     * @return the size of the intersection, without allocating it; a null bitmap is empty.
+     */
+    static int andCardinality(long[] a, long[] b) {
+        if (b == null) return 0;
+        int count = 0;
+        for (int i = 0; i < a.length; i++) {
+            count += Long.bitCount(a[i] & b[i]);
+        }
+        return count;
+    }
+
+    static int cardinality(long[] bits) {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * @return the first position at or after {@code from} set in the bitmap, or -1 if none.
+     */
+    static int nextSetBit(long[] bits, int from) {
+        int w = from >>> 6;
+        if (w >= bits.length) return -1;
+
+        long word = bits[w] & (-1L << (from & 63));
+        while (true) {
+            if (word != 0) return (w << 6) + Long.numberOfTrailingZeros(word);
+            if (++w == bits.length) return -1;
+            word = bits[w];
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package model.dao;
+
+import java.util.Objects;
+
+/**
+ * Keeps the in-memory views of the active castings up to date after a casting or a production changes:
+ * the {@link ActiveCastingSnapshot} of the Home Page, the {@link CastingSearchIndex} of the search page
+ * and the {@link CastingFeed} of the recommended castings.
+ * <p>
+ * Each view defers its reload to the end of the request transaction, so the methods can be called right
+ * after the DAO call that made the change.
+ * </p>
+ */
+public class CastingChangeListener {
+
+    private final ActiveCastingSnapshot activeCastings;
+    private final CastingSearchIndex castingSearch;
+    private final CastingFeed castingFeed;
+
+    public CastingChangeListener(ActiveCastingSnapshot activeCastings, CastingSearchIndex castingSearch,
+                                 CastingFeed castingFeed) {
+        this.activeCastings = Objects.requireNonNull(activeCastings, "ActiveCastingSnapshot cannot be null");
+        this.castingSearch = Objects.requireNonNull(castingSearch, "CastingSearchIndex cannot be null");
+        this.castingFeed = Objects.requireNonNull(castingFeed, "CastingFeed cannot be null");
+    }
+
+    /**
+     * Called after a casting is published or updated.
+     *
+     * @param castingID the ID of the saved casting.
+     */
+    public void castingSaved(int castingID) {
+        activeCastings.requestRebuild();
+        castingSearch.index(castingID);
+        castingFeed.index(castingID);
+    }
+
+    /**
+     * Called after a casting is deleted.
+     *
+     * @param castingID the ID of the deleted casting.
+     */
+    public void castingRemoved(int castingID) {
+        activeCastings.requestRebuild();
+        castingSearch.remove(castingID);
+        castingFeed.remove(castingID);
+    }
+
+    /**
+     * Called after a production is updated or deleted, which changes the data of all its castings.
+     */
+    public void productionChanged() {
+        activeCastings.requestRebuild();
+        castingSearch.requestRebuild();
+        castingFeed.requestRebuild();
+    }
+}
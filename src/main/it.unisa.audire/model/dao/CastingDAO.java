@@ -1,11 +1,17 @@
 package model.dao;
 
+import model.ConnectionContext;
 import model.dto.CastingDTO;
+import model.dto.PageDTO;
+import utils.Cache;
+import utils.CacheMXBean;
 
 import javax.sql.DataSource;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object (DAO) for managing CastingDTO entities.
@@ -24,6 +30,20 @@ public class CastingDAO implements GenericDAO<CastingDTO, Integer> {
 
     private static final String DEFAULT_ORDER_COLUMN = "CastingID";
 
+    /** Columns read by {@link #extractCastingFromResultSet}, in positional order. */
+    static final String[] COLUMNS = {
+            "CastingID", "Location", "Category", "Description", "PublishDate", "DeadLine", "Title", "CdID", "ProductionID"
+    };
+    private static final String SELECT_COLUMNS = Columns.list(null, COLUMNS);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO Casting (Location, Category, Description, PublishDate, DeadLine, Title, CdID, ProductionID) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL =
+            "UPDATE Casting SET Location=?, Category=?, Description=?, PublishDate=?, DeadLine=?, Title=?, CdID=?, ProductionID=? WHERE CastingID=?";
+
+    // Shared by all the instances (DAOs are created per request); see getByID
+    private static final Cache<Integer, CastingDTO> CACHE = new Cache<>("Casting", 5_000, 10 * 60);
+
     private final DataSource dataSource;
 
     public CastingDAO(DataSource dataSource) {
@@ -43,20 +63,12 @@ public class CastingDAO implements GenericDAO<CastingDTO, Integer> {
      */
     @Override
     public void save(CastingDTO casting) throws SQLException {
-        if (casting == null || casting.getLocation() == null || casting.getLocation().trim().isEmpty() ||
-                casting.getCategory() == null || casting.getDescription() == null ||
-                casting.getDescription().trim().isEmpty() || casting.getPublishDate() == null ||
-                casting.getDeadline() == null || casting.getTitle() == null || casting.getTitle().trim().isEmpty()) {
-            throw new IllegalArgumentException("CastingDTO cannot be null");
-        }
-        if (casting.getCdID() <= 0 || casting.getProductionID() <= 0) {
-            throw new IllegalArgumentException("Casting must be linked to a valid Casting Director and Production.");
-        }
+        validate(casting);
 
         String sql;
         if (casting.getCastingID() == 0) {
             // INSERT
-            sql = "INSERT INTO Casting (Location, Category, Description, PublishDate, DeadLine, Title, CdID, ProductionID) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+            sql = INSERT_SQL;
             try (Connection connection = dataSource.getConnection();
                  PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
@@ -75,9 +87,11 @@ public class CastingDAO implements GenericDAO<CastingDTO, Integer> {
                     }
                 }
             }
+            // A page requested before the insert (404) must not be validated
+            ContentVersions.touchCasting(casting.getCastingID());
         } else {
             // UPDATE
-            sql = "UPDATE Casting SET Location=?, Category=?, Description=?, PublishDate=?, DeadLine=?, Title=?, CdID=?, ProductionID=? WHERE CastingID=?";
+            sql = UPDATE_SQL;
             try (Connection connection = dataSource.getConnection();
                  PreparedStatement ps = connection.prepareStatement(sql)) {
 
@@ -86,6 +100,61 @@ public class CastingDAO implements GenericDAO<CastingDTO, Integer> {
 
                 ps.executeUpdate();
             }
+            invalidate(casting.getCastingID());
+        }
+    }
+
+    /**
+     * Saves all the given castings in a single transaction, using batches of {@value Batch#DEFAULT_BATCH_SIZE} rows.
+     *
+     * @param castings the castings to save.
+     * @throws SQLException if a database error occurs; no casting is saved in that case.
+     * @see #saveAll(Collection, int)
+     */
+    @Override
+    public void saveAll(Collection<CastingDTO> castings) throws SQLException {
+        saveAll(castings, Batch.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Saves all the given castings in a single transaction with batched statements.
+     * <p>
+     * New records ({@code ID == 0}) are inserted in batches of {@code batchSize} rows and receive
+     * their generated IDs; existing records are updated in batches as well. The whole operation
+     * is atomic: if a row fails, nothing is saved.
+     * </p>
+     *
+     * @param castings the castings to save.
+     * @param batchSize the number of rows sent to the database at once.
+     * @throws SQLException if a database error occurs.
+     */
+    public void saveAll(Collection<CastingDTO> castings, int batchSize) throws SQLException {
+        if (castings == null || castings.isEmpty()) return;
+
+        List<CastingDTO> inserts = new ArrayList<>();
+        List<CastingDTO> updates = new ArrayList<>();
+        for (CastingDTO casting : castings) {
+            validate(casting);
+            if (casting.getCastingID() == 0) {
+                inserts.add(casting);
+            } else {
+                updates.add(casting);
+            }
+        }
+
+        Batch.inTransaction(dataSource, connection -> {
+            Batch.insert(connection, INSERT_SQL, inserts, batchSize, this::setStatementParameters, CastingDTO::setCastingID);
+            Batch.update(connection, UPDATE_SQL, updates, batchSize, (ps, casting) -> {
+                setStatementParameters(ps, casting);
+                ps.setInt(9, casting.getCastingID());
+            });
+        });
+
+        for (CastingDTO casting : inserts) {
+            ContentVersions.touchCasting(casting.getCastingID());
+        }
+        for (CastingDTO casting : updates) {
+            invalidate(casting.getCastingID());
         }
     }
 
@@ -103,15 +172,26 @@ public class CastingDAO implements GenericDAO<CastingDTO, Integer> {
         }
 
         String sql = "DELETE FROM Casting WHERE CastingID = ?";
+        boolean deleted;
         try (Connection connection = dataSource.getConnection();
              PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, castingID);
-            return ps.executeUpdate() > 0;
+            deleted = ps.executeUpdate() > 0;
         }
+
+        if (deleted) {
+            invalidate(castingID);
+        }
+        return deleted;
     }
 
     /**
      * Retrieves a casting by its unique ID.
+     * <p>
+     * Castings are kept in a shared {@link Cache}, invalidated by {@link #save}, {@link #saveAll},
+     * {@link #delete} and by the deletions that cascade to castings. Each call returns a new copy,
+     * which the caller is free to modify.
+     * </p>
      *
      * @param castingID the ID to search for.
      * @return the castingDTO or null if not found.
@@ -121,7 +201,12 @@ public class CastingDAO implements GenericDAO<CastingDTO, Integer> {
     public CastingDTO getByID(Integer castingID) throws SQLException {
         if (castingID == null || castingID <= 0) return null;
 
-        String sql = "SELECT * FROM Casting WHERE CastingID = ?";
+        CastingDTO cached = CACHE.get(castingID, this::loadByID);
+        return (cached != null) ? copyOf(cached) : null;
+    }
+
+    private CastingDTO loadByID(Integer castingID) throws SQLException {
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM Casting WHERE CastingID = ?";
         try (Connection connection = dataSource.getConnection();
              PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, castingID);
@@ -144,7 +229,7 @@ public class CastingDAO implements GenericDAO<CastingDTO, Integer> {
     public Collection<CastingDTO> getByProductionID(Integer productionID) throws SQLException {
         if (productionID == null || productionID <= 0) return new ArrayList<>();
 
-        String sql = "SELECT * FROM Casting WHERE ProductionID = ? ORDER BY PublishDate DESC";
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM Casting WHERE ProductionID = ? ORDER BY PublishDate DESC";
         Collection<CastingDTO> list = new ArrayList<>();
 
         try (Connection connection = dataSource.getConnection();
@@ -169,7 +254,7 @@ public class CastingDAO implements GenericDAO<CastingDTO, Integer> {
     public Collection<CastingDTO> getByCdID(Integer cdID) throws SQLException {
         if (cdID == null || cdID <= 0) return new ArrayList<>();
 
-        String sql = "SELECT * FROM Casting WHERE CdID = ? ORDER BY PublishDate DESC";
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM Casting WHERE CdID = ? ORDER BY PublishDate DESC";
         Collection<CastingDTO> list = new ArrayList<>();
 
         try (Connection connection = dataSource.getConnection();
@@ -184,6 +269,20 @@ public class CastingDAO implements GenericDAO<CastingDTO, Integer> {
         return list;
     }
 
+    /**
+     * Retrieves a page of the castings managed by a specific Casting Director, using keyset pagination.
+     *
+     * @param cdID     the ID of the casting director.
+     * @param after    the cursor returned with the previous page, or null for the first page.
+     * @param pageSize the maximum number of castings to return (capped at {@value Keyset#MAX_PAGE_SIZE}).
+     * @return the page of castings, ordered by publish date descending.
+     * @throws SQLException if a database error occurs.
+     */
+    public PageDTO<CastingDTO> getPageByCdID(Integer cdID, String after, int pageSize) throws SQLException {
+        if (cdID == null || cdID <= 0) return new PageDTO<>(new ArrayList<>(), null);
+        return getPage("WHERE CdID = ?", cdID, after, pageSize);
+    }
+
     /**
      * Retrieves all castings in the system.
      *
@@ -194,7 +293,7 @@ public class CastingDAO implements GenericDAO<CastingDTO, Integer> {
     @Override
     public Collection<CastingDTO> getAll(String order) throws SQLException {
         String actualOrder = (order != null && ALLOWED_ORDER_COLUMNS.contains(order)) ? order : DEFAULT_ORDER_COLUMN;
-        String sql = "SELECT * FROM Casting ORDER BY " + actualOrder;
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM Casting ORDER BY " + actualOrder;
 
         Collection<CastingDTO> list = new ArrayList<>();
         try (Connection connection = dataSource.getConnection();
@@ -207,18 +306,35 @@ public class CastingDAO implements GenericDAO<CastingDTO, Integer> {
         return list;
     }
 
+    /**
+     * Streams all castings row by row, for exports and maintenance jobs on large tables.
+     * <p>
+     * Rows are fetched from the server one at a time; the stream must be closed to release the connection.
+     * </p>
+     *
+     * @param order the column to sort by.
+     * @return a stream of castings.
+     * @throws SQLException if a database error occurs.
+     */
+    @Override
+    public Stream<CastingDTO> streamAll(String order) throws SQLException {
+        String actualOrder = (order != null && ALLOWED_ORDER_COLUMNS.contains(order)) ? order : DEFAULT_ORDER_COLUMN;
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM Casting ORDER BY " + actualOrder;
+        return ResultSetStream.of(dataSource, sql, CastingDAO::extractCastingFromResultSet);
+    }
+
     /**
      * Retrieves all active casting calls (where the deadline is today or in the future) for the Home Page.
      *
-     * @return a {@code List} of active {@link CastingDTO} objects, ordered by publish date descending.
+     * @return a {@code List} of active {@link CastingDTO} objects, ordered by publish date descending (then CastingID descending, like the keyset pages).
      * @throws SQLException if a database access error occurs.
      */
     public List<CastingDTO> getAllActive() throws SQLException {
-        String sql = "SELECT c.*, p.Title as ProductionTitle " +
+        String sql = "SELECT " + Columns.list("c", COLUMNS) + " " +
                 "FROM Casting c " +
                 "JOIN Production p ON c.ProductionID = p.ProductionID " +
                 "WHERE c.DeadLine >= CURRENT_DATE " +
-                "ORDER BY c.PublishDate DESC";
+                "ORDER BY c.PublishDate DESC, c.CastingID DESC";
 
         List<CastingDTO> list = new ArrayList<>();
         try (Connection con = dataSource.getConnection();
@@ -232,13 +348,163 @@ public class CastingDAO implements GenericDAO<CastingDTO, Integer> {
         return list;
     }
 
+    /**
+     * Retrieves a page of the active casting calls for the Home Page, using keyset pagination.
+     *
+     * @param after    the cursor returned with the previous page, or null for the first page.
+     * @param pageSize the maximum number of castings to return (capped at {@value Keyset#MAX_PAGE_SIZE}).
+     * @return the page of active castings, ordered by publish date descending.
+     * @throws SQLException if a database access error occurs.
+     */
+    public PageDTO<CastingDTO> getActivePage(String after, int pageSize) throws SQLException {
+        return getPage("WHERE DeadLine >= CURRENT_DATE", null, after, pageSize);
+    }
+
+    /**
+     * Retrieves the castings matching the given IDs with a single query per chunk of {@value InClause#MAX_CHUNK_SIZE} keys.
+     *
+     * @param castingIDs the IDs to search for; nulls, non-positive values and duplicates are ignored.
+     * @return a map from ID to CastingDTO, containing only the IDs that were found.
+     * @throws SQLException if a database error occurs.
+     */
+    @Override
+    public Map<Integer, CastingDTO> getByIDs(Collection<Integer> castingIDs) throws SQLException {
+        Map<Integer, CastingDTO> result = new HashMap<>();
+        List<Integer> ids = InClause.validIds(castingIDs);
+        if (ids.isEmpty()) return result;
+
+        try (Connection connection = dataSource.getConnection()) {
+            for (List<Integer> chunk : InClause.chunks(ids)) {
+                String sql = "SELECT " + SELECT_COLUMNS + " FROM Casting WHERE CastingID IN (" + InClause.placeholders(chunk.size()) + ")";
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    InClause.bind(ps, 1, chunk);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            CastingDTO c = extractCastingFromResultSet(rs);
+                            result.put(c.getCastingID(), c);
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the statistics of the casting cache, for monitoring.
+     */
+    public static CacheMXBean getCacheStats() {
+        return CACHE;
+    }
+
+    /**
+     * Removes from the cache the castings of a production, deleted by cascade with it.
+     */
+    static void invalidateByProductionID(int productionID) {
+        invalidateIf(c -> c.getProductionID() == productionID);
+    }
+
+    /**
+     * Removes from the cache the castings of a Casting Director, deleted by cascade with them.
+     */
+    static void invalidateByCdID(int cdID) {
+        invalidateIf(c -> c.getCdID() == cdID);
+    }
+
+    /**
+     * Empties the casting cache, after changes that cascade to castings in bulk
+     * (e.g. the deletion of a user or a Production Manager).
+     */
+    static void invalidateAll() {
+        CACHE.clear();
+        ContentVersions.touchCatalog();
+        ConnectionContext.runAfterTransaction(() -> {
+            CACHE.clear();
+            ContentVersions.touchCatalog();
+        });
+    }
+
     // --- Helper Methods ---
 
+    /**
+     * Removes the casting from the cache and changes its {@link ContentVersions version} now and again
+     * when the request transaction (if any) ends, so that a load that read the old row in the meantime is not kept.
+     */
+    private static void invalidate(int castingID) {
+        CACHE.invalidate(castingID);
+        ContentVersions.touchCasting(castingID);
+        ConnectionContext.runAfterTransaction(() -> {
+            CACHE.invalidate(castingID);
+            ContentVersions.touchCasting(castingID);
+        });
+    }
+
+    private static void invalidateIf(Predicate<CastingDTO> predicate) {
+        CACHE.invalidateIf(predicate);
+        ContentVersions.touchCatalog();
+        ConnectionContext.runAfterTransaction(() -> {
+            CACHE.invalidateIf(predicate);
+            ContentVersions.touchCatalog();
+        });
+    }
+
+    private static CastingDTO copyOf(CastingDTO c) {
+        return new CastingDTO(c.getCastingID(), c.getLocation(), c.getCategory(), c.getDescription(),
+                c.getPublishDate(), c.getDeadline(), c.getTitle(), c.getCdID(), c.getProductionID());
+    }
+
+    private void validate(CastingDTO casting) {
+        if (casting == null || casting.getLocation() == null || casting.getLocation().trim().isEmpty() ||
+                casting.getCategory() == null || casting.getDescription() == null ||
+                casting.getDescription().trim().isEmpty() || casting.getPublishDate() == null ||
+                casting.getDeadline() == null || casting.getTitle() == null || casting.getTitle().trim().isEmpty()) {
+            throw new IllegalArgumentException("CastingDTO cannot be null");
+        }
+        if (casting.getCdID() <= 0 || casting.getProductionID() <= 0) {
+            throw new IllegalArgumentException("Casting must be linked to a valid Casting Director and Production.");
+        }
+    }
+
+    /**
+     * Runs a keyset-paginated query on Casting, ordered by {@code PublishDate DESC, CastingID DESC}.
+     *
+     * @param where    the filter clause, with at most one parameter.
+     * @param param    the value of the filter parameter, or null if the clause has none.
+     */
+    private PageDTO<CastingDTO> getPage(String where, Integer param, String after, int pageSize) throws SQLException {
+        int size = Keyset.pageSize(pageSize);
+        Keyset.Key key = Keyset.decode(after);
+
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM Casting " + where +
+                (key != null ? " AND " + Keyset.after("PublishDate", "CastingID") : "") +
+                " ORDER BY PublishDate DESC, CastingID DESC LIMIT ?";
+
+        List<CastingDTO> rows = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            int index = 1;
+            if (param != null) {
+                ps.setInt(index++, param);
+            }
+            if (key != null) {
+                index = Keyset.bind(ps, index, key);
+            }
+            ps.setInt(index, size + 1);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(extractCastingFromResultSet(rs));
+                }
+            }
+        }
+        return Keyset.toPage(rows, size, c -> Keyset.encode(c.getPublishDate(), c.getCastingID()));
+    }
+
     private void setStatementParameters(PreparedStatement ps, CastingDTO casting) throws SQLException {
         ps.setString(1, casting.getLocation());
 
         if (casting.getCategory() != null) {
-            ps.setString(2, mapCategoryToDb(casting.getCategory()));
+            ps.setString(2, DbEnums.CASTING_CATEGORY.toDb(casting.getCategory()));
         } else {
             ps.setNull(2, Types.VARCHAR);
         }
@@ -264,54 +530,31 @@ public class CastingDAO implements GenericDAO<CastingDTO, Integer> {
         ps.setInt(8, casting.getProductionID());
     }
 
-    private CastingDTO extractCastingFromResultSet(ResultSet rs) throws SQLException {
+    /**
+     * Maps a row selected with {@link #COLUMNS}, reading the columns by position.
+     * Package-private for the row mapping benchmark.
+     */
+    static CastingDTO extractCastingFromResultSet(ResultSet rs) throws SQLException {
         CastingDTO c = new CastingDTO();
-        c.setCastingID(rs.getInt("CastingID"));
-        c.setLocation(rs.getString("Location"));
-
-        String catStr = rs.getString("Category");
-        if (catStr != null) {
-            c.setCategory(mapDbToCategory(catStr));
-        }
+        c.setCastingID(rs.getInt(1));
+        c.setLocation(rs.getString(2));
+        c.setCategory(DbEnums.CASTING_CATEGORY.fromDb(rs.getString(3)));
+        c.setDescription(rs.getString(4));
 
-        c.setDescription(rs.getString("Description"));
-
-        Timestamp ts = rs.getTimestamp("PublishDate");
+        Timestamp ts = rs.getTimestamp(5);
         if (ts != null) {
             c.setPublishDate(ts.toLocalDateTime());
         }
 
-        Timestamp ts2 = rs.getTimestamp("DeadLine");
+        Timestamp ts2 = rs.getTimestamp(6);
         if (ts2 != null) {
             c.setDeadline(ts2.toLocalDateTime());
         }
 
-        c.setTitle(rs.getString("Title"));
-        c.setCdID(rs.getInt("CdID"));
-        c.setProductionID(rs.getInt("ProductionID"));
+        c.setTitle(rs.getString(7));
+        c.setCdID(rs.getInt(8));
+        c.setProductionID(rs.getInt(9));
 
         return c;
     }
-
-    // Mapping Logic for Categories (reused from PerformerDAO logic)
-    private String mapCategoryToDb(CastingDTO.Category category) {
-        switch (category) {
-            case Attore_Attrice: return "Attore/Attrice";
-            case Doppiatore_trice: return "Doppiatore/trice";
-            default: return category.name();
-        }
-    }
-
-    private CastingDTO.Category mapDbToCategory(String dbValue) {
-        switch (dbValue) {
-            case "Attore/Attrice": return CastingDTO.Category.Attore_Attrice;
-            case "Doppiatore/trice": return CastingDTO.Category.Doppiatore_trice;
-            default:
-                try {
-                    return CastingDTO.Category.valueOf(dbValue);
-                } catch (IllegalArgumentException e) {
-                    return null;
-                }
-        }
-    }
-}
\ No newline at end of file
+}
@@ -5,6 +5,7 @@ import model.dto.CastingDirectorDTO;
 import javax.sql.DataSource;
 import java.sql.*;
 import java.util.*;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object (DAO) for managing Casting Director entities.
@@ -96,11 +97,17 @@ public class CastingDirectorDAO implements GenericDAO<CastingDirectorDTO, Intege
         }
 
         String sql = "DELETE FROM Casting_Director WHERE CdID = ?";
+        boolean deleted;
         try (Connection connection = dataSource.getConnection();
              PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, cdID);
-            return ps.executeUpdate() > 0;
+            deleted = ps.executeUpdate() > 0;
         }
+
+        if (deleted) {
+            CastingDAO.invalidateByCdID(cdID); // ON DELETE CASCADE
+        }
+        return deleted;
     }
 
     /**
@@ -179,6 +186,53 @@ public class CastingDirectorDAO implements GenericDAO<CastingDirectorDTO, Intege
         return list;
     }
 
+    /**
+     * Streams all Casting Director profiles row by row, for exports and maintenance jobs on large tables.
+     * <p>
+     * Rows are fetched from the server one at a time; the stream must be closed to release the connection.
+     * </p>
+     *
+     * @param order the column to sort by.
+     * @return a stream of Casting Director profiles.
+     * @throws SQLException if a database error occurs.
+     */
+    @Override
+    public Stream<CastingDirectorDTO> streamAll(String order) throws SQLException {
+        String actualOrder = (order != null && ALLOWED_ORDER_COLUMNS.contains(order)) ? order : DEFAULT_ORDER_COLUMN;
+        String sql = "SELECT * FROM Casting_Director ORDER BY " + actualOrder;
+        return ResultSetStream.of(dataSource, sql, this::extractCdFromResultSet);
+    }
+
+    /**
+     * Retrieves the Casting Director profiles matching the given IDs with a single query per chunk of {@value InClause#MAX_CHUNK_SIZE} keys.
+     *
+     * @param cdIDs the IDs to search for; nulls, non-positive values and duplicates are ignored.
+     * @return a map from ID to CastingDirectorDTO, containing only the IDs that were found.
+     * @throws SQLException if a database error occurs.
+     */
+    @Override
+    public Map<Integer, CastingDirectorDTO> getByIDs(Collection<Integer> cdIDs) throws SQLException {
+        Map<Integer, CastingDirectorDTO> result = new HashMap<>();
+        List<Integer> ids = InClause.validIds(cdIDs);
+        if (ids.isEmpty()) return result;
+
+        try (Connection connection = dataSource.getConnection()) {
+            for (List<Integer> chunk : InClause.chunks(ids)) {
+                String sql = "SELECT * FROM Casting_Director WHERE CdID IN (" + InClause.placeholders(chunk.size()) + ")";
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    InClause.bind(ps, 1, chunk);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            CastingDirectorDTO cd = extractCdFromResultSet(rs);
+                            result.put(cd.getCdID(), cd);
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
     // --- Helper Methods ---
 
     private CastingDirectorDTO extractCdFromResultSet(ResultSet rs) throws SQLException {
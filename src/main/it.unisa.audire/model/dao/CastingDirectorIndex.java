@@ -0,0 +1,400 @@
+package model.dao;
+
+import model.ConnectionContext;
+import model.dto.TeamDTO;
+import model.dto.UserDTO;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory prefix index (trie) over the names and emails of the Casting Directors, used by the
+ * team assignment typeahead to find candidates without querying the database.
+ * <p>
+ * Names and emails are split into words, lower-cased and stripped of accents; every trie node keeps
+ * the sorted list of the directors having a word with that prefix, so a query word costs one walk
+ * down the trie and a query of several words an intersection of sorted lists. Directors are numbered
+ * in alphabetical order (last name, first name), which is also the order of equally ranked results.
+ * </p>
+ * <p>
+ * The members of each production team are kept in a {@link BitSet} over the same numbering, loaded on
+ * first use and updated by {@link #memberAdded} and {@link #memberRemoved}, so current members are
+ * excluded from the results with one bit test each.
+ * </p>
+ * <p>
+ * Like {@link ActiveCastingSnapshot}, the index is immutable and swapped in whole: it is rebuilt by
+ * {@link #requestRebuild()} when a Casting Director registers, on the index thread so the request does
+ * not wait for it, and, as a safety net for changes made elsewhere, every {@value #REFRESH_MINUTES} minutes. A rebuild discards the team bitsets, which are
+ * then reloaded.
+ * </p>
+ */
+public class CastingDirectorIndex implements AutoCloseable {
+
+    private static final long REFRESH_MINUTES = 10;
+
+    /** Maximum number of results of a search. */
+    public static final int MAX_RESULTS = 50;
+
+    // Ranking of a query word: whole name word, prefix of a name word, prefix of an email word
+    private static final int SCORE_EXACT = 3;
+    private static final int SCORE_NAME_PREFIX = 2;
+    private static final int SCORE_EMAIL_PREFIX = 1;
+
+    /**
+     * A trie node, frozen into arrays once built.
+     */
+    private static final class Node {
+        char[] keys = new char[0];
+        Node[] children = new Node[0];
+        int[] ids = new int[0];
+        int size; // used entries of ids while building
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return (i >= 0) ? children[i] : null;
+        }
+
+        Node childForInsert(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i >= 0) return children[i];
+
+            i = -(i + 1);
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, i);
+            System.arraycopy(children, 0, newChildren, 0, i);
+            newKeys[i] = c;
+            newChildren[i] = new Node();
+            System.arraycopy(keys, i, newKeys, i + 1, keys.length - i);
+            System.arraycopy(children, i, newChildren, i + 1, children.length - i);
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[i];
+        }
+
+        void add(int id) {
+            // Directors are inserted in increasing order: a repeated word only repeats the last id
+            if (size > 0 && ids[size - 1] == id) return;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(4, size * 2));
+            }
+            ids[size++] = id;
+        }
+
+        void freeze() {
+            ids = Arrays.copyOf(ids, size);
+            for (Node child : children) {
+                child.freeze();
+            }
+        }
+    }
+
+    /**
+     * An immutable index over a set of Casting Directors, with the team bitsets built on it.
+     */
+    private static final class State {
+        final UserDTO[] users;           // by index
+        final String[][] nameWords;      // by index
+        final Map<Integer, Integer> indexByCdID;
+        final Node root = new Node();
+        final Map<Integer, BitSet> teams = new ConcurrentHashMap<>();
+        // Serializes team loads with memberAdded/memberRemoved, so an update cannot slip in between the read and the put
+        final Object teamLock = new Object();
+
+        State(Map<Integer, UserDTO> castingDirectors) {
+            List<Map.Entry<Integer, UserDTO>> sorted = new ArrayList<>(castingDirectors.entrySet());
+            sorted.sort(Comparator
+                    .comparing((Map.Entry<Integer, UserDTO> e) -> normalize(e.getValue().getLastName()))
+                    .thenComparing(e -> normalize(e.getValue().getFirstName()))
+                    .thenComparing(Map.Entry::getKey));
+
+            int n = sorted.size();
+            users = new UserDTO[n];
+            nameWords = new String[n][];
+            indexByCdID = new HashMap<>(n * 2);
+
+            for (int i = 0; i < n; i++) {
+                UserDTO user = sorted.get(i).getValue();
+                users[i] = user;
+                indexByCdID.put(sorted.get(i).getKey(), i);
+
+                nameWords[i] = words(user.getFirstName() + " " + user.getLastName());
+                for (String word : nameWords[i]) {
+                    insert(word, i);
+                }
+                for (String word : words(user.getEmail())) {
+                    insert(word, i);
+                }
+            }
+            root.freeze();
+        }
+
+        private void insert(String word, int id) {
+            Node node = root;
+            for (int i = 0; i < word.length(); i++) {
+                node = node.childForInsert(word.charAt(i));
+                node.add(id);
+            }
+        }
+
+        int[] idsWithPrefix(String prefix) {
+            Node node = root;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.child(prefix.charAt(i));
+            }
+            return (node != null) ? node.ids : new int[0];
+        }
+    }
+
+    private final DataSource dataSource;
+    private final ScheduledExecutorService scheduler;
+    private final Object swapLock = new Object();
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    private volatile State current;
+
+    public CastingDirectorIndex(DataSource dataSource) {
+        this.dataSource = Objects.requireNonNull(dataSource, "DataSource cannot be null");
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "audire-cd-index");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Builds the index and starts the periodic refresh.
+     * If the first load fails the index stays unavailable ({@link #isReady()} is false) until the next refresh.
+     */
+    public void start() {
+        rebuild();
+        scheduler.scheduleWithFixedDelay(this::rebuild, REFRESH_MINUTES, REFRESH_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * @return true once the index has been built.
+     */
+    public boolean isReady() {
+        return current != null;
+    }
+
+    /**
+     * Schedules a rebuild of the index after a Casting Director is created or removed. Inside a request
+     * transaction the rebuild is queued at its end, so that only committed data is loaded; it then runs on
+     * the index thread, and requests made while one is already queued share it.
+     */
+    public void requestRebuild() {
+        ConnectionContext.runAfterTransaction(() -> {
+            if (!rebuildQueued.compareAndSet(false, true)) return;
+            try {
+                scheduler.execute(() -> {
+                    rebuildQueued.set(false);
+                    rebuild();
+                });
+            } catch (RejectedExecutionException e) {
+                // Index closed: nothing left to rebuild
+                rebuildQueued.set(false);
+            }
+        });
+    }
+
+    /**
+     * Reloads the Casting Directors from the database and swaps in a new index.
+     * On error the previous index is kept.
+     */
+    public void rebuild() {
+        synchronized (swapLock) {
+            try {
+                current = new State(new TeamDAO(dataSource).getAllCastingDirectors());
+            } catch (SQLException | RuntimeException e) {
+                System.out.println("Errore nell'aggiornamento dell'indice dei Casting Director: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Finds the Casting Directors whose name or email words start with every word of the query,
+     * excluding the current members of the production team.
+     * <p>
+     * Results are ranked by how each query word matches (whole name word, then prefix of a name word,
+     * then prefix of an email word) and, with equal rank, alphabetically.
+     * </p>
+     *
+     * @param query        the text typed by the user.
+     * @param productionID the production whose team members are excluded.
+     * @param limit        the maximum number of results (capped at {@value #MAX_RESULTS}).
+     * @return the matching users (shared objects that must not be modified), or an empty list if none
+     *         or if the index is not ready.
+     * @throws SQLException if the team of the production cannot be loaded.
+     */
+    public List<UserDTO> search(String query, int productionID, int limit) throws SQLException {
+        State state = current;
+        String[] queryWords = words(query);
+        if (state == null || queryWords.length == 0 || limit <= 0) return Collections.emptyList();
+
+        // Walks the shortest list and checks the others with a binary search
+        int[][] lists = new int[queryWords.length][];
+        int shortest = 0;
+        for (int w = 0; w < queryWords.length; w++) {
+            lists[w] = state.idsWithPrefix(queryWords[w]);
+            if (lists[w].length == 0) return Collections.emptyList();
+            if (lists[w].length < lists[shortest].length) shortest = w;
+        }
+
+        BitSet team = team(state, productionID);
+        int max = Math.min(limit, MAX_RESULTS);
+
+        // Min-heap of the best candidates so far: worst score first, then highest (last alphabetical) id
+        PriorityQueue<long[]> best = new PriorityQueue<>(max + 1, (a, b) ->
+                (a[0] != b[0]) ? Long.compare(a[0], b[0]) : Long.compare(b[1], a[1]));
+
+        candidates:
+        for (int id : lists[shortest]) {
+            if (team.get(id)) continue;
+            for (int w = 0; w < lists.length; w++) {
+                if (w != shortest && Arrays.binarySearch(lists[w], id) < 0) continue candidates;
+            }
+
+            best.add(new long[]{score(state.nameWords[id], queryWords), id});
+            if (best.size() > max) best.poll();
+        }
+
+        List<long[]> ranked = new ArrayList<>(best);
+        ranked.sort((a, b) -> (a[0] != b[0]) ? Long.compare(b[0], a[0]) : Long.compare(a[1], b[1]));
+
+        List<UserDTO> result = new ArrayList<>(ranked.size());
+        for (long[] entry : ranked) {
+            result.add(state.users[(int) entry[1]]);
+        }
+        return result;
+    }
+
+    /**
+     * Records that a Casting Director joined a production team, so they are no longer suggested for it.
+     */
+    public void memberAdded(int productionID, int cdID) {
+        updateTeam(productionID, cdID, true);
+    }
+
+    /**
+     * Records that a Casting Director left a production team, so they are suggested again.
+     */
+    public void memberRemoved(int productionID, int cdID) {
+        updateTeam(productionID, cdID, false);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    // --- Helper Methods ---
+
+    /**
+     * Returns the members of the team as a bitset over the index numbering, loading it on first use.
+     */
+    private BitSet team(State state, int productionID) throws SQLException {
+        BitSet team = state.teams.get(productionID);
+        if (team != null) return team;
+
+        // An update waiting on the lock is applied to the loaded bitset right after the put
+        synchronized (state.teamLock) {
+            team = state.teams.get(productionID);
+            if (team != null) return team;
+
+            team = new BitSet(state.users.length);
+            for (TeamDTO member : new TeamDAO(dataSource).getByProductionID(productionID)) {
+                Integer index = state.indexByCdID.get(member.getCdID());
+                if (index != null) {
+                    team.set(index);
+                }
+            }
+            state.teams.put(productionID, team);
+            return team;
+        }
+    }
+
+    /**
+     * Copy-on-write update of a loaded team bitset: searches in progress keep reading the old one.
+     * Teams not loaded yet are read from the database on first use and need no update; a team being
+     * loaded is updated once its load completes.
+     */
+    private void updateTeam(int productionID, int cdID, boolean member) {
+        State state = current;
+        if (state == null) return;
+
+        Integer index = state.indexByCdID.get(cdID);
+        if (index == null) {
+            // Casting Director registered after the last rebuild
+            requestRebuild();
+            return;
+        }
+        synchronized (state.teamLock) {
+            state.teams.computeIfPresent(productionID, (id, team) -> {
+                BitSet copy = (BitSet) team.clone();
+                copy.set(index, member);
+                return copy;
+            });
+        }
+    }
+
+    private static int score(String[] nameWords, String[] queryWords) {
+        int score = 0;
+        for (String q : queryWords) {
+            int best = SCORE_EMAIL_PREFIX;
+            for (String word : nameWords) {
+                if (word.equals(q)) {
+                    best = SCORE_EXACT;
+                    break;
+                }
+                if (word.startsWith(q)) {
+                    best = SCORE_NAME_PREFIX;
+                }
+            }
+            score += best;
+        }
+        return score;
+    }
+
+    /**
+     * Splits a text into lower-case words of letters and digits, without accents.
+     */
+    static String[] words(String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) return new String[0];
+
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean letter = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                words.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return words.toArray(new String[0]);
+    }
+
+    private static String normalize(String text) {
+        if (text == null) return "";
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+}
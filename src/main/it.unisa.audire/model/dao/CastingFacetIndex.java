@@ -0,0 +1,196 @@
+package model.dao;
+
+import model.dto.CastingDTO;
+import model.dto.CastingFacetsDTO;
+import model.dto.CastingFilterDTO;
+import model.dto.ProductionDTO;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Bitmap indexes over the castings of an {@link ActiveCastingSnapshot}, one bitmap per value of each
+ * Home Page filter (category, production type, location).
+ * <p>
+ * Castings are identified by their position in the snapshot, which numbers them densely from 0 in
+ * page order: a bitmap is a {@code long[]} of one bit per casting, a combination of filters is a
+ * bitwise AND and a count is a population count, with no per-casting work. The deadline window is not
+ * a fixed set, since it moves with the current day: positions are also kept sorted by expiry, and the
+ * bitmap of a window is built from the prefix of the castings expiring before its end.
+ * </p>
+ * <p>
+ * The index is immutable and built together with its snapshot.
+ * </p>
+ */
+final class CastingFacetIndex {
+
+    /** Maximum number of locations returned by {@link #counts}. */
+    static final int MAX_LOCATIONS = 20;
+
+    private enum Facet { CATEGORY, TYPE, LOCATION, DEADLINE }
+
+    private final int size;
+    private final long[] all;
+    private final long[][] byCategory;
+    private final long[][] byType;
+    private final Map<String, long[]> byLocation;
+    private final Map<String, String> locationLabels;
+    private final int[] byExpiry;
+    private final long[] sortedExpiry;
+
+    /**
+     * @param castings        the castings of the snapshot, in page order.
+     * @param productionTypes the type of the production of each casting, keyed by CastingID.
+     * @param expiresAt       the expiry time of each casting, by position.
+     */
+    CastingFacetIndex(List<CastingDTO> castings, Map<Integer, ProductionDTO.Type> productionTypes, long[] expiresAt) {
+        size = castings.size();
+        all = Bitmaps.full(size);
+
+        byCategory = new long[CastingDTO.Category.values().length][];
+        byType = new long[ProductionDTO.Type.values().length][];
+        byLocation = new HashMap<>();
+        locationLabels = new HashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            CastingDTO c = castings.get(i);
+            if (c.getCategory() != null) {
+                Bitmaps.set(bitmap(byCategory, c.getCategory().ordinal()), i);
+            }
+            ProductionDTO.Type type = productionTypes.get(c.getCastingID());
+            if (type != null) {
+                Bitmaps.set(bitmap(byType, type.ordinal()), i);
+            }
+            String key = locationKey(c.getLocation());
+            if (key != null) {
+                Bitmaps.set(byLocation.computeIfAbsent(key, k -> new long[Bitmaps.words(size)]), i);
+                // Castings are newest first: the label is the spelling of the latest one
+                locationLabels.putIfAbsent(key, c.getLocation().trim().replaceAll("\\s+", " "));
+            }
+        }
+
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparingLong(i -> expiresAt[i]));
+        byExpiry = new int[size];
+        sortedExpiry = new long[size];
+        for (int i = 0; i < size; i++) {
+            byExpiry[i] = order[i];
+            sortedExpiry[i] = expiresAt[order[i]];
+        }
+    }
+
+    /**
+     * @param filter the criteria, or null for none.
+     * @param now    the current time, which places the deadline windows.
+     * @return the bitmap of the castings matching every criterion (shared if no criterion is set).
+     */
+    long[] matching(CastingFilterDTO filter, long now) {
+        return matching(filter, null, now);
+    }
+
+    /**
+     * Counts the castings of every facet value. The counts of a facet apply the criteria of the other
+     * facets but not its own.
+     *
+     * @param filter the criteria, or null for none.
+     * @param now    the current time, which places the deadline windows.
+     * @return the counts.
+     */
+    CastingFacetsDTO counts(CastingFilterDTO filter, long now) {
+        Map<String, Integer> categories = new LinkedHashMap<>();
+        long[] base = matching(filter, Facet.CATEGORY, now);
+        for (CastingDTO.Category category : CastingDTO.Category.values()) {
+            categories.put(category.name(), Bitmaps.andCardinality(base, byCategory[category.ordinal()]));
+        }
+
+        Map<String, Integer> types = new LinkedHashMap<>();
+        base = matching(filter, Facet.TYPE, now);
+        for (ProductionDTO.Type type : ProductionDTO.Type.values()) {
+            types.put(type.name(), Bitmaps.andCardinality(base, byType[type.ordinal()]));
+        }
+
+        base = matching(filter, Facet.LOCATION, now);
+        List<Map.Entry<String, Integer>> locationCounts = new ArrayList<>();
+        String selected = (filter != null) ? locationKey(filter.getLocation()) : null;
+        for (Map.Entry<String, long[]> location : byLocation.entrySet()) {
+            int count = Bitmaps.andCardinality(base, location.getValue());
+            if (count > 0 || location.getKey().equals(selected)) {
+                locationCounts.add(new AbstractMap.SimpleEntry<>(locationLabels.get(location.getKey()), count));
+            }
+        }
+        locationCounts.sort(Map.Entry.<String, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey(String.CASE_INSENSITIVE_ORDER)));
+        Map<String, Integer> locations = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> location : locationCounts) {
+            // The selected location is always listed, so that it stays selectable
+            if (locations.size() < MAX_LOCATIONS || locationKey(location.getKey()).equals(selected)) {
+                locations.put(location.getKey(), location.getValue());
+            }
+        }
+
+        Map<String, Integer> deadlines = new LinkedHashMap<>();
+        base = matching(filter, Facet.DEADLINE, now);
+        for (int days : ActiveCastingSnapshot.DEADLINE_WINDOWS) {
+            deadlines.put(String.valueOf(days), Bitmaps.andCardinality(base, expiringWithin(days, now)));
+        }
+
+        return new CastingFacetsDTO(Bitmaps.cardinality(matching(filter, now)), categories, types, locations, deadlines);
+    }
+
+    // --- Helper Methods ---
+
+    private long[] matching(CastingFilterDTO filter, Facet skip, long now) {
+        if (filter == null || filter.isEmpty()) return all;
+
+        long[] result = all;
+        if (skip != Facet.CATEGORY && filter.getCategory() != null) {
+            result = Bitmaps.and(result, byCategory[filter.getCategory().ordinal()]);
+        }
+        if (skip != Facet.TYPE && filter.getProductionType() != null) {
+            result = Bitmaps.and(result, byType[filter.getProductionType().ordinal()]);
+        }
+        if (skip != Facet.LOCATION && filter.getLocation() != null) {
+            result = Bitmaps.and(result, byLocation.get(locationKey(filter.getLocation())));
+        }
+        if (skip != Facet.DEADLINE && filter.getDeadlineDays() != null) {
+            result = Bitmaps.and(result, expiringWithin(filter.getDeadlineDays(), now));
+        }
+        return result;
+    }
+
+    /**
+     * Bitmap of the castings whose deadline is within {@code days} days from today: they expire
+     * (see {@link ActiveCastingSnapshot#expiryOf}) by the start of the day after the last one.
+     */
+    private long[] expiringWithin(int days, long now) {
+        ZoneId zone = ZoneId.systemDefault();
+        long end = Instant.ofEpochMilli(now).atZone(zone).toLocalDate().plusDays(days + 1L)
+                .atStartOfDay(zone).toInstant().toEpochMilli();
+
+        long[] bits = new long[Bitmaps.words(size)];
+        for (int i = 0; i < size && sortedExpiry[i] <= end; i++) {
+            if (sortedExpiry[i] > now) {
+                Bitmaps.set(bits, byExpiry[i]);
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Lazily allocates the bitmaps of the enum values, so that values without castings share no memory.
+     */
+    private long[] bitmap(long[][] bitmaps, int ordinal) {
+        if (bitmaps[ordinal] == null) {
+            bitmaps[ordinal] = new long[Bitmaps.words(size)];
+        }
+        return bitmaps[ordinal];
+    }
+
+    private static String locationKey(String location) {
+        if (location == null) return null;
+        String key = location.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ITALIAN);
+        return key.isEmpty() ? null : key;
+    }
+}
@@ -0,0 +1,496 @@
+package model.dao;
+
+import model.ConnectionContext;
+import model.dto.CastingDTO;
+import model.dto.PerformerDTO;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Personal feed of the active castings for each performer, best match first.
+ * <p>
+ * A casting scores for its category (the same as the performer's, or {@code Qualsiasi} on either
+ * side), for the urgency of its deadline and for the recency of its publication; the castings the
+ * performer has already applied to are left out. Urgency and recency are linear in the deadline and
+ * the publish date, so the order of two castings does not change as time passes and a feed stays
+ * valid without being recomputed.
+ * </p>
+ * <p>
+ * Each feed keeps only its best {@value #FEED_SIZE} castings, in a min-heap whose root is the worst
+ * of them: it is computed on first use with one pass over the castings (no sort), and then updated
+ * incrementally. A published casting is offered to every feed and replaces the root only if it scores
+ * better; a casting that expires, is removed or is applied to is dropped from the feeds that hold it.
+ * A feed that loses a casting while other eligible ones were left out is recomputed on its next read.
+ * The feeds of the {@value #MAX_FEEDS} most recently read performers are kept.
+ * </p>
+ * <p>
+ * Like {@link CastingSearchIndex}, castings are read back from the database after the transaction
+ * that saved them ({@link #index(int)}, {@link #remove(int)}); changes to productions go through
+ * {@link #requestRebuild()}, and the castings are reloaded every {@value #REFRESH_MINUTES} minutes as
+ * a safety net. Expired castings are swept every minute.
+ * </p>
+ * <p>
+ * The returned {@link CastingDTO} objects are shared by all the requests and must not be modified.
+ * </p>
+ */
+public class CastingFeed implements AutoCloseable {
+
+    private static final long REFRESH_MINUTES = 10;
+    private static final long SWEEP_MINUTES = 1;
+
+    /** Number of castings kept in each feed. */
+    public static final int FEED_SIZE = 50;
+
+    /** Number of feeds kept in memory. */
+    static final int MAX_FEEDS = 5000;
+
+    // Score weights, in days: a matching category is worth as much as a deadline that many days closer
+    private static final double EXACT_MATCH = 60.0;
+    private static final double OPEN_MATCH = 30.0;
+    private static final double URGENCY_PER_DAY = 1.0;
+    private static final double RECENCY_PER_DAY = 0.5;
+    // Castings without a deadline are as urgent as one closing this many days after publication
+    private static final double NO_DEADLINE_DAYS = 90.0;
+    private static final double DAY_MILLIS = 24 * 60 * 60 * 1000.0;
+
+    /** Order of the heaps: worst first, ties broken by the older casting. */
+    private static final Comparator<Entry> WORST_FIRST = (a, b) -> (a.score != b.score)
+            ? Double.compare(a.score, b.score)
+            : Integer.compare(a.candidate.casting.getCastingID(), b.candidate.casting.getCastingID());
+
+    /**
+     * A casting of a feed.
+     */
+    public static final class Item {
+        private final CastingDTO casting;
+        private final String productionTitle;
+        private final double score;
+
+        Item(CastingDTO casting, String productionTitle, double score) {
+            this.casting = casting;
+            this.productionTitle = productionTitle;
+            this.score = score;
+        }
+
+        public CastingDTO getCasting() {
+            return casting;
+        }
+
+        public String getProductionTitle() {
+            return productionTitle;
+        }
+
+        /**
+         * @return the score; only the comparison between the scores of the same feed is meaningful.
+         */
+        public double getScore() {
+            return score;
+        }
+    }
+
+    /**
+     * An active casting, with the parts of its score that do not depend on the performer.
+     */
+    private static final class Candidate {
+        final CastingDTO casting;
+        final String productionTitle;
+        final long expiresAt;
+        final double timeScore;
+
+        Candidate(CastingDTO casting, String productionTitle) {
+            this.casting = casting;
+            this.productionTitle = productionTitle;
+            this.expiresAt = ActiveCastingSnapshot.expiryOf(casting.getDeadline());
+
+            double published = (casting.getPublishDate() != null)
+                    ? Timestamp.valueOf(casting.getPublishDate()).getTime() / DAY_MILLIS : 0.0;
+            double deadline = (expiresAt != Long.MAX_VALUE) ? expiresAt / DAY_MILLIS : published + NO_DEADLINE_DAYS;
+            this.timeScore = RECENCY_PER_DAY * published - URGENCY_PER_DAY * deadline;
+        }
+
+        double score(PerformerDTO.Category category) {
+            return timeScore + match(category);
+        }
+
+        private double match(PerformerDTO.Category category) {
+            CastingDTO.Category wanted = casting.getCategory();
+            if (wanted == null || category == null) return 0.0;
+            if (wanted.name().equals(category.name())) return EXACT_MATCH;
+            if (wanted == CastingDTO.Category.Qualsiasi || category == PerformerDTO.Category.Qualsiasi) return OPEN_MATCH;
+            return 0.0;
+        }
+
+        boolean sameAs(Candidate other) {
+            return casting.equals(other.casting) && Objects.equals(productionTitle, other.productionTitle);
+        }
+    }
+
+    private static final class Entry {
+        final Candidate candidate;
+        final double score;
+
+        Entry(Candidate candidate, double score) {
+            this.candidate = candidate;
+            this.score = score;
+        }
+    }
+
+    /**
+     * The best castings for one performer.
+     */
+    private static final class Feed {
+        final PerformerDTO.Category category;
+        final Set<Integer> applied;
+        final PriorityQueue<Entry> heap = new PriorityQueue<>(FEED_SIZE + 1, WORST_FIRST);
+        // Some eligible casting did not fit in the heap
+        boolean truncated;
+        // The heap lost a casting that the ones left out should replace
+        boolean stale;
+
+        Feed(PerformerDTO.Category category, Set<Integer> applied) {
+            this.category = category;
+            this.applied = applied;
+        }
+
+        /**
+         * Selects the best castings with one pass over all of them.
+         */
+        void fill(Collection<Candidate> candidates) {
+            heap.clear();
+            truncated = false;
+            stale = false;
+            for (Candidate c : candidates) {
+                offer(c);
+            }
+        }
+
+        void offer(Candidate c) {
+            if (stale || applied.contains(c.casting.getCastingID())) return;
+
+            Entry entry = new Entry(c, c.score(category));
+            if (heap.size() < FEED_SIZE) {
+                heap.add(entry);
+                return;
+            }
+            truncated = true;
+            if (WORST_FIRST.compare(entry, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(entry);
+            }
+        }
+
+        /**
+         * Removes a casting from the heap. If eligible castings were left out, one of them should take
+         * its place: the feed is marked stale and refilled on its next read.
+         */
+        void drop(int castingID) {
+            if (stale) return;
+            if (heap.removeIf(e -> e.candidate.casting.getCastingID() == castingID) && truncated) {
+                stale = true;
+            }
+        }
+
+        /**
+         * Records an application: the casting leaves the feed and, if others were left out, the feed is backfilled.
+         */
+        void applied(int castingID) {
+            if (applied.add(castingID)) {
+                drop(castingID);
+            }
+        }
+    }
+
+    /**
+     * A feed being loaded by {@link #getFeed}: the applications recorded meanwhile are added to the
+     * ones read from the database, which may predate them.
+     */
+    private static final class Loading {
+        final Set<Integer> applied = new HashSet<>();
+        int loaders;
+    }
+
+    private final DataSource dataSource;
+    private final ScheduledExecutorService scheduler;
+    // Serializes the updates, database reads included; readers only take the feed lock
+    private final Object swapLock = new Object();
+    private final Object lock = new Object();
+
+    // Guarded by lock
+    private Map<Integer, Candidate> candidates;
+    private final LinkedHashMap<Integer, Feed> feeds = new LinkedHashMap<Integer, Feed>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Feed> eldest) {
+            return size() > MAX_FEEDS;
+        }
+    };
+    private final Map<Integer, Loading> loading = new HashMap<>();
+
+    public CastingFeed(DataSource dataSource) {
+        this.dataSource = Objects.requireNonNull(dataSource, "DataSource cannot be null");
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "audire-casting-feed");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Loads the active castings and starts the periodic refresh and the sweep of the expired castings.
+     * If the first load fails the feeds stay unavailable ({@link #isReady()} is false) until the next refresh.
+     */
+    public void start() {
+        rebuild();
+        scheduler.scheduleWithFixedDelay(this::rebuild, REFRESH_MINUTES, REFRESH_MINUTES, TimeUnit.MINUTES);
+        scheduler.scheduleWithFixedDelay(this::dropExpired, SWEEP_MINUTES, SWEEP_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * @return true once the castings have been loaded.
+     */
+    public boolean isReady() {
+        synchronized (lock) {
+            return candidates != null;
+        }
+    }
+
+    /**
+     * Reloads the castings after a change that affects many of them (e.g. a production renamed or removed).
+     * Inside a request transaction the reload waits for its end, so that only committed data is loaded.
+     */
+    public void requestRebuild() {
+        ConnectionContext.runAfterTransaction(this::rebuild);
+    }
+
+    /**
+     * Reloads the active castings and their production titles from the database and applies the
+     * differences to the feeds. On error the current castings are kept.
+     */
+    public void rebuild() {
+        synchronized (swapLock) {
+            try {
+                List<CastingDTO> castings = new CastingDAO(dataSource).getAllActive();
+
+                Set<Integer> productionIDs = new HashSet<>();
+                for (CastingDTO c : castings) {
+                    productionIDs.add(c.getProductionID());
+                }
+                Map<Integer, String> titles = new ProductionDAO(dataSource).getTitlesByIDs(productionIDs);
+
+                long now = System.currentTimeMillis();
+                Map<Integer, Candidate> loaded = new HashMap<>(castings.size() * 2);
+                for (CastingDTO c : castings) {
+                    Candidate candidate = new Candidate(c, titles.getOrDefault(c.getProductionID(), "Unknown"));
+                    if (candidate.expiresAt > now) {
+                        loaded.put(c.getCastingID(), candidate);
+                    }
+                }
+
+                synchronized (lock) {
+                    if (candidates == null) {
+                        candidates = loaded;
+                        return;
+                    }
+                    for (Integer id : new ArrayList<>(candidates.keySet())) {
+                        if (!loaded.containsKey(id)) update(id, null);
+                    }
+                    for (Candidate c : loaded.values()) {
+                        update(c.casting.getCastingID(), c);
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                System.out.println("Errore nell'aggiornamento dei feed dei casting: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Offers a casting to the feeds after it was published or updated, replacing its previous version.
+     * The casting is read back from the database once the transaction is over: if it no longer exists
+     * (e.g. the transaction was rolled back) or it is expired, it is dropped from the feeds.
+     *
+     * @param castingID the ID of the casting.
+     */
+    public void index(int castingID) {
+        ConnectionContext.runAfterTransaction(() -> reindex(castingID));
+    }
+
+    /**
+     * Drops a casting from the feeds after it was deleted.
+     *
+     * @param castingID the ID of the casting.
+     */
+    public void remove(int castingID) {
+        // After a rollback the casting still exists: it is read back rather than dropped blindly
+        ConnectionContext.runAfterTransaction(() -> reindex(castingID));
+    }
+
+    /**
+     * Drops a casting from the feed of a performer after the performer applied to it.
+     *
+     * @param performerID the ID of the performer.
+     * @param castingID   the ID of the casting.
+     */
+    public void applied(int performerID, int castingID) {
+        ConnectionContext.runAfterTransaction(() -> {
+            synchronized (lock) {
+                Feed feed = feeds.get(performerID);
+                if (feed != null) {
+                    feed.applied(castingID);
+                } else {
+                    Loading load = loading.get(performerID);
+                    if (load != null) {
+                        load.applied.add(castingID);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the best active castings for a performer. The first read of a feed loads the category
+     * of the performer and the castings it applied to.
+     *
+     * @param performerID the ID of the performer.
+     * @param limit       the maximum number of castings (capped at {@value #FEED_SIZE}).
+     * @return the castings, best first, or null if the feeds are not available yet or the performer does not exist.
+     * @throws SQLException if the profile or the applications of the performer cannot be read.
+     */
+    public List<Item> getFeed(int performerID, int limit) throws SQLException {
+        if (!isReady()) return null;
+
+        Loading load;
+        synchronized (lock) {
+            Feed feed = feeds.get(performerID);
+            if (feed != null) return read(feed, limit);
+
+            load = loading.computeIfAbsent(performerID, id -> new Loading());
+            load.loaders++;
+        }
+
+        try {
+            // Loaded outside the lock, so that readers do not wait for each other's queries
+            PerformerDTO performer = new PerformerDAO(dataSource).getByID(performerID, PerformerDAO.Projection.PROFILE);
+            if (performer == null) return null;
+            Set<Integer> applied = new ApplicationDAO(dataSource).getCastingIDsByPerformerID(performerID);
+
+            synchronized (lock) {
+                Feed feed = feeds.get(performerID);
+                if (feed == null) {
+                    applied.addAll(load.applied);
+                    feed = new Feed(performer.getCategory(), applied);
+                    feed.fill(candidates.values());
+                    feeds.put(performerID, feed);
+                }
+                return read(feed, limit);
+            }
+        } finally {
+            synchronized (lock) {
+                if (--load.loaders == 0) {
+                    loading.remove(performerID, load);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of active castings (0 if not ready).
+     */
+    public int size() {
+        synchronized (lock) {
+            return (candidates != null) ? candidates.size() : 0;
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    // --- Helper Methods ---
+
+    /**
+     * Reads a casting and its production title and applies its current version to the feeds.
+     * On error the casting is left as it is until the next rebuild.
+     */
+    private void reindex(int castingID) {
+        synchronized (swapLock) {
+            if (!isReady()) return;
+
+            try {
+                CastingDTO casting = new CastingDAO(dataSource).getByID(castingID);
+                Candidate candidate = null;
+                if (casting != null) {
+                    candidate = new Candidate(casting, new ProductionDAO(dataSource).getTitleByID(casting.getProductionID()));
+                    if (candidate.expiresAt <= System.currentTimeMillis()) candidate = null;
+                }
+                synchronized (lock) {
+                    update(castingID, candidate);
+                }
+            } catch (SQLException | RuntimeException e) {
+                System.out.println("Errore nell'aggiornamento del casting " + castingID + " nei feed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Removes the castings that expired since the last sweep from the feeds.
+     */
+    private void dropExpired() {
+        long now = System.currentTimeMillis();
+        synchronized (lock) {
+            if (candidates == null) return;
+            List<Integer> expired = new ArrayList<>();
+            for (Candidate c : candidates.values()) {
+                if (c.expiresAt <= now) expired.add(c.casting.getCastingID());
+            }
+            for (Integer id : expired) {
+                update(id, null);
+            }
+        }
+    }
+
+    /**
+     * Replaces a casting in the candidates and in the feeds; a null candidate removes it.
+     * Called with {@code lock} held.
+     */
+    private void update(int castingID, Candidate candidate) {
+        Candidate previous = (candidate != null) ? candidates.put(castingID, candidate) : candidates.remove(castingID);
+        if (previous != null && candidate != null && previous.sameAs(candidate)) return;
+
+        for (Feed feed : feeds.values()) {
+            if (previous != null) feed.drop(castingID);
+            if (candidate != null) feed.offer(candidate);
+        }
+    }
+
+    /**
+     * Copies the castings of a feed, recomputing it first if needed. Called with {@code lock} held.
+     */
+    private List<Item> read(Feed feed, int limit) {
+        if (feed.stale) {
+            feed.fill(candidates.values());
+        }
+
+        long now = System.currentTimeMillis();
+        List<Entry> entries = new ArrayList<>(feed.heap.size());
+        for (Entry e : feed.heap) {
+            // Castings expired since the last sweep are skipped
+            if (e.candidate.expiresAt > now) entries.add(e);
+        }
+        entries.sort(WORST_FIRST.reversed());
+
+        int n = Math.min(Math.min(limit, FEED_SIZE), entries.size());
+        List<Item> items = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Candidate c = entries.get(i).candidate;
+            items.add(new Item(c.casting, c.productionTitle, entries.get(i).score));
+        }
+        return items;
+    }
+}
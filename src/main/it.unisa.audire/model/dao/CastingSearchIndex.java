@@ -0,0 +1,263 @@
+package model.dao;
+
+import model.ConnectionContext;
+import model.dto.CastingDTO;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory full-text index over the active castings (title, production title, location and
+ * description), used by the search page to answer queries without querying the database.
+ * <p>
+ * Text is analyzed for Italian and ranked with BM25F by {@link FullTextIndex}: a word in the title
+ * weighs more than the same word in the production title, the location or the description. The last
+ * word of a query is also matched as a prefix, so that results follow the typing.
+ * </p>
+ * <p>
+ * Unlike {@link ActiveCastingSnapshot}, the index is updated one casting at a time: {@link #index(int)}
+ * and {@link #remove(int)} are called after a casting is saved or deleted and, inside a request
+ * transaction, wait for its end so that only committed data is indexed. Changes to productions
+ * (renamed or removed with their castings) go through {@link #requestRebuild()}, and the whole index
+ * is rebuilt every {@value #REFRESH_MINUTES} minutes as a safety net for changes made elsewhere.
+ * Expired castings are skipped by the searches until the next rebuild drops them.
+ * </p>
+ * <p>
+ * The returned {@link CastingDTO} objects are shared by all the requests and must not be modified.
+ * </p>
+ */
+public class CastingSearchIndex implements AutoCloseable {
+
+    private static final long REFRESH_MINUTES = 10;
+
+    /** Maximum number of results of a search. */
+    public static final int MAX_RESULTS = 100;
+
+    // Weight of each field: title, production title, location, description
+    private static final double[] BOOSTS = {3.0, 2.0, 1.5, 1.0};
+
+    /**
+     * A casting matching a query.
+     */
+    public static final class Result {
+        private final CastingDTO casting;
+        private final String productionTitle;
+        private final double score;
+
+        Result(CastingDTO casting, String productionTitle, double score) {
+            this.casting = casting;
+            this.productionTitle = productionTitle;
+            this.score = score;
+        }
+
+        public CastingDTO getCasting() {
+            return casting;
+        }
+
+        public String getProductionTitle() {
+            return productionTitle;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    /**
+     * An indexed casting, with the title of its production and its expiry time.
+     */
+    private static final class Entry {
+        final CastingDTO casting;
+        final String productionTitle;
+        final long expiresAt;
+
+        Entry(CastingDTO casting, String productionTitle) {
+            this.casting = casting;
+            this.productionTitle = productionTitle;
+            this.expiresAt = ActiveCastingSnapshot.expiryOf(casting.getDeadline());
+        }
+
+        String[] fields() {
+            return new String[]{casting.getTitle(), productionTitle, casting.getLocation(), casting.getDescription()};
+        }
+    }
+
+    /**
+     * The text index and the castings it refers to, swapped in together.
+     */
+    private static final class State {
+        final FullTextIndex text;
+        final Map<Integer, Entry> entries;
+
+        State(FullTextIndex text, Map<Integer, Entry> entries) {
+            this.text = text;
+            this.entries = entries;
+        }
+    }
+
+    private final DataSource dataSource;
+    private final ScheduledExecutorService scheduler;
+    private final Object swapLock = new Object();
+
+    private volatile State current;
+
+    public CastingSearchIndex(DataSource dataSource) {
+        this.dataSource = Objects.requireNonNull(dataSource, "DataSource cannot be null");
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "audire-casting-search");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Builds the index and starts the periodic refresh.
+     * If the first load fails the index stays unavailable ({@link #isReady()} is false) until the next refresh.
+     */
+    public void start() {
+        rebuild();
+        scheduler.scheduleWithFixedDelay(this::rebuild, REFRESH_MINUTES, REFRESH_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * @return true once the index has been built.
+     */
+    public boolean isReady() {
+        return current != null;
+    }
+
+    /**
+     * Rebuilds the index after a change that affects many castings (e.g. a production renamed or removed).
+     * Inside a request transaction the rebuild waits for its end, so that only committed data is loaded.
+     */
+    public void requestRebuild() {
+        ConnectionContext.runAfterTransaction(this::rebuild);
+    }
+
+    /**
+     * Reloads the active castings and their production titles from the database and swaps in a new index.
+     * On error the previous index is kept.
+     */
+    public void rebuild() {
+        synchronized (swapLock) {
+            try {
+                List<CastingDTO> castings = new CastingDAO(dataSource).getAllActive();
+
+                Set<Integer> productionIDs = new HashSet<>();
+                for (CastingDTO c : castings) {
+                    productionIDs.add(c.getProductionID());
+                }
+                Map<Integer, String> titles = new ProductionDAO(dataSource).getTitlesByIDs(productionIDs);
+
+                long now = System.currentTimeMillis();
+                Map<Integer, Entry> entries = new HashMap<>(castings.size() * 2);
+                Map<Integer, String[]> documents = new HashMap<>(castings.size() * 2);
+                for (CastingDTO c : castings) {
+                    Entry entry = new Entry(c, titles.getOrDefault(c.getProductionID(), "Unknown"));
+                    if (entry.expiresAt > now) {
+                        entries.put(c.getCastingID(), entry);
+                        documents.put(c.getCastingID(), entry.fields());
+                    }
+                }
+                current = new State(FullTextIndex.build(documents, BOOSTS), entries);
+            } catch (SQLException | RuntimeException e) {
+                System.out.println("Errore nell'aggiornamento dell'indice di ricerca dei casting: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Indexes a casting after it was created or updated, replacing its previous version.
+     * The casting is read back from the database once the transaction is over: if it no longer exists
+     * (e.g. the transaction was rolled back) or it is expired, it is removed from the index.
+     *
+     * @param castingID the ID of the casting.
+     */
+    public void index(int castingID) {
+        ConnectionContext.runAfterTransaction(() -> reindex(castingID));
+    }
+
+    /**
+     * Removes a casting from the index after it was deleted.
+     *
+     * @param castingID the ID of the casting.
+     */
+    public void remove(int castingID) {
+        // After a rollback the casting still exists: it is read back rather than dropped blindly
+        ConnectionContext.runAfterTransaction(() -> reindex(castingID));
+    }
+
+    /**
+     * Finds the active castings containing every word of the query, best match first.
+     *
+     * @param query the text typed by the user.
+     * @param limit the maximum number of results (capped at {@value #MAX_RESULTS}).
+     * @return the matching castings, or an empty list if none or if the index is not ready.
+     */
+    public List<Result> search(String query, int limit) {
+        State state = current;
+        if (state == null || query == null) return Collections.emptyList();
+
+        long now = System.currentTimeMillis();
+        List<FullTextIndex.Hit> hits = state.text.search(query, Math.min(limit, MAX_RESULTS),
+                id -> state.entries.get(id).expiresAt > now);
+
+        List<Result> results = new ArrayList<>(hits.size());
+        for (FullTextIndex.Hit hit : hits) {
+            Entry entry = state.entries.get(hit.id);
+            results.add(new Result(entry.casting, entry.productionTitle, hit.score));
+        }
+        return results;
+    }
+
+    /**
+     * @return the number of indexed castings (0 if not ready).
+     */
+    public int size() {
+        State state = current;
+        return (state != null) ? state.text.size() : 0;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    // --- Helper Methods ---
+
+    /**
+     * Reads a casting and its production title and swaps in an index with its current version.
+     * On error the casting is left as it is until the next rebuild.
+     */
+    private void reindex(int castingID) {
+        synchronized (swapLock) {
+            State state = current;
+            if (state == null) return;
+
+            try {
+                CastingDTO casting = new CastingDAO(dataSource).getByID(castingID);
+                Entry entry = null;
+                if (casting != null) {
+                    entry = new Entry(casting, new ProductionDAO(dataSource).getTitleByID(casting.getProductionID()));
+                }
+
+                Map<Integer, Entry> entries = new HashMap<>(state.entries);
+                FullTextIndex text;
+                if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+                    entries.put(castingID, entry);
+                    text = state.text.with(castingID, entry.fields());
+                } else {
+                    entries.remove(castingID);
+                    text = state.text.without(castingID);
+                }
+                current = new State(text, entries);
+            } catch (SQLException | RuntimeException e) {
+                System.out.println("Errore nell'aggiornamento del casting " + castingID + " nell'indice di ricerca: " + e.getMessage());
+            }
+        }
+    }
+}
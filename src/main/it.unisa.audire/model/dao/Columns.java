@@ -0,0 +1,31 @@
+package model.dao;
+
+/**
+ * Helper for explicit SELECT lists.
+ * <p>
+ * DAOs declare the columns they read as a constant array and their row mappers read them by
+ * position, in the same order: the driver does not need to resolve column labels for every row,
+ * and {@code SELECT *} never drags unused columns (or ones added later) over the network.
+ * </p>
+ */
+final class Columns {
+
+    private Columns() {
+    }
+
+    /**
+     * Builds a comma-separated column list, e.g. {@code c.CastingID, c.Title}.
+     *
+     * @param alias   the table alias to prefix, or null for none.
+     * @param columns the column names.
+     */
+    static String list(String alias, String... columns) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) sb.append(", ");
+            if (alias != null) sb.append(alias).append('.');
+            sb.append(columns[i]);
+        }
+        return sb.toString();
+    }
+}
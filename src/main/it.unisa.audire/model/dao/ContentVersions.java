@@ -0,0 +1,109 @@
+package model.dao;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory version numbers of the content shown by the public casting pages, used to answer
+ * conditional requests ({@code If-None-Match}, {@code If-Modified-Since}) without querying the database.
+ * <p>
+ * The DAOs touch a version whenever they change the related rows: a casting when it is updated or
+ * deleted, the whole catalog when a production changes or a deletion cascades, a performer when they
+ * send an application. Every touch takes the next value of one global sequence, so the newest of
+ * several versions always identifies their combination.
+ * </p>
+ * <p>
+ * Versions are not persisted: each start of the application begins a new epoch, which is part of
+ * every tag, so validators issued before a restart never match.
+ * </p>
+ */
+public final class ContentVersions {
+
+    /**
+     * A version together with the time it was set, truncated to the second as in {@code Last-Modified}.
+     */
+    public static final class Stamp {
+        private final long version;
+        private final long lastModified;
+
+        private Stamp(long version, long lastModified) {
+            this.version = version;
+            this.lastModified = lastModified;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * @return the newest of the two stamps.
+         */
+        public Stamp max(Stamp other) {
+            return (other == null || version >= other.version) ? this : other;
+        }
+
+        /**
+         * @return an opaque tag, unique across restarts, for use in an ETag.
+         */
+        public String getTag() {
+            return Long.toString(EPOCH, 36) + "." + Long.toString(version, 36);
+        }
+    }
+
+    private static final long EPOCH = truncate(System.currentTimeMillis());
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private static volatile Stamp catalog = new Stamp(0, EPOCH);
+    private static final Map<Integer, Stamp> CASTINGS = new ConcurrentHashMap<>();
+    private static final Map<Integer, Stamp> PERFORMERS = new ConcurrentHashMap<>();
+
+    private ContentVersions() {
+    }
+
+    /**
+     * @return the version of a casting, including the changes to the catalog (e.g. production titles).
+     */
+    public static Stamp casting(int castingID) {
+        return catalog.max(CASTINGS.get(castingID));
+    }
+
+    /**
+     * @return the version of the applications sent by a performer.
+     */
+    public static Stamp performer(int performerID) {
+        Stamp stamp = PERFORMERS.get(performerID);
+        return (stamp != null) ? stamp : new Stamp(0, EPOCH);
+    }
+
+    static void touchCasting(int castingID) {
+        CASTINGS.put(castingID, next());
+    }
+
+    static void touchPerformer(int performerID) {
+        PERFORMERS.put(performerID, next());
+    }
+
+    /**
+     * Changes the version of every casting at once, for changes whose effects cannot be traced
+     * to single castings (production renamed, cascading deletions).
+     */
+    static void touchCatalog() {
+        catalog = next();
+    }
+
+    /**
+     * @return a new stamp, newer than every stamp issued so far.
+     */
+    static Stamp next() {
+        return new Stamp(SEQUENCE.incrementAndGet(), truncate(System.currentTimeMillis()));
+    }
+
+    private static long truncate(long millis) {
+        return millis / 1000 * 1000;
+    }
+}
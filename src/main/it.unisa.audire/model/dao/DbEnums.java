@@ -0,0 +1,38 @@
+package model.dao;
+
+import model.dto.ApplicationDTO;
+import model.dto.CastingDTO;
+import model.dto.PerformerDTO;
+import model.dto.ProductionDTO;
+import model.dto.UserDTO;
+
+/**
+ * Shared codecs for the {@code ENUM} columns of the schema.
+ * <p>
+ * Java identifiers cannot contain slashes or spaces, so e.g. {@code Attore_Attrice} is stored as
+ * {@code "Attore/Attrice"} and {@code Serie_TV} as {@code "Serie TV"}.
+ * </p>
+ */
+final class DbEnums {
+
+    static final EnumCodec<PerformerDTO.Category> PERFORMER_CATEGORY =
+            new EnumCodec<>(PerformerDTO.Category.class, c -> c.name().replace('_', '/'), null);
+
+    static final EnumCodec<CastingDTO.Category> CASTING_CATEGORY =
+            new EnumCodec<>(CastingDTO.Category.class, c -> c.name().replace('_', '/'), null);
+
+    static final EnumCodec<PerformerDTO.Gender> GENDER =
+            new EnumCodec<>(PerformerDTO.Gender.class, Enum::name, null);
+
+    static final EnumCodec<ApplicationDTO.Status> APPLICATION_STATUS =
+            new EnumCodec<>(ApplicationDTO.Status.class, s -> s.name().replace('_', ' '), ApplicationDTO.Status.In_attesa);
+
+    static final EnumCodec<ProductionDTO.Type> PRODUCTION_TYPE =
+            new EnumCodec<>(ProductionDTO.Type.class, t -> t.name().replace('_', ' '), null);
+
+    static final EnumCodec<UserDTO.Role> USER_ROLE =
+            new EnumCodec<>(UserDTO.Role.class, Enum::name, null);
+
+    private DbEnums() {
+    }
+}
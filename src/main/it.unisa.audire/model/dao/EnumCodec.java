@@ -0,0 +1,60 @@
+package model.dao;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Two-way mapping between a Java enum and the strings stored in a MySQL {@code ENUM} column.
+ * <p>
+ * Both directions are precomputed lookup tables: encoding is an array access by ordinal and decoding
+ * a hash lookup, with no {@code switch}, no {@code valueOf} and no exception thrown for unknown values.
+ * Instances are immutable and shared by all the DAOs through {@link DbEnums}.
+ * </p>
+ *
+ * @param <E> the enum type.
+ */
+final class EnumCodec<E extends Enum<E>> {
+
+    private final String[] dbValues;
+    private final Map<String, E> byDbValue;
+    private final E fallback;
+
+    /**
+     * @param type     the enum class.
+     * @param dbValue  computes the database string of each constant.
+     * @param fallback the value decoded for unknown strings (may be null).
+     */
+    EnumCodec(Class<E> type, Function<E, String> dbValue, E fallback) {
+        E[] constants = type.getEnumConstants();
+        this.dbValues = new String[constants.length];
+        this.byDbValue = new HashMap<>(constants.length * 4);
+        this.fallback = fallback;
+
+        for (E constant : constants) {
+            String value = dbValue.apply(constant);
+            dbValues[constant.ordinal()] = value;
+            byDbValue.put(value, constant);
+        }
+        // Accetta anche il nome Java della costante (es. "In_attesa")
+        for (E constant : constants) {
+            byDbValue.putIfAbsent(constant.name(), constant);
+        }
+    }
+
+    /**
+     * @return the database string of the constant, or null for a null constant.
+     */
+    String toDb(E constant) {
+        return (constant != null) ? dbValues[constant.ordinal()] : null;
+    }
+
+    /**
+     * @return the constant for the database string; null for null, the fallback for unknown strings.
+     */
+    E fromDb(String dbValue) {
+        if (dbValue == null) return null;
+        E constant = byDbValue.get(dbValue);
+        return (constant != null) ? constant : fallback;
+    }
+}
@@ -0,0 +1,514 @@
+package model.dao;
+
+import java.util.*;
+import java.util.function.IntPredicate;
+
+/**
+ * Immutable inverted index over documents made of a few text fields, ranked with BM25F.
+ * <p>
+ * Documents are identified by an int id (e.g. the CastingID) and their fields are analyzed by
+ * {@link ItalianAnalyzer}. Each term of the dictionary maps to the sorted ids of the documents
+ * containing it and to its frequency in each of their fields; the dictionary is also kept sorted,
+ * so that a prefix is expanded with a binary search.
+ * </p>
+ * <p>
+ * The index is never modified: {@link #with} and {@link #without} return a new index sharing the
+ * postings of the terms they do not touch, so readers can keep using the instance they hold while a
+ * writer builds the next one. An update costs one copy of the dictionary, plus the postings of the
+ * terms of the document.
+ * </p>
+ * <p>
+ * The score of a document for a term sums the frequencies of the term in each field, weighted by the
+ * boost of the field and normalized by the length of the field (BM25F), and saturates the sum with
+ * the usual {@code k1} and inverse document frequency.
+ * </p>
+ */
+final class FullTextIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /** Maximum number of dictionary terms a prefix is expanded to. */
+    static final int MAX_EXPANSIONS = 64;
+
+    /** Weight of a term matched through a prefix, so that a whole word ranks first. */
+    private static final double PREFIX_WEIGHT = 0.8;
+
+    /**
+     * A document matching a query, with its score.
+     */
+    static final class Hit {
+        final int id;
+        final double score;
+
+        Hit(int id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+
+    /**
+     * The documents containing a term: {@code freqs} holds, for each id, the frequency of the term in
+     * every field, and {@code lengths} the length of every field of the document (copied here so that
+     * scoring reads contiguous arrays).
+     */
+    private static final class Postings {
+        final int[] ids;
+        final int[] freqs;
+        final int[] lengths;
+
+        Postings(int[] ids, int[] freqs, int[] lengths) {
+            this.ids = ids;
+            this.freqs = freqs;
+            this.lengths = lengths;
+        }
+    }
+
+    /**
+     * The length of each field of a document and the frequencies of its distinct terms.
+     */
+    private static final class Doc {
+        final int[] lengths;
+        final Map<String, int[]> freqs;
+
+        Doc(int[] lengths, Map<String, int[]> freqs) {
+            this.lengths = lengths;
+            this.freqs = freqs;
+        }
+    }
+
+    private final double[] boosts;
+    private final Map<String, Postings> postings;
+    private final String[] dictionary;
+    private final Map<Integer, Doc> docs;
+    private final long[] totalLengths;
+
+    /**
+     * Creates an empty index.
+     *
+     * @param boosts the weight of each field; documents must have one text per boost.
+     */
+    FullTextIndex(double... boosts) {
+        this(boosts.clone(), Collections.emptyMap(), new String[0], Collections.emptyMap(), new long[boosts.length]);
+    }
+
+    private FullTextIndex(double[] boosts, Map<String, Postings> postings, String[] dictionary,
+                          Map<Integer, Doc> docs, long[] totalLengths) {
+        this.boosts = boosts;
+        this.postings = postings;
+        this.dictionary = dictionary;
+        this.docs = docs;
+        this.totalLengths = totalLengths;
+    }
+
+    /**
+     * Builds an index over many documents at once, faster than adding them one by one.
+     *
+     * @param documents the text of the fields of each document, keyed by id.
+     * @param boosts    the weight of each field.
+     * @return the index.
+     */
+    static FullTextIndex build(Map<Integer, String[]> documents, double... boosts) {
+        int fields = boosts.length;
+        Map<Integer, Doc> docs = new HashMap<>(documents.size() * 2);
+        long[] totalLengths = new long[fields];
+
+        // Ids in increasing order: postings are only appended to
+        Map<String, List<int[]>> builders = new HashMap<>();
+        for (Integer id : new TreeSet<>(documents.keySet())) {
+            Doc doc = analyze(documents.get(id), fields);
+            docs.put(id, doc);
+            for (int f = 0; f < fields; f++) {
+                totalLengths[f] += doc.lengths[f];
+            }
+            for (Map.Entry<String, int[]> term : doc.freqs.entrySet()) {
+                builders.computeIfAbsent(term.getKey(), k -> new ArrayList<>()).add(row(id, term.getValue(), doc.lengths));
+            }
+        }
+
+        Map<String, Postings> postings = new HashMap<>(builders.size() * 2);
+        for (Map.Entry<String, List<int[]>> entry : builders.entrySet()) {
+            List<int[]> rows = entry.getValue();
+            int[] ids = new int[rows.size()];
+            int[] freqs = new int[rows.size() * fields];
+            int[] lengths = new int[rows.size() * fields];
+            for (int i = 0; i < rows.size(); i++) {
+                int[] row = rows.get(i);
+                ids[i] = row[0];
+                System.arraycopy(row, 1, freqs, i * fields, fields);
+                System.arraycopy(row, 1 + fields, lengths, i * fields, fields);
+            }
+            postings.put(entry.getKey(), new Postings(ids, freqs, lengths));
+        }
+
+        String[] dictionary = postings.keySet().toArray(new String[0]);
+        Arrays.sort(dictionary);
+        return new FullTextIndex(boosts.clone(), postings, dictionary, docs, totalLengths);
+    }
+
+    /**
+     * @param id     the id of the document.
+     * @param fields the text of each field (null for an empty field).
+     * @return a new index with the document added, or replaced if already present.
+     */
+    FullTextIndex with(int id, String... fields) {
+        if (fields.length != boosts.length) {
+            throw new IllegalArgumentException("Expected " + boosts.length + " fields, got " + fields.length);
+        }
+        return update(id, analyze(fields, boosts.length));
+    }
+
+    /**
+     * @param id the id of the document.
+     * @return a new index without the document, or this index if it is not present.
+     */
+    FullTextIndex without(int id) {
+        return docs.containsKey(id) ? update(id, null) : this;
+    }
+
+    /**
+     * @return true if the document is in the index.
+     */
+    boolean contains(int id) {
+        return docs.containsKey(id);
+    }
+
+    /**
+     * @return the number of documents.
+     */
+    int size() {
+        return docs.size();
+    }
+
+    /**
+     * Finds the documents containing every word of the query, ranked by BM25F score.
+     * <p>
+     * A word matches its stemmed form and, if it is the word being typed, every term it is a prefix of
+     * (up to {@value #MAX_EXPANSIONS}, weighted less than a whole word). A document scores the best of
+     * the terms matched by each word.
+     * </p>
+     *
+     * @param query  the text typed by the user.
+     * @param limit  the maximum number of hits.
+     * @param filter the ids that may be returned, or null for all.
+     * @return the hits, best first; equal scores are ordered by decreasing id.
+     */
+    List<Hit> search(String query, int limit, IntPredicate filter) {
+        if (limit <= 0) return Collections.emptyList();
+        Scores[] perWord = scoresPerWord(query);
+        if (perWord == null) return Collections.emptyList();
+
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, (a, b) ->
+                (a.score != b.score) ? Double.compare(a.score, b.score) : Integer.compare(a.id, b.id));
+
+        int[] cursors = new int[perWord.length];
+        Scores rarest = perWord[0];
+        candidates:
+        for (int i = 0; i < rarest.size; i++) {
+            int id = rarest.ids[i];
+            double score = rarest.values[i];
+            for (int w = 1; w < perWord.length; w++) {
+                Scores other = perWord[w];
+                int c = cursors[w];
+                while (c < other.size && other.ids[c] < id) c++;
+                cursors[w] = c;
+                if (c == other.size) break candidates;
+                if (other.ids[c] != id) continue candidates;
+                score += other.values[c];
+            }
+            if (best.size() == limit) {
+                Hit worst = best.peek();
+                if (score < worst.score || (score == worst.score && id < worst.id)) continue;
+            }
+            if (filter != null && !filter.test(id)) continue;
+
+            best.add(new Hit(id, score));
+            if (best.size() > limit) best.poll();
+        }
+
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort((a, b) -> (a.score != b.score) ? Double.compare(b.score, a.score) : Integer.compare(b.id, a.id));
+        return hits;
+    }
+
+    /**
+     * Finds all the documents containing every word of the query, matched as in {@link #search}.
+     *
+     * @param query the text typed by the user.
+     * @return the ids of the matching documents, in increasing order.
+     */
+    int[] matches(String query) {
+        Scores[] perWord = scoresPerWord(query);
+        if (perWord == null) return new int[0];
+
+        int[] ids = new int[perWord[0].size];
+        int count = 0;
+        int[] cursors = new int[perWord.length];
+        candidates:
+        for (int i = 0; i < perWord[0].size; i++) {
+            int id = perWord[0].ids[i];
+            for (int w = 1; w < perWord.length; w++) {
+                Scores other = perWord[w];
+                int c = cursors[w];
+                while (c < other.size && other.ids[c] < id) c++;
+                cursors[w] = c;
+                if (c == other.size) break candidates;
+                if (other.ids[c] != id) continue candidates;
+            }
+            ids[count++] = id;
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    // --- Helper Methods ---
+
+    /**
+     * Best score of each document for each word of the query, sorted by id, with the rarest word first
+     * so that it drives the intersection.
+     *
+     * @return the scores, or null if the query has no words or one of them matches no document.
+     */
+    private Scores[] scoresPerWord(String query) {
+        List<ItalianAnalyzer.QueryTerm> terms = ItalianAnalyzer.query(query);
+        if (terms.isEmpty() || docs.isEmpty()) return null;
+
+        double[] averages = new double[boosts.length];
+        for (int f = 0; f < boosts.length; f++) {
+            averages[f] = Math.max(1.0, (double) totalLengths[f] / docs.size());
+        }
+
+        Scores[] perWord = new Scores[terms.size()];
+        for (int w = 0; w < perWord.length; w++) {
+            perWord[w] = score(terms.get(w), averages);
+            if (perWord[w].size == 0) return null;
+        }
+        Arrays.sort(perWord, Comparator.comparingInt(scores -> scores.size));
+        return perWord;
+    }
+
+    /**
+     * The scores of the documents matching a word, sorted by id.
+     */
+    private static final class Scores {
+        final int[] ids;
+        final double[] values;
+        final int size;
+
+        Scores(int[] ids, double[] values, int size) {
+            this.ids = ids;
+            this.values = values;
+            this.size = size;
+        }
+
+        /**
+         * @return the union of the two lists, keeping the best score of the ids in both.
+         */
+        Scores merge(Scores other) {
+            if (other.size == 0) return this;
+            if (size == 0) return other;
+
+            int[] mergedIds = new int[size + other.size];
+            double[] mergedValues = new double[mergedIds.length];
+            int i = 0, j = 0, m = 0;
+            while (i < size || j < other.size) {
+                if (j == other.size || (i < size && ids[i] < other.ids[j])) {
+                    mergedIds[m] = ids[i];
+                    mergedValues[m++] = values[i++];
+                } else if (i == size || other.ids[j] < ids[i]) {
+                    mergedIds[m] = other.ids[j];
+                    mergedValues[m++] = other.values[j++];
+                } else {
+                    mergedIds[m] = ids[i];
+                    mergedValues[m++] = Math.max(values[i++], other.values[j++]);
+                }
+            }
+            return new Scores(mergedIds, mergedValues, m);
+        }
+    }
+
+    private static final Scores NO_SCORES = new Scores(new int[0], new double[0], 0);
+
+    private Scores score(ItalianAnalyzer.QueryTerm term, double[] averages) {
+        Scores exact = score(term.term, 1.0, averages);
+        if (term.prefix == null) return exact;
+
+        List<Scores> lists = new ArrayList<>();
+        lists.add(exact);
+
+        int from = Arrays.binarySearch(dictionary, term.prefix);
+        if (from < 0) from = -(from + 1);
+        for (int i = from; i < dictionary.length && lists.size() <= MAX_EXPANSIONS; i++) {
+            String candidate = dictionary[i];
+            if (!candidate.startsWith(term.prefix)) break;
+            if (!candidate.equals(term.term)) {
+                lists.add(score(candidate, PREFIX_WEIGHT, averages));
+            }
+        }
+
+        // Merged in pairs, like a merge sort, so that a long list is not copied once per expansion
+        while (lists.size() > 1) {
+            List<Scores> merged = new ArrayList<>((lists.size() + 1) / 2);
+            for (int i = 0; i < lists.size(); i += 2) {
+                merged.add((i + 1 < lists.size()) ? lists.get(i).merge(lists.get(i + 1)) : lists.get(i));
+            }
+            lists = merged;
+        }
+        return lists.get(0);
+    }
+
+    private Scores score(String term, double weight, double[] averages) {
+        Postings p = postings.get(term);
+        if (p == null) return NO_SCORES;
+
+        int fields = boosts.length;
+        int n = docs.size();
+        double idf = Math.log(1 + (n - p.ids.length + 0.5) / (p.ids.length + 0.5));
+
+        double[] values = new double[p.ids.length];
+        for (int i = 0; i < p.ids.length; i++) {
+            double tf = 0;
+            for (int f = 0; f < fields; f++) {
+                int freq = p.freqs[i * fields + f];
+                if (freq > 0) {
+                    tf += boosts[f] * freq / (1 - B + B * p.lengths[i * fields + f] / averages[f]);
+                }
+            }
+            values[i] = weight * idf * tf * (K1 + 1) / (tf + K1);
+        }
+        return new Scores(p.ids, values, p.ids.length);
+    }
+
+    /**
+     * Returns a new index where the document {@code id} is replaced by {@code doc} (or removed if null).
+     */
+    private FullTextIndex update(int id, Doc doc) {
+        int fields = boosts.length;
+        Doc old = docs.get(id);
+
+        Map<String, Postings> newPostings = new HashMap<>(postings);
+        Map<Integer, Doc> newDocs = new HashMap<>(docs);
+        long[] newTotals = totalLengths.clone();
+        Set<String> removed = new HashSet<>();
+        List<String> added = new ArrayList<>();
+
+        if (old != null) {
+            newDocs.remove(id);
+            for (int f = 0; f < fields; f++) newTotals[f] -= old.lengths[f];
+            for (String term : old.freqs.keySet()) {
+                Postings p = remove(newPostings.get(term), id, fields);
+                if (p == null) {
+                    newPostings.remove(term);
+                    removed.add(term);
+                } else {
+                    newPostings.put(term, p);
+                }
+            }
+        }
+
+        if (doc != null) {
+            newDocs.put(id, doc);
+            for (int f = 0; f < fields; f++) newTotals[f] += doc.lengths[f];
+            for (Map.Entry<String, int[]> term : doc.freqs.entrySet()) {
+                Postings p = newPostings.get(term.getKey());
+                if (p == null && !removed.remove(term.getKey())) {
+                    added.add(term.getKey());
+                }
+                newPostings.put(term.getKey(), insert(p, id, term.getValue(), doc.lengths, fields));
+            }
+        }
+
+        String[] newDictionary = dictionary;
+        if (!removed.isEmpty() || !added.isEmpty()) {
+            newDictionary = merge(dictionary, removed, added);
+        }
+        return new FullTextIndex(boosts, newPostings, newDictionary, newDocs, newTotals);
+    }
+
+    private static Postings insert(Postings p, int id, int[] freqs, int[] lengths, int fields) {
+        if (p == null) {
+            return new Postings(new int[]{id}, freqs.clone(), lengths.clone());
+        }
+        int i = -(Arrays.binarySearch(p.ids, id) + 1);
+        int n = p.ids.length;
+        int[] ids = new int[n + 1];
+        int[] newFreqs = new int[(n + 1) * fields];
+        int[] newLengths = new int[(n + 1) * fields];
+
+        System.arraycopy(p.ids, 0, ids, 0, i);
+        System.arraycopy(p.freqs, 0, newFreqs, 0, i * fields);
+        System.arraycopy(p.lengths, 0, newLengths, 0, i * fields);
+
+        ids[i] = id;
+        System.arraycopy(freqs, 0, newFreqs, i * fields, fields);
+        System.arraycopy(lengths, 0, newLengths, i * fields, fields);
+
+        System.arraycopy(p.ids, i, ids, i + 1, n - i);
+        System.arraycopy(p.freqs, i * fields, newFreqs, (i + 1) * fields, (n - i) * fields);
+        System.arraycopy(p.lengths, i * fields, newLengths, (i + 1) * fields, (n - i) * fields);
+        return new Postings(ids, newFreqs, newLengths);
+    }
+
+    /**
+     * @return the postings without {@code id}, or null if no document is left.
+     */
+    private static Postings remove(Postings p, int id, int fields) {
+        int i = Arrays.binarySearch(p.ids, id);
+        if (i < 0) return p;
+        int n = p.ids.length - 1;
+        if (n == 0) return null;
+
+        int[] ids = new int[n];
+        int[] freqs = new int[n * fields];
+        int[] lengths = new int[n * fields];
+        System.arraycopy(p.ids, 0, ids, 0, i);
+        System.arraycopy(p.freqs, 0, freqs, 0, i * fields);
+        System.arraycopy(p.lengths, 0, lengths, 0, i * fields);
+        System.arraycopy(p.ids, i + 1, ids, i, n - i);
+        System.arraycopy(p.freqs, (i + 1) * fields, freqs, i * fields, (n - i) * fields);
+        System.arraycopy(p.lengths, (i + 1) * fields, lengths, i * fields, (n - i) * fields);
+        return new Postings(ids, freqs, lengths);
+    }
+
+    /**
+     * Merges the sorted dictionary with the added terms, leaving out the removed ones.
+     */
+    private static String[] merge(String[] dictionary, Set<String> removed, List<String> added) {
+        Collections.sort(added);
+        String[] merged = new String[dictionary.length - removed.size() + added.size()];
+        int i = 0, a = 0, m = 0;
+        while (i < dictionary.length || a < added.size()) {
+            if (i < dictionary.length && removed.contains(dictionary[i])) {
+                i++;
+            } else if (a == added.size() || (i < dictionary.length && dictionary[i].compareTo(added.get(a)) < 0)) {
+                merged[m++] = dictionary[i++];
+            } else {
+                merged[m++] = added.get(a++);
+            }
+        }
+        return merged;
+    }
+
+    private static Doc analyze(String[] fields, int count) {
+        int[] lengths = new int[count];
+        Map<String, int[]> freqs = new HashMap<>();
+        for (int f = 0; f < count; f++) {
+            List<String> terms = ItalianAnalyzer.terms(fields[f]);
+            lengths[f] = terms.size();
+            for (String term : terms) {
+                freqs.computeIfAbsent(term, k -> new int[count])[f]++;
+            }
+        }
+        return new Doc(lengths, freqs);
+    }
+
+    /**
+     * A row of the postings being built: the id, the frequency in each field and the length of each field.
+     */
+    private static int[] row(int id, int[] freqs, int[] lengths) {
+        int[] row = new int[1 + freqs.length + lengths.length];
+        row[0] = id;
+        System.arraycopy(freqs, 0, row, 1, freqs.length);
+        System.arraycopy(lengths, 0, row, 1 + freqs.length, lengths.length);
+        return row;
+    }
+}
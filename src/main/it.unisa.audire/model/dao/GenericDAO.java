@@ -3,11 +3,31 @@ package model.dao;
 import java.sql.SQLException;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 public interface GenericDAO<T, ID> {
 
     void save(T t) throws SQLException;
+
+    /**
+     * Saves all the records. Implementations may send the writes in batches within a single transaction;
+     * by default each record is saved on its own.
+     */
+    default void saveAll(Collection<T> items) throws SQLException {
+        if (items == null) return;
+        for (T t : items) {
+            save(t);
+        }
+    }
     boolean delete(ID id) throws SQLException;
     T getByID(ID id) throws SQLException;
+    Map<ID, T> getByIDs(Collection<ID> ids) throws SQLException;
     Collection<T> getAll(String order) throws SQLException;
+
+    /**
+     * Streams all the records, sorted by the given column, without loading them in memory.
+     * The returned stream holds a database connection and must be closed (try-with-resources).
+     */
+    Stream<T> streamAll(String order) throws SQLException;
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package model.dao;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Helper for building {@code IN (?, ?, ...)} queries over a collection of integer keys.
+ * <p>
+ * Large key sets are split into chunks of at most {@value #MAX_CHUNK_SIZE} elements, keeping each
+ * statement well below the server's packet and placeholder limits. All full chunks share the
+ * same SQL text, so the driver can reuse the prepared statement.
+ * </p>
+ */
+final class InClause {
+
+    static final int MAX_CHUNK_SIZE = 500;
+
+    private InClause() {
+    }
+
+    /**
+     * Removes nulls, non-positive values and duplicates, preserving the iteration order.
+     *
+     * @param ids the keys requested by the caller (may be null).
+     * @return the list of valid, distinct keys.
+     */
+    static List<Integer> validIds(Collection<Integer> ids) {
+        if (ids == null || ids.isEmpty()) return new ArrayList<>();
+
+        Set<Integer> distinct = new LinkedHashSet<>();
+        for (Integer id : ids) {
+            if (id != null && id > 0) {
+                distinct.add(id);
+            }
+        }
+        return new ArrayList<>(distinct);
+    }
+
+    /**
+     * Splits the keys into consecutive chunks of at most {@value #MAX_CHUNK_SIZE} elements.
+     */
+    static List<List<Integer>> chunks(List<Integer> ids) {
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += MAX_CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + MAX_CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Builds the placeholder list for {@code size} parameters, e.g. {@code ?, ?, ?}.
+     */
+    static String placeholders(int size) {
+        return String.join(", ", Collections.nCopies(size, "?"));
+    }
+
+    /**
+     * Binds the keys to consecutive parameters, starting at {@code firstIndex}.
+     *
+     * @return the index of the next free parameter.
+     */
+    static int bind(PreparedStatement ps, int firstIndex, List<Integer> ids) throws SQLException {
+        int index = firstIndex;
+        for (Integer id : ids) {
+            ps.setInt(index++, id);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,44 @@
+package model.dao;
+
+import java.sql.SQLException;
+
+/**
+ * Outcome of an insert-if-absent operation ({@code insertIfAbsent} methods of the DAOs).
+ * <p>
+ * These operations send a single INSERT and let the unique keys of the table decide: there is no
+ * preliminary SELECT, so two concurrent requests for the same row cannot both create it.
+ * </p>
+ */
+public enum InsertResult {
+
+    /** The row was inserted. */
+    CREATED,
+
+    /** A row with the same unique key already exists; nothing was changed. */
+    ALREADY_EXISTS,
+
+    /** The row references a parent that does not exist (e.g. a deleted casting); nothing was changed. */
+    FAILED;
+
+    // MySQL: ER_DUP_ENTRY, ER_NO_REFERENCED_ROW_2
+    private static final int DUPLICATE_ENTRY = 1062;
+    private static final int MISSING_PARENT = 1452;
+
+    /**
+     * Maps a constraint violation of an INSERT to its result.
+     *
+     * @param e the exception thrown by the INSERT.
+     * @return {@link #ALREADY_EXISTS} for a duplicate key, {@link #FAILED} for a missing parent row.
+     * @throws SQLException the same exception, for any other error.
+     */
+    static InsertResult of(SQLException e) throws SQLException {
+        switch (e.getErrorCode()) {
+            case DUPLICATE_ENTRY:
+                return ALREADY_EXISTS;
+            case MISSING_PARENT:
+                return FAILED;
+            default:
+                throw e;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package model.dao;
+
+import java.text.Normalizer;
+import java.util.*;
+
+/**
+ * Turns Italian text into the terms of a {@link FullTextIndex}.
+ * <p>
+ * Text is split into words of letters and digits, lower-cased and stripped of accents ("città" and
+ * "citta" are the same word). Elided articles are separated by the apostrophe and dropped with the
+ * other stopwords ("l'attrice" gives "attrice"). Each word is then reduced by a light stemmer that only
+ * removes the inflection of gender and number, so that "attore", "attori" and "attrice", "attrici"
+ * give "attor" and "attric", and "ballerina", "ballerine" give "ballerin".
+ * </p>
+ */
+final class ItalianAnalyzer {
+
+    /** Words shorter than this are not stemmed. */
+    private static final int MIN_STEM_LENGTH = 5;
+
+    private static final Set<String> STOPWORDS = new HashSet<>(Arrays.asList(
+            // articles, elided forms and prepositions (without accents, as after normalization)
+            "il", "lo", "la", "i", "gli", "le", "un", "uno", "una", "l", "d", "c", "s", "m", "t", "v",
+            "di", "a", "da", "in", "con", "su", "per", "tra", "fra",
+            "del", "dello", "della", "dei", "degli", "delle", "dell",
+            "al", "allo", "alla", "ai", "agli", "alle", "all",
+            "dal", "dallo", "dalla", "dai", "dagli", "dalle", "dall",
+            "nel", "nello", "nella", "nei", "negli", "nelle", "nell",
+            "sul", "sullo", "sulla", "sui", "sugli", "sulle", "sull",
+            "col", "coi",
+            // conjunctions, pronouns and forms of essere/avere
+            "e", "ed", "o", "od", "ma", "se", "che", "chi", "cui", "non", "come", "anche", "piu", "pero",
+            "mi", "ti", "si", "ci", "vi", "ne", "io", "tu", "lui", "lei", "noi", "voi", "loro",
+            "questo", "questa", "questi", "queste", "quello", "quella", "quelli", "quelle",
+            "mio", "mia", "tuo", "tua", "suo", "sua", "nostro", "nostra", "vostro", "vostra",
+            "sono", "sei", "siamo", "siete", "era", "erano", "essere", "ha", "hai", "hanno", "ho", "avere"
+    ));
+
+    /**
+     * A word of a query. The last word is also matched as a prefix while it is being typed.
+     */
+    static final class QueryTerm {
+        /** The stemmed word, matched exactly. */
+        final String term;
+        /** The normalized word as typed, matched as a prefix of the indexed terms, or null. */
+        final String prefix;
+
+        QueryTerm(String term, String prefix) {
+            this.term = term;
+            this.prefix = prefix;
+        }
+    }
+
+    private ItalianAnalyzer() {
+    }
+
+    /**
+     * @param text the text to analyze, possibly null.
+     * @return the terms of the text, in order and with repetitions.
+     */
+    static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String word : words(text)) {
+            if (!STOPWORDS.contains(word)) {
+                terms.add(stem(word));
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Analyzes a query. Unless the text ends with a space, its last word is still being typed and is
+     * also matched as a prefix; if it is the only word it is kept even when it is a stopword.
+     *
+     * @param text the query, possibly null.
+     * @return the words of the query (empty if none is left).
+     */
+    static List<QueryTerm> query(String text) {
+        List<String> words = words(text);
+        boolean typing = text != null && !text.isEmpty() && !Character.isWhitespace(text.charAt(text.length() - 1));
+
+        List<QueryTerm> query = new ArrayList<>(words.size());
+        for (int i = 0; i < words.size(); i++) {
+            String word = words.get(i);
+            boolean last = typing && i == words.size() - 1;
+            if (STOPWORDS.contains(word) && !(last && words.size() == 1)) {
+                continue;
+            }
+            query.add(new QueryTerm(stem(word), last ? word : null));
+        }
+        return query;
+    }
+
+    /**
+     * Light stemmer: removes the final vowel that marks gender and number, keeping the hard sound of
+     * {@code -che/-chi} and {@code -ghe/-ghi} ("amiche" and "amici" both give "amic").
+     */
+    static String stem(String word) {
+        int n = word.length();
+        if (n < MIN_STEM_LENGTH || Character.isDigit(word.charAt(n - 1))) return word;
+
+        if (word.endsWith("he") || word.endsWith("hi")) {
+            char c = word.charAt(n - 3);
+            if (c == 'c' || c == 'g') return word.substring(0, n - 2);
+        }
+        switch (word.charAt(n - 1)) {
+            case 'a':
+            case 'e':
+            case 'i':
+            case 'o':
+                return word.substring(0, n - 1);
+            default:
+                return word;
+        }
+    }
+
+    /**
+     * Splits a text into lower-case words of letters and digits, without accents.
+     */
+    static List<String> words(String text) {
+        if (text == null || text.isEmpty()) return Collections.emptyList();
+
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        List<String> words = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= decomposed.length(); i++) {
+            char c = (i < decomposed.length()) ? decomposed.charAt(i) : ' ';
+            if (Character.getType(c) == Character.NON_SPACING_MARK) continue;
+
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (word.length() > 0) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+        }
+        return words;
+    }
+}
@@ -0,0 +1,120 @@
+package model.dao;
+
+import model.dto.PageDTO;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Helper for keyset (seek) pagination over a {@code (date, id)} ordering, by default descending.
+ * <p>
+ * Instead of {@code OFFSET}, each page starts right after the last row of the previous one:
+ * {@code WHERE (date < ? OR (date = ? AND id < ?)) ORDER BY date DESC, id DESC LIMIT ?}.
+ * With an index ending in {@code (date, id)} the cost of a page does not depend on its position.
+ * The ID breaks ties between rows with the same date, so no row is skipped or repeated.
+ * </p>
+ * <p>
+ * The cursor is the string {@code <epochMillis>_<id>} of the last row of the page.
+ * </p>
+ */
+final class Keyset {
+
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+
+    private Keyset() {
+    }
+
+    /**
+     * Position decoded from a cursor.
+     */
+    static final class Key {
+        final Timestamp date;
+        final int id;
+
+        private Key(Timestamp date, int id) {
+            this.date = date;
+            this.id = id;
+        }
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encode}.
+     *
+     * @param cursor the cursor sent by the client (may be null).
+     * @return the position, or null to start from the first page (also for malformed cursors).
+     */
+    static Key decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) return null;
+
+        int sep = cursor.indexOf('_');
+        if (sep <= 0) return null;
+
+        try {
+            long millis = Long.parseLong(cursor.substring(0, sep));
+            int id = Integer.parseInt(cursor.substring(sep + 1));
+            return (id > 0) ? new Key(new Timestamp(millis), id) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static String encode(LocalDateTime date, int id) {
+        long millis = (date != null) ? Timestamp.valueOf(date).getTime() : 0L;
+        return millis + "_" + id;
+    }
+
+    /**
+     * Normalizes the requested page size to the range {@code [1, MAX_PAGE_SIZE]}.
+     */
+    static int pageSize(int requested) {
+        if (requested <= 0) return DEFAULT_PAGE_SIZE;
+        return Math.min(requested, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Returns the seek predicate on the given columns, to be combined with {@code AND}.
+     */
+    static String after(String dateColumn, String idColumn) {
+        return after(dateColumn, idColumn, true);
+    }
+
+    /**
+     * Returns the seek predicate for a {@code (date, id)} ordering in the given direction.
+     *
+     * @param descending true for {@code ORDER BY date DESC, id DESC}, false for ascending order.
+     */
+    static String after(String dateColumn, String idColumn, boolean descending) {
+        String op = descending ? " < " : " > ";
+        return "(" + dateColumn + op + "? OR (" + dateColumn + " = ? AND " + idColumn + op + "?))";
+    }
+
+    /**
+     * Binds the parameters of {@link #after}, starting at {@code index}.
+     *
+     * @return the index of the next free parameter.
+     */
+    static int bind(PreparedStatement ps, int index, Key key) throws SQLException {
+        ps.setTimestamp(index++, key.date);
+        ps.setTimestamp(index++, key.date);
+        ps.setInt(index++, key.id);
+        return index;
+    }
+
+    /**
+     * Builds the page from the rows read with {@code LIMIT pageSize + 1}: the extra row,
+     * if present, only tells that another page exists and is dropped.
+     */
+    static <T> PageDTO<T> toPage(List<T> rows, int pageSize, Function<T, String> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new PageDTO<>(rows, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new PageDTO<>(new ArrayList<>(items), cursorOf.apply(items.get(pageSize - 1)));
+    }
+}
@@ -1,10 +1,22 @@
 package model.dao;
 
 import model.dto.PerformerDTO;
+import model.storage.CvStore;
 
 import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.*;
 import java.util.*;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object (DAO) for managing Performer entities.
@@ -13,6 +25,11 @@ import java.util.*;
  * It implements the CRUD (Create, Read, Update, Delete) operations and manages
  * the mapping between the relational database schema and the Java object model.
  * </p>
+ * <p>
+ * CV files are kept either in the {@code CV_Data} BLOB column (default) or, when a {@link CvStore}
+ * is supplied, in an external content-addressed store: in that case the row only records
+ * {@code CV_Hash}, {@code CV_Size} and {@code CV_MimeType}. Reads work for both kinds of rows.
+ * </p>
  *
  */
 public class PerformerDAO implements GenericDAO<PerformerDTO, Integer>{
@@ -23,16 +40,63 @@ public class PerformerDAO implements GenericDAO<PerformerDTO, Integer>{
 
     private static final String DEFAULT_ORDER_COLUMN = "PerformerID";
 
+    // Rows written before CV_Size existed only have the BLOB length
+    private static final String CV_SIZE_EXPR = "COALESCE(CV_Size, OCTET_LENGTH(CV_Data)) AS CV_Size";
+
+    // Profile columns in the positional order read by extractPerformerFromResultSet; FULL appends CV_Data
+    private static final String PROFILE_COLUMNS =
+            "PerformerID, Gender, Category, Description, CV_MimeType, CV_Hash, " + CV_SIZE_EXPR + ", ProfilePhoto, UserID";
+
+    /**
+     * Column projections supported by the finder methods.
+     * <p>
+     * {@code CV_Data} is a MEDIUMBLOB (up to 16 MB): only the {@link #FULL} projection transfers it,
+     * the others read at most its length so that the binary is fetched only when actually needed
+     * (see {@link #getCvData(int)}).
+     * </p>
+     */
+    public enum Projection {
+        /** Only the primary key. */
+        ID_ONLY("PerformerID"),
+        /** Every profile column, with the CV replaced by its size and hash. */
+        PROFILE(PROFILE_COLUMNS),
+        /** The complete record, CV binary included when it is kept in the BLOB column. */
+        FULL(PROFILE_COLUMNS + ", CV_Data");
+
+        private final String columns;
+
+        Projection(String columns) {
+            this.columns = columns;
+        }
+
+        String getColumns() {
+            return columns;
+        }
+    }
+
     private final DataSource dataSource;
+    private final CvStore cvStore;
 
     /**
-     * Constructs a new PerformerDAO with the specified DataSource.
+     * Constructs a new PerformerDAO with the specified DataSource, keeping CVs in the BLOB column.
      *
      * @param dataSource the DataSource used to obtain database connections.
      * @throws NullPointerException if the provided dataSource is null.
      */
     public PerformerDAO(DataSource dataSource) {
+        this(dataSource, null);
+    }
+
+    /**
+     * Constructs a new PerformerDAO with the specified DataSource and CV storage backend.
+     *
+     * @param dataSource the DataSource used to obtain database connections.
+     * @param cvStore    the store used for new CVs, or {@code null} to keep them in the BLOB column.
+     * @throws NullPointerException if the provided dataSource is null.
+     */
+    public PerformerDAO(DataSource dataSource, CvStore cvStore) {
         this.dataSource = Objects.requireNonNull(dataSource, "DataSource cannot be null");
+        this.cvStore = cvStore;
     }
 
     /**
@@ -43,6 +107,8 @@ public class PerformerDAO implements GenericDAO<PerformerDTO, Integer>{
      * <li>If {@code performerID} is 0, a new record is created (INSERT), and the generated ID is set on the DTO.</li>
      * <li>If {@code performerID} is greater than 0, the existing record is updated (UPDATE).</li>
      * </ul>
+     * On UPDATE, a DTO without CV data leaves the stored file untouched, so DTOs loaded
+     * without the binary (see {@link Projection}) can be saved safely.
      * </p>
      *
      * @param performer the PerformerDTO object to save.
@@ -50,6 +116,25 @@ public class PerformerDAO implements GenericDAO<PerformerDTO, Integer>{
      * @throws IllegalArgumentException if the performer is null, lacks a valid UserID, or has missing mandatory fields.
      */
     public void save(PerformerDTO performer) throws SQLException {
+        save(performer, null);
+    }
+
+    /**
+     * Persists a Performer object, streaming the CV from the given source instead of
+     * materializing it as a {@code byte[]}.
+     * <p>
+     * The stream is bound with {@link PreparedStatement#setBinaryStream(int, InputStream, long)}
+     * using {@link PerformerDTO#getCvSize()} as its length, or copied to the {@link CvStore} when one is configured.
+     * When {@code cvStream} is {@code null} the behaviour is the same as {@link #save(PerformerDTO)}.
+     * The caller remains responsible for closing the stream.
+     * </p>
+     *
+     * @param performer the PerformerDTO object to save.
+     * @param cvStream  the CV content, or {@code null} to use {@link PerformerDTO#getCvData()}.
+     * @throws SQLException if a database access error occurs.
+     * @throws IllegalArgumentException if the performer is null, lacks a valid UserID, or has missing mandatory fields.
+     */
+    public void save(PerformerDTO performer, InputStream cvStream) throws SQLException {
         if (performer == null || performer.getGender() == null || performer.getCategory() == null ||
                 performer.getDescription() == null || performer.getDescription().trim().isEmpty() ||
                 performer.getProfilePhoto() == null || performer.getProfilePhoto().trim().isEmpty()) {
@@ -60,15 +145,30 @@ public class PerformerDAO implements GenericDAO<PerformerDTO, Integer>{
             throw new IllegalArgumentException("Performer must be associated with a valid UserID");
         }
 
+        boolean hasNewCv = cvStream != null || performer.getCvData() != null;
+        // BLOB mode: the SHA-256 of a streamed CV is computed while the driver sends it, and recorded after the write
+        MessageDigest cvDigest = null;
+        if (hasNewCv && cvStore != null) {
+            storeCv(performer, cvStream);
+            cvStream = null;
+        } else if (cvStream != null) {
+            cvDigest = sha256();
+            cvStream = new DigestInputStream(cvStream, cvDigest);
+            performer.setCvHash(null);
+        } else if (hasNewCv) {
+            performer.setCvHash(HexFormat.of().formatHex(sha256().digest(performer.getCvData())));
+        }
+
         String sql;
 
         if (performer.getPerformerID() == 0) {
             // INSERT
-            sql = "INSERT INTO Performer (Gender, Category, Description, CV_Data, CV_MimeType, ProfilePhoto, UserID) VALUES (?, ?, ?, ?, ?, ?, ?)";
+            sql = "INSERT INTO Performer (Gender, Category, Description, ProfilePhoto, UserID, CV_Data, CV_MimeType, CV_Hash, CV_Size) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
             try (Connection connection = dataSource.getConnection();
                  PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
                 setStatementParameters(ps, performer);
+                setCvParameters(ps, 6, performer, cvStream);
 
                 int affectedRows = ps.executeUpdate();
                 if (affectedRows == 0) {
@@ -82,15 +182,29 @@ public class PerformerDAO implements GenericDAO<PerformerDTO, Integer>{
                         throw new SQLException("Creating performer failed, no ID obtained.");
                     }
                 }
+                recordCvHash(connection, performer, cvDigest);
+            }
+        } else if (hasNewCv) {
+            // UPDATE (profile and CV)
+            sql = "UPDATE Performer SET Gender=?, Category=?, Description=?, ProfilePhoto=?, UserID=?, CV_Data=?, CV_MimeType=?, CV_Hash=?, CV_Size=? WHERE PerformerID=?";
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement ps = connection.prepareStatement(sql)) {
+
+                setStatementParameters(ps, performer);
+                setCvParameters(ps, 6, performer, cvStream);
+                ps.setInt(10, performer.getPerformerID());
+
+                ps.executeUpdate();
+                recordCvHash(connection, performer, cvDigest);
             }
         } else {
-            // UPDATE
-            sql = "UPDATE Performer SET Gender=?, Category=?, Description=?, CV_Data=?, CV_MimeType=?, ProfilePhoto=?, UserID=? WHERE PerformerID=?";
+            // UPDATE (profile only, the stored CV is kept)
+            sql = "UPDATE Performer SET Gender=?, Category=?, Description=?, ProfilePhoto=?, UserID=? WHERE PerformerID=?";
             try (Connection connection = dataSource.getConnection();
                  PreparedStatement ps = connection.prepareStatement(sql)) {
 
                 setStatementParameters(ps, performer);
-                ps.setInt(8, performer.getPerformerID());
+                ps.setInt(6, performer.getPerformerID());
 
                 ps.executeUpdate();
             }
@@ -126,19 +240,20 @@ public class PerformerDAO implements GenericDAO<PerformerDTO, Integer>{
      * @throws SQLException if a database access error occurs.
      */
     public PerformerDTO getByID(Integer performerID) throws SQLException {
-        if (performerID == null || performerID <= 0) return null;
+        return getByID(performerID, Projection.FULL);
+    }
 
-        String sql = "SELECT * FROM Performer WHERE PerformerID = ?";
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setInt(1, performerID);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    return extractPerformerFromResultSet(rs);
-                }
-            }
-        }
-        return null;
+    /**
+     * Retrieves a Performer by their unique primary key, reading only the columns of the given projection.
+     *
+     * @param performerID the ID to search for.
+     * @param projection  the set of columns to load.
+     * @return the PerformerDTO if found, or {@code null} if no record matches the ID.
+     * @throws SQLException if a database access error occurs.
+     */
+    public PerformerDTO getByID(Integer performerID, Projection projection) throws SQLException {
+        if (performerID == null || performerID <= 0) return null;
+        return findOne("PerformerID", performerID, projection);
     }
 
     /**
@@ -153,19 +268,51 @@ public class PerformerDAO implements GenericDAO<PerformerDTO, Integer>{
      * @throws SQLException if a database access error occurs.
      */
     public PerformerDTO getByUserID(Integer userID) throws SQLException {
+        return getByUserID(userID, Projection.FULL);
+    }
+
+    /**
+     * Retrieves a Performer profile associated with a specific User account,
+     * reading only the columns of the given projection.
+     *
+     * @param userID     the foreign key representing the User account.
+     * @param projection the set of columns to load.
+     * @return the PerformerDTO if found, or {@code null} if the user has not created a performer profile.
+     * @throws SQLException if a database access error occurs.
+     */
+    public PerformerDTO getByUserID(Integer userID, Projection projection) throws SQLException {
         if (userID == null || userID <= 0) return null;
+        return findOne("UserID", userID, projection);
+    }
 
-        String sql = "SELECT * FROM Performer WHERE UserID = ?";
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setInt(1, userID);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    return extractPerformerFromResultSet(rs);
-                }
-            }
-        }
-        return null;
+    /**
+     * Retrieves the Performer profile of a User without transferring the CV binary.
+     * <p>
+     * The returned DTO carries the CV size and MIME type, so callers can still tell
+     * whether a CV is present; the file itself is loaded on demand through {@link #getCvData(int)}.
+     * </p>
+     *
+     * @param userID the foreign key representing the User account.
+     * @return the PerformerDTO without {@code cvData}, or {@code null} if not found.
+     * @throws SQLException if a database access error occurs.
+     */
+    public PerformerDTO getProfileByUserID(Integer userID) throws SQLException {
+        return getByUserID(userID, Projection.PROFILE);
+    }
+
+    /**
+     * Resolves the PerformerID associated with a User account.
+     * <p>
+     * Lightweight lookup for controllers that only need the key (e.g. to submit or check an application).
+     * </p>
+     *
+     * @param userID the foreign key representing the User account.
+     * @return the PerformerID, or {@code 0} if the user has no performer profile.
+     * @throws SQLException if a database access error occurs.
+     */
+    public int getPerformerIDByUserID(Integer userID) throws SQLException {
+        PerformerDTO p = getByUserID(userID, Projection.ID_ONLY);
+        return (p != null) ? p.getPerformerID() : 0;
     }
 
     /**
@@ -178,7 +325,7 @@ public class PerformerDAO implements GenericDAO<PerformerDTO, Integer>{
      */
     public Collection<PerformerDTO> getAll(String order) throws SQLException {
         String actualOrder = (order != null && ALLOWED_ORDER_COLUMNS.contains(order)) ? order : DEFAULT_ORDER_COLUMN;
-        String sql = "SELECT * FROM Performer ORDER BY " + actualOrder;
+        String sql = "SELECT " + Projection.FULL.getColumns() + " FROM Performer ORDER BY " + actualOrder;
 
         Collection<PerformerDTO> list = new ArrayList<>();
         try (Connection connection = dataSource.getConnection();
@@ -191,8 +338,87 @@ public class PerformerDAO implements GenericDAO<PerformerDTO, Integer>{
         return list;
     }
 
+    /**
+     * Streams all performer profiles row by row, without the CV binary.
+     *
+     * @param order the column name to sort by (see {@link #getAll(String)}).
+     * @return a stream of performers; it must be closed to release the connection.
+     * @throws SQLException if a database access error occurs.
+     */
+    public Stream<PerformerDTO> streamAll(String order) throws SQLException {
+        return streamAll(order, Projection.PROFILE);
+    }
+
+    /**
+     * Streams all performers row by row, reading only the columns of the given projection.
+     * <p>
+     * Rows are fetched from the server one at a time. With {@link Projection#FULL} each CV in the BLOB
+     * column is still loaded, one row at a time.
+     * </p>
+     *
+     * @param order      the column name to sort by (see {@link #getAll(String)}).
+     * @param projection the columns to read.
+     * @return a stream of performers; it must be closed to release the connection.
+     * @throws SQLException if a database access error occurs.
+     */
+    public Stream<PerformerDTO> streamAll(String order, Projection projection) throws SQLException {
+        Projection actualProjection = (projection != null) ? projection : Projection.PROFILE;
+        String actualOrder = (order != null && ALLOWED_ORDER_COLUMNS.contains(order)) ? order : DEFAULT_ORDER_COLUMN;
+        String sql = "SELECT " + actualProjection.getColumns() + " FROM Performer ORDER BY " + actualOrder;
+        return ResultSetStream.of(dataSource, sql, rs -> extractPerformerFromResultSet(rs, actualProjection));
+    }
+
+    /**
+     * Retrieves the performers matching the given IDs (full records).
+     *
+     * @param performerIDs the IDs to search for; nulls, non-positive values and duplicates are ignored.
+     * @return a map from ID to PerformerDTO, containing only the IDs that were found.
+     * @throws SQLException if a database access error occurs.
+     */
+    public Map<Integer, PerformerDTO> getByIDs(Collection<Integer> performerIDs) throws SQLException {
+        return getByIDs(performerIDs, Projection.FULL);
+    }
+
+    /**
+     * Retrieves the performers matching the given IDs, reading only the columns of the given projection.
+     * <p>
+     * Runs a single query per chunk of {@value InClause#MAX_CHUNK_SIZE} keys.
+     * </p>
+     *
+     * @param performerIDs the IDs to search for; nulls, non-positive values and duplicates are ignored.
+     * @param projection   the set of columns to load.
+     * @return a map from ID to PerformerDTO, containing only the IDs that were found.
+     * @throws SQLException if a database access error occurs.
+     */
+    public Map<Integer, PerformerDTO> getByIDs(Collection<Integer> performerIDs, Projection projection) throws SQLException {
+        Map<Integer, PerformerDTO> result = new HashMap<>();
+        List<Integer> ids = InClause.validIds(performerIDs);
+        if (ids.isEmpty()) return result;
+
+        Projection actual = (projection != null) ? projection : Projection.FULL;
+        try (Connection connection = dataSource.getConnection()) {
+            for (List<Integer> chunk : InClause.chunks(ids)) {
+                String sql = "SELECT " + actual.getColumns() + " FROM Performer WHERE PerformerID IN (" + InClause.placeholders(chunk.size()) + ")";
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    InClause.bind(ps, 1, chunk);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            PerformerDTO p = extractPerformerFromResultSet(rs, actual);
+                            result.put(p.getPerformerID(), p);
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
     /**
      * Retrieves only the Curriculum Vitae (CV) binary data and its MIME type for a specific performer.
+     * <p>
+     * This is the lazy counterpart of the {@link Projection#PROFILE} finders: the binary is read
+     * only when the CV is actually downloaded.
+     * </p>
      *
      * @param performerID the unique identifier of the performer.
      * @return a {@link PerformerDTO} populated only with the CV binary data and MIME type,
@@ -200,7 +426,7 @@ public class PerformerDAO implements GenericDAO<PerformerDTO, Integer>{
      * @throws SQLException if a database access error occurs during the query execution.
      */
     public PerformerDTO getCvData(int performerID) throws SQLException {
-        String sql = "SELECT CV_Data, CV_MimeType FROM Performer WHERE PerformerID = ?";
+        String sql = "SELECT CV_Data, CV_MimeType, CV_Hash FROM Performer WHERE PerformerID = ?";
         try (Connection con = dataSource.getConnection();
              PreparedStatement ps = con.prepareStatement(sql)) {
 
@@ -211,6 +437,16 @@ public class PerformerDAO implements GenericDAO<PerformerDTO, Integer>{
                     PerformerDTO p = new PerformerDTO();
                     p.setCvData(rs.getBytes("CV_Data"));
                     p.setCvMimeType(rs.getString("CV_MimeType"));
+                    p.setCvHash(rs.getString("CV_Hash"));
+
+                    Path file = locateCv(p);
+                    if (p.getCvData() == null && file != null) {
+                        try {
+                            p.setCvData(Files.readAllBytes(file));
+                        } catch (IOException e) {
+                            throw new SQLException("Reading CV from store failed.", e);
+                        }
+                    }
                     return p;
                 }
             }
@@ -218,8 +454,211 @@ public class PerformerDAO implements GenericDAO<PerformerDTO, Integer>{
         return null;
     }
 
+    /**
+     * Retrieves the metadata of a performer's CV (size, MIME type and content hash) without transferring the file.
+     * <p>
+     * The hash is meant to be used as an HTTP entity tag: it is the SHA-256 of the file, recorded when the
+     * CV is saved (or by the {@code V002} migration for older rows) wherever the file is kept, so it is
+     * never computed on read.
+     * </p>
+     *
+     * @param performerID the unique identifier of the performer.
+     * @return a {@link PerformerDTO} populated only with the CV metadata, or {@code null} if no performer is found.
+     * @throws SQLException if a database access error occurs.
+     */
+    public PerformerDTO getCvInfo(int performerID) throws SQLException {
+        String sql = "SELECT PerformerID, CV_MimeType, " + CV_SIZE_EXPR + ", CV_Hash, CV_Data IS NOT NULL AS CV_InDatabase " +
+                "FROM Performer WHERE PerformerID = ?";
+        try (Connection con = dataSource.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+
+            ps.setInt(1, performerID);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    PerformerDTO p = new PerformerDTO();
+                    p.setPerformerID(rs.getInt("PerformerID"));
+                    p.setCvMimeType(rs.getString("CV_MimeType"));
+                    p.setCvSize(rs.getLong("CV_Size"));
+                    p.setCvHash(rs.getString("CV_Hash"));
+                    p.setCvInDatabase(rs.getBoolean("CV_InDatabase"));
+                    return p;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Tells whether the bytes of a CV can be read, either from the BLOB column or from a file of the {@link CvStore}.
+     * <p>
+     * A CV moved to the store has an empty BLOB column: if its file is missing, or the store is disabled,
+     * it cannot be served even though its metadata says it exists.
+     * </p>
+     *
+     * @param cv the CV metadata, as returned by {@link #getCvInfo(int)}.
+     * @return {@code true} if {@link #copyCv} can copy the CV.
+     */
+    public boolean isCvReadable(PerformerDTO cv) {
+        return cv != null && (cv.isCvInDatabase() || locateCv(cv) != null);
+    }
+
+    /**
+     * Resolves the file of a CV kept in the {@link CvStore}.
+     *
+     * @param cv a DTO carrying the CV hash, as returned by {@link #getCvInfo(int)}.
+     * @return the path of the file, or {@code null} if the CV is kept in the BLOB column or no store is configured.
+     */
+    public Path locateCv(PerformerDTO cv) {
+        if (cvStore == null || cv == null || cv.getCvHash() == null) return null;
+        return cvStore.locate(cv.getCvHash());
+    }
+
+    /**
+     * Copies a byte range of a performer's CV to the given output stream.
+     * <p>
+     * CVs kept in the {@link CvStore} are copied with {@link CvStore#transferTo}.
+     * CVs kept in the BLOB column are read with a single {@code SUBSTRING} of the requested range, so the
+     * server reads the BLOB once; the result set is streamed (fetch size {@link Integer#MIN_VALUE}) and
+     * copied through {@link ResultSet#getBinaryStream}, without building a {@code byte[]} of the file.
+     * </p>
+     *
+     * @param cv     the CV metadata, as returned by {@link #getCvInfo(int)}.
+     * @param offset the zero-based position of the first byte to copy.
+     * @param length the number of bytes to copy.
+     * @param out    the destination stream (not closed by this method).
+     * @return the number of bytes written, always {@code length}.
+     * @throws SQLException if a database access error occurs.
+     * @throws IOException  if the CV cannot be read ({@link #isCvReadable}), is shorter than the requested range,
+     *                      or writing to the output stream fails.
+     */
+    public long copyCv(PerformerDTO cv, long offset, long length, OutputStream out) throws SQLException, IOException {
+        if (cv == null || offset < 0 || length <= 0) return 0;
+
+        long written;
+        if (locateCv(cv) != null) {
+            written = cvStore.transferTo(cv.getCvHash(), offset, length, Channels.newChannel(out));
+        } else if (cv.isCvInDatabase()) {
+            written = copyCvFromBlob(cv.getPerformerID(), offset, length, out);
+        } else {
+            throw new IOException("CV of performer " + cv.getPerformerID() + " is neither in the database nor in the store.");
+        }
+
+        if (written < length) {
+            throw new IOException("CV of performer " + cv.getPerformerID() + " truncated: " + written + " of " + length + " bytes copied.");
+        }
+        return written;
+    }
+
+    /**
+     * Copies a byte range of the BLOB column; returns 0 if the column is empty.
+     */
+    private long copyCvFromBlob(int performerID, long offset, long length, OutputStream out) throws SQLException, IOException {
+        String sql = "SELECT SUBSTRING(CV_Data, ?, ?) FROM Performer WHERE PerformerID = ? AND CV_Data IS NOT NULL";
+        try (Connection con = dataSource.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            ps.setFetchSize(Integer.MIN_VALUE);
+            ps.setLong(1, offset + 1); // SUBSTRING is 1-based
+            ps.setLong(2, length);
+            ps.setInt(3, performerID);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) return 0;
+                try (InputStream in = rs.getBinaryStream(1)) {
+                    return (in != null) ? in.transferTo(out) : 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves a batch of CVs from the {@code CV_Data} BLOB column to the configured {@link CvStore}.
+     * <p>
+     * Each CV is streamed to the store one row at a time; the rows of the batch are then updated
+     * (hash and size set, BLOB cleared) with a single JDBC batch inside one transaction.
+     * Call repeatedly until it returns 0 to migrate the whole table.
+     * </p>
+     *
+     * @param batchSize the maximum number of CVs to migrate.
+     * @return the number of CVs migrated by this call.
+     * @throws SQLException if a database access error occurs.
+     * @throws IOException  if a CV cannot be written to the store.
+     * @throws IllegalStateException if this DAO has no CvStore.
+     */
+    public int migrateCvsToStore(int batchSize) throws SQLException, IOException {
+        if (cvStore == null) {
+            throw new IllegalStateException("No CvStore configured: nothing to migrate to.");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+
+        String selectIds = "SELECT PerformerID FROM Performer WHERE CV_Data IS NOT NULL ORDER BY PerformerID LIMIT ?";
+        String selectCv = "SELECT CV_Data FROM Performer WHERE PerformerID = ?";
+        String update = "UPDATE Performer SET CV_Data = NULL, CV_Hash = ?, CV_Size = ? WHERE PerformerID = ?";
+
+        try (Connection con = dataSource.getConnection()) {
+            List<Integer> ids = new ArrayList<>();
+            try (PreparedStatement ps = con.prepareStatement(selectIds)) {
+                ps.setInt(1, batchSize);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        ids.add(rs.getInt(1));
+                    }
+                }
+            }
+            if (ids.isEmpty()) return 0;
+
+            con.setAutoCommit(false);
+            try (PreparedStatement read = con.prepareStatement(selectCv);
+                 PreparedStatement write = con.prepareStatement(update)) {
+
+                for (int id : ids) {
+                    read.setInt(1, id);
+                    try (ResultSet rs = read.executeQuery()) {
+                        if (!rs.next()) continue;
+                        try (InputStream in = rs.getBinaryStream(1)) {
+                            if (in == null) continue;
+                            CvStore.StoredFile stored = cvStore.store(in);
+                            write.setString(1, stored.getHash());
+                            write.setLong(2, stored.getSize());
+                            write.setInt(3, id);
+                            write.addBatch();
+                        }
+                    }
+                }
+
+                write.executeBatch();
+                con.commit();
+                return ids.size();
+
+            } catch (SQLException | IOException | RuntimeException e) {
+                con.rollback();
+                throw e;
+            } finally {
+                con.setAutoCommit(true);
+            }
+        }
+    }
+
     // --- Helper Methods ---
 
+    private PerformerDTO findOne(String keyColumn, int key, Projection projection) throws SQLException {
+        Projection actual = (projection != null) ? projection : Projection.FULL;
+        String sql = "SELECT " + actual.getColumns() + " FROM Performer WHERE " + keyColumn + " = ?";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, key);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return extractPerformerFromResultSet(rs, actual);
+                }
+            }
+        }
+        return null;
+    }
+
     /**
      * Sets the parameters of the PreparedStatement based on the PerformerDTO.
      * Handles specific mapping for Enums and Nullable fields.
@@ -230,94 +669,130 @@ public class PerformerDAO implements GenericDAO<PerformerDTO, Integer>{
      */
     private void setStatementParameters(PreparedStatement ps, PerformerDTO performer) throws SQLException {
         if (performer.getGender() != null) {
-            ps.setString(1, performer.getGender().name());
+            ps.setString(1, DbEnums.GENDER.toDb(performer.getGender()));
         } else {
             ps.setNull(1, Types.CHAR);
         }
 
         // Conversion logic: DTO "Attore_Attrice" -> DB "Attore/Attrice"
         if (performer.getCategory() != null) {
-            String dbValue = mapCategoryToDb(performer.getCategory());
-            ps.setString(2, dbValue);
+            ps.setString(2, DbEnums.PERFORMER_CATEGORY.toDb(performer.getCategory()));
         } else {
             ps.setNull(2, Types.VARCHAR);
         }
 
         ps.setString(3, performer.getDescription());
-        ps.setBytes(4, performer.getCvData());
-        ps.setString(5, performer.getCvMimeType());
-        ps.setString(6, performer.getProfilePhoto());
-        ps.setInt(7, performer.getUserID());
+        ps.setString(4, performer.getProfilePhoto());
+        ps.setInt(5, performer.getUserID());
     }
 
     /**
-     * Extracts a PerformerDTO from the current row of the ResultSet.
+     * Sets the CV parameters ({@code CV_Data, CV_MimeType, CV_Hash, CV_Size}) starting at the given index.
+     * <p>
+     * CVs already saved to the {@link CvStore} (hash set, no data) leave {@code CV_Data} NULL.
+     * </p>
      *
-     * @param rs the ResultSet cursor.
-     * @return a populated PerformerDTO.
-     * @throws SQLException if column access fails.
+     * @param ps        the PreparedStatement to populate.
+     * @param index     the index of the {@code CV_Data} parameter.
+     * @param performer the DTO containing the data.
+     * @param cvStream  the CV content to stream, or {@code null} to bind {@code performer.getCvData()}.
+     * @throws SQLException if parameter setting fails.
      */
-    private PerformerDTO extractPerformerFromResultSet(ResultSet rs) throws SQLException {
-        PerformerDTO p = new PerformerDTO();
-        p.setPerformerID(rs.getInt("PerformerID"));
-
-        // Gender Mapping
-        String genderStr = rs.getString("Gender");
-        if (genderStr != null) {
-            try {
-                p.setGender(PerformerDTO.Gender.valueOf(genderStr));
-            } catch (IllegalArgumentException e) {
-                // Log error or ignore if enum constraint is violated in DB
-            }
+    private void setCvParameters(PreparedStatement ps, int index, PerformerDTO performer, InputStream cvStream) throws SQLException {
+        long size = performer.getCvSize();
+        if (cvStream != null) {
+            ps.setBinaryStream(index, cvStream, size);
+        } else {
+            ps.setBytes(index, performer.getCvData());
+            if (performer.getCvData() != null) size = performer.getCvData().length;
         }
+        ps.setString(index + 1, performer.getCvMimeType());
+        ps.setString(index + 2, performer.getCvHash());
 
-        // Category Mapping (DB "Attore/Attrice" -> DTO "Attore_Attrice")
-        String catStr = rs.getString("Category");
-        if (catStr != null) {
-            p.setCategory(mapDbToCategory(catStr));
+        if (size > 0) {
+            ps.setLong(index + 3, size);
+        } else {
+            ps.setNull(index + 3, Types.BIGINT);
         }
+    }
 
-        p.setDescription(rs.getString("Description"));
-        p.setCvData(rs.getBytes("CV_Data"));
-        p.setCvMimeType(rs.getString("CV_MimeType"));
-        p.setProfilePhoto(rs.getString("ProfilePhoto"));
-        p.setUserID(rs.getInt("UserID"));
+    /**
+     * Records the SHA-256 of a CV streamed to the BLOB column, once the driver has read the whole stream.
+     */
+    private void recordCvHash(Connection connection, PerformerDTO performer, MessageDigest cvDigest) throws SQLException {
+        if (cvDigest == null) return;
+
+        performer.setCvHash(HexFormat.of().formatHex(cvDigest.digest()));
+        try (PreparedStatement ps = connection.prepareStatement("UPDATE Performer SET CV_Hash = ? WHERE PerformerID = ?")) {
+            ps.setString(1, performer.getCvHash());
+            ps.setInt(2, performer.getPerformerID());
+            ps.executeUpdate();
+        }
+    }
 
-        return p;
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     /**
-     * Maps the Java Enum Category to the Database String format.
-     * Handles special characters (like slashes) that cannot be part of Java identifiers.
-     *
-     * @param category the Java Enum value.
-     * @return the corresponding String value for the Database.
+     * Copies the CV of the performer to the {@link CvStore} and records its hash and size on the DTO.
+     * The binary is then dropped from the DTO, so that it is not written to the BLOB column.
      */
-    private String mapCategoryToDb(PerformerDTO.Category category) {
-        switch (category) {
-            case Attore_Attrice: return "Attore/Attrice";
-            case Doppiatore_trice: return "Doppiatore/trice";
-            default: return category.name();
+    private void storeCv(PerformerDTO performer, InputStream cvStream) throws SQLException {
+        InputStream in = (cvStream != null) ? cvStream : new ByteArrayInputStream(performer.getCvData());
+        try {
+            CvStore.StoredFile stored = cvStore.store(in);
+            performer.setCvHash(stored.getHash());
+            performer.setCvSize(stored.getSize());
+            performer.setCvData(null);
+        } catch (IOException e) {
+            throw new SQLException("Storing CV failed.", e);
         }
     }
 
     /**
-     * Maps the Database String format to the Java Enum Category.
-     * Reverses the logic of mapCategoryToDb(PerformerDTO.Category).
+     * Extracts a PerformerDTO from the current row of the ResultSet.
      *
-     * @param dbValue the String value from the Database.
-     * @return the corresponding Java Enum value, or null if mapping fails.
+     * @param rs the ResultSet cursor.
+     * @return a populated PerformerDTO.
+     * @throws SQLException if column access fails.
      */
-    private PerformerDTO.Category mapDbToCategory(String dbValue) {
-        switch (dbValue) {
-            case "Attore/Attrice": return PerformerDTO.Category.Attore_Attrice;
-            case "Doppiatore/trice": return PerformerDTO.Category.Doppiatore_trice;
-            default:
-                try {
-                    return PerformerDTO.Category.valueOf(dbValue);
-                } catch (IllegalArgumentException e) {
-                    return null;
-                }
+    private PerformerDTO extractPerformerFromResultSet(ResultSet rs) throws SQLException {
+        return extractPerformerFromResultSet(rs, Projection.FULL);
+    }
+
+    /**
+     * Extracts a PerformerDTO from the current row of the ResultSet, reading only the
+     * columns included in the given projection.
+     *
+     * @param rs         the ResultSet cursor.
+     * @param projection the projection used by the query.
+     * @return a (possibly partially) populated PerformerDTO.
+     * @throws SQLException if column access fails.
+     */
+    private PerformerDTO extractPerformerFromResultSet(ResultSet rs, Projection projection) throws SQLException {
+        PerformerDTO p = new PerformerDTO();
+        p.setPerformerID(rs.getInt(1));
+        if (projection == Projection.ID_ONLY) {
+            return p;
         }
+
+        p.setGender(DbEnums.GENDER.fromDb(rs.getString(2)));
+        p.setCategory(DbEnums.PERFORMER_CATEGORY.fromDb(rs.getString(3)));
+        p.setDescription(rs.getString(4));
+        p.setCvMimeType(rs.getString(5));
+        p.setCvHash(rs.getString(6));
+        p.setCvSize(rs.getLong(7));
+        p.setProfilePhoto(rs.getString(8));
+        p.setUserID(rs.getInt(9));
+        if (projection == Projection.FULL) {
+            p.setCvData(rs.getBytes(10));
+        }
+
+        return p;
     }
-}
\ No newline at end of file
+}
@@ -1,11 +1,16 @@
 package model.dao;
 
+import model.ConnectionContext;
+import model.dto.PageDTO;
 import model.dto.ProductionDTO;
+import utils.Cache;
+import utils.CacheMXBean;
 
 import javax.sql.DataSource;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object (DAO) for managing ProductionDTO entities.
@@ -23,6 +28,18 @@ public class ProductionDAO implements GenericDAO<ProductionDTO, Integer> {
 
     private static final String DEFAULT_ORDER_COLUMN = "ProductionID";
 
+    /** Columns read by {@link #extractProductionFromResultSet}, in positional order. */
+    private static final String[] COLUMNS = {"ProductionID", "Title", "Type", "CreationDate", "PmID"};
+    private static final String SELECT_COLUMNS = Columns.list(null, COLUMNS);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO Production (Title, Type, CreationDate, PmID) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE_SQL =
+            "UPDATE Production SET Title=?, Type=?, CreationDate=?, PmID=? WHERE ProductionID=?";
+
+    // Shared by all the instances (DAOs are created per request); see getByID
+    private static final Cache<Integer, ProductionDTO> CACHE = new Cache<>("Production", 2_000, 10 * 60);
+
     private final DataSource dataSource;
 
     /**
@@ -46,18 +63,12 @@ public class ProductionDAO implements GenericDAO<ProductionDTO, Integer> {
      */
     @Override
     public void save(ProductionDTO production) throws SQLException {
-        if (production == null || production.getTitle() == null || production.getTitle().trim().isEmpty() ||
-                production.getType() == null || production.getCreationDate() == null ) {
-            throw new IllegalArgumentException("ProductionDTO cannot be null");
-        }
-        if (production.getPmID() <= 0) {
-            throw new IllegalArgumentException("A Production must be assigned to a valid Production Manager (PmID).");
-        }
+        validate(production);
 
         String sql;
         if (production.getProductionID() == 0) {
             // INSERT
-            sql = "INSERT INTO Production (Title, Type, CreationDate, PmID) VALUES (?, ?, ?, ?)";
+            sql = INSERT_SQL;
             try (Connection connection = dataSource.getConnection();
                  PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
@@ -78,7 +89,7 @@ public class ProductionDAO implements GenericDAO<ProductionDTO, Integer> {
             }
         } else {
             // UPDATE
-            sql = "UPDATE Production SET Title=?, Type=?, CreationDate=?, PmID=? WHERE ProductionID=?";
+            sql = UPDATE_SQL;
             try (Connection connection = dataSource.getConnection();
                  PreparedStatement ps = connection.prepareStatement(sql)) {
 
@@ -87,6 +98,58 @@ public class ProductionDAO implements GenericDAO<ProductionDTO, Integer> {
 
                 ps.executeUpdate();
             }
+            invalidate(production.getProductionID());
+        }
+    }
+
+    /**
+     * Saves all the given productions in a single transaction, using batches of {@value Batch#DEFAULT_BATCH_SIZE} rows.
+     *
+     * @param productions the productions to save.
+     * @throws SQLException if a database error occurs; no production is saved in that case.
+     * @see #saveAll(Collection, int)
+     */
+    @Override
+    public void saveAll(Collection<ProductionDTO> productions) throws SQLException {
+        saveAll(productions, Batch.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Saves all the given productions in a single transaction with batched statements.
+     * <p>
+     * New records ({@code ID == 0}) are inserted in batches of {@code batchSize} rows and receive
+     * their generated IDs; existing records are updated in batches as well. The whole operation
+     * is atomic: if a row fails, nothing is saved.
+     * </p>
+     *
+     * @param productions the productions to save.
+     * @param batchSize the number of rows sent to the database at once.
+     * @throws SQLException if a database error occurs.
+     */
+    public void saveAll(Collection<ProductionDTO> productions, int batchSize) throws SQLException {
+        if (productions == null || productions.isEmpty()) return;
+
+        List<ProductionDTO> inserts = new ArrayList<>();
+        List<ProductionDTO> updates = new ArrayList<>();
+        for (ProductionDTO production : productions) {
+            validate(production);
+            if (production.getProductionID() == 0) {
+                inserts.add(production);
+            } else {
+                updates.add(production);
+            }
+        }
+
+        Batch.inTransaction(dataSource, connection -> {
+            Batch.insert(connection, INSERT_SQL, inserts, batchSize, this::setStatementParameters, ProductionDTO::setProductionID);
+            Batch.update(connection, UPDATE_SQL, updates, batchSize, (ps, production) -> {
+                setStatementParameters(ps, production);
+                ps.setInt(5, production.getProductionID());
+            });
+        });
+
+        for (ProductionDTO production : updates) {
+            invalidate(production.getProductionID());
         }
     }
 
@@ -108,15 +171,27 @@ public class ProductionDAO implements GenericDAO<ProductionDTO, Integer> {
         }
 
         String sql = "DELETE FROM Production WHERE ProductionID = ?";
+        boolean deleted;
         try (Connection connection = dataSource.getConnection();
              PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, productionID);
-            return ps.executeUpdate() > 0;
+            deleted = ps.executeUpdate() > 0;
         }
+
+        if (deleted) {
+            invalidate(productionID);
+            CastingDAO.invalidateByProductionID(productionID); // ON DELETE CASCADE
+        }
+        return deleted;
     }
 
     /**
      * Retrieves a production by its unique ID.
+     * <p>
+     * Productions are read on almost every page and rarely change, so they are kept in a shared
+     * {@link Cache}, invalidated by {@link #save}, {@link #saveAll} and {@link #delete}.
+     * Each call returns a new copy, which the caller is free to modify.
+     * </p>
      *
      * @param productionID the ID to search for.
      * @return the ProductionDTO or null if not found.
@@ -126,7 +201,12 @@ public class ProductionDAO implements GenericDAO<ProductionDTO, Integer> {
     public ProductionDTO getByID(Integer productionID) throws SQLException {
         if (productionID == null || productionID <= 0) return null;
 
-        String sql = "SELECT * FROM Production WHERE ProductionID = ?";
+        ProductionDTO cached = CACHE.get(productionID, this::loadByID);
+        return (cached != null) ? copyOf(cached) : null;
+    }
+
+    private ProductionDTO loadByID(Integer productionID) throws SQLException {
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM Production WHERE ProductionID = ?";
         try (Connection connection = dataSource.getConnection();
              PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, productionID);
@@ -149,7 +229,7 @@ public class ProductionDAO implements GenericDAO<ProductionDTO, Integer> {
     public Collection<ProductionDTO> getByPmID(Integer pmID) throws SQLException {
         if (pmID == null || pmID <= 0) return new ArrayList<>();
 
-        String sql = "SELECT * FROM Production WHERE PmID = ? ORDER BY CreationDate DESC";
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM Production WHERE PmID = ? ORDER BY CreationDate DESC";
         Collection<ProductionDTO> list = new ArrayList<>();
 
         try (Connection connection = dataSource.getConnection();
@@ -164,6 +244,44 @@ public class ProductionDAO implements GenericDAO<ProductionDTO, Integer> {
         return list;
     }
 
+    /**
+     * Retrieves a page of the productions managed by a specific Production Manager, using keyset pagination.
+     *
+     * @param pmID     the ID of the production manager.
+     * @param after    the cursor returned with the previous page, or null for the first page.
+     * @param pageSize the maximum number of productions to return (capped at {@value Keyset#MAX_PAGE_SIZE}).
+     * @return the page of productions, ordered by creation date descending.
+     * @throws SQLException if a database error occurs.
+     */
+    public PageDTO<ProductionDTO> getPageByPmID(Integer pmID, String after, int pageSize) throws SQLException {
+        if (pmID == null || pmID <= 0) return new PageDTO<>(new ArrayList<>(), null);
+
+        int size = Keyset.pageSize(pageSize);
+        Keyset.Key key = Keyset.decode(after);
+
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM Production WHERE PmID = ?" +
+                (key != null ? " AND " + Keyset.after("CreationDate", "ProductionID") : "") +
+                " ORDER BY CreationDate DESC, ProductionID DESC LIMIT ?";
+
+        List<ProductionDTO> rows = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            int index = 1;
+            ps.setInt(index++, pmID);
+            if (key != null) {
+                index = Keyset.bind(ps, index, key);
+            }
+            ps.setInt(index, size + 1);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(extractProductionFromResultSet(rs));
+                }
+            }
+        }
+        return Keyset.toPage(rows, size, p -> Keyset.encode(p.getCreationDate(), p.getProductionID()));
+    }
+
     /**
      * Retrieves all productions in the system.
      *
@@ -174,7 +292,7 @@ public class ProductionDAO implements GenericDAO<ProductionDTO, Integer> {
     @Override
     public Collection<ProductionDTO> getAll(String order) throws SQLException {
         String actualOrder = (order != null && ALLOWED_ORDER_COLUMNS.contains(order)) ? order : DEFAULT_ORDER_COLUMN;
-        String sql = "SELECT * FROM Production ORDER BY " + actualOrder;
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM Production ORDER BY " + actualOrder;
 
         Collection<ProductionDTO> list = new ArrayList<>();
         try (Connection connection = dataSource.getConnection();
@@ -187,6 +305,23 @@ public class ProductionDAO implements GenericDAO<ProductionDTO, Integer> {
         return list;
     }
 
+    /**
+     * Streams all productions row by row, for exports and maintenance jobs on large tables.
+     * <p>
+     * Rows are fetched from the server one at a time; the stream must be closed to release the connection.
+     * </p>
+     *
+     * @param order the column to sort by.
+     * @return a stream of productions.
+     * @throws SQLException if a database error occurs.
+     */
+    @Override
+    public Stream<ProductionDTO> streamAll(String order) throws SQLException {
+        String actualOrder = (order != null && ALLOWED_ORDER_COLUMNS.contains(order)) ? order : DEFAULT_ORDER_COLUMN;
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM Production ORDER BY " + actualOrder;
+        return ResultSetStream.of(dataSource, sql, this::extractProductionFromResultSet);
+    }
+
     /**
      * Retrieves all productions assigned to a specific Casting Director via the Team table.
      * Used to populate the dropdown in the Create Casting form.
@@ -195,7 +330,7 @@ public class ProductionDAO implements GenericDAO<ProductionDTO, Integer> {
      * @return List of ProductionDTOs the CD is working on.
      */
     public List<ProductionDTO> getProductionsByCdID(int cdID) throws SQLException {
-        String sql = "SELECT p.* FROM Production p " +
+        String sql = "SELECT " + Columns.list("p", COLUMNS) + " FROM Production p " +
                 "JOIN Team t ON p.ProductionID = t.ProductionID " +
                 "WHERE t.CdID = ? ORDER BY p.CreationDate DESC";
 
@@ -219,8 +354,8 @@ public class ProductionDAO implements GenericDAO<ProductionDTO, Integer> {
      * Retrieves only the title of a production given its unique identifier.
      * <p>
      * This is a lightweight utility method designed for scenarios where only the
-     * production name is required (e.g., populating tables, lists, or dropdowns),
-     * avoiding the overhead of retrieving and mapping the full {@link model.dto.ProductionDTO} object.
+     * production name is required (e.g., populating tables, lists, or dropdowns).
+     * The title is read from the same cache as {@link #getByID(Integer)}, without copying the DTO.
      * </p>
      *
      * @param productionID the unique identifier of the production to search for.
@@ -228,29 +363,131 @@ public class ProductionDAO implements GenericDAO<ProductionDTO, Integer> {
      * @throws SQLException if a database access error occurs during the query execution.
      */
     public String getTitleByID(int productionID) throws SQLException {
-        String sql = "SELECT Title FROM Production WHERE ProductionID = ?";
-        try (Connection con = dataSource.getConnection();
-             PreparedStatement ps = con.prepareStatement(sql)) {
+        if (productionID <= 0) return "Unknown";
 
-            ps.setInt(1, productionID);
+        ProductionDTO cached = CACHE.get(productionID, this::loadByID);
+        return (cached != null) ? cached.getTitle() : "Unknown";
+    }
 
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getString("Title");
+    /**
+     * Retrieves the productions matching the given IDs with a single query per chunk of {@value InClause#MAX_CHUNK_SIZE} keys.
+     *
+     * @param productionIDs the IDs to search for; nulls, non-positive values and duplicates are ignored.
+     * @return a map from ID to ProductionDTO, containing only the IDs that were found.
+     * @throws SQLException if a database error occurs.
+     */
+    @Override
+    public Map<Integer, ProductionDTO> getByIDs(Collection<Integer> productionIDs) throws SQLException {
+        Map<Integer, ProductionDTO> result = new HashMap<>();
+        List<Integer> ids = InClause.validIds(productionIDs);
+        if (ids.isEmpty()) return result;
+
+        try (Connection connection = dataSource.getConnection()) {
+            for (List<Integer> chunk : InClause.chunks(ids)) {
+                String sql = "SELECT " + SELECT_COLUMNS + " FROM Production WHERE ProductionID IN (" + InClause.placeholders(chunk.size()) + ")";
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    InClause.bind(ps, 1, chunk);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            ProductionDTO p = extractProductionFromResultSet(rs);
+                            result.put(p.getProductionID(), p);
+                        }
+                    }
                 }
             }
         }
-        return "Unknown";
+        return result;
+    }
+
+    /**
+     * Retrieves the titles of several productions with a single query per chunk of
+     * {@value InClause#MAX_CHUNK_SIZE} keys.
+     * <p>
+     * Batched counterpart of {@link #getTitleByID(int)}, meant for list pages that would otherwise
+     * issue one query per row.
+     * </p>
+     *
+     * @param productionIDs the IDs of the productions; nulls, non-positive values and duplicates are ignored.
+     * @return a map from ProductionID to title, containing only the IDs that were found.
+     * @throws SQLException if a database access error occurs during the query execution.
+     */
+    public Map<Integer, String> getTitlesByIDs(Collection<Integer> productionIDs) throws SQLException {
+        Map<Integer, String> titles = new HashMap<>();
+        List<Integer> ids = InClause.validIds(productionIDs);
+        if (ids.isEmpty()) return titles;
+
+        try (Connection con = dataSource.getConnection()) {
+            for (List<Integer> chunk : InClause.chunks(ids)) {
+                String sql = "SELECT ProductionID, Title FROM Production WHERE ProductionID IN (" + InClause.placeholders(chunk.size()) + ")";
+                try (PreparedStatement ps = con.prepareStatement(sql)) {
+                    InClause.bind(ps, 1, chunk);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            titles.put(rs.getInt("ProductionID"), rs.getString("Title"));
+                        }
+                    }
+                }
+            }
+        }
+        return titles;
+    }
+
+    /**
+     * @return the statistics of the production cache, for monitoring.
+     */
+    public static CacheMXBean getCacheStats() {
+        return CACHE;
+    }
+
+    /**
+     * Empties the production cache, after changes that cascade to productions in bulk
+     * (e.g. the deletion of a Production Manager).
+     */
+    static void invalidateAll() {
+        CACHE.clear();
+        ContentVersions.touchCatalog();
+        ConnectionContext.runAfterTransaction(() -> {
+            CACHE.clear();
+            ContentVersions.touchCatalog();
+        });
     }
 
     // --- Helper Methods ---
 
+    /**
+     * Removes the production from the cache now and again when the request transaction (if any) ends,
+     * so that a load that read the old row in the meantime is not kept. The title is shown with every
+     * casting of the production, so the whole catalog {@link ContentVersions version} changes.
+     */
+    private static void invalidate(int productionID) {
+        CACHE.invalidate(productionID);
+        ContentVersions.touchCatalog();
+        ConnectionContext.runAfterTransaction(() -> {
+            CACHE.invalidate(productionID);
+            ContentVersions.touchCatalog();
+        });
+    }
+
+    private static ProductionDTO copyOf(ProductionDTO p) {
+        return new ProductionDTO(p.getProductionID(), p.getTitle(), p.getType(), p.getCreationDate(), p.getPmID());
+    }
+
+    private void validate(ProductionDTO production) {
+        if (production == null || production.getTitle() == null || production.getTitle().trim().isEmpty() ||
+                production.getType() == null || production.getCreationDate() == null ) {
+            throw new IllegalArgumentException("ProductionDTO cannot be null");
+        }
+        if (production.getPmID() <= 0) {
+            throw new IllegalArgumentException("A Production must be assigned to a valid Production Manager (PmID).");
+        }
+    }
+
     private void setStatementParameters(PreparedStatement ps, ProductionDTO prod) throws SQLException {
         ps.setString(1, prod.getTitle());
 
         // Handle Enum Mapping (Java Enum -> SQL String)
         if (prod.getType() != null) {
-            ps.setString(2, mapTypeToDb(prod.getType()));
+            ps.setString(2, DbEnums.PRODUCTION_TYPE.toDb(prod.getType()));
         } else {
             ps.setNull(2, Types.VARCHAR);
         }
@@ -268,45 +505,16 @@ public class ProductionDAO implements GenericDAO<ProductionDTO, Integer> {
 
     private ProductionDTO extractProductionFromResultSet(ResultSet rs) throws SQLException {
         ProductionDTO p = new ProductionDTO();
-        p.setProductionID(rs.getInt("ProductionID"));
-        p.setTitle(rs.getString("Title"));
-
-        String typeStr = rs.getString("Type");
-        if (typeStr != null) {
-            p.setType(mapDbToType(typeStr));
-        }
+        p.setProductionID(rs.getInt(1));
+        p.setTitle(rs.getString(2));
+        p.setType(DbEnums.PRODUCTION_TYPE.fromDb(rs.getString(3)));
 
-        Timestamp ts = rs.getTimestamp("CreationDate");
+        Timestamp ts = rs.getTimestamp(4);
         if (ts != null) {
             p.setCreationDate(ts.toLocalDateTime());
         }
 
-        p.setPmID(rs.getInt("PmID"));
+        p.setPmID(rs.getInt(5));
         return p;
     }
-
-    /**
-     * Maps Java Enum (e.g., Serie_TV) to DB String (e.g., "Serie TV").
-     */
-    private String mapTypeToDb(ProductionDTO.Type type) {
-        // Assuming Enum values like SERIE_TV, WEB_SERIES needs to become "Serie TV", "Web Series"
-        switch (type) {
-            case Serie_TV: return "Serie TV";
-            case Web_Series: return "Web Series";
-            // Map other types normally or adjust as needed
-            default: return type.name().charAt(0) + type.name().substring(1).toLowerCase();
-        }
-    }
-
-    /**
-     * Maps DB String (e.g., "Serie TV") to Java Enum (e.g., SERIE_TV).
-     */
-    private ProductionDTO.Type mapDbToType(String dbValue) {
-        try {
-            String normalized = dbValue.replace(" ", "_");
-            return ProductionDTO.Type.valueOf(normalized);
-        } catch (IllegalArgumentException e) {
-            return null;
-        }
-    }
-}
\ No newline at end of file
+}
@@ -5,6 +5,7 @@ import model.dto.ProductionManagerDTO;
 import javax.sql.DataSource;
 import java.sql.*;
 import java.util.*;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object (DAO) for managing Production Manager entities.
@@ -99,11 +100,19 @@ public class ProductionManagerDAO implements GenericDAO<ProductionManagerDTO, In
         }
 
         String sql = "DELETE FROM Production_Manager WHERE PmID = ?";
+        boolean deleted;
         try (Connection connection = dataSource.getConnection();
              PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, pmID);
-            return ps.executeUpdate() > 0;
+            deleted = ps.executeUpdate() > 0;
         }
+
+        if (deleted) {
+            // ON DELETE CASCADE removes the productions of the manager and their castings
+            ProductionDAO.invalidateAll();
+            CastingDAO.invalidateAll();
+        }
+        return deleted;
     }
 
     /**
@@ -178,6 +187,53 @@ public class ProductionManagerDAO implements GenericDAO<ProductionManagerDTO, In
         return list;
     }
 
+    /**
+     * Streams all Production Manager profiles row by row, for exports and maintenance jobs on large tables.
+     * <p>
+     * Rows are fetched from the server one at a time; the stream must be closed to release the connection.
+     * </p>
+     *
+     * @param order the column to sort by.
+     * @return a stream of Production Manager profiles.
+     * @throws SQLException if a database error occurs.
+     */
+    @Override
+    public Stream<ProductionManagerDTO> streamAll(String order) throws SQLException {
+        String actualOrder = (order != null && ALLOWED_ORDER_COLUMNS.contains(order)) ? order : DEFAULT_ORDER_COLUMN;
+        String sql = "SELECT * FROM Production_Manager ORDER BY " + actualOrder;
+        return ResultSetStream.of(dataSource, sql, this::extractPmFromResultSet);
+    }
+
+    /**
+     * Retrieves the Production Manager profiles matching the given IDs with a single query per chunk of {@value InClause#MAX_CHUNK_SIZE} keys.
+     *
+     * @param pmIDs the IDs to search for; nulls, non-positive values and duplicates are ignored.
+     * @return a map from ID to ProductionManagerDTO, containing only the IDs that were found.
+     * @throws SQLException if a database error occurs.
+     */
+    @Override
+    public Map<Integer, ProductionManagerDTO> getByIDs(Collection<Integer> pmIDs) throws SQLException {
+        Map<Integer, ProductionManagerDTO> result = new HashMap<>();
+        List<Integer> ids = InClause.validIds(pmIDs);
+        if (ids.isEmpty()) return result;
+
+        try (Connection connection = dataSource.getConnection()) {
+            for (List<Integer> chunk : InClause.chunks(ids)) {
+                String sql = "SELECT * FROM Production_Manager WHERE PmID IN (" + InClause.placeholders(chunk.size()) + ")";
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    InClause.bind(ps, 1, chunk);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            ProductionManagerDTO pm = extractPmFromResultSet(rs);
+                            result.put(pm.getPmID(), pm);
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
     // --- Helper Methods ---
 
     private ProductionManagerDTO extractPmFromResultSet(ResultSet rs) throws SQLException {
@@ -0,0 +1,89 @@
+package model.dao;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Helper that exposes the rows of a query as a lazily populated {@link Stream}.
+ * <p>
+ * The statement is created forward-only and read-only with fetch size {@link Integer#MIN_VALUE},
+ * which tells MySQL Connector/J to stream rows one at a time instead of buffering the whole result
+ * set: memory usage stays constant regardless of the table size. The connection, statement and
+ * result set remain open until the stream is closed, so the stream must always be used in a
+ * try-with-resources block.
+ * </p>
+ * <p>
+ * While a streaming result set is open, the connection cannot run other statements:
+ * callers that need further queries for each row must use a different connection.
+ * </p>
+ */
+final class ResultSetStream {
+
+    /**
+     * Maps the current row of a result set to an object.
+     */
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    private ResultSetStream() {
+    }
+
+    /**
+     * Executes the query and returns a stream over its rows.
+     *
+     * @param dataSource the source of the connection, owned by the stream until it is closed.
+     * @param sql        the query, without parameters.
+     * @param mapper     the row mapper.
+     * @return a sequential stream that releases all JDBC resources when closed.
+     * @throws SQLException if the query cannot be executed.
+     */
+    static <T> Stream<T> of(DataSource dataSource, String sql, RowMapper<T> mapper) throws SQLException {
+        Connection connection = dataSource.getConnection();
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE);
+            rs = ps.executeQuery();
+        } catch (SQLException | RuntimeException e) {
+            closeQuietly(rs, ps, connection);
+            throw e;
+        }
+
+        ResultSet resultSet = rs;
+        PreparedStatement statement = ps;
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!resultSet.next()) return false;
+                    action.accept(mapper.map(resultSet));
+                    return true;
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Streaming query failed", e);
+                }
+            }
+        };
+
+        return StreamSupport.stream(spliterator, false)
+                .onClose(() -> closeQuietly(resultSet, statement, connection));
+    }
+
+    private static void closeQuietly(AutoCloseable... resources) {
+        for (AutoCloseable resource : resources) {
+            if (resource == null) continue;
+            try {
+                resource.close();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
@@ -0,0 +1,416 @@
+package model.dao;
+
+import model.ConnectionContext;
+import model.dto.PageDTO;
+import model.dto.PerformerDTO;
+import model.dto.TalentFacetsDTO;
+import model.dto.TalentFilterDTO;
+import model.dto.UserDTO;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * In-memory directory of the performer profiles, used by the Casting Directors to look for talents
+ * without querying the database.
+ * <p>
+ * Performers are numbered densely from 0, newest first (PerformerID descending), and every gender and
+ * category has a bitmap over that numbering, so that a filter is a bitwise AND and the count of every
+ * filter value a population count (see {@link Bitmaps}). Names and descriptions are analyzed for
+ * Italian and ranked with BM25F by a {@link FullTextIndex}, a word in the name weighing more than the
+ * same word in the description.
+ * </p>
+ * <p>
+ * The directory is loaded with a streaming scan of the profiles ({@link PerformerDAO.Projection#PROFILE}):
+ * the CV binaries are never read. It is then updated one performer at a time by {@link #index(int)}
+ * when a profile is saved, and reloaded every {@value #REFRESH_MINUTES} minutes as a safety net for
+ * changes made elsewhere. An update copies the arrays of the directory and rebuilds its bitmaps, a
+ * linear pass with no database access, and swaps the new state in whole as {@link ActiveCastingSnapshot}
+ * does.
+ * </p>
+ * <p>
+ * The returned {@link PerformerDTO} objects are shared by all the requests and must not be modified.
+ * </p>
+ */
+public class TalentDirectory implements AutoCloseable {
+
+    private static final long REFRESH_MINUTES = 30;
+
+    /** Maximum number of results of a text search, over all its pages. */
+    public static final int MAX_SEARCH_RESULTS = 500;
+
+    // Weight of each field: name, description
+    private static final double[] BOOSTS = {2.0, 1.0};
+
+    private enum Facet { GENDER, CATEGORY }
+
+    /**
+     * A performer of the directory, with the name of its user.
+     */
+    public static final class Talent {
+        private final PerformerDTO performer;
+        private final String firstName;
+        private final String lastName;
+
+        Talent(PerformerDTO performer, String firstName, String lastName) {
+            this.performer = performer;
+            this.firstName = firstName;
+            this.lastName = lastName;
+        }
+
+        public PerformerDTO getPerformer() {
+            return performer;
+        }
+
+        public String getFirstName() {
+            return firstName;
+        }
+
+        public String getLastName() {
+            return lastName;
+        }
+
+        String[] fields() {
+            return new String[]{firstName + " " + lastName, performer.getDescription()};
+        }
+    }
+
+    /**
+     * A page of the directory, with the counts of the filter values.
+     */
+    public static final class Results {
+        private final PageDTO<Talent> page;
+        private final TalentFacetsDTO facets;
+
+        Results(PageDTO<Talent> page, TalentFacetsDTO facets) {
+            this.page = page;
+            this.facets = facets;
+        }
+
+        public PageDTO<Talent> getPage() {
+            return page;
+        }
+
+        public TalentFacetsDTO getFacets() {
+            return facets;
+        }
+    }
+
+    /**
+     * The performers, their bitmaps and their text index, swapped in together.
+     */
+    private static final class State {
+        final Talent[] talents;
+        final int[] ids;
+        final Map<Integer, Integer> positions;
+        final long[] all;
+        final long[][] byGender;
+        final long[][] byCategory;
+        final FullTextIndex text;
+
+        /**
+         * @param talents the performers, ordered by PerformerID descending.
+         */
+        State(Talent[] talents, FullTextIndex text) {
+            this.talents = talents;
+            this.text = text;
+
+            int size = talents.length;
+            ids = new int[size];
+            positions = new HashMap<>(size * 2);
+            all = Bitmaps.full(size);
+            byGender = new long[PerformerDTO.Gender.values().length][];
+            byCategory = new long[PerformerDTO.Category.values().length][];
+
+            for (int i = 0; i < size; i++) {
+                PerformerDTO p = talents[i].performer;
+                ids[i] = p.getPerformerID();
+                positions.put(ids[i], i);
+                if (p.getGender() != null) {
+                    Bitmaps.set(bitmap(byGender, p.getGender().ordinal(), size), i);
+                }
+                if (p.getCategory() != null) {
+                    Bitmaps.set(bitmap(byCategory, p.getCategory().ordinal(), size), i);
+                }
+            }
+        }
+
+        /**
+         * @return the bitmap of the performers matching the gender and category of the filter, except
+         * the skipped facet (shared if no criterion applies).
+         */
+        long[] matching(TalentFilterDTO filter, Facet skip) {
+            long[] result = all;
+            if (skip != Facet.GENDER && filter.getGender() != null) {
+                result = Bitmaps.and(result, byGender[filter.getGender().ordinal()]);
+            }
+            if (skip != Facet.CATEGORY && filter.getCategory() != null) {
+                result = Bitmaps.and(result, byCategory[filter.getCategory().ordinal()]);
+            }
+            return result;
+        }
+
+        /**
+         * Binary search of the first position after the performer of the cursor (ids are descending).
+         */
+        int firstAfter(int performerID) {
+            int lo = 0, hi = ids.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (ids[mid] >= performerID) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        private static long[] bitmap(long[][] bitmaps, int ordinal, int size) {
+            if (bitmaps[ordinal] == null) {
+                bitmaps[ordinal] = new long[Bitmaps.words(size)];
+            }
+            return bitmaps[ordinal];
+        }
+    }
+
+    private final DataSource dataSource;
+    private final ScheduledExecutorService scheduler;
+    private final Object swapLock = new Object();
+
+    private volatile State current;
+
+    public TalentDirectory(DataSource dataSource) {
+        this.dataSource = Objects.requireNonNull(dataSource, "DataSource cannot be null");
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "audire-talent-directory");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Loads the directory and starts the periodic refresh.
+     * If the first load fails the directory stays unavailable ({@link #isReady()} is false) until the next refresh.
+     */
+    public void start() {
+        rebuild();
+        scheduler.scheduleWithFixedDelay(this::rebuild, REFRESH_MINUTES, REFRESH_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * @return true once the directory has been loaded.
+     */
+    public boolean isReady() {
+        return current != null;
+    }
+
+    /**
+     * Reloads the directory after a change that affects many performers.
+     * Inside a request transaction the reload waits for its end, so that only committed data is loaded.
+     */
+    public void requestRebuild() {
+        ConnectionContext.runAfterTransaction(this::rebuild);
+    }
+
+    /**
+     * Streams the performer profiles from the database, without the CV binaries, reads the names of
+     * their users and swaps in a new directory. On error the previous directory is kept.
+     */
+    public void rebuild() {
+        synchronized (swapLock) {
+            try {
+                List<PerformerDTO> performers = new ArrayList<>();
+                try (Stream<PerformerDTO> rows = new PerformerDAO(dataSource).streamAll("PerformerID", PerformerDAO.Projection.PROFILE)) {
+                    rows.forEach(performers::add);
+                }
+                // Newest first
+                Collections.reverse(performers);
+
+                Set<Integer> userIDs = new HashSet<>();
+                for (PerformerDTO p : performers) {
+                    userIDs.add(p.getUserID());
+                }
+                Map<Integer, UserDTO> users = new UserDAO(dataSource).getByIDs(userIDs);
+
+                Talent[] talents = new Talent[performers.size()];
+                Map<Integer, String[]> documents = new HashMap<>(performers.size() * 2);
+                for (int i = 0; i < talents.length; i++) {
+                    talents[i] = talentOf(performers.get(i), users.get(performers.get(i).getUserID()));
+                    documents.put(talents[i].performer.getPerformerID(), talents[i].fields());
+                }
+                current = new State(talents, FullTextIndex.build(documents, BOOSTS));
+            } catch (SQLException | RuntimeException e) {
+                System.out.println("Errore nel caricamento della directory dei performer: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Adds or updates a performer after its profile was saved. The profile is read back from the
+     * database once the transaction is over: if it no longer exists (e.g. the transaction was rolled
+     * back) it is removed from the directory.
+     *
+     * @param performerID the ID of the performer.
+     */
+    public void index(int performerID) {
+        ConnectionContext.runAfterTransaction(() -> reindex(performerID));
+    }
+
+    /**
+     * Returns a page of the performers matching a filter, with the counts of the filter values.
+     * <p>
+     * Without a query the performers are listed newest first and the cursor is the PerformerID of the
+     * last one of the page. With a query they are ranked by relevance among the best
+     * {@value #MAX_SEARCH_RESULTS} performers that match both the query and the filter, and the cursor
+     * is the number of performers already shown.
+     * </p>
+     *
+     * @param filter   the criteria, or null for none.
+     * @param after    the cursor returned with the previous page, or null for the first page.
+     * @param pageSize the maximum number of performers to return (capped at {@value Keyset#MAX_PAGE_SIZE}).
+     * @return the page and the counts, or null if the directory is not available yet.
+     */
+    public Results find(TalentFilterDTO filter, String after, int pageSize) {
+        State state = current;
+        if (state == null) return null;
+
+        TalentFilterDTO criteria = (filter != null) ? filter : new TalentFilterDTO();
+        int size = Keyset.pageSize(pageSize);
+        int cursor = parseCursor(after);
+
+        if (criteria.getQuery() == null) {
+            long[] matching = state.matching(criteria, null);
+            int from = (cursor > 0) ? state.firstAfter(cursor) : 0;
+
+            List<Talent> rows = new ArrayList<>(size + 1);
+            for (int i = Bitmaps.nextSetBit(matching, from); i >= 0 && rows.size() <= size;
+                 i = Bitmaps.nextSetBit(matching, i + 1)) {
+                rows.add(state.talents[i]);
+            }
+            PageDTO<Talent> page = Keyset.toPage(rows, size, t -> String.valueOf(t.performer.getPerformerID()));
+            return new Results(page, counts(state, criteria, state.all));
+        }
+
+        // The facets are counted over all the matches, the page slices the best ones that pass the filter
+        long[] found = new long[Bitmaps.words(state.talents.length)];
+        for (int id : state.text.matches(criteria.getQuery())) {
+            Bitmaps.set(found, state.positions.get(id));
+        }
+
+        long[] matching = Bitmaps.and(found, state.matching(criteria, null));
+        List<FullTextIndex.Hit> hits = state.text.search(criteria.getQuery(), MAX_SEARCH_RESULTS,
+                id -> Bitmaps.get(matching, state.positions.get(id)));
+
+        int offset = Math.max(cursor, 0);
+        List<Talent> rows = new ArrayList<>(size + 1);
+        for (int i = offset; i < hits.size() && rows.size() <= size; i++) {
+            rows.add(state.talents[state.positions.get(hits.get(i).id)]);
+        }
+        PageDTO<Talent> page = (rows.size() > size)
+                ? new PageDTO<>(new ArrayList<>(rows.subList(0, size)), String.valueOf(offset + size))
+                : new PageDTO<>(rows, null);
+        return new Results(page, counts(state, criteria, found));
+    }
+
+    /**
+     * @return the number of performers in the directory (0 if not ready).
+     */
+    public int size() {
+        State state = current;
+        return (state != null) ? state.talents.length : 0;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    // --- Helper Methods ---
+
+    /**
+     * Reads a profile and the name of its user and swaps in a directory with its current version.
+     * On error the performer is left as it is until the next rebuild.
+     */
+    private void reindex(int performerID) {
+        synchronized (swapLock) {
+            State state = current;
+            if (state == null) return;
+
+            try {
+                PerformerDTO performer = new PerformerDAO(dataSource).getByID(performerID, PerformerDAO.Projection.PROFILE);
+                Talent talent = null;
+                if (performer != null) {
+                    talent = talentOf(performer, new UserDAO(dataSource).getByID(performer.getUserID()));
+                }
+
+                Integer position = state.positions.get(performerID);
+                Talent[] talents;
+                FullTextIndex text;
+                if (talent != null && position != null) {
+                    talents = state.talents.clone();
+                    talents[position] = talent;
+                    text = state.text.with(performerID, talent.fields());
+                } else if (talent != null) {
+                    int at = state.firstAfter(performerID);
+                    talents = new Talent[state.talents.length + 1];
+                    System.arraycopy(state.talents, 0, talents, 0, at);
+                    talents[at] = talent;
+                    System.arraycopy(state.talents, at, talents, at + 1, state.talents.length - at);
+                    text = state.text.with(performerID, talent.fields());
+                } else if (position != null) {
+                    talents = new Talent[state.talents.length - 1];
+                    System.arraycopy(state.talents, 0, talents, 0, position);
+                    System.arraycopy(state.talents, position + 1, talents, position, talents.length - position);
+                    text = state.text.without(performerID);
+                } else {
+                    return;
+                }
+                current = new State(talents, text);
+            } catch (SQLException | RuntimeException e) {
+                System.out.println("Errore nell'aggiornamento del performer " + performerID + " nella directory: " + e.getMessage());
+            }
+        }
+    }
+
+    private static Talent talentOf(PerformerDTO performer, UserDTO user) {
+        return (user != null)
+                ? new Talent(performer, user.getFirstName(), user.getLastName())
+                : new Talent(performer, "", "");
+    }
+
+    /**
+     * Counts the performers of every gender and category among the given ones. The counts of a facet
+     * apply the criterion of the other facet but not its own.
+     */
+    private static TalentFacetsDTO counts(State state, TalentFilterDTO filter, long[] base) {
+        Map<String, Integer> genders = new LinkedHashMap<>();
+        long[] bits = Bitmaps.and(base, state.matching(filter, Facet.GENDER));
+        for (PerformerDTO.Gender gender : PerformerDTO.Gender.values()) {
+            genders.put(gender.name(), Bitmaps.andCardinality(bits, state.byGender[gender.ordinal()]));
+        }
+
+        Map<String, Integer> categories = new LinkedHashMap<>();
+        bits = Bitmaps.and(base, state.matching(filter, Facet.CATEGORY));
+        for (PerformerDTO.Category category : PerformerDTO.Category.values()) {
+            categories.put(category.name(), Bitmaps.andCardinality(bits, state.byCategory[category.ordinal()]));
+        }
+
+        int total = Bitmaps.andCardinality(base, state.matching(filter, null));
+        return new TalentFacetsDTO(total, genders, categories);
+    }
+
+    /**
+     * @return the number in the cursor, or 0 to start from the first page (also for malformed cursors).
+     */
+    private static int parseCursor(String after) {
+        if (after == null || after.isEmpty()) return 0;
+        try {
+            return Math.max(Integer.parseInt(after), 0);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
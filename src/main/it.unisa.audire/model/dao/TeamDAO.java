@@ -21,6 +21,9 @@ import java.util.*;
  */
 public class TeamDAO {
 
+    // Team member columns read by extractUser, in positional order (the password hash is never loaded)
+    private static final String USER_COLUMNS = Columns.list("u", "UserID", "FirstName", "LastName", "Email");
+
     private final DataSource dataSource;
 
     /**
@@ -36,15 +39,34 @@ public class TeamDAO {
      * Adds a Casting Director to a Production Team.
      * <p>
      * Corresponds to an INSERT operation in the join table.
-     * If the association already exists, this method might throw a specific SQLException
-     * (Duplicate Entry) depending on the driver, or simply do nothing if using INSERT IGNORE.
+     * If the association already exists nothing is changed (see {@link #insertIfAbsent(TeamDTO)}).
      * </p>
      *
      * @param team the TeamDTO containing the ProductionID and CdID to link.
-     * @throws SQLException if a database access error occurs.
+     * @throws SQLException if a database access error occurs, or if the production or the Casting Director does not exist.
      * @throws IllegalArgumentException if IDs are invalid.
      */
     public void save(TeamDTO team) throws SQLException {
+        if (insertIfAbsent(team) == InsertResult.FAILED) {
+            throw new SQLException("Production " + team.getProductionID() + " or Casting Director "
+                    + team.getCdID() + " not found");
+        }
+    }
+
+    /**
+     * Adds a Casting Director to a Production Team unless they are already a member.
+     * <p>
+     * A single INSERT relies on the primary key {@code (ProductionID, CdID)}, so there is no
+     * window between a check and the insert in which a concurrent request could add the same member.
+     * </p>
+     *
+     * @param team the TeamDTO containing the ProductionID and CdID to link.
+     * @return {@code CREATED}, {@code ALREADY_EXISTS} if the Casting Director was already in the team,
+     *         or {@code FAILED} if the production or the Casting Director does not exist.
+     * @throws SQLException if a database access error occurs.
+     * @throws IllegalArgumentException if IDs are invalid.
+     */
+    public InsertResult insertIfAbsent(TeamDTO team) throws SQLException {
         if (team == null) {
             throw new IllegalArgumentException("TeamDTO cannot be null");
         }
@@ -52,11 +74,6 @@ public class TeamDAO {
             throw new IllegalArgumentException("Both ProductionID and CdID must be valid positive integers.");
         }
 
-        // Check if exists to avoid Duplicate Key Exception logic, or handle it via try-catch
-        if (exists(team.getProductionID(), team.getCdID())) {
-            return; // Association already exists, nothing to do.
-        }
-
         String sql = "INSERT INTO Team (ProductionID, CdID) VALUES (?, ?)";
         try (Connection connection = dataSource.getConnection();
              PreparedStatement ps = connection.prepareStatement(sql)) {
@@ -65,7 +82,58 @@ public class TeamDAO {
             ps.setInt(2, team.getCdID());
 
             ps.executeUpdate();
+            return InsertResult.CREATED;
+        } catch (SQLException e) {
+            return InsertResult.of(e);
+        }
+    }
+
+    /**
+     * Adds several Casting Directors to Production Teams in a single transaction, using batches of
+     * {@value Batch#DEFAULT_BATCH_SIZE} rows.
+     * <p>
+     * Associations that already exist are skipped, as in {@link #save(TeamDTO)}; a missing production or
+     * Casting Director still fails the whole transaction. {@code INSERT IGNORE} is not used because it would
+     * also turn those foreign key violations into warnings.
+     * </p>
+     *
+     * @param teams the associations to add.
+     * @throws SQLException if a database access error occurs; no association is added in that case.
+     * @throws IllegalArgumentException if any ID is invalid.
+     */
+    public void saveAll(Collection<TeamDTO> teams) throws SQLException {
+        saveAll(teams, Batch.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Adds several Casting Directors to Production Teams in a single transaction with batched statements.
+     * Existing associations are skipped; see {@link #saveAll(Collection)}.
+     *
+     * @param teams the associations to add.
+     * @param batchSize the number of rows sent to the database at once.
+     * @throws SQLException if a database access error occurs; no association is added in that case.
+     * @throws IllegalArgumentException if any ID is invalid.
+     */
+    public void saveAll(Collection<TeamDTO> teams, int batchSize) throws SQLException {
+        if (teams == null || teams.isEmpty()) return;
+
+        for (TeamDTO team : teams) {
+            if (team == null) {
+                throw new IllegalArgumentException("TeamDTO cannot be null");
+            }
+            if (team.getProductionID() <= 0 || team.getCdID() <= 0) {
+                throw new IllegalArgumentException("Both ProductionID and CdID must be valid positive integers.");
+            }
         }
+
+        String sql = "INSERT INTO Team (ProductionID, CdID) VALUES (?, ?) ON DUPLICATE KEY UPDATE CdID = CdID";
+        List<TeamDTO> rows = new ArrayList<>(teams);
+
+        Batch.inTransaction(dataSource, connection ->
+                Batch.insert(connection, sql, rows, batchSize, (ps, team) -> {
+                    ps.setInt(1, team.getProductionID());
+                    ps.setInt(2, team.getCdID());
+                }, null));
     }
 
     /**
@@ -177,7 +245,7 @@ public class TeamDAO {
      * @throws SQLException if a database access error occurs during the query execution.
      */
     public List<UserDTO> getTeamMembers(int productionID) throws SQLException {
-        String sql = "SELECT u.* " +
+        String sql = "SELECT " + USER_COLUMNS + " " +
                 "FROM User u " +
                 "JOIN Casting_Director cd ON u.UserID = cd.UserID " +
                 "JOIN Team t ON cd.CdID = t.CdID " +
@@ -200,7 +268,7 @@ public class TeamDAO {
      * @throws SQLException if a database access error occurs during the query execution.
      */
     public List<UserDTO> getAvailableCastingDirectors(int productionID) throws SQLException {
-        String sql = "SELECT u.* " +
+        String sql = "SELECT " + USER_COLUMNS + " " +
                 "FROM User u " +
                 "JOIN Casting_Director cd ON u.UserID = cd.UserID " +
                 "WHERE cd.CdID NOT IN (SELECT CdID FROM Team WHERE ProductionID = ?)";
@@ -208,6 +276,29 @@ public class TeamDAO {
         return executeUserQuery(sql, productionID);
     }
 
+    /**
+     * Retrieves every Casting Director on the platform with the user details shown in the team pages,
+     * to build the in-memory search index ({@link CastingDirectorIndex}).
+     *
+     * @return a map from CdID to the Casting Director's user (ID, name and email).
+     * @throws SQLException if a database access error occurs.
+     */
+    public Map<Integer, UserDTO> getAllCastingDirectors() throws SQLException {
+        String sql = "SELECT " + USER_COLUMNS + ", cd.CdID " +
+                "FROM User u " +
+                "JOIN Casting_Director cd ON u.UserID = cd.UserID";
+
+        Map<Integer, UserDTO> result = new HashMap<>();
+        try (Connection con = dataSource.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                result.put(rs.getInt(5), extractUser(rs));
+            }
+        }
+        return result;
+    }
+
     // --- Helper Methods ---
     private TeamDTO extractTeamFromResultSet(ResultSet rs) throws SQLException {
         TeamDTO team = new TeamDTO();
@@ -234,10 +325,10 @@ public class TeamDAO {
 
     private UserDTO extractUser(ResultSet rs) throws SQLException {
         UserDTO user = new UserDTO();
-        user.setUserID(rs.getInt("UserID"));
-        user.setFirstName(rs.getString("FirstName"));
-        user.setLastName(rs.getString("LastName"));
-        user.setEmail(rs.getString("Email"));
+        user.setUserID(rs.getInt(1));
+        user.setFirstName(rs.getString(2));
+        user.setLastName(rs.getString(3));
+        user.setEmail(rs.getString(4));
         return user;
     }
 }
\ No newline at end of file
@@ -9,6 +9,7 @@ import javax.sql.DataSource;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object (DAO) for managing User entities.
@@ -29,6 +30,15 @@ public class UserDAO implements GenericDAO<UserDTO, Integer> {
 
     private static final String DEFAULT_ORDER_COLUMN = "UserID";
 
+    // Columns read by extractUserFromResultSet, in positional order
+    private static final String[] COLUMNS = {
+            "UserID", "FirstName", "LastName", "PasswordHash", "PhoneNumber", "Role", "Email", "RegistrationDate"
+    };
+    private static final String SELECT_COLUMNS = Columns.list(null, COLUMNS);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO User(FirstName, LastName, PasswordHash, PhoneNumber, Role, Email, RegistrationDate) VALUES(?, ?, ?, ?, ?, ?, ?)";
+
     private final DataSource dataSource;
 
     /**
@@ -52,28 +62,16 @@ public class UserDAO implements GenericDAO<UserDTO, Integer> {
      * @throws IllegalArgumentException if the user object or required fields are invalid.
      */
     public void save(UserDTO user) throws SQLException {
-        if (user == null || user.getFirstName() == null || user.getFirstName().trim().isEmpty() ||
-                user.getLastName() == null || user.getLastName().trim().isEmpty() ||
-                user.getEmail() == null || user.getEmail().trim().isEmpty() ||
-                user.getPasswordHash() == null || user.getPasswordHash().trim().isEmpty() ||
-                user.getRole() == null || user.getPhoneNumber() == null || user.getPhoneNumber().trim().isEmpty()) {
-            throw new IllegalArgumentException("User, FirstName, LastName, PasswordHash, PhoneNumber, Role or Email cannot be null or empty.");
-        }
+        validate(user);
 
         String sql;
         if (user.getUserID() == 0) {
             // INSERT Operation
-            sql = "INSERT INTO User(FirstName, LastName, PasswordHash, PhoneNumber, Role, Email, RegistrationDate) VALUES(?, ?, ?, ?, ?, ?, ?)";
+            sql = INSERT_SQL;
             try (Connection connection = dataSource.getConnection();
                  PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
-                ps.setString(1, user.getFirstName());
-                ps.setString(2, user.getLastName());
-                ps.setString(3, user.getPasswordHash());
-                ps.setString(4, user.getPhoneNumber());
-                ps.setString(5, user.getRole().name());
-                ps.setString(6, user.getEmail());
-                ps.setTimestamp(7, (user.getRegistrationDate() != null) ? Timestamp.valueOf(user.getRegistrationDate()) : Timestamp.valueOf(LocalDateTime.now()));
+                setInsertParameters(ps, user);
 
                 int affectedRows = ps.executeUpdate();
                 if (affectedRows == 0) {
@@ -98,7 +96,7 @@ public class UserDAO implements GenericDAO<UserDTO, Integer> {
                 ps.setString(2, user.getLastName());
                 ps.setString(3, user.getPasswordHash());
                 ps.setString(4, user.getPhoneNumber());
-                ps.setString(5, user.getRole().name());
+                ps.setString(5, DbEnums.USER_ROLE.toDb(user.getRole()));
                 ps.setString(6, user.getEmail());
                 ps.setInt(7, user.getUserID());
 
@@ -107,6 +105,46 @@ public class UserDAO implements GenericDAO<UserDTO, Integer> {
         }
     }
 
+    /**
+     * Inserts a new user unless an account with the same email already exists.
+     * <p>
+     * A single INSERT relies on the unique key on {@code Email}: unlike {@link #getByEmail} followed
+     * by {@link #save}, two concurrent registrations with the same email cannot both succeed.
+     * On {@link InsertResult#CREATED} the generated ID is set on the DTO.
+     * </p>
+     *
+     * @param user the new user ({@code UserID == 0}).
+     * @return {@code CREATED} or {@code ALREADY_EXISTS} if the email is already registered.
+     * @throws SQLException if a database access error occurs.
+     * @throws IllegalArgumentException if the user object or required fields are invalid, or it already has an ID.
+     */
+    public InsertResult insertIfAbsent(UserDTO user) throws SQLException {
+        validate(user);
+        if (user.getUserID() != 0) {
+            throw new IllegalArgumentException("Only new users can be inserted");
+        }
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+
+            setInsertParameters(ps, user);
+            try {
+                ps.executeUpdate();
+            } catch (SQLException e) {
+                return InsertResult.of(e);
+            }
+
+            try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    user.setUserID(generatedKeys.getInt(1));
+                } else {
+                    throw new SQLException("Creating user failed, no ID obtained.");
+                }
+            }
+        }
+        return InsertResult.CREATED;
+    }
+
     /**
      * Deletes a user from the database by their unique ID.
      *
@@ -121,12 +159,20 @@ public class UserDAO implements GenericDAO<UserDTO, Integer> {
         }
 
         String sql = "DELETE FROM User WHERE UserID = ?";
+        boolean deleted;
         try (Connection connection = dataSource.getConnection();
              PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, userID);
             int affectedRows = ps.executeUpdate();
-            return affectedRows > 0;
+            deleted = affectedRows > 0;
         }
+
+        if (deleted) {
+            // ON DELETE CASCADE may remove the productions and castings owned by the user's profile
+            ProductionDAO.invalidateAll();
+            CastingDAO.invalidateAll();
+        }
+        return deleted;
     }
 
     /**
@@ -142,7 +188,7 @@ public class UserDAO implements GenericDAO<UserDTO, Integer> {
             throw new IllegalArgumentException("UserID cannot be null or negative.");
         }
 
-        String sql = "SELECT * FROM User WHERE UserID = ?";
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM User WHERE UserID = ?";
         UserDTO userDTO = null;
 
         try (Connection connection = dataSource.getConnection();
@@ -172,7 +218,7 @@ public class UserDAO implements GenericDAO<UserDTO, Integer> {
             throw new IllegalArgumentException("Email cannot be null or empty.");
         }
 
-        String sql = "SELECT * FROM User WHERE Email = ?";
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM User WHERE Email = ?";
         UserDTO userDTO = null;
 
         try (Connection connection = dataSource.getConnection();
@@ -189,6 +235,36 @@ public class UserDAO implements GenericDAO<UserDTO, Integer> {
         return userDTO;
     }
 
+    /**
+     * Retrieves the ID of the role profile of a user: the {@code CdID} of a Casting Director,
+     * the {@code PmID} of a Production Manager or the {@code PerformerID} of a Performer.
+     * <p>This method is used once at login to build the session principal.</p>
+     *
+     * @param userID the ID of the user.
+     * @param role   the role of the user.
+     * @return the profile ID, or {@code 0} if the user has no profile for the role.
+     * @throws SQLException if a database access error occurs.
+     */
+    public int getProfileID(int userID, UserDTO.Role role) throws SQLException {
+        if (userID <= 0 || role == null) return 0;
+
+        String sql;
+        switch (role) {
+            case CastingDirector: sql = "SELECT CdID FROM Casting_Director WHERE UserID = ?"; break;
+            case ProductionManager: sql = "SELECT PmID FROM Production_Manager WHERE UserID = ?"; break;
+            case Performer: sql = "SELECT PerformerID FROM Performer WHERE UserID = ?"; break;
+            default: return 0;
+        }
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, userID);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
     /**
      * Retrieves all users from the database, sorted by the specified column.
      *
@@ -202,7 +278,7 @@ public class UserDAO implements GenericDAO<UserDTO, Integer> {
         // Sanitize sort order to prevent SQL Injection
         String actualOrder = (order != null && ALLOWED_ORDER_COLUMNS.contains(order)) ? order : DEFAULT_ORDER_COLUMN;
 
-        String sql = "SELECT * FROM User ORDER BY " + actualOrder;
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM User ORDER BY " + actualOrder;
 
         try (Connection connection = dataSource.getConnection();
              PreparedStatement ps = connection.prepareStatement(sql);
@@ -215,6 +291,71 @@ public class UserDAO implements GenericDAO<UserDTO, Integer> {
         return users;
     }
 
+    /**
+     * Streams all users row by row, for exports and maintenance jobs on large tables.
+     * <p>
+     * Rows are fetched from the server one at a time; the stream must be closed to release the connection.
+     * </p>
+     *
+     * @param order the column to sort by.
+     * @return a stream of users.
+     * @throws SQLException if a database error occurs.
+     */
+    public Stream<UserDTO> streamAll(String order) throws SQLException {
+        String actualOrder = (order != null && ALLOWED_ORDER_COLUMNS.contains(order)) ? order : DEFAULT_ORDER_COLUMN;
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM User ORDER BY " + actualOrder;
+        return ResultSetStream.of(dataSource, sql, this::extractUserFromResultSet);
+    }
+
+    /**
+     * Retrieves the users matching the given IDs with a single query per chunk of {@value InClause#MAX_CHUNK_SIZE} keys.
+     *
+     * @param userIDs the IDs to search for; nulls, non-positive values and duplicates are ignored.
+     * @return a map from ID to UserDTO, containing only the IDs that were found.
+     * @throws SQLException if a database error occurs.
+     */
+    public Map<Integer, UserDTO> getByIDs(Collection<Integer> userIDs) throws SQLException {
+        Map<Integer, UserDTO> result = new HashMap<>();
+        List<Integer> ids = InClause.validIds(userIDs);
+        if (ids.isEmpty()) return result;
+
+        try (Connection connection = dataSource.getConnection()) {
+            for (List<Integer> chunk : InClause.chunks(ids)) {
+                String sql = "SELECT " + SELECT_COLUMNS + " FROM User WHERE UserID IN (" + InClause.placeholders(chunk.size()) + ")";
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    InClause.bind(ps, 1, chunk);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            UserDTO user = extractUserFromResultSet(rs);
+                            result.put(user.getUserID(), user);
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private void validate(UserDTO user) {
+        if (user == null || user.getFirstName() == null || user.getFirstName().trim().isEmpty() ||
+                user.getLastName() == null || user.getLastName().trim().isEmpty() ||
+                user.getEmail() == null || user.getEmail().trim().isEmpty() ||
+                user.getPasswordHash() == null || user.getPasswordHash().trim().isEmpty() ||
+                user.getRole() == null || user.getPhoneNumber() == null || user.getPhoneNumber().trim().isEmpty()) {
+            throw new IllegalArgumentException("User, FirstName, LastName, PasswordHash, PhoneNumber, Role or Email cannot be null or empty.");
+        }
+    }
+
+    private void setInsertParameters(PreparedStatement ps, UserDTO user) throws SQLException {
+        ps.setString(1, user.getFirstName());
+        ps.setString(2, user.getLastName());
+        ps.setString(3, user.getPasswordHash());
+        ps.setString(4, user.getPhoneNumber());
+        ps.setString(5, DbEnums.USER_ROLE.toDb(user.getRole()));
+        ps.setString(6, user.getEmail());
+        ps.setTimestamp(7, (user.getRegistrationDate() != null) ? Timestamp.valueOf(user.getRegistrationDate()) : Timestamp.valueOf(LocalDateTime.now()));
+    }
+
     /**
      * Helper method to map a ResultSet row to a UserDTO object.
      *
@@ -224,25 +365,16 @@ public class UserDAO implements GenericDAO<UserDTO, Integer> {
      */
     private UserDTO extractUserFromResultSet(ResultSet rs) throws SQLException {
         UserDTO user = new UserDTO();
-        user.setUserID(rs.getInt("UserID"));
-        user.setFirstName(rs.getString("FirstName"));
-        user.setLastName(rs.getString("LastName"));
-        user.setPasswordHash(rs.getString("PasswordHash"));
-        user.setPhoneNumber(rs.getString("PhoneNumber"));
-        user.setEmail(rs.getString("Email"));
-
-        // Handle Enum Conversion safely
-        String roleStr = rs.getString("Role");
-        if (roleStr != null) {
-            try {
-                user.setRole(UserDTO.Role.valueOf(roleStr));
-            } catch (IllegalArgumentException e) {
-                user.setRole(null); // Or handle default role
-            }
-        }
+        user.setUserID(rs.getInt(1));
+        user.setFirstName(rs.getString(2));
+        user.setLastName(rs.getString(3));
+        user.setPasswordHash(rs.getString(4));
+        user.setPhoneNumber(rs.getString(5));
+        user.setRole(DbEnums.USER_ROLE.fromDb(rs.getString(6)));
+        user.setEmail(rs.getString(7));
 
         // Handle Timestamp conversion
-        Timestamp ts = rs.getTimestamp("RegistrationDate");
+        Timestamp ts = rs.getTimestamp(8);
         if (ts != null) {
             user.setRegistrationDate(ts.toLocalDateTime());
         }
@@ -0,0 +1,151 @@
+package model.dto;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Read-only view of an applicant to a casting: the application joined with the performer's profile
+ * and contact data, as shown in the Casting Director's review workbench.
+ * <p>
+ * It never carries the CV, which is downloaded separately through {@code /download-cv}.
+ * </p>
+ */
+public class ApplicantDTO implements Serializable {
+
+    private int applicationID;
+    private LocalDateTime sendingDate;
+    private ApplicationDTO.Status status;
+    private String feedback;
+    private int performerID;
+    private PerformerDTO.Gender gender;
+    private PerformerDTO.Category category;
+    private String profilePhoto;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String phoneNumber;
+
+    public ApplicantDTO() {}
+
+    public int getApplicationID() {
+        return applicationID;
+    }
+
+    public void setApplicationID(int applicationID) {
+        this.applicationID = applicationID;
+    }
+
+    public LocalDateTime getSendingDate() {
+        return sendingDate;
+    }
+
+    public void setSendingDate(LocalDateTime sendingDate) {
+        this.sendingDate = sendingDate;
+    }
+
+    public ApplicationDTO.Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(ApplicationDTO.Status status) {
+        this.status = status;
+    }
+
+    public String getFeedback() {
+        return feedback;
+    }
+
+    public void setFeedback(String feedback) {
+        this.feedback = feedback;
+    }
+
+    public int getPerformerID() {
+        return performerID;
+    }
+
+    public void setPerformerID(int performerID) {
+        this.performerID = performerID;
+    }
+
+    public PerformerDTO.Gender getGender() {
+        return gender;
+    }
+
+    public void setGender(PerformerDTO.Gender gender) {
+        this.gender = gender;
+    }
+
+    public PerformerDTO.Category getCategory() {
+        return category;
+    }
+
+    public void setCategory(PerformerDTO.Category category) {
+        this.category = category;
+    }
+
+    public String getProfilePhoto() {
+        return profilePhoto;
+    }
+
+    public void setProfilePhoto(String profilePhoto) {
+        this.profilePhoto = profilePhoto;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public void setPhoneNumber(String phoneNumber) {
+        this.phoneNumber = phoneNumber;
+    }
+
+    @Override
+    public String toString() {
+        return "ApplicantDTO{" +
+                "applicationID=" + applicationID +
+                ", sendingDate=" + sendingDate +
+                ", status=" + status +
+                ", feedback='" + feedback + '\'' +
+                ", performerID=" + performerID +
+                ", gender=" + gender +
+                ", category=" + category +
+                ", profilePhoto='" + profilePhoto + '\'' +
+                ", firstName='" + firstName + '\'' +
+                ", lastName='" + lastName + '\'' +
+                ", email='" + email + '\'' +
+                ", phoneNumber='" + phoneNumber + '\'' +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        ApplicantDTO that = (ApplicantDTO) o;
+        return applicationID == that.applicationID && Objects.equals(sendingDate, that.sendingDate) && status == that.status && Objects.equals(feedback, that.feedback) && performerID == that.performerID && gender == that.gender && category == that.category && Objects.equals(profilePhoto, that.profilePhoto) && Objects.equals(firstName, that.firstName) && Objects.equals(lastName, that.lastName) && Objects.equals(email, that.email) && Objects.equals(phoneNumber, that.phoneNumber);
+    }
+}
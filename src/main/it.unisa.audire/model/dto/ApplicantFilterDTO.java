@@ -0,0 +1,96 @@
+package model.dto;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Filter and sort criteria for the applicants of a casting.
+ * <p>
+ * Every criterion is optional: a {@code null} value means "any".
+ * The date range is inclusive on both ends.
+ * </p>
+ */
+public class ApplicantFilterDTO implements Serializable {
+
+    private ApplicationDTO.Status status;
+    private PerformerDTO.Gender gender;
+    private PerformerDTO.Category category;
+    private LocalDate sentFrom;
+    private LocalDate sentTo;
+    private Sort sort = Sort.NEWEST;
+
+    public ApplicantFilterDTO() {}
+
+    public ApplicationDTO.Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(ApplicationDTO.Status status) {
+        this.status = status;
+    }
+
+    public PerformerDTO.Gender getGender() {
+        return gender;
+    }
+
+    public void setGender(PerformerDTO.Gender gender) {
+        this.gender = gender;
+    }
+
+    public PerformerDTO.Category getCategory() {
+        return category;
+    }
+
+    public void setCategory(PerformerDTO.Category category) {
+        this.category = category;
+    }
+
+    public LocalDate getSentFrom() {
+        return sentFrom;
+    }
+
+    public void setSentFrom(LocalDate sentFrom) {
+        this.sentFrom = sentFrom;
+    }
+
+    public LocalDate getSentTo() {
+        return sentTo;
+    }
+
+    public void setSentTo(LocalDate sentTo) {
+        this.sentTo = sentTo;
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    public void setSort(Sort sort) {
+        this.sort = (sort != null) ? sort : Sort.NEWEST;
+    }
+
+    @Override
+    public String toString() {
+        return "ApplicantFilterDTO{" +
+                "status=" + status +
+                ", gender=" + gender +
+                ", category=" + category +
+                ", sentFrom=" + sentFrom +
+                ", sentTo=" + sentTo +
+                ", sort=" + sort +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        ApplicantFilterDTO that = (ApplicantFilterDTO) o;
+        return status == that.status && gender == that.gender && category == that.category && Objects.equals(sentFrom, that.sentFrom) && Objects.equals(sentTo, that.sentTo) && sort == that.sort;
+    }
+
+    public enum Sort {
+        NEWEST,
+        OLDEST,
+    }
+}
@@ -2,6 +2,7 @@ package model.dto;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.Objects;
 
 public class ApplicationDTO implements Serializable {
@@ -91,10 +92,44 @@ public class ApplicationDTO implements Serializable {
         return applicationID == that.applicationID && performerID == that.performerID && castingID == that.castingID && Objects.equals(sendingDate, that.sendingDate) && status == that.status && Objects.equals(feedback, that.feedback);
     }
 
+    /**
+     * Status of an application and its legal transitions.
+     * <p>
+     * A pending application can be shortlisted, selected or rejected; a shortlisted one can be
+     * selected or rejected. Selected and rejected applications are final.
+     * </p>
+     */
     public enum Status {
         In_attesa,
         Shortlist,
         Selezionata,
-        Rifiutata,
+        Rifiutata;
+
+        /**
+         * @param target the new status.
+         * @return true if an application in this status can be moved to {@code target}.
+         */
+        public boolean canTransitionTo(Status target) {
+            if (target == null) return false;
+            switch (this) {
+                case In_attesa: return target != In_attesa;
+                case Shortlist: return target == Selezionata || target == Rifiutata;
+                default: return false;
+            }
+        }
+
+        /**
+         * @param target the new status.
+         * @return the statuses from which an application can be moved to {@code target}.
+         */
+        public static EnumSet<Status> sourcesOf(Status target) {
+            EnumSet<Status> sources = EnumSet.noneOf(Status.class);
+            for (Status status : values()) {
+                if (status.canTransitionTo(target)) {
+                    sources.add(status);
+                }
+            }
+            return sources;
+        }
     }
 }
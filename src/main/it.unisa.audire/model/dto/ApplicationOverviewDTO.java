@@ -0,0 +1,78 @@
+package model.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A page of the applications of a performer together with the number of applications in each status.
+ * <p>
+ * Status counts refer to all the applications of the performer, not only to the current page.
+ * They are keyed by {@link ApplicationDTO.Status#name()} so they can be read from EL
+ * (e.g. {@code ${overview.statusCounts['Shortlist']}}); every status is present, possibly with 0.
+ * </p>
+ */
+public class ApplicationOverviewDTO implements Serializable {
+
+    private List<ApplicationViewDTO> applications = new ArrayList<>();
+    private final Map<String, Integer> statusCounts = new LinkedHashMap<>();
+    private String nextCursor;
+
+    public ApplicationOverviewDTO() {
+        for (ApplicationDTO.Status status : ApplicationDTO.Status.values()) {
+            statusCounts.put(status.name(), 0);
+        }
+    }
+
+    /**
+     * Sets the applications of the current page and the cursor of the following one.
+     *
+     * @param page the page of applications.
+     */
+    public void setPage(PageDTO<ApplicationViewDTO> page) {
+        this.applications = page.getItems();
+        this.nextCursor = page.getNextCursor();
+    }
+
+    public void setStatusCount(ApplicationDTO.Status status, int count) {
+        statusCounts.put(status.name(), count);
+    }
+
+    public List<ApplicationViewDTO> getApplications() {
+        return applications;
+    }
+
+    public Map<String, Integer> getStatusCounts() {
+        return statusCounts;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+
+    /**
+     * @return the total number of applications of the performer, across all pages.
+     */
+    public int getTotal() {
+        int total = 0;
+        for (int count : statusCounts.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return "ApplicationOverviewDTO{" +
+                "applications=" + applications +
+                ", statusCounts=" + statusCounts +
+                ", nextCursor='" + nextCursor + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,118 @@
+package model.dto;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Read-only view of an application joined with its casting and production,
+ * as shown in the performer's "Le mie Candidature" page.
+ */
+public class ApplicationViewDTO implements Serializable {
+
+    private int applicationID;
+    private LocalDateTime sendingDate;
+    private ApplicationDTO.Status status;
+    private String feedback;
+    private int castingID;
+    private String castingTitle;
+    private LocalDateTime castingDeadline;
+    private String castingLocation;
+    private String productionTitle;
+
+    public ApplicationViewDTO() {}
+
+    public int getApplicationID() {
+        return applicationID;
+    }
+
+    public void setApplicationID(int applicationID) {
+        this.applicationID = applicationID;
+    }
+
+    public LocalDateTime getSendingDate() {
+        return sendingDate;
+    }
+
+    public void setSendingDate(LocalDateTime sendingDate) {
+        this.sendingDate = sendingDate;
+    }
+
+    public ApplicationDTO.Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(ApplicationDTO.Status status) {
+        this.status = status;
+    }
+
+    public String getFeedback() {
+        return feedback;
+    }
+
+    public void setFeedback(String feedback) {
+        this.feedback = feedback;
+    }
+
+    public int getCastingID() {
+        return castingID;
+    }
+
+    public void setCastingID(int castingID) {
+        this.castingID = castingID;
+    }
+
+    public String getCastingTitle() {
+        return castingTitle;
+    }
+
+    public void setCastingTitle(String castingTitle) {
+        this.castingTitle = castingTitle;
+    }
+
+    public LocalDateTime getCastingDeadline() {
+        return castingDeadline;
+    }
+
+    public void setCastingDeadline(LocalDateTime castingDeadline) {
+        this.castingDeadline = castingDeadline;
+    }
+
+    public String getCastingLocation() {
+        return castingLocation;
+    }
+
+    public void setCastingLocation(String castingLocation) {
+        this.castingLocation = castingLocation;
+    }
+
+    public String getProductionTitle() {
+        return productionTitle;
+    }
+
+    public void setProductionTitle(String productionTitle) {
+        this.productionTitle = productionTitle;
+    }
+
+    @Override
+    public String toString() {
+        return "ApplicationViewDTO{" +
+                "applicationID=" + applicationID +
+                ", sendingDate=" + sendingDate +
+                ", status=" + status +
+                ", feedback='" + feedback + '\'' +
+                ", castingID=" + castingID +
+                ", castingTitle='" + castingTitle + '\'' +
+                ", castingDeadline=" + castingDeadline +
+                ", castingLocation='" + castingLocation + '\'' +
+                ", productionTitle='" + productionTitle + '\'' +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        ApplicationViewDTO that = (ApplicationViewDTO) o;
+        return applicationID == that.applicationID && castingID == that.castingID && Objects.equals(sendingDate, that.sendingDate) && status == that.status && Objects.equals(feedback, that.feedback) && Objects.equals(castingTitle, that.castingTitle) && Objects.equals(castingDeadline, that.castingDeadline) && Objects.equals(castingLocation, that.castingLocation) && Objects.equals(productionTitle, that.productionTitle);
+    }
+}
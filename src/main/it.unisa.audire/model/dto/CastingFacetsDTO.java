@@ -0,0 +1,76 @@
+package model.dto;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * Number of active castings for each value of the Home Page filters.
+ * <p>
+ * The counts of a facet apply the criteria selected on the other facets but not its own, so that
+ * they tell how many castings each alternative value would show. Maps are keyed by the value as
+ * it appears in the request parameters (enum name, location, number of days).
+ * </p>
+ */
+public class CastingFacetsDTO implements Serializable {
+
+    private final int total;
+    private final Map<String, Integer> categories;
+    private final Map<String, Integer> productionTypes;
+    private final Map<String, Integer> locations;
+    private final Map<String, Integer> deadlines;
+
+    public CastingFacetsDTO(int total, Map<String, Integer> categories, Map<String, Integer> productionTypes,
+                            Map<String, Integer> locations, Map<String, Integer> deadlines) {
+        this.total = total;
+        this.categories = categories;
+        this.productionTypes = productionTypes;
+        this.locations = locations;
+        this.deadlines = deadlines;
+    }
+
+    /**
+     * @return the number of castings matching all the selected criteria.
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * @return the count of every category, in declaration order.
+     */
+    public Map<String, Integer> getCategories() {
+        return categories;
+    }
+
+    /**
+     * @return the count of every production type, in declaration order.
+     */
+    public Map<String, Integer> getProductionTypes() {
+        return productionTypes;
+    }
+
+    /**
+     * @return the count of the most frequent locations, most frequent first.
+     */
+    public Map<String, Integer> getLocations() {
+        return locations;
+    }
+
+    /**
+     * @return the count of every deadline window, keyed by its number of days.
+     */
+    public Map<String, Integer> getDeadlines() {
+        return deadlines;
+    }
+
+    @Override
+    public String toString() {
+        return "CastingFacetsDTO{" +
+                "total=" + total +
+                ", categories=" + categories +
+                ", productionTypes=" + productionTypes +
+                ", locations=" + locations +
+                ", deadlines=" + deadlines +
+                '}';
+    }
+}
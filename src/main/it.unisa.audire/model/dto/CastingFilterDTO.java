@@ -0,0 +1,78 @@
+package model.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Filter criteria for the active castings of the Home Page.
+ * <p>
+ * Every criterion is optional: a {@code null} value means "any".
+ * The location is compared ignoring case and extra spaces; the deadline window keeps the castings
+ * whose deadline falls within the given number of days from today.
+ * </p>
+ */
+public class CastingFilterDTO implements Serializable {
+
+    private CastingDTO.Category category;
+    private ProductionDTO.Type productionType;
+    private String location;
+    private Integer deadlineDays;
+
+    public CastingFilterDTO() {}
+
+    public CastingDTO.Category getCategory() {
+        return category;
+    }
+
+    public void setCategory(CastingDTO.Category category) {
+        this.category = category;
+    }
+
+    public ProductionDTO.Type getProductionType() {
+        return productionType;
+    }
+
+    public void setProductionType(ProductionDTO.Type productionType) {
+        this.productionType = productionType;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = (location != null && !location.trim().isEmpty()) ? location.trim() : null;
+    }
+
+    public Integer getDeadlineDays() {
+        return deadlineDays;
+    }
+
+    public void setDeadlineDays(Integer deadlineDays) {
+        this.deadlineDays = deadlineDays;
+    }
+
+    /**
+     * @return true if no criterion is set.
+     */
+    public boolean isEmpty() {
+        return category == null && productionType == null && location == null && deadlineDays == null;
+    }
+
+    @Override
+    public String toString() {
+        return "CastingFilterDTO{" +
+                "category=" + category +
+                ", productionType=" + productionType +
+                ", location='" + location + '\'' +
+                ", deadlineDays=" + deadlineDays +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        CastingFilterDTO that = (CastingFilterDTO) o;
+        return category == that.category && productionType == that.productionType && Objects.equals(location, that.location) && Objects.equals(deadlineDays, that.deadlineDays);
+    }
+}
@@ -0,0 +1,50 @@
+package model.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A page of results obtained with keyset (seek) pagination.
+ * <p>
+ * The {@code nextCursor} is an opaque token identifying the last element of the page:
+ * passing it back to the DAO returns the elements that follow. It is {@code null}
+ * on the last page.
+ * </p>
+ *
+ * @param <T> the type of the elements.
+ */
+public class PageDTO<T> implements Serializable {
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    public PageDTO(List<T> items, String nextCursor) {
+        this.items = (items != null) ? items : new ArrayList<>();
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "PageDTO{" +
+                "items=" + items +
+                ", nextCursor='" + nextCursor + '\'' +
+                '}';
+    }
+}
@@ -11,6 +11,9 @@ public class PerformerDTO implements Serializable {
     private String description;
     private byte[] cvData;
     private String cvMimeType;
+    private long cvSize;
+    private String cvHash;
+    private boolean cvInDatabase;
     private String profilePhoto;
     private int userID;
 
@@ -75,6 +78,42 @@ public class PerformerDTO implements Serializable {
         this.cvMimeType = cvMimeType;
     }
 
+    public long getCvSize() {
+        return cvSize;
+    }
+
+    public void setCvSize(long cvSize) {
+        this.cvSize = cvSize;
+    }
+
+    public String getCvHash() {
+        return cvHash;
+    }
+
+    public void setCvHash(String cvHash) {
+        this.cvHash = cvHash;
+    }
+
+    /**
+     * @return {@code true} if the CV bytes are in the {@code CV_Data} column rather than in the CV store.
+     */
+    public boolean isCvInDatabase() {
+        return cvInDatabase;
+    }
+
+    public void setCvInDatabase(boolean cvInDatabase) {
+        this.cvInDatabase = cvInDatabase;
+    }
+
+    /**
+     * Tells whether the performer has uploaded a CV, without requiring the binary data to be loaded.
+     *
+     * @return {@code true} if a CV is stored for this performer.
+     */
+    public boolean hasCv() {
+        return cvSize > 0 || (cvData != null && cvData.length > 0);
+    }
+
     public String getProfilePhoto() {
         return profilePhoto;
     }
@@ -100,6 +139,8 @@ public class PerformerDTO implements Serializable {
                 ", description='" + description + '\'' +
                 ", cvData=" + Arrays.toString(cvData) +
                 ", cvMimeType='" + cvMimeType + '\'' +
+                ", cvSize=" + cvSize +
+                ", cvHash='" + cvHash + '\'' +
                 ", profilePhoto='" + profilePhoto + '\'' +
                 ", userID=" + userID +
                 '}';
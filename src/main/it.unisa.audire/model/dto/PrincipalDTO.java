@@ -0,0 +1,100 @@
+package model.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * The authenticated user, as kept in the session under the {@code "user"} attribute.
+ * <p>
+ * It is created once at login (or registration) and carries the ID of the role profile
+ * ({@code CdID}, {@code PmID} or {@code PerformerID}), so controllers do not need to query the
+ * profile tables on every request. It holds only what the pages and the access checks need:
+ * the password hash is never stored in the session.
+ * </p>
+ */
+public final class PrincipalDTO implements Serializable {
+
+    private final int userID;
+    private final UserDTO.Role role;
+    private final int profileID;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final String phoneNumber;
+
+    /**
+     * @param user      the authenticated user.
+     * @param profileID the ID of the user's role profile, or 0 if it does not exist.
+     */
+    public PrincipalDTO(UserDTO user, int profileID) {
+        this.userID = user.getUserID();
+        this.role = user.getRole();
+        this.profileID = profileID;
+        this.firstName = user.getFirstName();
+        this.lastName = user.getLastName();
+        this.email = user.getEmail();
+        this.phoneNumber = user.getPhoneNumber();
+    }
+
+    public int getUserID() {
+        return userID;
+    }
+
+    public UserDTO.Role getRole() {
+        return role;
+    }
+
+    /**
+     * @return the CdID of a Casting Director, or 0 for the other roles.
+     */
+    public int getCdID() {
+        return (role == UserDTO.Role.CastingDirector) ? profileID : 0;
+    }
+
+    /**
+     * @return the PmID of a Production Manager, or 0 for the other roles.
+     */
+    public int getPmID() {
+        return (role == UserDTO.Role.ProductionManager) ? profileID : 0;
+    }
+
+    /**
+     * @return the PerformerID of a Performer, or 0 for the other roles.
+     */
+    public int getPerformerID() {
+        return (role == UserDTO.Role.Performer) ? profileID : 0;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    /**
+     * @return a short tag that changes with what the pages show about the user, for use in an ETag.
+     */
+    public String getViewTag() {
+        return userID + "." + Integer.toHexString(Objects.hash(role, firstName, lastName, email));
+    }
+
+    @Override
+    public String toString() {
+        return "PrincipalDTO{" +
+                "userID=" + userID +
+                ", role=" + role +
+                ", profileID=" + profileID +
+                ", email='" + email + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,55 @@
+package model.dto;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * Number of performers of the talent directory for each value of its filters.
+ * <p>
+ * The counts of a facet apply the query and the value selected on the other facet but not its own,
+ * so that they tell how many performers each alternative value would show. Maps are keyed by the
+ * enum name, as in the request parameters.
+ * </p>
+ */
+public class TalentFacetsDTO implements Serializable {
+
+    private final int total;
+    private final Map<String, Integer> genders;
+    private final Map<String, Integer> categories;
+
+    public TalentFacetsDTO(int total, Map<String, Integer> genders, Map<String, Integer> categories) {
+        this.total = total;
+        this.genders = genders;
+        this.categories = categories;
+    }
+
+    /**
+     * @return the number of performers matching all the selected criteria.
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * @return the count of every gender, in declaration order.
+     */
+    public Map<String, Integer> getGenders() {
+        return genders;
+    }
+
+    /**
+     * @return the count of every category, in declaration order.
+     */
+    public Map<String, Integer> getCategories() {
+        return categories;
+    }
+
+    @Override
+    public String toString() {
+        return "TalentFacetsDTO{" +
+                "total=" + total +
+                ", genders=" + genders +
+                ", categories=" + categories +
+                '}';
+    }
+}
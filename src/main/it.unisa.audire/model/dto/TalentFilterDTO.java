@@ -0,0 +1,67 @@
+package model.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Search criteria for the talent directory of the Casting Directors.
+ * <p>
+ * Every criterion is optional: a {@code null} value means "any". The query is matched against the
+ * names and the descriptions of the performers; without it the performers are listed newest first.
+ * </p>
+ */
+public class TalentFilterDTO implements Serializable {
+
+    private String query;
+    private PerformerDTO.Gender gender;
+    private PerformerDTO.Category category;
+
+    public TalentFilterDTO() {}
+
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = (query != null && !query.trim().isEmpty()) ? query.trim() : null;
+    }
+
+    public PerformerDTO.Gender getGender() {
+        return gender;
+    }
+
+    public void setGender(PerformerDTO.Gender gender) {
+        this.gender = gender;
+    }
+
+    public PerformerDTO.Category getCategory() {
+        return category;
+    }
+
+    public void setCategory(PerformerDTO.Category category) {
+        this.category = category;
+    }
+
+    /**
+     * @return true if no criterion is set.
+     */
+    public boolean isEmpty() {
+        return query == null && gender == null && category == null;
+    }
+
+    @Override
+    public String toString() {
+        return "TalentFilterDTO{" +
+                "query='" + query + '\'' +
+                ", gender=" + gender +
+                ", category=" + category +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        TalentFilterDTO that = (TalentFilterDTO) o;
+        return Objects.equals(query, that.query) && gender == that.gender && category == that.category;
+    }
+}
@@ -0,0 +1,289 @@
+package model.migration;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.*;
+import java.util.*;
+
+/**
+ * Applies the versioned schema migrations to the database, in order and at most once.
+ * <p>
+ * Migrations are SQL scripts on the classpath, in {@code model/migration/sql/} (sources under
+ * {@code src/main/resources}, copied to the classes by the build), named
+ * {@code V<version>__<description>.sql} and listed in {@link #MIGRATIONS}. Each applied migration is
+ * recorded in the {@code Schema_Migration} table with the SHA-256 checksum of its script: a script
+ * changed after being applied is reported as an error and nothing else is run, since the database
+ * would no longer match the sources.
+ * </p>
+ * <p>
+ * MySQL commits every DDL statement on its own, so a migration cannot be rolled back: it is recorded
+ * only after all its statements succeed, and statements that fail because their object already exists
+ * (column, index or table) are skipped. A migration interrupted half-way is therefore completed on the
+ * next run, and the first migration can bring databases created by older versions of
+ * {@code schema.sql} up to date.
+ * </p>
+ * <p>
+ * A named lock ({@code GET_LOCK}) keeps several application instances started together from
+ * running the same migrations.
+ * </p>
+ */
+public class MigrationRunner {
+
+    /** The migration scripts, in the order they must be applied. Append new ones at the end. */
+    static final String[] MIGRATIONS = {
+            "V001__performance_indexes.sql",
+            "V002__cv_hash_backfill.sql",
+    };
+
+    private static final String SCRIPT_DIR = "sql/";
+    private static final String LOCK_NAME = "audire_schema_migration";
+    private static final int LOCK_TIMEOUT_SECONDS = 60;
+
+    // MySQL: ER_TABLE_EXISTS_ERROR, ER_DUP_FIELDNAME, ER_DUP_KEYNAME
+    private static final Set<Integer> ALREADY_EXISTS_ERRORS = new HashSet<>(Arrays.asList(1050, 1060, 1061));
+
+    private static final String CREATE_HISTORY_SQL =
+            "CREATE TABLE IF NOT EXISTS Schema_Migration (" +
+            "Version INT PRIMARY KEY, " +
+            "Description VARCHAR(255) NOT NULL, " +
+            "Checksum CHAR(64) NOT NULL, " +
+            "AppliedOn DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP, " +
+            "ExecutionMillis BIGINT NOT NULL)";
+
+    /**
+     * A migration script and its checksum.
+     */
+    public static final class Migration {
+        private final int version;
+        private final String description;
+        private final String script;
+        private final String checksum;
+
+        Migration(int version, String description, String script) {
+            this.version = version;
+            this.description = description;
+            this.script = script;
+            this.checksum = sha256(script);
+        }
+
+        public int getVersion() {
+            return version;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public String getChecksum() {
+            return checksum;
+        }
+
+        @Override
+        public String toString() {
+            return "V" + version + " (" + description + ")";
+        }
+    }
+
+    private final DataSource dataSource;
+
+    public MigrationRunner(DataSource dataSource) {
+        this.dataSource = Objects.requireNonNull(dataSource, "DataSource cannot be null");
+    }
+
+    /**
+     * Applies the pending migrations.
+     *
+     * @return the migrations applied by this call, in order (empty if the schema was up to date).
+     * @throws SQLException if a migration fails, an applied script was changed, or the lock cannot be acquired.
+     */
+    public List<Migration> migrate() throws SQLException {
+        List<Migration> migrations = load();
+        List<Migration> applied = new ArrayList<>();
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            acquireLock(connection);
+            try {
+                try (Statement st = connection.createStatement()) {
+                    st.execute(CREATE_HISTORY_SQL);
+                }
+
+                // Validates the whole history before changing anything
+                Map<Integer, String> history = readHistory(connection);
+                for (Migration migration : migrations) {
+                    String checksum = history.get(migration.version);
+                    if (checksum != null && !checksum.equals(migration.checksum)) {
+                        throw new SQLException("Checksum mismatch for migration " + migration +
+                                ": the script was changed after being applied");
+                    }
+                }
+
+                for (Migration migration : migrations) {
+                    if (!history.containsKey(migration.version)) {
+                        apply(connection, migration);
+                        applied.add(migration);
+                    }
+                }
+            } finally {
+                releaseLock(connection);
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * @return the migrations not applied yet, without applying them.
+     * @throws SQLException if a database error occurs.
+     */
+    public List<Migration> pending() throws SQLException {
+        List<Migration> pending = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            Map<Integer, String> history = hasHistory(connection) ? readHistory(connection) : Collections.emptyMap();
+            for (Migration migration : load()) {
+                if (!history.containsKey(migration.version)) {
+                    pending.add(migration);
+                }
+            }
+        }
+        return pending;
+    }
+
+    // --- Helper Methods ---
+
+    private void apply(Connection connection, Migration migration) throws SQLException {
+        long start = System.nanoTime();
+        try (Statement st = connection.createStatement()) {
+            for (String sql : split(migration.script)) {
+                try {
+                    st.execute(sql);
+                } catch (SQLException e) {
+                    if (!ALREADY_EXISTS_ERRORS.contains(e.getErrorCode())) {
+                        throw new SQLException("Migration " + migration + " failed: " + e.getMessage(),
+                                e.getSQLState(), e.getErrorCode(), e);
+                    }
+                }
+            }
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        String sql = "INSERT INTO Schema_Migration (Version, Description, Checksum, ExecutionMillis) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, migration.version);
+            ps.setString(2, migration.description);
+            ps.setString(3, migration.checksum);
+            ps.setLong(4, millis);
+            ps.executeUpdate();
+        }
+    }
+
+    private Map<Integer, String> readHistory(Connection connection) throws SQLException {
+        Map<Integer, String> history = new HashMap<>();
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT Version, Checksum FROM Schema_Migration")) {
+            while (rs.next()) {
+                history.put(rs.getInt(1), rs.getString(2));
+            }
+        }
+        return history;
+    }
+
+    private boolean hasHistory(Connection connection) throws SQLException {
+        try (ResultSet rs = connection.getMetaData().getTables(connection.getCatalog(), null, "Schema_Migration", new String[]{"TABLE"})) {
+            return rs.next();
+        }
+    }
+
+    private void acquireLock(Connection connection) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            ps.setString(1, LOCK_NAME);
+            ps.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Could not acquire the migration lock within " + LOCK_TIMEOUT_SECONDS + " seconds");
+                }
+            }
+        }
+    }
+
+    private void releaseLock(Connection connection) {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            ps.setString(1, LOCK_NAME);
+            ps.executeQuery().close();
+        } catch (SQLException e) {
+            System.out.println("Errore nel rilascio del lock delle migrazioni: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Loads the scripts listed in {@link #MIGRATIONS} and checks that their versions increase.
+     */
+    static List<Migration> load() throws SQLException {
+        List<Migration> migrations = new ArrayList<>(MIGRATIONS.length);
+        int previous = 0;
+        for (String name : MIGRATIONS) {
+            int separator = name.indexOf("__");
+            if (!name.startsWith("V") || separator < 0 || !name.endsWith(".sql")) {
+                throw new IllegalArgumentException("Invalid migration name: " + name);
+            }
+            int version = Integer.parseInt(name.substring(1, separator));
+            if (version <= previous) {
+                throw new IllegalArgumentException("Migration versions must increase: " + name);
+            }
+            previous = version;
+
+            String description = name.substring(separator + 2, name.length() - 4).replace('_', ' ');
+            migrations.add(new Migration(version, description, read(name)));
+        }
+        return migrations;
+    }
+
+    private static String read(String name) throws SQLException {
+        try (InputStream in = MigrationRunner.class.getResourceAsStream(SCRIPT_DIR + name)) {
+            if (in == null) {
+                throw new SQLException("Migration script not found on the classpath: " + name);
+            }
+            // Checksum independent of the line endings of the system that produced the file
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).replace("\r\n", "\n");
+        } catch (IOException e) {
+            throw new SQLException("Cannot read migration script " + name, e);
+        }
+    }
+
+    /**
+     * Splits a script into statements. A statement ends with a semicolon at the end of a line;
+     * lines starting with {@code --} are comments.
+     */
+    static List<String> split(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String line : script.split("\n")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("--")) continue;
+
+            current.append(line).append('\n');
+            if (trimmed.endsWith(";")) {
+                String sql = current.toString().trim();
+                statements.add(sql.substring(0, sql.length() - 1));
+                current.setLength(0);
+            }
+        }
+        if (current.toString().trim().length() > 0) {
+            statements.add(current.toString().trim());
+        }
+        return statements;
+    }
+
+    private static String sha256(String script) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(script.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is mandatory on every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+}
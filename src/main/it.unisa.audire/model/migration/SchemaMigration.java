@@ -0,0 +1,47 @@
+package model.migration;
+
+import com.mysql.cj.jdbc.MysqlDataSource;
+
+import java.util.List;
+
+/**
+ * Command-line tool that applies the pending schema migrations with a {@link MigrationRunner}.
+ * <p>
+ * Usage: {@code SchemaMigration <jdbcUrl> <user> <password> [--dry-run]}
+ * </p>
+ * <p>
+ * With {@code --dry-run} the pending migrations are only listed. The same migrations are applied by
+ * the web application at startup unless the {@code db.migrate} context parameter is {@code false}.
+ * </p>
+ */
+public class SchemaMigration {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Uso: SchemaMigration <jdbcUrl> <user> <password> [--dry-run]");
+            System.exit(1);
+        }
+
+        MysqlDataSource ds = new MysqlDataSource();
+        ds.setUrl(args[0]);
+        ds.setUser(args[1]);
+        ds.setPassword(args[2]);
+
+        MigrationRunner runner = new MigrationRunner(ds);
+
+        if (args.length > 3 && "--dry-run".equals(args[3])) {
+            List<MigrationRunner.Migration> pending = runner.pending();
+            for (MigrationRunner.Migration migration : pending) {
+                System.out.println("Da applicare: " + migration);
+            }
+            System.out.println("Migrazioni in attesa: " + pending.size());
+            return;
+        }
+
+        List<MigrationRunner.Migration> applied = runner.migrate();
+        for (MigrationRunner.Migration migration : applied) {
+            System.out.println("Applicata: " + migration);
+        }
+        System.out.println("Schema aggiornato. Migrazioni applicate: " + applied.size());
+    }
+}
@@ -0,0 +1,469 @@
+package model.pool;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Minimal pooled {@link DataSource}, used when the container does not provide {@code jdbc/Audire} through JNDI.
+ * <p>
+ * Features:
+ * </p>
+ * <ul>
+ *     <li>between {@code minSize} and {@code maxSize} physical connections; callers wait at most
+ *     {@code maxWaitMillis} for a free one, then get an {@link SQLTimeoutException};</li>
+ *     <li>idle connections unused for a while are validated with {@link Connection#isValid(int)}
+ *     before being handed out, and closed after {@code idleTimeoutMillis} beyond {@code minSize};</li>
+ *     <li>leak detection: the stack trace of each lease is captured and printed if the connection is
+ *     held longer than {@code leakThresholdMillis};</li>
+ *     <li>statistics (active/idle connections, waiting threads, saturation, wait-time histogram)
+ *     exposed through {@link ConnectionPoolMXBean}.</li>
+ * </ul>
+ * <p>
+ * Connections are returned to the pool by closing them; any open transaction is rolled back
+ * and auto-commit restored.
+ * </p>
+ */
+public class ConnectionPool implements DataSource, ConnectionPoolMXBean, AutoCloseable {
+
+    private static final long HOUSEKEEPING_INTERVAL_MILLIS = 5_000;
+
+    private final PoolConfig config;
+    private final Semaphore permits;
+    private final BlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> leased = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger total = new AtomicInteger();
+    private final WaitTimeHistogram waitTimes = new WaitTimeHistogram();
+    private final ScheduledExecutorService housekeeper;
+
+    private final LongAdder leaseCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder leakCount = new LongAdder();
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder discardedCount = new LongAdder();
+
+    private volatile boolean closed;
+    private volatile boolean saturationReported;
+
+    /**
+     * A physical connection with its bookkeeping data.
+     */
+    private static final class PooledConnection {
+        final Connection raw;
+        volatile long lastUsedAt;
+        volatile long leasedAt;
+        volatile Throwable leaseTrace;
+        volatile boolean leakReported;
+
+        PooledConnection(Connection raw) {
+            this.raw = raw;
+            this.lastUsedAt = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Creates the pool and opens {@code minSize} connections.
+     *
+     * @param config the pool settings.
+     * @throws SQLException if the initial connections cannot be opened.
+     */
+    public ConnectionPool(PoolConfig config) throws SQLException {
+        this.config = Objects.requireNonNull(config, "PoolConfig cannot be null");
+        config.validate();
+
+        if (config.getDriverClassName() != null && !config.getDriverClassName().isEmpty()) {
+            try {
+                Class.forName(config.getDriverClassName());
+            } catch (ClassNotFoundException e) {
+                throw new SQLException("JDBC driver not found: " + config.getDriverClassName(), e);
+            }
+        }
+
+        this.permits = new Semaphore(config.getMaxSize(), true);
+
+        try {
+            fillToMinimum();
+        } catch (SQLException e) {
+            closeIdleConnections();
+            throw e;
+        }
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "audire-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeeping,
+                HOUSEKEEPING_INTERVAL_MILLIS, HOUSEKEEPING_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(config.getMaxWaitMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+        waitTimes.record(System.nanoTime() - start);
+
+        if (!acquired) {
+            timeoutCount.increment();
+            throw new SQLTimeoutException("Connection pool exhausted: no connection available within "
+                    + config.getMaxWaitMillis() + " ms (active=" + leased.size() + ", max=" + config.getMaxSize() + ")");
+        }
+
+        try {
+            PooledConnection pc = takeIdleOrCreate();
+            pc.leasedAt = System.currentTimeMillis();
+            pc.leakReported = false;
+            pc.leaseTrace = (config.getLeakThresholdMillis() > 0) ? new Throwable("Connection leased here") : null;
+            leased.add(pc);
+            leaseCount.increment();
+            return wrap(pc);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("The pool uses the configured credentials");
+    }
+
+    /**
+     * Closes all the connections and stops the housekeeping task. Leased connections are closed when returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        closeIdleConnections();
+    }
+
+    // --- Statistics ---
+
+    @Override
+    public int getMinSize() {
+        return config.getMinSize();
+    }
+
+    @Override
+    public int getMaxSize() {
+        return config.getMaxSize();
+    }
+
+    @Override
+    public int getActiveConnections() {
+        return leased.size();
+    }
+
+    @Override
+    public int getIdleConnections() {
+        return idle.size();
+    }
+
+    @Override
+    public int getTotalConnections() {
+        return total.get();
+    }
+
+    @Override
+    public int getThreadsAwaitingConnection() {
+        return permits.getQueueLength();
+    }
+
+    @Override
+    public double getSaturation() {
+        return (double) leased.size() / config.getMaxSize();
+    }
+
+    @Override
+    public long getLeaseCount() {
+        return leaseCount.sum();
+    }
+
+    @Override
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    @Override
+    public long getLeakCount() {
+        return leakCount.sum();
+    }
+
+    @Override
+    public long getCreatedCount() {
+        return createdCount.sum();
+    }
+
+    @Override
+    public long getDiscardedCount() {
+        return discardedCount.sum();
+    }
+
+    @Override
+    public double getWaitTimeMeanMillis() {
+        return waitTimes.getMeanMillis();
+    }
+
+    @Override
+    public double getWaitTimeP50Millis() {
+        return waitTimes.getPercentileMillis(50);
+    }
+
+    @Override
+    public double getWaitTimeP95Millis() {
+        return waitTimes.getPercentileMillis(95);
+    }
+
+    @Override
+    public double getWaitTimeP99Millis() {
+        return waitTimes.getPercentileMillis(99);
+    }
+
+    @Override
+    public double getWaitTimeMaxMillis() {
+        return waitTimes.getMaxMillis();
+    }
+
+    @Override
+    public Map<String, Long> getWaitTimeHistogram() {
+        return waitTimes.snapshot();
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPool{" +
+                "active=" + getActiveConnections() +
+                ", idle=" + getIdleConnections() +
+                ", max=" + getMaxSize() +
+                ", waiting=" + getThreadsAwaitingConnection() +
+                ", timeouts=" + getTimeoutCount() +
+                ", waitP95=" + getWaitTimeP95Millis() + "ms" +
+                '}';
+    }
+
+    // --- Helper Methods ---
+
+    private PooledConnection takeIdleOrCreate() throws SQLException {
+        PooledConnection pc;
+        // LIFO: la connessione usata più di recente è la più probabilmente ancora valida
+        while ((pc = idle.pollFirst()) != null) {
+            if (System.currentTimeMillis() - pc.lastUsedAt < config.getValidationIntervalMillis() || isValid(pc)) {
+                return pc;
+            }
+            discard(pc);
+        }
+        return create();
+    }
+
+    private PooledConnection create() throws SQLException {
+        Connection raw = DriverManager.getConnection(config.getUrl(), config.getUser(), config.getPassword());
+        total.incrementAndGet();
+        createdCount.increment();
+        return new PooledConnection(raw);
+    }
+
+    private boolean isValid(PooledConnection pc) {
+        try {
+            return pc.raw.isValid(config.getValidationTimeoutSeconds());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void release(PooledConnection pc) {
+        leased.remove(pc);
+        pc.leaseTrace = null;
+        try {
+            if (closed || pc.raw.isClosed()) {
+                discard(pc);
+                return;
+            }
+            if (!pc.raw.getAutoCommit()) {
+                pc.raw.rollback();
+                pc.raw.setAutoCommit(true);
+            }
+            pc.lastUsedAt = System.currentTimeMillis();
+            idle.offerFirst(pc);
+        } catch (SQLException e) {
+            discard(pc);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void discard(PooledConnection pc) {
+        total.decrementAndGet();
+        discardedCount.increment();
+        try {
+            pc.raw.close();
+        } catch (SQLException e) {
+            // La connessione è comunque scartata
+        }
+    }
+
+    private void fillToMinimum() throws SQLException {
+        while (!closed && total.get() < config.getMinSize()) {
+            idle.offerLast(create());
+        }
+    }
+
+    private void closeIdleConnections() {
+        PooledConnection pc;
+        while ((pc = idle.pollFirst()) != null) {
+            discard(pc);
+        }
+    }
+
+    /**
+     * Periodic task: reports leaks and saturation, evicts idle connections beyond the minimum and refills to the minimum.
+     */
+    private void housekeeping() {
+        try {
+            long now = System.currentTimeMillis();
+
+            long threshold = config.getLeakThresholdMillis();
+            if (threshold > 0) {
+                for (PooledConnection pc : leased) {
+                    Throwable trace = pc.leaseTrace;
+                    if (!pc.leakReported && trace != null && now - pc.leasedAt > threshold) {
+                        pc.leakReported = true;
+                        leakCount.increment();
+                        System.out.println("Possibile connection leak: connessione in uso da " + (now - pc.leasedAt) + " ms");
+                        trace.printStackTrace(System.out);
+                    }
+                }
+            }
+
+            int waiting = getThreadsAwaitingConnection();
+            if (waiting > 0 && !saturationReported) {
+                saturationReported = true;
+                System.out.println("Pool di connessioni saturo: " + this);
+            } else if (waiting == 0) {
+                saturationReported = false;
+            }
+
+            PooledConnection oldest;
+            while (idle.size() > config.getMinSize()
+                    && (oldest = idle.peekLast()) != null
+                    && now - oldest.lastUsedAt > config.getIdleTimeoutMillis()) {
+                if (idle.removeLastOccurrence(oldest)) {
+                    discard(oldest);
+                }
+            }
+
+            fillToMinimum();
+        } catch (Exception e) {
+            System.out.println("Errore nella manutenzione del pool: " + e.getMessage());
+        }
+    }
+
+    private Connection wrap(PooledConnection pc) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new LeasedConnectionHandler(pc));
+    }
+
+    /**
+     * Handle returned to callers: {@code close()} gives the connection back to the pool, once.
+     */
+    private final class LeasedConnectionHandler implements InvocationHandler {
+        private final PooledConnection pc;
+        private final AtomicBoolean returned = new AtomicBoolean();
+
+        LeasedConnectionHandler(PooledConnection pc) {
+            this.pc = pc;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (returned.compareAndSet(false, true)) {
+                        release(pc);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned.get() || pc.raw.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled " + pc.raw;
+                default:
+                    break;
+            }
+
+            if (returned.get()) {
+                throw new SQLException("Connection is closed");
+            }
+            try {
+                return method.invoke(pc.raw, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    // --- DataSource boilerplate ---
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return DriverManager.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+        DriverManager.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        DriverManager.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return DriverManager.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) return iface.cast(this);
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
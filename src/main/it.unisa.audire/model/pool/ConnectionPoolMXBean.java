@@ -0,0 +1,47 @@
+package model.pool;
+
+import java.util.Map;
+
+/**
+ * Management view of a {@link ConnectionPool}, published over JMX to size the pool from real data.
+ */
+public interface ConnectionPoolMXBean {
+
+    int getMinSize();
+
+    int getMaxSize();
+
+    int getActiveConnections();
+
+    int getIdleConnections();
+
+    int getTotalConnections();
+
+    /** Threads currently blocked waiting for a connection. */
+    int getThreadsAwaitingConnection();
+
+    /** Active connections over maximum size, between 0 and 1. */
+    double getSaturation();
+
+    long getLeaseCount();
+
+    long getTimeoutCount();
+
+    long getLeakCount();
+
+    long getCreatedCount();
+
+    long getDiscardedCount();
+
+    double getWaitTimeMeanMillis();
+
+    double getWaitTimeP50Millis();
+
+    double getWaitTimeP95Millis();
+
+    double getWaitTimeP99Millis();
+
+    double getWaitTimeMaxMillis();
+
+    Map<String, Long> getWaitTimeHistogram();
+}
@@ -0,0 +1,155 @@
+package model.pool;
+
+/**
+ * Settings of a {@link ConnectionPool}.
+ * <p>
+ * Defaults are sized for a small application talking to a remote MySQL instance:
+ * override them from the context parameters once the pool statistics are available.
+ * </p>
+ */
+public class PoolConfig {
+
+    private String driverClassName = "com.mysql.cj.jdbc.Driver";
+    private String url;
+    private String user;
+    private String password;
+
+    private int minSize = 2;
+    private int maxSize = 10;
+    private long maxWaitMillis = 5_000;
+
+    /** Idle connections unused for longer than this are validated before being handed out. */
+    private long validationIntervalMillis = 30_000;
+    private int validationTimeoutSeconds = 2;
+
+    /** Idle connections beyond {@code minSize} are closed after this time. */
+    private long idleTimeoutMillis = 600_000;
+
+    /** A connection held longer than this is reported as a possible leak; 0 disables leak detection. */
+    private long leakThresholdMillis = 60_000;
+
+    public PoolConfig() {}
+
+    public String getDriverClassName() {
+        return driverClassName;
+    }
+
+    public void setDriverClassName(String driverClassName) {
+        this.driverClassName = driverClassName;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    public void setUser(String user) {
+        this.user = user;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public void setMinSize(int minSize) {
+        this.minSize = minSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public long getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    public void setMaxWaitMillis(long maxWaitMillis) {
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    public long getValidationIntervalMillis() {
+        return validationIntervalMillis;
+    }
+
+    public void setValidationIntervalMillis(long validationIntervalMillis) {
+        this.validationIntervalMillis = validationIntervalMillis;
+    }
+
+    public int getValidationTimeoutSeconds() {
+        return validationTimeoutSeconds;
+    }
+
+    public void setValidationTimeoutSeconds(int validationTimeoutSeconds) {
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+    }
+
+    public long getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    public void setIdleTimeoutMillis(long idleTimeoutMillis) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    public long getLeakThresholdMillis() {
+        return leakThresholdMillis;
+    }
+
+    public void setLeakThresholdMillis(long leakThresholdMillis) {
+        this.leakThresholdMillis = leakThresholdMillis;
+    }
+
+    /**
+     * Checks that the settings are consistent.
+     *
+     * @throws IllegalArgumentException if a setting is missing or out of range.
+     */
+    public void validate() {
+        if (url == null || url.trim().isEmpty()) {
+            throw new IllegalArgumentException("JDBC URL cannot be empty");
+        }
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        if (minSize < 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("minSize must be between 0 and maxSize");
+        }
+        if (maxWaitMillis < 0 || validationIntervalMillis < 0 || idleTimeoutMillis < 0 || leakThresholdMillis < 0) {
+            throw new IllegalArgumentException("Timeouts cannot be negative");
+        }
+    }
+
+    @Override
+    public String toString() {
+        // La password non viene mai stampata
+        return "PoolConfig{" +
+                "url='" + url + '\'' +
+                ", user='" + user + '\'' +
+                ", minSize=" + minSize +
+                ", maxSize=" + maxSize +
+                ", maxWaitMillis=" + maxWaitMillis +
+                ", validationIntervalMillis=" + validationIntervalMillis +
+                ", idleTimeoutMillis=" + idleTimeoutMillis +
+                ", leakThresholdMillis=" + leakThresholdMillis +
+                '}';
+    }
+}
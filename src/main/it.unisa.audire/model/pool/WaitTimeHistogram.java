@@ -0,0 +1,99 @@
+package model.pool;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of the time threads wait for a connection.
+ * <p>
+ * Samples are counted in fixed buckets (upper bounds from 0.1 ms to 5 s, plus overflow), so
+ * recording is a single atomic increment and memory does not grow with the number of samples.
+ * Percentiles are approximated by the upper bound of the bucket that contains them.
+ * </p>
+ */
+public class WaitTimeHistogram {
+
+    private static final long[] BOUNDS_MICROS = {
+            100, 500, 1_000, 5_000, 10_000, 50_000, 100_000, 500_000, 1_000_000, 5_000_000
+    };
+
+    private final AtomicLongArray counts = new AtomicLongArray(BOUNDS_MICROS.length + 1);
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Records a wait.
+     *
+     * @param nanos the time waited, in nanoseconds.
+     */
+    public void record(long nanos) {
+        long micros = nanos / 1_000;
+        int bucket = BOUNDS_MICROS.length;
+        for (int i = 0; i < BOUNDS_MICROS.length; i++) {
+            if (micros <= BOUNDS_MICROS[i]) {
+                bucket = i;
+                break;
+            }
+        }
+        counts.incrementAndGet(bucket);
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    public double getMeanMillis() {
+        long count = getCount();
+        return (count == 0) ? 0 : totalNanos.sum() / (count * 1_000_000.0);
+    }
+
+    public double getMaxMillis() {
+        return maxNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * @param percentile the percentile, between 0 and 100.
+     * @return the upper bound in milliseconds of the bucket holding the percentile (the maximum for the overflow bucket).
+     */
+    public double getPercentileMillis(double percentile) {
+        long count = getCount();
+        if (count == 0) return 0;
+
+        long rank = (long) Math.ceil(count * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return (i < BOUNDS_MICROS.length) ? BOUNDS_MICROS[i] / 1_000.0 : getMaxMillis();
+            }
+        }
+        return getMaxMillis();
+    }
+
+    /**
+     * @return the count of each bucket, keyed by its label (e.g. {@code "<=1ms"}), in increasing order.
+     */
+    public Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        for (int i = 0; i < BOUNDS_MICROS.length; i++) {
+            snapshot.put("<=" + label(BOUNDS_MICROS[i]), counts.get(i));
+        }
+        snapshot.put(">" + label(BOUNDS_MICROS[BOUNDS_MICROS.length - 1]), counts.get(BOUNDS_MICROS.length));
+        return snapshot;
+    }
+
+    private static String label(long micros) {
+        if (micros < 1_000) return (micros / 1_000.0) + "ms";
+        if (micros < 1_000_000) return (micros / 1_000) + "ms";
+        return (micros / 1_000_000) + "s";
+    }
+}
@@ -0,0 +1,48 @@
+package model.storage;
+
+import com.mysql.cj.jdbc.MysqlDataSource;
+import model.dao.PerformerDAO;
+
+import java.nio.file.Paths;
+
+/**
+ * Command-line tool that moves the CVs stored in the {@code Performer.CV_Data} BLOB column
+ * to a {@link FileSystemCvStore}.
+ * <p>
+ * Usage: {@code CvMigration <jdbcUrl> <user> <password> <storeDir> [batchSize]}
+ * </p>
+ * <p>
+ * Rows are migrated in batches, each committed in its own transaction, so the tool can be
+ * stopped and restarted at any time: already migrated rows are skipped.
+ * </p>
+ */
+public class CvMigration {
+
+    private static final int DEFAULT_BATCH_SIZE = 50;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.err.println("Uso: CvMigration <jdbcUrl> <user> <password> <storeDir> [batchSize]");
+            System.exit(1);
+        }
+
+        MysqlDataSource ds = new MysqlDataSource();
+        ds.setUrl(args[0]);
+        ds.setUser(args[1]);
+        ds.setPassword(args[2]);
+
+        CvStore store = new FileSystemCvStore(Paths.get(args[3]));
+        int batchSize = (args.length > 4) ? Integer.parseInt(args[4]) : DEFAULT_BATCH_SIZE;
+
+        PerformerDAO performerDAO = new PerformerDAO(ds, store);
+
+        int total = 0;
+        int migrated;
+        while ((migrated = performerDAO.migrateCvsToStore(batchSize)) > 0) {
+            total += migrated;
+            System.out.println("CV migrati: " + total);
+        }
+
+        System.out.println("Migrazione completata. Totale CV spostati: " + total);
+    }
+}
@@ -0,0 +1,71 @@
+package model.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
+/**
+ * Storage backend for the performers' Curriculum Vitae files.
+ * <p>
+ * Files are addressed by the SHA-256 hash of their content: storing the same file twice
+ * yields the same key and keeps a single copy. The database only records the hash,
+ * the size and the MIME type of each CV.
+ * </p>
+ * <p>
+ * When no store is configured, {@link model.dao.PerformerDAO} keeps CVs in the
+ * {@code Performer.CV_Data} BLOB column.
+ * </p>
+ */
+public interface CvStore {
+
+    /**
+     * Stores the given content, reusing the existing copy if an identical file is already present.
+     *
+     * @param content the file content (not closed by this method).
+     * @return the key and size of the stored file.
+     * @throws IOException if the content cannot be read or written.
+     */
+    StoredFile store(InputStream content) throws IOException;
+
+    /**
+     * Resolves the location of a stored file.
+     *
+     * @param hash the SHA-256 hash of the file, in lowercase hexadecimal.
+     * @return the path of the file, or {@code null} if no such file is stored.
+     */
+    Path locate(String hash);
+
+    /**
+     * Copies a byte range of a stored file to the given channel.
+     *
+     * @param hash   the SHA-256 hash of the file.
+     * @param offset the zero-based position of the first byte to copy.
+     * @param length the number of bytes to copy.
+     * @param target the destination channel (not closed by this method).
+     * @return the number of bytes actually transferred.
+     * @throws IOException if the file does not exist or the transfer fails.
+     */
+    long transferTo(String hash, long offset, long length, WritableByteChannel target) throws IOException;
+
+    /**
+     * Key and size of a file saved in a {@link CvStore}.
+     */
+    final class StoredFile {
+        private final String hash;
+        private final long size;
+
+        public StoredFile(String hash, long size) {
+            this.hash = hash;
+            this.size = size;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public long getSize() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package model.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * {@link CvStore} implementation that keeps CVs in a local content-addressed directory.
+ * <p>
+ * Each file is saved as {@code <root>/<h0h1>/<h2h3>/<sha256>}: the two levels of
+ * sub-directories keep the number of entries per directory small.
+ * Uploads are first written to {@code <root>/tmp} while the hash is computed, then moved
+ * atomically to their final location, so a partially written file is never visible.
+ * </p>
+ * <p>
+ * Files are served with {@link FileChannel#transferTo(long, long, WritableByteChannel)}, which lets the
+ * operating system copy the data without going through the Java heap when the target allows it.
+ * </p>
+ */
+public class FileSystemCvStore implements CvStore {
+
+    private static final Pattern SHA256_HEX = Pattern.compile("^[0-9a-f]{64}$");
+
+    private final Path root;
+    private final Path tmpDir;
+
+    /**
+     * Constructs a new {@code FileSystemCvStore}, creating the root directory if needed.
+     *
+     * @param root the directory where the CVs are kept.
+     * @throws IOException if the directories cannot be created.
+     */
+    public FileSystemCvStore(Path root) throws IOException {
+        this.root = Objects.requireNonNull(root, "Root directory cannot be null").toAbsolutePath();
+        this.tmpDir = this.root.resolve("tmp");
+        Files.createDirectories(tmpDir);
+    }
+
+    @Override
+    public StoredFile store(InputStream content) throws IOException {
+        Path tmp = Files.createTempFile(tmpDir, "upload-", ".part");
+        try {
+            MessageDigest digest = newDigest();
+            long size;
+            try (DigestInputStream in = new DigestInputStream(content, digest)) {
+                size = Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = pathOf(hash);
+
+            if (Files.exists(target)) {
+                // Deduplicazione: il file è già presente
+                return new StoredFile(hash, size);
+            }
+
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Stesso file caricato in parallelo: la copia esistente è identica
+            }
+            return new StoredFile(hash, size);
+
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    @Override
+    public Path locate(String hash) {
+        if (hash == null || !SHA256_HEX.matcher(hash).matches()) return null;
+        Path path = pathOf(hash);
+        return Files.isRegularFile(path) ? path : null;
+    }
+
+    @Override
+    public long transferTo(String hash, long offset, long length, WritableByteChannel target) throws IOException {
+        Path path = locate(hash);
+        if (path == null) {
+            throw new NoSuchFileException("CV " + hash);
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long end = Math.min(offset + length, channel.size());
+            long position = offset;
+            while (position < end) {
+                long transferred = channel.transferTo(position, end - position, target);
+                if (transferred <= 0) break;
+                position += transferred;
+            }
+            return position - offset;
+        }
+    }
+
+    private Path pathOf(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is mandatory on every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+}
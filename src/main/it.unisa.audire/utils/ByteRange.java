@@ -0,0 +1,93 @@
+package utils;
+
+/**
+ * Utility class for parsing HTTP {@code Range} headers.
+ * <p>
+ * Only a single {@code bytes} range is supported ({@code bytes=0-499}, {@code bytes=500-}, {@code bytes=-500}).
+ * Multi-range requests are treated as if no range was requested, which RFC 9110 allows:
+ * the whole representation is sent with a 200 status.
+ * </p>
+ */
+public final class ByteRange {
+
+    /**
+     * Marker returned when the requested range does not overlap the representation (HTTP 416).
+     */
+    public static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+    private static final String BYTES_UNIT = "bytes=";
+
+    private final long start;
+    private final long end;
+
+    private ByteRange(long start, long end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Parses the value of a {@code Range} header against a representation of the given size.
+     *
+     * @param header the raw header value (may be null).
+     * @param size   the total length of the representation in bytes.
+     * @return the requested range, {@link #UNSATISFIABLE} if it cannot be served,
+     * or {@code null} if the whole representation should be sent.
+     */
+    public static ByteRange parse(String header, long size) {
+        if (header == null || !header.startsWith(BYTES_UNIT) || header.indexOf(',') >= 0) {
+            return null;
+        }
+
+        String spec = header.substring(BYTES_UNIT.length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) return null;
+
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+
+            if (first.isEmpty()) {
+                // Suffix range: the last N bytes
+                if (last.isEmpty()) return null;
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || size == 0) return UNSATISFIABLE;
+                return new ByteRange(Math.max(0, size - suffix), size - 1);
+            }
+
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+
+            if (start >= size) return UNSATISFIABLE;
+            if (end < start) return null;
+            return new ByteRange(start, end);
+
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getEnd() {
+        return end;
+    }
+
+    public long getLength() {
+        return end - start + 1;
+    }
+
+    /**
+     * Builds the value of the {@code Content-Range} response header for this range.
+     *
+     * @param size the total length of the representation in bytes.
+     * @return the header value, e.g. {@code bytes 0-499/1234}.
+     */
+    public String toContentRange(long size) {
+        if (this == UNSATISFIABLE) {
+            return "bytes */" + size;
+        }
+        return "bytes " + start + "-" + end + "/" + size;
+    }
+}
@@ -0,0 +1,362 @@
+package utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * In-process read-through cache with LRU eviction, time-to-live and single-flight loading.
+ * <p>
+ * At most {@code maxSize} entries are kept: when the cache is full the least recently used one is
+ * evicted. A cache built with a weigher is also bounded by the total weight of its values (e.g. their
+ * size in bytes), evicting the least recently used entries until the total fits again. Entries older than the TTL are reloaded on the next access, which bounds how long a change
+ * made outside the application (e.g. directly on the database) can stay invisible.
+ * </p>
+ * <p>
+ * On a miss only one thread runs the loader for a given key; concurrent requests for the same key
+ * wait for its result instead of querying the database again. A key invalidated while it is being
+ * loaded is not stored, so a load that read the old row cannot overwrite the invalidation.
+ * {@code null} values are returned but never cached.
+ * </p>
+ *
+ * @param <K> the key type.
+ * @param <V> the value type; values should be treated as immutable by the callers.
+ */
+public class Cache<K, V> implements CacheMXBean {
+
+    /**
+     * Computes the value of a missing key.
+     *
+     * @param <X> the exception thrown by the loader, rethrown by {@link Cache#get}.
+     */
+    @FunctionalInterface
+    public interface Loader<K, V, X extends Exception> {
+        V load(K key) throws X;
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAt;
+        final long weight;
+
+        Entry(V value, long expiresAt, long weight) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.weight = weight;
+        }
+    }
+
+    /** A load in progress, awaited by the threads that miss the same key. */
+    private static final class Flight<V> {
+        final CountDownLatch done = new CountDownLatch(1);
+        boolean invalidated; // guarded by the cache lock
+        V value;
+        Throwable failure;
+    }
+
+    private final String name;
+    private final int maxSize;
+    private final long maxWeight;
+    private final ToLongFunction<? super V> weigher;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+
+    // Access-ordered: iteration starts from the least recently used entry. Guarded by "this".
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private long totalWeight; // guarded by "this"
+    private final Map<K, Flight<V>> flights = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * @param name       the name shown in the statistics.
+     * @param maxSize    the maximum number of entries.
+     * @param ttlSeconds the time-to-live of an entry, in seconds.
+     */
+    public Cache(String name, int maxSize, long ttlSeconds) {
+        this(name, maxSize, Long.MAX_VALUE, value -> 0, ttlSeconds);
+    }
+
+    /**
+     * @param name       the name shown in the statistics.
+     * @param maxSize    the maximum number of entries.
+     * @param maxWeight  the maximum total weight of the cached values.
+     * @param weigher    computes the weight of a value when it is stored; must not be negative.
+     * @param ttlSeconds the time-to-live of an entry, in seconds.
+     */
+    public Cache(String name, int maxSize, long maxWeight, ToLongFunction<? super V> weigher, long ttlSeconds) {
+        this(name, maxSize, maxWeight, weigher, ttlSeconds, System::nanoTime);
+    }
+
+    /**
+     * @param ticker the time source for the TTL, in nanoseconds; tests replace {@link System#nanoTime}.
+     */
+    Cache(String name, int maxSize, long maxWeight, ToLongFunction<? super V> weigher, long ttlSeconds, LongSupplier ticker) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("maxWeight must be positive");
+        }
+        if (ttlSeconds <= 0) {
+            throw new IllegalArgumentException("ttlSeconds must be positive");
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.maxWeight = maxWeight;
+        this.weigher = Objects.requireNonNull(weigher, "weigher cannot be null");
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.ticker = Objects.requireNonNull(ticker, "ticker cannot be null");
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns the cached value of the key, loading it on a miss.
+     *
+     * @param key    the key to look up.
+     * @param loader computes the value if it is not cached.
+     * @return the value, or null if the loader returned null.
+     * @throws X if the loader fails; threads waiting for the same load receive the same exception.
+     */
+    public <X extends Exception> V get(K key, Loader<? super K, ? extends V, X> loader) throws X {
+        V cached = getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        Flight<V> flight = new Flight<>();
+        Flight<V> running = flights.putIfAbsent(key, flight);
+        if (running != null) {
+            return await(running);
+        }
+
+        long start = System.nanoTime();
+        try {
+            V value = loader.load(key);
+            loads.increment();
+            loadNanos.add(System.nanoTime() - start);
+
+            synchronized (this) {
+                if (value != null && !flight.invalidated) {
+                    store(key, value);
+                }
+            }
+            flight.value = value;
+            return value;
+        } catch (Throwable t) {
+            loadFailures.increment();
+            flight.failure = t;
+            throw t;
+        } finally {
+            flights.remove(key, flight);
+            flight.done.countDown();
+        }
+    }
+
+    /**
+     * @return the cached value, or null if the key is not cached or has expired. Statistics are not updated.
+     */
+    public synchronized V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) return null;
+
+        if (ticker.getAsLong() - entry.expiresAt >= 0) {
+            remove(key);
+            expirations.increment();
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Removes the key, and prevents a load of the same key already in progress from being stored.
+     */
+    public synchronized void invalidate(K key) {
+        if (remove(key) != null) {
+            invalidations.increment();
+        }
+        Flight<V> flight = flights.get(key);
+        if (flight != null) {
+            flight.invalidated = true;
+        }
+    }
+
+    /**
+     * Removes every entry whose value matches the predicate, and discards all the loads in progress
+     * (their values are not known yet, so they could match too).
+     */
+    public synchronized void invalidateIf(Predicate<? super V> predicate) {
+        Iterator<Entry<V>> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry<V> entry = it.next();
+            if (predicate.test(entry.value)) {
+                it.remove();
+                totalWeight -= entry.weight;
+                invalidations.increment();
+            }
+        }
+        discardFlights();
+    }
+
+    @Override
+    public synchronized void clear() {
+        invalidations.add(entries.size());
+        entries.clear();
+        totalWeight = 0;
+        discardFlights();
+    }
+
+    /**
+     * Stores the value, then evicts the least recently used entries while a bound is exceeded.
+     * A value heavier than {@code maxWeight} on its own is not kept. Called with the lock held.
+     */
+    private void store(K key, V value) {
+        long weight = weigher.applyAsLong(value);
+        Entry<V> previous = entries.put(key, new Entry<>(value, ticker.getAsLong() + ttlNanos, weight));
+        totalWeight += weight - ((previous != null) ? previous.weight : 0);
+
+        Iterator<Entry<V>> eldest = entries.values().iterator();
+        while ((entries.size() > maxSize || totalWeight > maxWeight) && eldest.hasNext()) {
+            totalWeight -= eldest.next().weight;
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private Entry<V> remove(K key) {
+        Entry<V> entry = entries.remove(key);
+        if (entry != null) {
+            totalWeight -= entry.weight;
+        }
+        return entry;
+    }
+
+    private void discardFlights() {
+        for (Flight<V> flight : flights.values()) {
+            flight.invalidated = true;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V, X extends Exception> V await(Flight<V> flight) throws X {
+        try {
+            flight.done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a cache load", e);
+        }
+        if (flight.failure instanceof RuntimeException) throw (RuntimeException) flight.failure;
+        if (flight.failure instanceof Error) throw (Error) flight.failure;
+        if (flight.failure != null) throw (X) flight.failure;
+        return flight.value;
+    }
+
+    // --- Statistics ---
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    @Override
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public synchronized long getWeight() {
+        return totalWeight;
+    }
+
+    @Override
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    @Override
+    public long getTtlSeconds() {
+        return TimeUnit.NANOSECONDS.toSeconds(ttlNanos);
+    }
+
+    @Override
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return (total == 0) ? 0 : (double) hitCount / total;
+    }
+
+    @Override
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    @Override
+    public long getLoadFailureCount() {
+        return loadFailures.sum();
+    }
+
+    @Override
+    public double getAverageLoadMillis() {
+        long count = loads.sum();
+        return (count == 0) ? 0 : loadNanos.sum() / (count * 1_000_000.0);
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public long getExpirationCount() {
+        return expirations.sum();
+    }
+
+    @Override
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "Cache{" +
+                "name='" + name + '\'' +
+                ", size=" + getSize() +
+                ", maxSize=" + maxSize +
+                ", hitRate=" + String.format("%.2f", getHitRate()) +
+                ", loads=" + getLoadCount() +
+                ", evictions=" + getEvictionCount() +
+                '}';
+    }
+}
@@ -0,0 +1,44 @@
+package utils;
+
+/**
+ * Management view of a {@link Cache}, published over JMX to tune its size and TTL from real data.
+ */
+public interface CacheMXBean {
+
+    String getName();
+
+    int getSize();
+
+    int getMaxSize();
+
+    /** Total weight of the cached values (0 for caches without a weigher). */
+    long getWeight();
+
+    long getMaxWeight();
+
+    long getTtlSeconds();
+
+    long getHitCount();
+
+    long getMissCount();
+
+    /** Hits over lookups, between 0 and 1. */
+    double getHitRate();
+
+    long getLoadCount();
+
+    long getLoadFailureCount();
+
+    double getAverageLoadMillis();
+
+    /** Entries removed because the cache was full. */
+    long getEvictionCount();
+
+    /** Entries removed because their TTL elapsed. */
+    long getExpirationCount();
+
+    long getInvalidationCount();
+
+    /** Empties the cache; statistics are kept. */
+    void clear();
+}
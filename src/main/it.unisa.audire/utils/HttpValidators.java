@@ -0,0 +1,96 @@
+package utils;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Utility class for HTTP conditional requests ({@code ETag} / {@code Last-Modified}).
+ * <p>
+ * The validators are computed by the caller before any database access, so that a request whose
+ * copy is still valid is answered with {@code 304 Not Modified} at the cost of a few header lookups.
+ * </p>
+ */
+public final class HttpValidators {
+
+    private HttpValidators() {
+    }
+
+    /**
+     * Builds a strong ETag from the given parts.
+     *
+     * @param parts the values the response depends on (e.g. content version, user).
+     * @return the quoted ETag.
+     */
+    public static String etag(Object... parts) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) sb.append('-');
+            sb.append(parts[i]);
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * Checks whether an {@code If-None-Match} header matches the given ETag (weak comparison).
+     *
+     * @param header the header value, possibly null or a list of tags.
+     * @param etag   the quoted ETag of the current representation.
+     * @return true if the header is {@code *} or contains the ETag.
+     */
+    public static boolean etagMatches(String header, String etag) {
+        if (header == null) return false;
+        if (header.trim().equals("*")) return true;
+
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Sets the validators on the response and answers {@code 304 Not Modified} if the client's copy is current.
+     * <p>
+     * {@code If-None-Match} takes precedence over {@code If-Modified-Since}, as required by RFC 9110.
+     * The response is marked {@code private, no-cache} and varies on the cookie, since pages depend on the session.
+     * </p>
+     *
+     * @param req          the request.
+     * @param resp         the response.
+     * @param etag         the quoted ETag of the representation.
+     * @param lastModified the last modification time in milliseconds, or a negative value if unknown.
+     * @return true if a 304 was sent and the caller must not write a body.
+     */
+    public static boolean checkNotModified(HttpServletRequest req, HttpServletResponse resp, String etag, long lastModified) {
+        resp.setHeader("ETag", etag);
+        if (lastModified >= 0) {
+            resp.setDateHeader("Last-Modified", lastModified);
+        }
+        resp.setHeader("Cache-Control", "private, no-cache");
+        resp.setHeader("Vary", "Cookie");
+
+        boolean notModified;
+        String ifNoneMatch = req.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            notModified = etagMatches(ifNoneMatch, etag);
+        } else {
+            notModified = lastModified >= 0 && ifModifiedSince(req) >= lastModified;
+        }
+
+        if (notModified) {
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        }
+        return notModified;
+    }
+
+    // --- Helper Methods ---
+
+    private static long ifModifiedSince(HttpServletRequest req) {
+        try {
+            return req.getDateHeader("If-Modified-Since");
+        } catch (IllegalArgumentException e) {
+            return -1; // Malformed date: treat the request as unconditional
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package utils;
+
+/**
+ * Utility class for writing the small JSON responses of the typeahead and suggestion endpoints.
+ */
+public final class JsonUtil {
+
+    private JsonUtil() {
+    }
+
+    /**
+     * Quotes a string as a JSON string literal.
+     * <p>
+     * {@code <} is escaped as well, so that the output cannot close a {@code <script>} element.
+     * </p>
+     *
+     * @param value the string, possibly null.
+     * @return the quoted string, or {@code null} (unquoted) for a null value.
+     */
+    public static String quote(String value) {
+        if (value == null) return "null";
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20 || c == '<') {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
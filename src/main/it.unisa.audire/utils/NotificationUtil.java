@@ -44,6 +44,16 @@ public class NotificationUtil {
         return null;
     }
 
+    /**
+     * Checks whether a notification is waiting to be displayed, without clearing it.
+     *
+     * @param session The HttpSession to check, possibly null.
+     * @return true if the next page load will display a notification.
+     */
+    public static boolean hasNotification(HttpSession session) {
+        return session != null && session.getAttribute(NOTIFICATION_MESSAGE_ATTR) != null;
+    }
+
     /**
      * Simple DTO for holding notification details.
      */
@@ -0,0 +1,25 @@
+-- Porta un database creato da una versione precedente di schema.sql allo schema attuale.
+-- Colonne e indici già presenti vengono saltati dal MigrationRunner (errori 1060/1061).
+
+-- Metadati del CV (hash per ETag e archivio su disco, dimensione per le richieste Range)
+ALTER TABLE Performer ADD COLUMN CV_Hash CHAR(64) AFTER CV_MimeType;
+ALTER TABLE Performer ADD COLUMN CV_Size BIGINT AFTER CV_Hash;
+
+-- Indici per la paginazione a cursore (ORDER BY data DESC, id DESC)
+CREATE INDEX idx_casting_publish ON Casting (PublishDate, CastingID);
+CREATE INDEX idx_casting_cd_publish ON Casting (CdID, PublishDate, CastingID);
+CREATE INDEX idx_production_pm_creation ON Production (PmID, CreationDate, ProductionID);
+CREATE INDEX idx_application_performer_sending ON Application (PerformerID, SendingDate, ApplicationID);
+CREATE INDEX idx_application_casting_sending ON Application (CastingID, SendingDate, ApplicationID);
+CREATE INDEX idx_application_casting_status ON Application (CastingID, Status, SendingDate, ApplicationID);
+
+-- Casting attivi (DeadLine >= CURRENT_DATE) ordinati per data di pubblicazione
+CREATE INDEX idx_casting_deadline_publish ON Casting (DeadLine, PublishDate);
+
+-- Una sola candidatura per performer e casting: tiene la più vecchia delle eventuali doppie
+DELETE a FROM Application a
+    JOIN Application b ON a.PerformerID = b.PerformerID AND a.CastingID = b.CastingID AND a.ApplicationID > b.ApplicationID;
+CREATE UNIQUE INDEX uq_application_performer_casting ON Application (PerformerID, CastingID);
+
+-- Un solo profilo Performer per utente
+CREATE UNIQUE INDEX uq_performer_user ON Performer (UserID);
@@ -0,0 +1,6 @@
+-- Hash SHA-256 dei CV salvati nella colonna BLOB prima che venisse registrato al salvataggio:
+-- il download usa CV_Hash come ETag senza ricalcolarlo a ogni richiesta.
+UPDATE Performer
+SET CV_Hash = SHA2(CV_Data, 256),
+    CV_Size = COALESCE(CV_Size, OCTET_LENGTH(CV_Data))
+WHERE CV_Data IS NOT NULL AND CV_Hash IS NULL;
@@ -0,0 +1,217 @@
+package model.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FullTextIndexTest {
+
+    private static final double[] BOOSTS = {2, 1};
+
+    private static final String[] QUERIES = {
+            "attrice", "attori ", "ballerina", "ball", "regia teatro", "teatro musical", "citta",
+            "doppiatore", "voce", "spot", "la", "xyz"
+    };
+
+    private static Map<Integer, String[]> documents() {
+        Map<Integer, String[]> docs = new HashMap<>();
+        docs.put(1, new String[]{"Attrice per spot", "Cerchiamo un'attrice giovane per uno spot televisivo"});
+        docs.put(2, new String[]{"Ballerini per musical", "Ballerine e ballerini con esperienza di teatro musical"});
+        docs.put(3, new String[]{"Doppiatore", "Voce calda per il doppiaggio di un film d'animazione"});
+        docs.put(4, new String[]{"Attori teatro", "Compagnia di teatro cerca attori e attrici per la regia di una commedia"});
+        docs.put(5, new String[]{"Comparse in città", "Comparse per un film girato in città"});
+        docs.put(6, new String[]{"Ballo", "Corpo di ballo per un videoclip"});
+        docs.put(7, new String[]{null, "Regia teatrale: assistente alla regia"});
+        return docs;
+    }
+
+    @Test
+    void incrementalUpdatesMatchAFullBuild() {
+        Map<Integer, String[]> docs = documents();
+        FullTextIndex built = FullTextIndex.build(docs, BOOSTS);
+
+        // Same documents added in another order, with replaced and removed documents along the way
+        FullTextIndex incremental = new FullTextIndex(BOOSTS);
+        incremental = incremental.with(99, "Documento temporaneo", "attrice ballerina teatro");
+        List<Integer> ids = new ArrayList<>(docs.keySet());
+        Collections.shuffle(ids, new Random(7));
+        for (int id : ids) {
+            incremental = incremental.with(id, "Versione precedente", "regia voce citta");
+        }
+        for (int id : ids) {
+            incremental = incremental.with(id, docs.get(id));
+        }
+        incremental = incremental.without(99);
+
+        assertEquals(built.size(), incremental.size());
+        for (String query : QUERIES) {
+            assertSameHits(built.search(query, 100, null), incremental.search(query, 100, null), query);
+        }
+    }
+
+    @Test
+    void withoutRemovesTheDocumentAndItsTerms() {
+        FullTextIndex index = FullTextIndex.build(documents(), BOOSTS).without(3);
+
+        assertFalse(index.contains(3));
+        assertTrue(index.search("doppiatore", 10, null).isEmpty());
+        assertTrue(index.search("dopp", 10, null).isEmpty());
+        assertSame(index, index.without(3));
+    }
+
+    @Test
+    void updateKeepsATermSharedByTheOldAndNewDocument() {
+        FullTextIndex index = new FullTextIndex(BOOSTS)
+                .with(1, "Ballerina classica", null)
+                .with(1, "Ballerina moderna", null);
+
+        assertEquals(List.of(1), ids(index.search("ballerina ", 10, null)));
+        assertEquals(List.of(1), ids(index.search("baller", 10, null)));
+        assertEquals(List.of(1), ids(index.search("moderna ", 10, null)));
+        assertTrue(index.search("classica ", 10, null).isEmpty());
+        assertTrue(index.search("clas", 10, null).isEmpty());
+
+        // The shared term is still in the dictionary after another document comes and goes
+        index = index.with(2, "Ballerino", null).without(2);
+        assertEquals(List.of(1), ids(index.search("baller", 10, null)));
+    }
+
+    @Test
+    void everyQueryWordMustMatch() {
+        FullTextIndex index = FullTextIndex.build(documents(), BOOSTS);
+
+        assertEquals(List.of(4), ids(index.search("attori commedia", 10, null)));
+        assertTrue(index.search("attrice doppiaggio", 10, null).isEmpty());
+    }
+
+    @Test
+    void stemmedFormsMatchEachOther() {
+        FullTextIndex index = FullTextIndex.build(documents(), BOOSTS);
+
+        assertEquals(Set.of(2), new HashSet<>(ids(index.search("ballerino ", 10, null))));
+        assertEquals(Set.of(4), new HashSet<>(ids(index.search("attore ", 10, null))));
+        assertEquals(Set.of(5), new HashSet<>(ids(index.search("Citta ", 10, null))));
+    }
+
+    @Test
+    void wholeWordRanksBeforeAPrefixMatch() {
+        FullTextIndex index = new FullTextIndex(BOOSTS)
+                .with(1, "Ballerina", null)
+                .with(2, "Ball", null);
+
+        // "ball" is the whole term of 2 and a prefix of the term of 1
+        assertEquals(List.of(2, 1), ids(index.search("ball", 10, null)));
+        // Once the word is complete it no longer matches as a prefix
+        assertEquals(List.of(2), ids(index.search("ball ", 10, null)));
+    }
+
+    @Test
+    void titleBoostRanksTitleMatchesFirst() {
+        FullTextIndex index = new FullTextIndex(BOOSTS)
+                .with(1, "Comparse", "Cerchiamo un attore")
+                .with(2, "Attore", "Cerchiamo comparse");
+
+        assertEquals(List.of(2, 1), ids(index.search("attore ", 10, null)));
+    }
+
+    @Test
+    void prefixExpandsToAtMostMaxExpansionsTerms() {
+        String consonants = "bcdfglmnprstvz";
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < consonants.length() && words.size() < 100; i++) {
+            for (int j = 0; j < consonants.length() && words.size() < 100; j++) {
+                words.add("pref" + consonants.charAt(i) + consonants.charAt(j));
+            }
+        }
+        Map<Integer, String[]> docs = new HashMap<>();
+        for (int id = 1; id <= words.size(); id++) {
+            docs.put(id, new String[]{words.get(id - 1), null});
+        }
+        FullTextIndex index = FullTextIndex.build(docs, BOOSTS);
+
+        List<FullTextIndex.Hit> hits = index.search("pref", 1000, null);
+        assertEquals(FullTextIndex.MAX_EXPANSIONS, hits.size());
+
+        // The expansions are the first terms in dictionary order
+        List<String> sorted = new ArrayList<>(words);
+        Collections.sort(sorted);
+        Set<Integer> expected = new HashSet<>();
+        for (String word : sorted.subList(0, FullTextIndex.MAX_EXPANSIONS)) {
+            expected.add(words.indexOf(word) + 1);
+        }
+        assertEquals(expected, new HashSet<>(ids(hits)));
+    }
+
+    @Test
+    void limitKeepsTheBestHitsAndTiesGoToTheHighestId() {
+        FullTextIndex index = new FullTextIndex(BOOSTS);
+        for (int id = 1; id <= 10; id++) {
+            index = index.with(id, "Provino", null);
+        }
+
+        assertEquals(List.of(10, 9, 8), ids(index.search("provino ", 3, null)));
+    }
+
+    @Test
+    void filterExcludesIds() {
+        FullTextIndex index = FullTextIndex.build(documents(), BOOSTS);
+
+        List<FullTextIndex.Hit> hits = index.search("teatro ", 10, id -> id != 4);
+        assertFalse(ids(hits).contains(4));
+        assertFalse(hits.isEmpty());
+    }
+
+    @Test
+    void limitAppliesToTheFilteredHits() {
+        FullTextIndex index = new FullTextIndex(BOOSTS);
+        for (int id = 1; id <= 10; id++) {
+            index = index.with(id, "Provino", null);
+        }
+
+        assertEquals(List.of(8, 6, 4), ids(index.search("provino ", 3, id -> id % 2 == 0 && id < 10)));
+    }
+
+    @Test
+    void matchesReturnsEveryHitInIdOrder() {
+        FullTextIndex index = FullTextIndex.build(documents(), BOOSTS);
+
+        for (String query : new String[]{"teatro ", "ball", "attori commedia"}) {
+            List<Integer> expected = ids(index.search(query, 1000, null));
+            Collections.sort(expected);
+            assertEquals(expected, Arrays.stream(index.matches(query)).boxed().collect(Collectors.toList()), query);
+        }
+        assertEquals(0, index.matches("attrice doppiaggio").length);
+        assertEquals(0, index.matches("").length);
+    }
+
+    @Test
+    void emptyQueriesAndIndexesFindNothing() {
+        assertTrue(new FullTextIndex(BOOSTS).search("attore", 10, null).isEmpty());
+
+        FullTextIndex index = FullTextIndex.build(documents(), BOOSTS);
+        assertTrue(index.search("", 10, null).isEmpty());
+        assertTrue(index.search("la ", 10, null).isEmpty());
+        assertTrue(index.search("attore", 0, null).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> index.with(1, "solo titolo"));
+    }
+
+    // --- Helper Methods ---
+
+    private static List<Integer> ids(List<FullTextIndex.Hit> hits) {
+        List<Integer> ids = new ArrayList<>(hits.size());
+        for (FullTextIndex.Hit hit : hits) {
+            ids.add(hit.id);
+        }
+        return ids;
+    }
+
+    private static void assertSameHits(List<FullTextIndex.Hit> expected, List<FullTextIndex.Hit> actual, String query) {
+        assertEquals(ids(expected), ids(actual), "ids for \"" + query + "\"");
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).score, actual.get(i).score, 1e-9, "score for \"" + query + "\"");
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package model.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItalianAnalyzerTest {
+
+    @Test
+    void stemRemovesGenderAndNumber() {
+        assertEquals("attor", ItalianAnalyzer.stem("attore"));
+        assertEquals("attor", ItalianAnalyzer.stem("attori"));
+        assertEquals("attric", ItalianAnalyzer.stem("attrice"));
+        assertEquals("attric", ItalianAnalyzer.stem("attrici"));
+        assertEquals("ballerin", ItalianAnalyzer.stem("ballerina"));
+        assertEquals("ballerin", ItalianAnalyzer.stem("ballerine"));
+        assertEquals("ballerin", ItalianAnalyzer.stem("ballerino"));
+    }
+
+    @Test
+    void stemKeepsTheHardSoundOfCheAndGhe() {
+        assertEquals("amic", ItalianAnalyzer.stem("amiche"));
+        assertEquals("amic", ItalianAnalyzer.stem("amici"));
+        assertEquals("luog", ItalianAnalyzer.stem("luoghi"));
+        assertEquals("luog", ItalianAnalyzer.stem("luogo"));
+    }
+
+    @Test
+    void stemLeavesShortWordsNumbersAndConsonantEndingsAlone() {
+        assertEquals("casa", ItalianAnalyzer.stem("casa"));
+        assertEquals("2024", ItalianAnalyzer.stem("2024"));
+        assertEquals("anno1", ItalianAnalyzer.stem("anno1"));
+        assertEquals("musical", ItalianAnalyzer.stem("musical"));
+    }
+
+    @Test
+    void wordsAreLowerCasedAndStrippedOfAccents() {
+        assertEquals(List.of("citta", "perche", "e"), ItalianAnalyzer.words("Città, PERCHÉ è"));
+        assertEquals(List.of("l", "attrice"), ItalianAnalyzer.words("l'attrice"));
+        assertTrue(ItalianAnalyzer.words(null).isEmpty());
+        assertTrue(ItalianAnalyzer.words("  -- ").isEmpty());
+    }
+
+    @Test
+    void termsDropStopwordsAndElidedArticles() {
+        assertEquals(List.of("attric", "ballerin", "citt"),
+                ItalianAnalyzer.terms("L'attrice e il ballerino della città"));
+        assertEquals(List.of("attor", "attor"), ItalianAnalyzer.terms("attore, attori"));
+        assertTrue(ItalianAnalyzer.terms("il di la").isEmpty());
+    }
+
+    @Test
+    void lastQueryWordIsAPrefixWhileTyping() {
+        List<ItalianAnalyzer.QueryTerm> typing = ItalianAnalyzer.query("attrice balle");
+        assertEquals(2, typing.size());
+        assertEquals("attric", typing.get(0).term);
+        assertNull(typing.get(0).prefix);
+        assertEquals("ball", typing.get(1).term);
+        assertEquals("balle", typing.get(1).prefix);
+
+        List<ItalianAnalyzer.QueryTerm> complete = ItalianAnalyzer.query("attrice balle ");
+        assertNull(complete.get(1).prefix);
+    }
+
+    @Test
+    void aLoneStopwordIsKeptOnlyWhileTyping() {
+        List<ItalianAnalyzer.QueryTerm> typing = ItalianAnalyzer.query("la");
+        assertEquals(1, typing.size());
+        assertEquals("la", typing.get(0).prefix);
+
+        assertTrue(ItalianAnalyzer.query("la ").isEmpty());
+        assertEquals(1, ItalianAnalyzer.query("la regia").size());
+        assertTrue(ItalianAnalyzer.query(null).isEmpty());
+    }
+}
@@ -0,0 +1,269 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheTest {
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    @Test
+    void getLoadsOnMissAndHitsAfterwards() {
+        Cache<Integer, String> cache = new Cache<>("test", 10, 60);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("v1", cache.get(1, key -> { loads.incrementAndGet(); return "v" + key; }));
+        assertEquals("v1", cache.get(1, key -> { loads.incrementAndGet(); return "other"; }));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void nullValuesAreNotCached() {
+        Cache<Integer, String> cache = new Cache<>("test", 10, 60);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertNull(cache.get(1, key -> { loads.incrementAndGet(); return null; }));
+        assertNull(cache.get(1, key -> { loads.incrementAndGet(); return null; }));
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    void concurrentLoadsOfOneKeyRunTheLoaderOnce() throws Exception {
+        Cache<Integer, String> cache = new Cache<>("test", 10, 60);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int threads = 8;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Thread> workers = new CopyOnWriteArrayList<>();
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    workers.add(Thread.currentThread());
+                    return cache.get(1, key -> {
+                        loads.incrementAndGet();
+                        release.await();
+                        return "value";
+                    });
+                }));
+            }
+
+            // Every thread is parked: one in the loader, the others waiting for its result
+            awaitParked(workers, threads);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("value", result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getLoadCount());
+        assertEquals(threads, cache.getMissCount());
+    }
+
+    @Test
+    void loaderFailureReachesWaitersAndIsNotCached() throws Exception {
+        Cache<Integer, String> cache = new Cache<>("test", 10, 60);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Thread> workers = new CopyOnWriteArrayList<>();
+        try {
+            Future<String> loader = executor.submit(() -> cache.get(1, key -> {
+                loading.countDown();
+                release.await();
+                throw new IOException("db down");
+            }));
+            assertTrue(loading.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+            Future<String> waiter = executor.submit(() -> {
+                workers.add(Thread.currentThread());
+                return cache.get(1, key -> "never loaded");
+            });
+            awaitParked(workers, 1);
+            release.countDown();
+
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> loader.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            assertInstanceOf(IOException.class, failure.getCause());
+            failure = assertThrows(ExecutionException.class, () -> waiter.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            assertInstanceOf(IOException.class, failure.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, cache.getLoadFailureCount());
+        assertEquals("fresh", cache.get(1, key -> "fresh"));
+    }
+
+    @Test
+    void invalidateWhileLoadingDiscardsTheLoadedValue() throws Exception {
+        Cache<Integer, String> cache = new Cache<>("test", 10, 60);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> stale = executor.submit(() -> cache.get(1, key -> {
+                loading.countDown();
+                release.await();
+                return "old";
+            }));
+            assertTrue(loading.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+            cache.invalidate(1);
+            release.countDown();
+
+            // The caller still gets what it loaded, but the value is not stored
+            assertEquals("old", stale.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertNull(cache.getIfPresent(1));
+        assertEquals("new", cache.get(1, key -> "new"));
+        assertEquals("new", cache.getIfPresent(1));
+    }
+
+    @Test
+    void clearWhileLoadingDiscardsTheLoadedValue() throws Exception {
+        Cache<Integer, String> cache = new Cache<>("test", 10, 60);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> stale = executor.submit(() -> cache.get(1, key -> {
+                loading.countDown();
+                release.await();
+                return "old";
+            }));
+            assertTrue(loading.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+            cache.clear();
+            release.countDown();
+            assertEquals("old", stale.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertNull(cache.getIfPresent(1));
+    }
+
+    @Test
+    void invalidateIfRemovesMatchingValues() {
+        Cache<Integer, String> cache = new Cache<>("test", 10, 60);
+        cache.get(1, key -> "keep");
+        cache.get(2, key -> "drop");
+
+        cache.invalidateIf("drop"::equals);
+
+        assertEquals("keep", cache.getIfPresent(1));
+        assertNull(cache.getIfPresent(2));
+        assertEquals(1, cache.getInvalidationCount());
+    }
+
+    @Test
+    void entriesExpireAfterTheTtl() {
+        AtomicLong now = new AtomicLong();
+        Cache<Integer, String> cache = new Cache<>("test", 10, Long.MAX_VALUE, value -> 0, 10, now::get);
+        cache.get(1, key -> "v");
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10) - 1);
+        assertEquals("v", cache.getIfPresent(1));
+
+        now.incrementAndGet();
+        assertNull(cache.getIfPresent(1));
+        assertEquals(1, cache.getExpirationCount());
+
+        AtomicInteger loads = new AtomicInteger();
+        assertEquals("reloaded", cache.get(1, key -> { loads.incrementAndGet(); return "reloaded"; }));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedWhenFull() {
+        Cache<Integer, String> cache = new Cache<>("test", 2, 60);
+        cache.get(1, key -> "a");
+        cache.get(2, key -> "b");
+        cache.getIfPresent(1);
+        cache.get(3, key -> "c");
+
+        assertEquals("a", cache.getIfPresent(1));
+        assertNull(cache.getIfPresent(2));
+        assertEquals("c", cache.getIfPresent(3));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    void leastRecentlyUsedEntriesAreEvictedBeyondTheMaxWeight() {
+        Cache<Integer, String> cache = new Cache<>("test", 100, 10, String::length, 60);
+        cache.get(1, key -> "aaaa");
+        cache.get(2, key -> "bbbb");
+        cache.getIfPresent(1);
+        assertEquals(8, cache.getWeight());
+
+        cache.get(3, key -> "ccc");
+
+        assertNull(cache.getIfPresent(2));
+        assertEquals("aaaa", cache.getIfPresent(1));
+        assertEquals("ccc", cache.getIfPresent(3));
+        assertEquals(7, cache.getWeight());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    void valueHeavierThanTheMaxWeightIsNotKept() {
+        Cache<Integer, String> cache = new Cache<>("test", 100, 10, String::length, 60);
+        cache.get(1, key -> "aaaa");
+
+        assertEquals("xxxxxxxxxxxx", cache.get(2, key -> "xxxxxxxxxxxx"));
+
+        assertNull(cache.getIfPresent(2));
+        assertTrue(cache.getWeight() <= 10);
+    }
+
+    @Test
+    void replacingAnEntryUpdatesTheWeight() {
+        Cache<Integer, String> cache = new Cache<>("test", 100, 10, String::length, 60);
+        cache.get(1, key -> "aaaa");
+        cache.invalidate(1);
+        assertEquals(0, cache.getWeight());
+
+        cache.get(1, key -> "aa");
+        assertEquals(2, cache.getWeight());
+    }
+
+    // --- Helper Methods ---
+
+    /**
+     * Waits until {@code count} worker threads have registered and are all blocked.
+     */
+    private static void awaitParked(List<Thread> workers, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (System.nanoTime() < deadline) {
+            if (workers.size() == count && workers.stream().allMatch(t -> t.getState() == Thread.State.WAITING)) {
+                return;
+            }
+            Thread.sleep(5);
+        }
+        fail("Worker threads did not block in time");
+    }
+}